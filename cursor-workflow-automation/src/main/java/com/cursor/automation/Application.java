@@ -1,8 +1,24 @@
 package com.cursor.automation;
 
+import com.cursor.automation.dal.CachingTaskRepository;
+import com.cursor.automation.dal.InMemoryTaskRepository;
+import com.cursor.automation.dal.LogStructuredTaskRepository;
+import com.cursor.automation.dal.TaskRepository;
+import com.cursor.automation.dal.WriteAheadLogTaskRepository;
+import com.cursor.automation.service.TaskService;
+import com.cursor.automation.service.TaskServiceImpl;
+import com.cursor.automation.transfer.TaskExporter;
+import com.cursor.automation.transfer.TaskFileFormat;
+import com.cursor.automation.transfer.TaskImporter;
+import com.cursor.automation.transfer.TransferStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
 /**
  * Main application class for the Task Management Application.
  */
@@ -19,15 +35,102 @@ public class Application {
         System.out.println("Java version: " + System.getProperty("java.version"));
         System.out.println("Operating system: " + System.getProperty("os.name"));
         
+        // Tasks are kept between runs when a data directory is given (-Dtasks.data-dir=...)
+        String dataDir = System.getProperty("tasks.data-dir");
+        TaskRepository taskRepository = dataDir != null && !dataDir.isEmpty()
+                ? new LogStructuredTaskRepository(Paths.get(dataDir))
+                : new InMemoryTaskRepository();
+        
+        // Saves go through a write-ahead log when one is given (-Dtasks.wal-file=...)
+        String walFile = System.getProperty("tasks.wal-file");
+        if (walFile != null && !walFile.isEmpty()) {
+            taskRepository = new WriteAheadLogTaskRepository(taskRepository, Paths.get(walFile));
+        }
+        
+        // Lookups by ID are cached when a cache size in entries is given (-Dtasks.cache-size=...)
+        Integer cacheSize = Integer.getInteger("tasks.cache-size");
+        if (cacheSize != null && cacheSize > 0) {
+            taskRepository = new CachingTaskRepository(taskRepository, cacheSize);
+        }
+        
+        boolean succeeded = false;
         try {
-            // Initialize and run the task management workflow
-            WorkflowDemo taskManager = new WorkflowDemo();
-            taskManager.runDemo();
+            if (args.length > 0) {
+                // Non-interactive import or export
+                succeeded = runTransfer(args, new TaskServiceImpl(taskRepository));
+            } else {
+                // Initialize and run the task management workflow
+                WorkflowDemo taskManager = new WorkflowDemo(taskRepository);
+                taskManager.runDemo();
+                succeeded = true;
+            }
             
-            logger.info("Application completed successfully");
+            if (succeeded) {
+                logger.info("Application completed successfully");
+            }
         } catch (Exception e) {
             logger.error("Error running application", e);
             System.err.println("An error occurred: " + e.getMessage());
+        } finally {
+            closeRepository(taskRepository);
+        }
+        
+        if (!succeeded) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Runs {@code import <file> [jsonl|csv]} or {@code export <file> [jsonl|csv]}; without a
+     * format, it is taken from the file extension.
+     * 
+     * @return false if the arguments are not a valid command
+     */
+    private static boolean runTransfer(String[] args, TaskService taskService) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            printUsage();
+            return false;
+        }
+        
+        Path file = Paths.get(args[1]);
+        TaskFileFormat format;
+        try {
+            format = args.length == 3
+                    ? TaskFileFormat.valueOf(args[2].toUpperCase(Locale.ROOT))
+                    : TaskFileFormat.forFile(file);
+        } catch (IllegalArgumentException e) {
+            printUsage();
+            return false;
+        }
+        
+        TransferStats stats;
+        switch (args[0]) {
+            case "import":
+                stats = new TaskImporter(taskService).importFrom(file, format);
+                System.out.println("Imported " + stats);
+                return true;
+            case "export":
+                stats = new TaskExporter(taskService).exportTo(file, format);
+                System.out.println("Exported " + stats);
+                return true;
+            default:
+                printUsage();
+                return false;
+        }
+    }
+    
+    private static void printUsage() {
+        System.err.println("Usage: (import|export) <file> [jsonl|csv]");
+        System.err.println("Without arguments, the interactive task manager starts.");
+    }
+    
+    private static void closeRepository(TaskRepository taskRepository) {
+        if (taskRepository instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) taskRepository).close();
+            } catch (Exception e) {
+                logger.error("Error closing task repository", e);
+            }
         }
     }
 } 
\ No newline at end of file
@@ -11,8 +11,9 @@ import com.cursor.automation.service.model.TaskServiceModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 /**
  * Task Management Application Demo.
@@ -29,8 +30,15 @@ public class WorkflowDemo {
      */
     public WorkflowDemo() {
         // Initialize the repository
-        TaskRepository taskRepository = new InMemoryTaskRepository();
-        
+        this(new InMemoryTaskRepository());
+    }
+    
+    /**
+     * Initializes the WorkflowDemo with the given repository.
+     * 
+     * @param taskRepository the repository to store tasks in
+     */
+    public WorkflowDemo(TaskRepository taskRepository) {
         // Initialize the service with the repository
         taskService = new TaskServiceImpl(taskRepository);
         
@@ -46,8 +54,10 @@ public class WorkflowDemo {
     public void runDemo() {
         System.out.println("\n--- Task Management Application ---");
         
-        // Add some sample tasks
-        addSampleTasks();
+        // Add some sample tasks, unless tasks were kept from an earlier run
+        if (taskService.getTasksPage(null, 1).isEmpty()) {
+            addSampleTasks();
+        }
         
         // Show the main menu
         showMainMenu();
@@ -167,27 +177,27 @@ public class WorkflowDemo {
     private void viewAllTasks() {
         System.out.println("\n----- All Tasks -----");
         
-        // Get all tasks from service - returns service models
-        List<TaskServiceModel> taskServiceModels = taskService.getAllTasks();
-        
-        // Convert to DTOs for presentation
-        List<TaskDTO> taskDTOs = TaskDTOMapper.toDTOList(taskServiceModels);
-        
-        if (taskDTOs.isEmpty()) {
-            System.out.println("No tasks found.");
-            return;
-        }
-        
-        System.out.println(String.format("%-36s %-40s %-15s", 
-                "ID", "Title", "Status"));
-        System.out.println("-".repeat(95));
-        
-        for (TaskDTO taskDTO : taskDTOs) {
-            System.out.println(String.format("%-36s %-40s %-15s",
-                    taskDTO.getId(),
-                    taskDTO.getTitle(),
-                    taskDTO.getStatus()
-            ));
+        // Stream tasks from the service and convert each to a DTO as it is printed
+        try (Stream<TaskServiceModel> taskServiceModels = taskService.streamAllTasks()) {
+            Iterator<TaskDTO> taskDTOs = taskServiceModels.map(TaskDTOMapper::toDTO).iterator();
+            
+            if (!taskDTOs.hasNext()) {
+                System.out.println("No tasks found.");
+                return;
+            }
+            
+            System.out.println(String.format("%-36s %-40s %-15s", 
+                    "ID", "Title", "Status"));
+            System.out.println("-".repeat(95));
+            
+            while (taskDTOs.hasNext()) {
+                TaskDTO taskDTO = taskDTOs.next();
+                System.out.println(String.format("%-36s %-40s %-15s",
+                        taskDTO.getId(),
+                        taskDTO.getTitle(),
+                        taskDTO.getStatus()
+                ));
+            }
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.cursor.automation.dal;
+
+/**
+ * Snapshot of the counters of a {@link CachingTaskRepository}.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long negativeHits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+    private final long weight;
+
+    public CacheStats(long hits, long negativeHits, long misses, long evictions, long size, long weight) {
+        this.hits = hits;
+        this.negativeHits = negativeHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * Lookups answered from the cache, including cached misses
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Lookups answered from a cached miss, for an ID the wrapped repository did not have
+     */
+    public long getNegativeHits() {
+        return negativeHits;
+    }
+
+    /**
+     * Lookups that went to the wrapped repository
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Cached entries, including cached misses
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Total weight of the cached entries: their count or their estimated bytes
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hits +
+                ", negativeHits=" + negativeHits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", size=" + size +
+                ", weight=" + weight +
+                '}';
+    }
+}
@@ -0,0 +1,313 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * TaskRepository decorator that caches lookups by ID.
+ *
+ * {@link #findById} is read-through: a miss loads the task from the wrapped repository and
+ * caches it, and an ID the repository does not have is cached as a miss too. Saves are
+ * write-through: they go to the wrapped repository first and then replace the cached entry,
+ * unless another save in the same segment overlapped them, in which case the entry is
+ * dropped and reloaded on the next lookup. Batch saves only drop the entries they replace,
+ * so bulk imports do not evict the tasks being looked up. All other queries go straight to
+ * the wrapped repository.
+ *
+ * The cache is bounded either by entry count or by the estimated bytes of the cached tasks.
+ * It is split into segments by ID hash, each a map in access order under its own lock that
+ * evicts its least recently used entries, so lookups of different IDs rarely contend.
+ *
+ * Cached tasks are copied on the way in and out, so changing a returned entity does not
+ * change the cache, as with a repository that decodes its entities on every read.
+ */
+public class CachingTaskRepository implements TaskRepository, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingTaskRepository.class);
+
+    private static final int SEGMENTS = 16;
+    // Object headers, references and the map node of an entry, roughly
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final TaskRepository delegate;
+    private final boolean weighBytes;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Caches up to maxEntries tasks and misses.
+     *
+     * @param delegate the repository to cache
+     * @param maxEntries the most entries kept
+     */
+    public CachingTaskRepository(TaskRepository delegate, int maxEntries) {
+        this(delegate, maxEntries, false);
+    }
+
+    /**
+     * Caches tasks and misses up to an estimated total size.
+     *
+     * @param delegate the repository to cache
+     * @param maxBytes the most estimated bytes kept
+     * @return the caching repository
+     */
+    public static CachingTaskRepository withMaxBytes(TaskRepository delegate, long maxBytes) {
+        return new CachingTaskRepository(delegate, maxBytes, true);
+    }
+
+    private CachingTaskRepository(TaskRepository delegate, long capacity, boolean weighBytes) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Task repository cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.delegate = delegate;
+        this.weighBytes = weighBytes;
+
+        // Small caches keep one segment, so that eviction follows the recency of all entries
+        int segmentCount = capacity >= SEGMENTS * (weighBytes ? 64L * ENTRY_OVERHEAD_BYTES : 64) ? SEGMENTS : 1;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0));
+        }
+    }
+
+    @Override
+    public TaskEntity saveTask(TaskEntity taskEntity) {
+        if (taskEntity == null || taskEntity.getId() == null) {
+            return delegate.saveTask(taskEntity);
+        }
+
+        Segment segment = segmentFor(taskEntity.getId());
+        long writes = segment.beginWrite(taskEntity.getId());
+        TaskEntity saved = delegate.saveTask(taskEntity);
+        segment.completeWrite(taskEntity.getId(), copy(saved), writes);
+        return saved;
+    }
+
+    @Override
+    public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+        if (taskEntities == null) {
+            return delegate.saveAll(null);
+        }
+
+        for (TaskEntity taskEntity : taskEntities) {
+            invalidate(taskEntity);
+        }
+        List<TaskEntity> saved = delegate.saveAll(taskEntities);
+        // Again, in case a lookup loaded a task while the batch was being saved
+        for (TaskEntity taskEntity : taskEntities) {
+            invalidate(taskEntity);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<TaskEntity> findById(String id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+
+        Segment segment = segmentFor(id);
+        long writes;
+        synchronized (segment) {
+            Entry entry = segment.entries.get(id);
+            if (entry != null) {
+                hits.increment();
+                if (entry.entity == null) {
+                    negativeHits.increment();
+                    return Optional.empty();
+                }
+                return Optional.of(copy(entry.entity));
+            }
+            writes = segment.writes;
+        }
+
+        misses.increment();
+        Optional<TaskEntity> loaded = delegate.findById(id);
+        synchronized (segment) {
+            // A save of any ID in the segment since the lookup started may have made the loaded task stale
+            if (segment.writes == writes) {
+                segment.put(id, loaded.map(CachingTaskRepository::copy).orElse(null));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<TaskEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<TaskEntity> findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+
+    @Override
+    public Stream<TaskEntity> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<TaskEntity> findByStatus(TaskStatusEntity status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public long countByStatus(TaskStatusEntity status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public List<TaskEntity> findByTitlePrefix(String prefix) {
+        return delegate.findByTitlePrefix(prefix);
+    }
+
+    @Override
+    public List<TaskEntity> searchByTitle(String query, int limit) {
+        return delegate.searchByTitle(query, limit);
+    }
+
+    /**
+     * Current counters and size of the cache.
+     */
+    public CacheStats getStats() {
+        long size = 0;
+        long weight = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+                weight += segment.weight;
+            }
+        }
+        return new CacheStats(hits.sum(), negativeHits.sum(), misses.sum(), evictions.sum(), size, weight);
+    }
+
+    /**
+     * Closes the wrapped repository if it is closeable.
+     */
+    @Override
+    public void close() {
+        logger.info("Closing task cache: {}", getStats());
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                logger.warn("Cannot close task repository: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void invalidate(TaskEntity taskEntity) {
+        if (taskEntity != null && taskEntity.getId() != null) {
+            segmentFor(taskEntity.getId()).beginWrite(taskEntity.getId());
+        }
+    }
+
+    private Segment segmentFor(String id) {
+        int hash = id.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private long weigh(String id, TaskEntity entity) {
+        if (!weighBytes) {
+            return 1;
+        }
+        int chars = id.length() + (entity != null && entity.getTitle() != null ? entity.getTitle().length() : 0);
+        return ENTRY_OVERHEAD_BYTES + 2L * chars;
+    }
+
+    private static TaskEntity copy(TaskEntity taskEntity) {
+        TaskEntity copy = new TaskEntity(taskEntity.getId(), taskEntity.getTitle(), taskEntity.getStatus());
+        copy.setVersion(taskEntity.getVersion());
+        return copy;
+    }
+
+    /**
+     * A cached task, or a cached miss when entity is null
+     */
+    private static final class Entry {
+        private final TaskEntity entity;
+        private final long weight;
+
+        Entry(TaskEntity entity, long weight) {
+            this.entity = entity;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * One LRU part of the cache; all access holds its monitor
+     */
+    private final class Segment {
+        private final long capacity;
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+        // Bumped at the start and end of every save, so that a load or save overlapping
+        // another save can tell and does not cache what may be stale
+        private long writes;
+
+        Segment(long capacity) {
+            this.capacity = capacity;
+        }
+
+        void put(String id, TaskEntity entity) {
+            Entry entry = new Entry(entity, weigh(id, entity));
+            Entry previous = entries.put(id, entry);
+            weight += entry.weight - (previous != null ? previous.weight : 0);
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (weight > capacity && eldest.hasNext()) {
+                Map.Entry<String, Entry> evicted = eldest.next();
+                weight -= evicted.getValue().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        /**
+         * Drops the entry of a task about to be saved.
+         *
+         * @return the token to pass to {@link #completeWrite}
+         */
+        synchronized long beginWrite(String id) {
+            writes++;
+            remove(id);
+            return writes;
+        }
+
+        /**
+         * Caches the saved task, or drops it if other saves overlapped this one.
+         */
+        synchronized void completeWrite(String id, TaskEntity saved, long token) {
+            if (writes == token) {
+                put(id, saved);
+            } else {
+                remove(id);
+            }
+            writes++;
+        }
+
+        void remove(String id) {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+        }
+    }
+}
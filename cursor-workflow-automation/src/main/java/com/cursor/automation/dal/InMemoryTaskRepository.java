@@ -1,23 +1,51 @@
 package com.cursor.automation.dal;
 
 import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of the TaskRepository interface.
  * This is a simple implementation that stores tasks in memory.
+ * 
+ * Status and title queries are answered from secondary indexes maintained on every save:
+ * a set of task IDs per status and a sorted set of (title, ID) keys. Each task is indexed
+ * under the status and title it had when it was saved, so changing an entity without saving
+ * it again does not affect the indexes. Under concurrent saves of the same task, counts may
+ * briefly include it under both its old and new status. A sorted set of IDs serves pages,
+ * and a {@link TitleSearchIndex} serves word searches.
+ * 
+ * The repository keeps its own copy of each saved entity and hands out copies, so callers
+ * can change the entities they pass in or get back without affecting what is stored.
  */
 public class InMemoryTaskRepository implements TaskRepository {
     
     private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskRepository.class);
-    private final Map<String, TaskEntity> taskStore = new ConcurrentHashMap<>();
+    private final Map<String, StoredTask> taskStore = new ConcurrentHashMap<>();
+    private final Map<TaskStatusEntity, Set<String>> idsByStatus = new EnumMap<>(TaskStatusEntity.class);
+    private final NavigableSet<TitleKey> titleIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<String> sortedIds = new ConcurrentSkipListSet<>();
+    private final TitleSearchIndex searchIndex = new TitleSearchIndex();
+    
+    public InMemoryTaskRepository() {
+        // Populated once, so the EnumMap itself is only ever read concurrently
+        for (TaskStatusEntity status : TaskStatusEntity.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
     
     @Override
     public TaskEntity saveTask(TaskEntity taskEntity) {
@@ -30,19 +58,188 @@ public class InMemoryTaskRepository implements TaskRepository {
             throw new IllegalArgumentException("Task entity ID cannot be null");
         }
         
-        taskStore.put(taskEntity.getId(), taskEntity);
-        return taskEntity;
+        return copy(store(taskEntity).entity);
+    }
+    
+    @Override
+    public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+        logger.debug("Saving {} task entities", taskEntities != null ? taskEntities.size() : 0);
+        TaskBatches.validate(taskEntities);
+        
+        List<TaskEntity> saved = new ArrayList<>(taskEntities.size());
+        for (TaskEntity taskEntity : taskEntities) {
+            saved.add(copy(store(taskEntity).entity));
+        }
+        return saved;
     }
     
     @Override
     public Optional<TaskEntity> findById(String id) {
         logger.debug("Finding task entity by ID: {}", id);
-        return Optional.ofNullable(taskStore.get(id));
+        StoredTask stored = taskStore.get(id);
+        return Optional.ofNullable(stored != null ? copy(stored.entity) : null);
     }
     
     @Override
     public List<TaskEntity> findAll() {
         logger.debug("Finding all task entities, current count: {}", taskStore.size());
-        return new ArrayList<>(taskStore.values());
+        List<TaskEntity> result = new ArrayList<>(taskStore.size());
+        for (StoredTask stored : taskStore.values()) {
+            result.add(copy(stored.entity));
+        }
+        return result;
+    }
+    
+    @Override
+    public List<TaskEntity> findPage(String cursor, int limit) {
+        logger.debug("Finding page of task entities after: {}, limit: {}", cursor, limit);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        
+        NavigableSet<String> remaining = cursor != null ? sortedIds.tailSet(cursor, false) : sortedIds;
+        List<TaskEntity> result = new ArrayList<>(Math.min(limit, 1024));
+        for (String id : remaining) {
+            StoredTask stored = taskStore.get(id);
+            if (stored != null) {
+                result.add(copy(stored.entity));
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public Stream<TaskEntity> streamAll() {
+        logger.debug("Streaming all task entities, current count: {}", taskStore.size());
+        return taskStore.values().stream().map(stored -> copy(stored.entity));
+    }
+    
+    @Override
+    public List<TaskEntity> findByStatus(TaskStatusEntity status) {
+        logger.debug("Finding task entities by status: {}", status);
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        
+        Set<String> ids = idsByStatus.get(status);
+        List<TaskEntity> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            StoredTask stored = taskStore.get(id);
+            // Skip tasks that are being moved to another status
+            if (stored != null && stored.status == status) {
+                result.add(copy(stored.entity));
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public long countByStatus(TaskStatusEntity status) {
+        return status != null ? idsByStatus.get(status).size() : 0;
+    }
+    
+    @Override
+    public List<TaskEntity> findByTitlePrefix(String prefix) {
+        logger.debug("Finding task entities by title prefix: {}", prefix);
+        if (prefix == null) {
+            throw new IllegalArgumentException("Title prefix cannot be null");
+        }
+        
+        List<TaskEntity> result = new ArrayList<>();
+        for (TitleKey key : titleIndex.tailSet(new TitleKey(prefix, ""), true)) {
+            if (!key.title.startsWith(prefix)) {
+                break;
+            }
+            StoredTask stored = taskStore.get(key.id);
+            if (stored != null && key.title.equals(stored.title)) {
+                result.add(copy(stored.entity));
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public List<TaskEntity> searchByTitle(String query, int limit) {
+        logger.debug("Searching task entities by title: {}, limit: {}", query, limit);
+        if (query == null) {
+            throw new IllegalArgumentException("Search query cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive");
+        }
+        
+        List<String> ids = searchIndex.search(query, limit);
+        List<TaskEntity> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            StoredTask stored = taskStore.get(id);
+            if (stored != null) {
+                result.add(copy(stored.entity));
+            }
+        }
+        return result;
+    }
+    
+    private StoredTask store(TaskEntity taskEntity) {
+        // Saves of the same ID are serialized, so the indexes follow the last save and
+        // each save checks the version left by the one before it
+        return taskStore.compute(taskEntity.getId(), (id, previous) -> {
+            long version = TaskVersions.next(taskEntity, previous != null, previous != null ? previous.version : 0);
+            taskEntity.setVersion(version);
+            StoredTask stored = new StoredTask(copy(taskEntity), version);
+            index(id, stored);
+            if (previous != null) {
+                unindex(id, previous, stored);
+            } else {
+                sortedIds.add(id);
+            }
+            if (previous == null || !Objects.equals(previous.title, stored.title)) {
+                searchIndex.put(id, stored.title);
+            }
+            return stored;
+        });
+    }
+    
+    private void index(String id, StoredTask stored) {
+        if (stored.status != null) {
+            idsByStatus.get(stored.status).add(id);
+        }
+        if (stored.title != null) {
+            titleIndex.add(new TitleKey(stored.title, id));
+        }
+    }
+    
+    private void unindex(String id, StoredTask previous, StoredTask current) {
+        if (previous.status != null && previous.status != current.status) {
+            idsByStatus.get(previous.status).remove(id);
+        }
+        if (previous.title != null && !previous.title.equals(current.title)) {
+            titleIndex.remove(new TitleKey(previous.title, id));
+        }
+    }
+    
+    private static TaskEntity copy(TaskEntity taskEntity) {
+        TaskEntity copy = new TaskEntity(taskEntity.getId(), taskEntity.getTitle(), taskEntity.getStatus());
+        copy.setVersion(taskEntity.getVersion());
+        return copy;
+    }
+    
+    /**
+     * A saved entity with the status and title it was indexed under, and its version
+     */
+    private static final class StoredTask {
+        private final TaskEntity entity;
+        private final TaskStatusEntity status;
+        private final String title;
+        private final long version;
+        
+        StoredTask(TaskEntity entity, long version) {
+            this.entity = entity;
+            this.version = version;
+            this.status = entity.getStatus();
+            this.title = entity.getTitle();
+        }
     }
-} 
\ No newline at end of file
+}
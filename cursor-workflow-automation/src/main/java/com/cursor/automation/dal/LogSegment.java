@@ -0,0 +1,358 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped segment file of the task log.
+ *
+ * A segment starts with a 16 byte header (magic, version, sequence number) followed by
+ * records, each laid out as:
+ * <pre>
+ *   int    length of the rest of the record
+ *   int    CRC32 of the bytes after this field
+ *   byte   status ordinal, or -1 for none
+ *   short  ID length, then the ID in UTF-8
+ *   int    title length (-1 for none), then the title in UTF-8
+ *   long   task version after the save
+ * </pre>
+ * Files are created at their full capacity and zero-filled, so a zero length marks the end
+ * of the records. The status and ID come before the title so the index can be rebuilt
+ * without decoding titles.
+ *
+ * Header version 1 segments were written before tasks had versions: their records end after
+ * the title and their tasks read as version 1, so that saves against them are still checked.
+ * Such segments are read but never appended to.
+ */
+final class LogSegment {
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_OVERHEAD = 4 + 4 + 1 + 2 + 4 + 8;
+
+    private static final int MAGIC = 0x544C4F47; // "TLOG"
+    private static final short VERSION = 2;
+    private static final short UNVERSIONED_RECORDS_VERSION = 1;
+    // Version of the tasks in records without one; 0 would make the next save unconditional
+    static final long UNVERSIONED_TASK_VERSION = 1;
+    private static final int ID_OFFSET = 11;
+    // Length field value of the shortest record, with and without a version
+    private static final int MIN_LENGTH = RECORD_OVERHEAD - 4;
+    private static final int MIN_UNVERSIONED_LENGTH = MIN_LENGTH - 8;
+    private static final TaskStatusEntity[] STATUSES = TaskStatusEntity.values();
+
+    private final Path file;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean versioned;
+    private final AtomicLong liveBytes = new AtomicLong();
+    private int writePosition;
+
+    private LogSegment(Path file, long sequence, MappedByteBuffer buffer, boolean versioned, int writePosition) {
+        this.file = file;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.versioned = versioned;
+        this.writePosition = writePosition;
+    }
+
+    /**
+     * Creates a new, empty segment file of the given capacity.
+     */
+    static LogSegment create(Path file, long sequence, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.put(header(sequence));
+            buffer.force();
+            return new LogSegment(file, sequence, buffer, true, HEADER_SIZE);
+        }
+    }
+
+    /**
+     * Opens an existing segment file; its records are found with {@link #scan}.
+     */
+    static LogSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a task log segment: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            short version = headerVersion(buffer, buffer.capacity());
+            if (version == 0) {
+                throw new IOException("Not a task log segment: " + file);
+            }
+            return new LogSegment(file, buffer.getLong(8), buffer, hasTaskVersions(version), HEADER_SIZE);
+        }
+    }
+
+    /**
+     * The header of a file in the current format.
+     */
+    static ByteBuffer header(long sequence) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putLong(sequence);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * The version in the header at the start of the buffer, or 0 if the buffer does not start
+     * with a header of a version this class reads.
+     */
+    static short headerVersion(ByteBuffer buffer, int limit) {
+        if (limit < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            return 0;
+        }
+        short version = buffer.getShort(4);
+        return version == VERSION || version == UNVERSIONED_RECORDS_VERSION ? version : 0;
+    }
+
+    /**
+     * Whether the records of a file with the given header version end with the task version.
+     */
+    static boolean hasTaskVersions(short headerVersion) {
+        return headerVersion >= VERSION;
+    }
+
+    /**
+     * Whether the file is a segment whose creation was cut short: shorter than its header, or
+     * with an incomplete header and no records. No record is appended before the header is
+     * flushed, so such a file holds no data and can be discarded.
+     */
+    static boolean isIncomplete(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return true;
+            }
+            // The header and the length field of the first record
+            ByteBuffer start = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE + 4));
+            boolean complete = headerVersion(start, start.limit()) != 0 && start.getLong(8) > 0;
+            return !complete && (start.limit() < HEADER_SIZE + 4 || start.getInt(HEADER_SIZE) == 0);
+        }
+    }
+
+    /**
+     * Encodes a task at the given version as one record, ready to append.
+     */
+    static ByteBuffer encode(TaskEntity taskEntity, long version) {
+        byte[] id = taskEntity.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] title = taskEntity.getTitle() != null ? taskEntity.getTitle().getBytes(StandardCharsets.UTF_8) : null;
+        if (id.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Task entity ID is too long");
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + id.length + (title != null ? title.length : 0));
+        record.putInt(record.capacity() - 4);
+        record.putInt(0);
+        record.put(taskEntity.getStatus() != null ? (byte) taskEntity.getStatus().ordinal() : -1);
+        record.putShort((short) id.length);
+        record.put(id);
+        record.putInt(title != null ? title.length : -1);
+        if (title != null) {
+            record.put(title);
+        }
+        record.putLong(version);
+        record.flip();
+        setChecksum(record);
+        return record;
+    }
+
+    /**
+     * Changes the version of an encoded record, for records encoded before the version of
+     * the save was known.
+     */
+    static void setVersion(ByteBuffer record, long version) {
+        record.putLong(record.limit() - 8, version);
+        setChecksum(record);
+    }
+
+    private static void setChecksum(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, record.limit() - 8);
+        record.putInt(4, (int) crc.getValue());
+    }
+
+    boolean hasRoom(int recordLength) {
+        return writePosition + recordLength <= capacity;
+    }
+
+    /**
+     * Appends an encoded record; callers serialize appends.
+     *
+     * @return the record's offset in this segment
+     */
+    int append(ByteBuffer record) {
+        int offset = writePosition;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(record.duplicate());
+        writePosition = offset + record.remaining();
+        return offset;
+    }
+
+    /**
+     * Whether records are appended to this segment; segments of the first header version are
+     * only read.
+     */
+    boolean isWritable() {
+        return versioned;
+    }
+
+    /**
+     * Copy of the record at the offset, encoded in the current format.
+     */
+    ByteBuffer copyRecord(int offset) {
+        if (!versioned) {
+            return encode(read(offset), UNVERSIONED_TASK_VERSION);
+        }
+        int length = 4 + buffer.getInt(offset);
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset).limit(offset + length);
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        copy.put(source).flip();
+        return copy;
+    }
+
+    TaskEntity read(int offset) {
+        return decode(buffer, offset, versioned);
+    }
+
+    String readTitle(int offset) {
+        return readTitle(buffer, offset);
+    }
+
+    /**
+     * Visits the records from the start of the segment and sets the write position after the
+     * last one. With verify, records are checked against their CRC and the scan stops at the
+     * first torn or corrupt record, whose bytes are cleared so later appends start clean.
+     */
+    void scan(boolean verify, RecordVisitor visitor) {
+        int position = HEADER_SIZE;
+        int length;
+        while ((length = recordLength(buffer, position, capacity, verify, versioned)) > 0) {
+            String id = readString(buffer, position + ID_OFFSET, buffer.getShort(position + 9));
+            visitor.visit(position, length, toStatus(buffer.get(position + 8)), id, readVersion(buffer, position, versioned));
+            position += length;
+        }
+        writePosition = position;
+
+        if (verify && position + 4 <= capacity && buffer.getInt(position) != 0) {
+            for (int i = position; i < capacity; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void delete() throws IOException {
+        // The mapping stays readable for readers still holding a location in this segment
+        Files.deleteIfExists(file);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    AtomicLong getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Bytes of records written to this segment, live or not
+     */
+    int getUsedBytes() {
+        return writePosition - HEADER_SIZE;
+    }
+
+    /**
+     * Length of the record at the position, including its length field, or 0 if there is no
+     * complete record there (end of the records, a torn write or, with verify, a bad checksum).
+     *
+     * @param versioned whether the records end with the task version, see {@link #hasTaskVersions}
+     */
+    static int recordLength(ByteBuffer buffer, int position, int limit, boolean verify, boolean versioned) {
+        int minLength = versioned ? MIN_LENGTH : MIN_UNVERSIONED_LENGTH;
+        if (position + 4 + minLength > limit) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length < minLength || length > limit - position - 4) {
+            return 0;
+        }
+        if (verify) {
+            ByteBuffer record = buffer.duplicate();
+            record.position(position + 8).limit(position + 4 + length);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                return 0;
+            }
+        }
+        return 4 + length;
+    }
+
+    /**
+     * Decodes the record at the offset of a buffer holding encoded records.
+     */
+    static TaskEntity decode(ByteBuffer buffer, int offset, boolean versioned) {
+        String id = readString(buffer, offset + ID_OFFSET, buffer.getShort(offset + 9));
+        TaskStatusEntity status = toStatus(buffer.get(offset + 8));
+        TaskEntity taskEntity = new TaskEntity(id, readTitle(buffer, offset), status);
+        taskEntity.setVersion(readVersion(buffer, offset, versioned));
+        return taskEntity;
+    }
+
+    private static long readVersion(ByteBuffer buffer, int offset, boolean versioned) {
+        // The version is the last field of the record
+        return versioned ? buffer.getLong(offset + 4 + buffer.getInt(offset) - 8) : UNVERSIONED_TASK_VERSION;
+    }
+
+    private static String readTitle(ByteBuffer buffer, int offset) {
+        int titleOffset = offset + ID_OFFSET + buffer.getShort(offset + 9);
+        int titleLength = buffer.getInt(titleOffset);
+        return titleLength >= 0 ? readString(buffer, titleOffset + 4, titleLength) : null;
+    }
+
+    private static String readString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static TaskStatusEntity toStatus(byte ordinal) {
+        return ordinal >= 0 ? STATUSES[ordinal] : null;
+    }
+
+    /**
+     * Receives the header fields of each record found by {@link #scan}
+     */
+    interface RecordVisitor {
+        void visit(int offset, int length, TaskStatusEntity status, String id, long version);
+    }
+}
@@ -0,0 +1,630 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * TaskRepository that persists tasks in an append-only log of memory-mapped segment files.
+ *
+ * Every save appends a record (see {@link LogSegment}) to the active segment and points an
+ * in-memory hash index of task ID to record location at it. Saves are sequential appends
+ * under one lock; durability uses group commit, so a save returns once its record is
+ * flushed to disk, and one flush covers every record appended before it started. When the
+ * active segment is full it is flushed and a new one is started.
+ *
+ * A background task compacts sealed segments in which most records have been superseded:
+ * their live records are appended again and, once those are flushed, the segment file is
+ * deleted. A crash at any point leaves each task's latest record in the log, because
+ * recovery replays segments in order and later records win.
+ *
+ * On startup the index is rebuilt from the record headers (ID and status) without decoding
+ * titles. Only the last segment is checked against the record checksums, and a torn record
+ * at its end is discarded, as is a last segment whose creation did not finish. A last
+ * segment from before tasks had versions is left as it is and a new one started. The title
+ * prefix and word search indexes are each built on their first query.
+ *
+ * Entities are decoded on every read, so callers get copies and changes to them are only
+ * stored by saving them.
+ */
+public class LogStructuredTaskRepository implements TaskRepository, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStructuredTaskRepository.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+    public static final long DEFAULT_COMPACTION_INTERVAL_MS = 60_000;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final double compactionThreshold;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Map<TaskStatusEntity, Set<String>> idsByStatus = new EnumMap<>(TaskStatusEntity.class);
+    private final NavigableSet<String> sortedIds = new ConcurrentSkipListSet<>();
+    private volatile NavigableSet<TitleKey> titleIndex;
+    private volatile TitleSearchIndex searchIndex;
+
+    // Guards appends, the segment list and index updates
+    private final Object writeLock = new Object();
+    private final List<LogSegment> segments = new ArrayList<>();
+    private LogSegment active;
+    private long appendedRecords;
+    private boolean closed;
+
+    // Group commit: one flush at a time, covering every record appended before it started
+    private final Object syncLock = new Object();
+    private volatile long durableRecords;
+
+    private final Object compactionLock = new Object();
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * Opens the log in the directory with the default segment size and compaction settings.
+     *
+     * @param directory the directory holding the segment files, created if missing
+     */
+    public LogStructuredTaskRepository(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMPACTION_THRESHOLD, DEFAULT_COMPACTION_INTERVAL_MS);
+    }
+
+    /**
+     * Opens the log in the directory, recovering the tasks of any existing segments.
+     *
+     * @param directory the directory holding the segment files, created if missing
+     * @param segmentSize the size of each segment file in bytes
+     * @param compactionThreshold the fraction of superseded bytes at which a sealed segment is compacted
+     * @param compactionIntervalMs the delay between background compactions, or 0 for none
+     */
+    public LogStructuredTaskRepository(Path directory, int segmentSize, double compactionThreshold,
+                                       long compactionIntervalMs) {
+        if (segmentSize < LogSegment.HEADER_SIZE + LogSegment.RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+        for (TaskStatusEntity status : TaskStatusEntity.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open task log in " + directory, e);
+        }
+
+        if (compactionIntervalMs > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-log-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactQuietly, compactionIntervalMs, compactionIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            compactor = null;
+        }
+    }
+
+    @Override
+    public TaskEntity saveTask(TaskEntity taskEntity) {
+        logger.debug("Saving task entity: {}", taskEntity);
+        if (taskEntity == null) {
+            throw new IllegalArgumentException("Task entity cannot be null");
+        }
+
+        if (taskEntity.getId() == null) {
+            throw new IllegalArgumentException("Task entity ID cannot be null");
+        }
+
+        ByteBuffer record = LogSegment.encode(taskEntity, 0);
+        if (record.remaining() > segmentSize - LogSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("Task entity is too large for a log segment");
+        }
+
+        long appended;
+        synchronized (writeLock) {
+            ensureOpen();
+            appended = appendVersioned(taskEntity, record);
+        }
+        awaitDurable(appended);
+        return taskEntity;
+    }
+
+    @Override
+    public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+        logger.debug("Saving {} task entities", taskEntities != null ? taskEntities.size() : 0);
+        TaskBatches.validate(taskEntities);
+
+        List<ByteBuffer> records = new ArrayList<>(taskEntities.size());
+        for (int i = 0; i < taskEntities.size(); i++) {
+            ByteBuffer record = LogSegment.encode(taskEntities.get(i), 0);
+            if (record.remaining() > segmentSize - LogSegment.HEADER_SIZE) {
+                throw new IllegalArgumentException("Task entity at index " + i + " is too large for a log segment");
+            }
+            records.add(record);
+        }
+
+        // One run of appends and one flush for the whole batch
+        long appended = 0;
+        try {
+            synchronized (writeLock) {
+                ensureOpen();
+                for (int i = 0; i < records.size(); i++) {
+                    appended = appendVersioned(taskEntities.get(i), records.get(i));
+                }
+            }
+        } finally {
+            // The tasks saved before a version conflict stay saved
+            if (appended > 0) {
+                awaitDurable(appended);
+            }
+        }
+        return taskEntities;
+    }
+
+    @Override
+    public Optional<TaskEntity> findById(String id) {
+        logger.debug("Finding task entity by ID: {}", id);
+        Location location = id != null ? index.get(id) : null;
+        return Optional.ofNullable(location != null ? location.read() : null);
+    }
+
+    @Override
+    public List<TaskEntity> findAll() {
+        logger.debug("Finding all task entities, current count: {}", index.size());
+        List<TaskEntity> result = new ArrayList<>(index.size());
+        for (Location location : index.values()) {
+            result.add(location.read());
+        }
+        return result;
+    }
+
+    @Override
+    public List<TaskEntity> findPage(String cursor, int limit) {
+        logger.debug("Finding page of task entities after: {}, limit: {}", cursor, limit);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+
+        NavigableSet<String> remaining = cursor != null ? sortedIds.tailSet(cursor, false) : sortedIds;
+        List<TaskEntity> result = new ArrayList<>(Math.min(limit, 1024));
+        for (String id : remaining) {
+            Location location = index.get(id);
+            if (location != null) {
+                result.add(location.read());
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Stream<TaskEntity> streamAll() {
+        logger.debug("Streaming all task entities, current count: {}", index.size());
+        return index.values().stream().map(Location::read);
+    }
+
+    @Override
+    public List<TaskEntity> findByStatus(TaskStatusEntity status) {
+        logger.debug("Finding task entities by status: {}", status);
+        if (status == null) {
+            return new ArrayList<>();
+        }
+
+        Set<String> ids = idsByStatus.get(status);
+        List<TaskEntity> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Location location = index.get(id);
+            // Skip tasks that are being moved to another status
+            if (location != null && location.status == status) {
+                result.add(location.read());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long countByStatus(TaskStatusEntity status) {
+        return status != null ? idsByStatus.get(status).size() : 0;
+    }
+
+    @Override
+    public List<TaskEntity> findByTitlePrefix(String prefix) {
+        logger.debug("Finding task entities by title prefix: {}", prefix);
+        if (prefix == null) {
+            throw new IllegalArgumentException("Title prefix cannot be null");
+        }
+
+        List<TaskEntity> result = new ArrayList<>();
+        for (TitleKey key : titleIndex().tailSet(new TitleKey(prefix, ""), true)) {
+            if (!key.title.startsWith(prefix)) {
+                break;
+            }
+            Location location = index.get(key.id);
+            TaskEntity entity = location != null ? location.read() : null;
+            if (entity != null && key.title.equals(entity.getTitle())) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<TaskEntity> searchByTitle(String query, int limit) {
+        logger.debug("Searching task entities by title: {}, limit: {}", query, limit);
+        if (query == null) {
+            throw new IllegalArgumentException("Search query cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive");
+        }
+
+        List<String> ids = searchIndex().search(query, limit);
+        List<TaskEntity> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Location location = index.get(id);
+            TaskEntity entity = location != null ? location.read() : null;
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compacts the sealed segments whose share of superseded bytes has reached the threshold.
+     * Runs in the background as well; calls are serialized.
+     *
+     * @return the number of segment files deleted
+     */
+    public int compact() {
+        synchronized (compactionLock) {
+            List<LogSegment> candidates = new ArrayList<>();
+            synchronized (writeLock) {
+                ensureOpen();
+                for (LogSegment segment : segments) {
+                    if (segment != active && isCompactable(segment)) {
+                        candidates.add(segment);
+                    }
+                }
+            }
+
+            int deleted = 0;
+            for (LogSegment segment : candidates) {
+                if (compact(segment)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+
+    /**
+     * Flushes the log and stops background compaction. The repository cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        synchronized (compactionLock) {
+            synchronized (writeLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                active.force();
+            }
+        }
+        logger.info("Closed task log in {} with {} tasks", directory, index.size());
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.naturalOrder());
+
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            // A crash while the newest segment was being created leaves it empty or without a full header
+            if (last && LogSegment.isIncomplete(files.get(i))) {
+                logger.warn("Discarding task log segment {} whose creation did not finish", files.get(i));
+                Files.delete(files.get(i));
+                break;
+            }
+            LogSegment segment = LogSegment.open(files.get(i));
+            // Sealed segments were flushed before the next one started; only the last can be torn
+            segment.scan(last, (offset, length, status, id, version) -> {
+                Location previous = index.put(id, new Location(segment, offset, length, status, version));
+                segment.getLiveBytes().addAndGet(length);
+                if (previous != null) {
+                    previous.segment.getLiveBytes().addAndGet(-previous.length);
+                }
+            });
+            segments.add(segment);
+        }
+
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (entry.getValue().status != null) {
+                idsByStatus.get(entry.getValue().status).add(entry.getKey());
+            }
+        }
+        sortedIds.addAll(index.keySet());
+
+        if (segments.isEmpty()) {
+            segments.add(LogSegment.create(segmentFile(1), 1, segmentSize));
+        }
+        active = segments.get(segments.size() - 1);
+        if (!active.isWritable()) {
+            // Written before tasks had versions; new records go to a segment in the current format
+            roll();
+        }
+        logger.info("Opened task log in {}: {} tasks in {} segments", directory, index.size(), segments.size());
+    }
+
+    /**
+     * Checks a save against the task's current version and appends its record at the next
+     * version; called with the write lock held.
+     *
+     * @return the number of records appended so far
+     */
+    private long appendVersioned(TaskEntity taskEntity, ByteBuffer record) {
+        Location current = index.get(taskEntity.getId());
+        long version = TaskVersions.next(taskEntity, current != null, current != null ? current.version : 0);
+        LogSegment.setVersion(record, version);
+        long appended = append(taskEntity.getId(), taskEntity.getStatus(), taskEntity.getTitle(), version, record);
+        taskEntity.setVersion(version);
+        return appended;
+    }
+
+    /**
+     * Appends a record and updates the indexes; called with the write lock held.
+     *
+     * @return the number of records appended so far, to wait for with {@link #awaitDurable}
+     */
+    private long append(String id, TaskStatusEntity status, String title, long version, ByteBuffer record) {
+        if (!active.hasRoom(record.remaining())) {
+            roll();
+        }
+        int offset = active.append(record);
+        Location location = new Location(active, offset, record.remaining(), status, version);
+        active.getLiveBytes().addAndGet(location.length);
+
+        Location previous = index.put(id, location);
+        if (previous == null) {
+            sortedIds.add(id);
+        } else {
+            previous.segment.getLiveBytes().addAndGet(-previous.length);
+        }
+
+        if (previous == null || previous.status != status) {
+            if (status != null) {
+                idsByStatus.get(status).add(id);
+            }
+            if (previous != null && previous.status != null) {
+                idsByStatus.get(previous.status).remove(id);
+            }
+        }
+
+        NavigableSet<TitleKey> titles = titleIndex;
+        if (titles != null) {
+            String previousTitle = previous != null ? previous.segment.readTitle(previous.offset) : null;
+            if (title != null) {
+                titles.add(new TitleKey(title, id));
+            }
+            if (previousTitle != null && !previousTitle.equals(title)) {
+                titles.remove(new TitleKey(previousTitle, id));
+            }
+        }
+        TitleSearchIndex search = searchIndex;
+        if (search != null) {
+            search.put(id, title);
+        }
+        return ++appendedRecords;
+    }
+
+    /**
+     * Seals the active segment and starts a new one; called with the write lock held.
+     */
+    private void roll() {
+        active.force();
+        durableRecords = appendedRecords;
+        long sequence = active.getSequence() + 1;
+        try {
+            active = LogSegment.create(segmentFile(sequence), sequence, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create task log segment " + sequence, e);
+        }
+        segments.add(active);
+        logger.debug("Started task log segment {}", active.getFile());
+    }
+
+    /**
+     * Returns once the given number of records is on disk. The first waiting writer flushes
+     * everything appended so far, so writers that arrive meanwhile share its flush.
+     */
+    private void awaitDurable(long records) {
+        if (durableRecords >= records) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableRecords >= records) {
+                return;
+            }
+            long target;
+            LogSegment segment;
+            synchronized (writeLock) {
+                target = appendedRecords;
+                segment = active;
+            }
+            // A roll in between flushes the earlier segment itself
+            segment.force();
+            if (durableRecords < target) {
+                durableRecords = target;
+            }
+        }
+    }
+
+    /**
+     * Appends the segment's live records again and deletes it once they are on disk.
+     */
+    private boolean compact(LogSegment segment) {
+        List<int[]> records = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        segment.scan(false, (offset, length, status, id, version) -> {
+            records.add(new int[] {offset, length});
+            ids.add(id);
+        });
+
+        long appended = 0;
+        int moved = 0;
+        for (int i = 0; i < records.size(); i++) {
+            String id = ids.get(i);
+            int offset = records.get(i)[0];
+            synchronized (writeLock) {
+                if (closed) {
+                    return false;
+                }
+                Location current = index.get(id);
+                // Only the record the index points at is live; a newer save may have replaced it
+                if (current != null && current.segment == segment && current.offset == offset) {
+                    ByteBuffer record = segment.copyRecord(offset);
+                    String title = titleIndex != null || searchIndex != null ? segment.readTitle(offset) : null;
+                    appended = append(id, current.status, title, current.version, record);
+                    moved++;
+                }
+            }
+        }
+        awaitDurable(appended);
+
+        synchronized (writeLock) {
+            segments.remove(segment);
+        }
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            logger.warn("Cannot delete compacted task log segment {}: {}", segment.getFile(), e.getMessage());
+            return false;
+        }
+        logger.info("Compacted task log segment {}: {} of {} records were live", segment.getFile(), moved, records.size());
+        return true;
+    }
+
+    private boolean isCompactable(LogSegment segment) {
+        if (segment.getUsedBytes() == 0) {
+            return true;
+        }
+        double superseded = 1.0 - (double) segment.getLiveBytes().get() / segment.getUsedBytes();
+        return superseded >= compactionThreshold;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            logger.error("Task log compaction failed", e);
+        }
+    }
+
+    private NavigableSet<TitleKey> titleIndex() {
+        NavigableSet<TitleKey> titles = titleIndex;
+        if (titles != null) {
+            return titles;
+        }
+        synchronized (writeLock) {
+            if (titleIndex == null) {
+                NavigableSet<TitleKey> built = new ConcurrentSkipListSet<>();
+                for (Map.Entry<String, Location> entry : index.entrySet()) {
+                    String title = entry.getValue().segment.readTitle(entry.getValue().offset);
+                    if (title != null) {
+                        built.add(new TitleKey(title, entry.getKey()));
+                    }
+                }
+                titleIndex = built;
+            }
+            return titleIndex;
+        }
+    }
+
+    private TitleSearchIndex searchIndex() {
+        TitleSearchIndex search = searchIndex;
+        if (search != null) {
+            return search;
+        }
+        synchronized (writeLock) {
+            if (searchIndex == null) {
+                TitleSearchIndex built = new TitleSearchIndex();
+                for (Map.Entry<String, Location> entry : index.entrySet()) {
+                    built.put(entry.getKey(), entry.getValue().segment.readTitle(entry.getValue().offset));
+                }
+                searchIndex = built;
+            }
+            return searchIndex;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Task log in " + directory + " is closed");
+        }
+    }
+
+    private Path segmentFile(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Where a task's latest record is, with the status it was indexed under and its version
+     */
+    private static final class Location {
+        private final LogSegment segment;
+        private final int offset;
+        private final int length;
+        private final TaskStatusEntity status;
+        private final long version;
+
+        Location(LogSegment segment, int offset, int length, TaskStatusEntity status, long version) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.status = status;
+            this.version = version;
+        }
+
+        TaskEntity read() {
+            return segment.read(offset);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+
+import java.util.List;
+
+/**
+ * Checks shared by the repositories' batch saves.
+ */
+final class TaskBatches {
+    
+    private TaskBatches() {
+    }
+    
+    /**
+     * Validates a batch up front, so that it is saved completely or not at all.
+     */
+    static void validate(List<TaskEntity> taskEntities) {
+        if (taskEntities == null) {
+            throw new IllegalArgumentException("Task entity list cannot be null");
+        }
+        for (int i = 0; i < taskEntities.size(); i++) {
+            if (taskEntities.get(i) == null) {
+                throw new IllegalArgumentException("Task entity at index " + i + " cannot be null");
+            }
+            if (taskEntities.get(i).getId() == null) {
+                throw new IllegalArgumentException("Task entity ID at index " + i + " cannot be null");
+            }
+        }
+    }
+}
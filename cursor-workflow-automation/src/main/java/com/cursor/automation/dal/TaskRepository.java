@@ -1,9 +1,11 @@
 package com.cursor.automation.dal;
 
 import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task data access operations.
@@ -13,11 +15,29 @@ public interface TaskRepository {
     /**
      * Saves a new task to the repository.
      * 
+     * A task with version 0 is saved unconditionally. Otherwise the save only succeeds if the
+     * stored task is still at that version, so that a task read, changed and saved again does
+     * not overwrite a save made in between. Either way the entity gets its new version.
+     * 
      * @param taskEntity the task entity to save
      * @return the saved task entity
+     * @throws TaskVersionConflictException if the task is stored at another version
      */
     TaskEntity saveTask(TaskEntity taskEntity);
     
+    /**
+     * Saves several tasks as one batch. All entities are validated before any is saved,
+     * so an invalid entity fails the whole call.
+     * 
+     * Versions are checked as by {@link #saveTask}. A version conflict fails the call, but the
+     * entities before the conflicting one stay saved.
+     * 
+     * @param taskEntities the task entities to save, in order; a later entity with the same ID wins
+     * @return the saved task entities
+     * @throws TaskVersionConflictException if a task is stored at another version than its entity
+     */
+    List<TaskEntity> saveAll(List<TaskEntity> taskEntities);
+    
     /**
      * Retrieves a task by its ID.
      * 
@@ -32,4 +52,57 @@ public interface TaskRepository {
      * @return a list of all task entities
      */
     List<TaskEntity> findAll();
-} 
\ No newline at end of file
+    
+    /**
+     * Retrieves one page of tasks in ID order, for keyset pagination.
+     * Pass the ID of the last task of the previous page as the cursor to get the next page.
+     * 
+     * @param cursor the ID after which the page starts, or null for the first page
+     * @param limit the maximum number of tasks in the page
+     * @return the task entities of the page; fewer than limit (possibly none) on the last page
+     */
+    List<TaskEntity> findPage(String cursor, int limit);
+    
+    /**
+     * Streams all tasks without copying them into a list first, in no particular order.
+     * Tasks saved while the stream is consumed may or may not be included.
+     * 
+     * @return a stream of all task entities
+     */
+    Stream<TaskEntity> streamAll();
+    
+    /**
+     * Retrieves all tasks with the given status.
+     * 
+     * @param status the task status
+     * @return a list of the task entities with that status
+     */
+    List<TaskEntity> findByStatus(TaskStatusEntity status);
+    
+    /**
+     * Counts the tasks with the given status.
+     * 
+     * @param status the task status
+     * @return the number of task entities with that status
+     */
+    long countByStatus(TaskStatusEntity status);
+    
+    /**
+     * Retrieves the tasks whose title starts with the given prefix (case-sensitive).
+     * 
+     * @param prefix the title prefix; an empty prefix matches every task with a title
+     * @return a list of the matching task entities, ordered by title
+     */
+    List<TaskEntity> findByTitlePrefix(String prefix);
+    
+    /**
+     * Searches task titles by words, ignoring case and punctuation. A task matches if its title
+     * contains every word of the query, the last word also matching as the start of a word so
+     * that partial input finds completions.
+     * 
+     * @param query the words to search for
+     * @param limit the maximum number of tasks to return
+     * @return the matching task entities, most relevant first
+     */
+    List<TaskEntity> searchByTitle(String query, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.cursor.automation.dal;
+
+/**
+ * Thrown when a task is saved with a version other than its stored one, because it was
+ * saved by someone else since it was read.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    private final String taskId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public TaskVersionConflictException(String taskId, long expectedVersion, long actualVersion) {
+        super("Task " + taskId + " is at version " + actualVersion + ", not " + expectedVersion);
+        this.taskId = taskId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * The version the save was made against
+     */
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * The stored version at the time of the save
+     */
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+
+/**
+ * The versioning rule shared by the repositories' saves.
+ */
+final class TaskVersions {
+
+    private TaskVersions() {
+    }
+
+    /**
+     * Checks a save against the stored version and returns the version the task gets.
+     *
+     * A save with version 0 is unconditional. Otherwise the task must still be at that
+     * version; a task that is not stored is created at the next version, so that tasks
+     * copied from a log or another repository keep their versions.
+     *
+     * @param stored whether the task is stored at all
+     * @throws TaskVersionConflictException if the task is stored at another version
+     */
+    static long next(TaskEntity taskEntity, boolean stored, long storedVersion) {
+        long expected = taskEntity.getVersion();
+        if (expected < 0) {
+            throw new IllegalArgumentException("Task entity version cannot be negative");
+        }
+        if (expected == 0) {
+            return storedVersion + 1;
+        }
+        if (stored && expected != storedVersion) {
+            throw new TaskVersionConflictException(taskEntity.getId(), expected, storedVersion);
+        }
+        return expected + 1;
+    }
+}
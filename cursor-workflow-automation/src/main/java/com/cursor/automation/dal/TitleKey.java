@@ -0,0 +1,40 @@
+package com.cursor.automation.dal;
+
+import java.util.Objects;
+
+/**
+ * Key of a sorted title index; the task ID keeps tasks with equal titles apart.
+ */
+final class TitleKey implements Comparable<TitleKey> {
+    
+    final String title;
+    final String id;
+    
+    TitleKey(String title, String id) {
+        this.title = title;
+        this.id = id;
+    }
+    
+    @Override
+    public int compareTo(TitleKey other) {
+        int byTitle = title.compareTo(other.title);
+        return byTitle != 0 ? byTitle : id.compareTo(other.id);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TitleKey)) {
+            return false;
+        }
+        TitleKey other = (TitleKey) o;
+        return title.equals(other.title) && id.equals(other.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, id);
+    }
+}
@@ -0,0 +1,498 @@
+package com.cursor.automation.dal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the words of task titles.
+ *
+ * Titles are split into lowercase words of letters and digits. Each indexed title gets a
+ * document number, and each word keeps the sorted numbers of the documents containing it as
+ * a posting list of variable-length deltas, with a skip entry every {@value #SKIP_INTERVAL}
+ * postings so intersections can jump ahead. The words are kept in a sorted map, which
+ * serves the prefix lookups of the last query word.
+ *
+ * A retitled task gets a new document number; the old one is marked dead and skipped by
+ * searches, and a word's posting list is rewritten once most of its postings are dead. Once
+ * most document numbers are dead, the live ones are renumbered in order and the tables shrunk.
+ *
+ * Matches are ranked by BM25, with every word counted once per title.
+ */
+final class TitleSearchIndex {
+
+    static final int SKIP_INTERVAL = 64;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_DEAD_TO_REWRITE = 32;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final String[] NO_WORDS = new String[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, Integer> documentsByTaskId = new HashMap<>();
+    private String[] taskIds = new String[INITIAL_CAPACITY];
+    private String[][] documentWords = new String[INITIAL_CAPACITY][];
+    private int nextDocument;
+    private int liveDocuments;
+    private long liveWords;
+
+    /**
+     * Splits text into distinct lowercase words, in order of first occurrence.
+     */
+    static String[] tokenize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens.toArray(NO_WORDS);
+    }
+
+    /**
+     * Indexes the task under its title, replacing its previous title.
+     *
+     * @param title the title, or null to remove the task from the index
+     */
+    void put(String taskId, String title) {
+        String[] tokens = title != null ? tokenize(title) : NO_WORDS;
+        lock.writeLock().lock();
+        try {
+            Integer previous = documentsByTaskId.get(taskId);
+            if (previous != null) {
+                // Saves that keep the words, such as status changes, leave the index alone
+                if (Arrays.equals(documentWords[previous], tokens)) {
+                    return;
+                }
+                remove(previous);
+                documentsByTaskId.remove(taskId);
+            }
+            if (tokens.length == 0) {
+                return;
+            }
+            int deadDocuments = nextDocument - liveDocuments;
+            if (deadDocuments >= MIN_DEAD_TO_COMPACT && deadDocuments > liveDocuments) {
+                compact();
+            }
+
+            int document = nextDocument++;
+            if (document == taskIds.length) {
+                taskIds = Arrays.copyOf(taskIds, document * 2);
+                documentWords = Arrays.copyOf(documentWords, document * 2);
+            }
+            String[] shared = new String[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                Postings postings = words.get(tokens[i]);
+                if (postings == null) {
+                    postings = new Postings(tokens[i]);
+                    words.put(tokens[i], postings);
+                }
+                postings.add(document);
+                shared[i] = postings.word;
+            }
+            taskIds[document] = taskId;
+            documentWords[document] = shared;
+            documentsByTaskId.put(taskId, document);
+            liveDocuments++;
+            liveWords += shared.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the tasks whose titles contain every word of the query, the last one as a prefix.
+     *
+     * @return the IDs of up to limit tasks, best match first
+     */
+    List<String> search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return Collections.emptyList();
+        }
+        String prefix = tokens[tokens.length - 1];
+
+        lock.readLock().lock();
+        try {
+            if (liveDocuments == 0) {
+                return Collections.emptyList();
+            }
+            TopHits hits = new TopHits(limit);
+            if (tokens.length == 1) {
+                searchPrefix(prefix, hits);
+            } else {
+                searchAll(Arrays.copyOf(tokens, tokens.length - 1), prefix, hits);
+            }
+            return hits.taskIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the posting lists of the full words, leading with the shortest, and checks
+     * the prefix against the words of each match.
+     */
+    private void searchAll(String[] fullWords, String prefix, TopHits hits) {
+        Cursor[] cursors = new Cursor[fullWords.length];
+        double idfSum = 0;
+        for (int i = 0; i < fullWords.length; i++) {
+            Postings postings = words.get(fullWords[i]);
+            if (postings == null) {
+                return;
+            }
+            cursors[i] = new Cursor(postings);
+            idfSum += idf(postings);
+        }
+        Arrays.sort(cursors, Comparator.comparingInt(cursor -> cursor.postings.count));
+
+        Cursor lead = cursors[0];
+        int target = 0;
+        candidates:
+        while (lead.advance(target)) {
+            int document = lead.document;
+            for (int i = 1; i < cursors.length; i++) {
+                if (!cursors[i].advance(document)) {
+                    return;
+                }
+                if (cursors[i].document > document) {
+                    target = cursors[i].document;
+                    continue candidates;
+                }
+            }
+            target = document + 1;
+
+            if (taskIds[document] != null) {
+                String matched = firstWithPrefix(documentWords[document], prefix);
+                if (matched != null) {
+                    hits.offer(taskIds[document], (idfSum + idf(words.get(matched))) * lengthNorm(document));
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans the posting lists of the words starting with the prefix, rarest first, until no
+     * remaining word can beat the hits found so far.
+     */
+    private void searchPrefix(String prefix, TopHits hits) {
+        List<Postings> expansions = new ArrayList<>(
+                words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+        expansions.sort(Comparator.comparingInt(Postings::live));
+        double maxNorm = (K1 + 1) / (1 + K1 * (1 - B + B / averageLength()));
+
+        for (Postings postings : expansions) {
+            double idf = idf(postings);
+            if (hits.isFull() && idf * maxNorm < hits.minScore()) {
+                return;
+            }
+            Cursor cursor = new Cursor(postings);
+            while (cursor.next()) {
+                int document = cursor.document;
+                // A title with several matching words is scored once, under the first of them
+                if (taskIds[document] != null && postings.word.equals(firstWithPrefix(documentWords[document], prefix))) {
+                    hits.offer(taskIds[document], idf * lengthNorm(document));
+                }
+            }
+        }
+    }
+
+    private void remove(int document) {
+        String[] removed = documentWords[document];
+        taskIds[document] = null;
+        documentWords[document] = null;
+        liveDocuments--;
+        liveWords -= removed.length;
+
+        for (String word : removed) {
+            Postings postings = words.get(word);
+            postings.dead++;
+            if (postings.live() == 0) {
+                words.remove(word);
+            } else if (postings.dead >= MIN_DEAD_TO_REWRITE && postings.dead > postings.live()) {
+                postings.removeDead(taskIds);
+            }
+        }
+    }
+
+    /**
+     * Renumbers the live documents from zero, keeping their order, so the numbers of removed
+     * and retitled documents can be handed out again.
+     */
+    private void compact() {
+        int[] renumbered = new int[nextDocument];
+        int live = 0;
+        for (int document = 0; document < nextDocument; document++) {
+            if (taskIds[document] == null) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = live;
+            taskIds[live] = taskIds[document];
+            documentWords[live] = documentWords[document];
+            documentsByTaskId.put(taskIds[live], live);
+            live++;
+        }
+        for (Postings postings : words.values()) {
+            postings.renumber(renumbered);
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(live) * 2);
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        documentWords = Arrays.copyOf(documentWords, capacity);
+        Arrays.fill(taskIds, live, capacity, null);
+        Arrays.fill(documentWords, live, capacity, null);
+        nextDocument = live;
+    }
+
+    /**
+     * Number of document slots allocated, live or not
+     */
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return taskIds.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String firstWithPrefix(String[] documentWords, String prefix) {
+        for (String word : documentWords) {
+            if (word.startsWith(prefix)) {
+                return word;
+            }
+        }
+        return null;
+    }
+
+    private double idf(Postings postings) {
+        int live = postings.live();
+        return Math.log(1 + (liveDocuments - live + 0.5) / (live + 0.5));
+    }
+
+    private double lengthNorm(int document) {
+        return (K1 + 1) / (1 + K1 * (1 - B + B * documentWords[document].length / averageLength()));
+    }
+
+    private double averageLength() {
+        return (double) liveWords / liveDocuments;
+    }
+
+    /**
+     * Sorted document numbers of one word, delta and variable-length encoded
+     */
+    private static final class Postings {
+        private final String word;
+        private byte[] data = new byte[8];
+        private int size;
+        private int count;
+        private int dead;
+        private int last = -1;
+        // Entry k is the document before posting (k + 1) * SKIP_INTERVAL and that posting's offset
+        private int[] skipDocuments = new int[0];
+        private int[] skipOffsets = new int[0];
+        private int skips;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        int live() {
+            return count - dead;
+        }
+
+        void add(int document) {
+            if (count > 0 && count % SKIP_INTERVAL == 0) {
+                if (skips == skipDocuments.length) {
+                    skipDocuments = Arrays.copyOf(skipDocuments, Math.max(4, skips * 2));
+                    skipOffsets = Arrays.copyOf(skipOffsets, skipDocuments.length);
+                }
+                skipDocuments[skips] = last;
+                skipOffsets[skips] = size;
+                skips++;
+            }
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(size + 5, data.length * 2));
+            }
+            int delta = document - last;
+            while ((delta & ~0x7F) != 0) {
+                data[size++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[size++] = (byte) delta;
+            last = document;
+            count++;
+        }
+
+        /**
+         * Re-encodes the list without the documents that no longer have a task.
+         */
+        void removeDead(String[] taskIds) {
+            Postings live = new Postings(word);
+            Cursor cursor = new Cursor(this);
+            while (cursor.next()) {
+                if (taskIds[cursor.document] != null) {
+                    live.add(cursor.document);
+                }
+            }
+            replaceWith(live);
+        }
+
+        /**
+         * Re-encodes the list under new document numbers, dropping the documents mapped to -1.
+         * The mapping must keep the live documents in order.
+         */
+        void renumber(int[] renumbered) {
+            Postings live = new Postings(word);
+            Cursor cursor = new Cursor(this);
+            while (cursor.next()) {
+                if (renumbered[cursor.document] >= 0) {
+                    live.add(renumbered[cursor.document]);
+                }
+            }
+            replaceWith(live);
+        }
+
+        private void replaceWith(Postings live) {
+            data = live.data;
+            size = live.size;
+            count = live.count;
+            dead = 0;
+            last = live.last;
+            skipDocuments = live.skipDocuments;
+            skipOffsets = live.skipOffsets;
+            skips = live.skips;
+        }
+    }
+
+    /**
+     * Position in a posting list
+     */
+    private static final class Cursor {
+        private final Postings postings;
+        private int offset;
+        private int read;
+        private int document = -1;
+
+        Cursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        boolean next() {
+            if (read == postings.count) {
+                return false;
+            }
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings.data[offset++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            document += delta;
+            read++;
+            return true;
+        }
+
+        /**
+         * Moves to the first document at or after the target, using the skip entries to
+         * jump over whole blocks.
+         */
+        boolean advance(int target) {
+            if (read > 0 && document >= target) {
+                return true;
+            }
+            int skip = Arrays.binarySearch(postings.skipDocuments, 0, postings.skips, target);
+            // Last entry whose preceding document is before the target
+            skip = skip >= 0 ? skip - 1 : -skip - 2;
+            if (skip >= 0 && (skip + 1) * SKIP_INTERVAL > read) {
+                offset = postings.skipOffsets[skip];
+                document = postings.skipDocuments[skip];
+                read = (skip + 1) * SKIP_INTERVAL;
+            }
+            while (next()) {
+                if (document >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The best hits offered so far, up to a limit
+     */
+    private static final class TopHits {
+        // Worst hit on top: lowest score, then highest task ID
+        private static final Comparator<Hit> WORST_FIRST = Comparator.<Hit>comparingDouble(hit -> hit.score)
+                .thenComparing(hit -> hit.taskId, Comparator.reverseOrder());
+
+        private final int limit;
+        private final PriorityQueue<Hit> heap;
+
+        TopHits(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024), WORST_FIRST);
+        }
+
+        boolean isFull() {
+            return heap.size() == limit;
+        }
+
+        double minScore() {
+            return heap.peek().score;
+        }
+
+        void offer(String taskId, double score) {
+            Hit hit = new Hit(taskId, score);
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (WORST_FIRST.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        List<String> taskIds() {
+            List<Hit> sorted = new ArrayList<>(heap);
+            sorted.sort(WORST_FIRST.reversed());
+            List<String> ids = new ArrayList<>(sorted.size());
+            for (Hit hit : sorted) {
+                ids.add(hit.taskId);
+            }
+            return ids;
+        }
+    }
+
+    private static final class Hit {
+        private final String taskId;
+        private final double score;
+
+        Hit(String taskId, double score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,653 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * TaskRepository decorator that makes saves durable through a write-ahead log with group commit.
+ *
+ * A save encodes the task (in the {@link LogSegment} record format), adds it to a shared
+ * buffer and waits. A single flusher thread takes up to maxBatchSize buffered saves, waiting
+ * up to maxDelayMicros for a batch to fill, appends them to the log file with one write and
+ * one fsync, applies them to the wrapped repository in log order and then releases the
+ * waiting callers. A save therefore returns only once it is on disk, and the wrapped
+ * repository never shows a task that is not.
+ *
+ * Since the flusher is the only writer of the wrapped repository, it checks each save's
+ * version before writing it, against the wrapped repository or an earlier save of the same
+ * batch. A save with a version conflict fails without being written, as do the saves after
+ * it in the same saveAll call. If the wrapped repository still rejects a written batch, the
+ * batch is cut off the end of the log again before its callers see the failure, except for
+ * the saves the wrapped repository applied before failing. The wrapped repository is given
+ * copies, so a caller's entity only changes by getting its new version once it is saved.
+ *
+ * The log starts with a {@link LogSegment} header. On startup it is replayed into the wrapped
+ * repository and a torn record at its end is cut off; a log without a header, written before
+ * tasks had versions, is then replaced by a snapshot in the current format. When the log has grown past checkpointBytes (and twice its last checkpoint), the
+ * flusher replaces it with a snapshot of the wrapped repository.
+ *
+ * If the log cannot be written or the flusher is interrupted, every waiting save fails and
+ * the repository rejects further saves.
+ *
+ * Reads go straight to the wrapped repository.
+ */
+public class WriteAheadLogTaskRepository implements TaskRepository, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLogTaskRepository.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+    public static final long DEFAULT_MAX_DELAY_MICROS = 0;
+    public static final long DEFAULT_CHECKPOINT_BYTES = 64L * 1024 * 1024;
+
+    private final TaskRepository delegate;
+    private final Path file;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long checkpointBytes;
+
+    // Guards the buffer and the closed flag; the flusher waits on it
+    private final Object lock = new Object();
+    private List<PendingSave> buffer = new ArrayList<>();
+    private boolean closed;
+    private volatile IOException failure;
+
+    // Owned by the flusher thread after construction
+    private FileChannel channel;
+    private long logBytes;
+    private long snapshotBytes;
+    private long flushes;
+
+    private final Thread flusher;
+
+    /**
+     * Wraps the repository with a write-ahead log using the default batch and checkpoint settings.
+     *
+     * @param delegate the repository the saves are applied to
+     * @param file the log file, created if missing
+     */
+    public WriteAheadLogTaskRepository(TaskRepository delegate, Path file) {
+        this(delegate, file, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MICROS, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * Wraps the repository with a write-ahead log, replaying any existing log into it first.
+     *
+     * @param delegate the repository the saves are applied to
+     * @param file the log file, created with its directory if missing
+     * @param maxBatchSize the most saves written and fsynced together
+     * @param maxDelayMicros how long the flusher waits for a batch to fill; 0 flushes whatever is
+     *                       buffered as soon as the previous fsync is done
+     * @param checkpointBytes the log size from which it is replaced by a snapshot
+     */
+    public WriteAheadLogTaskRepository(TaskRepository delegate, Path file, int maxBatchSize, long maxDelayMicros,
+                                       long checkpointBytes) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Task repository cannot be null");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.file = file;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxDelayMicros));
+        this.checkpointBytes = checkpointBytes;
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            if (replay()) {
+                checkpoint();
+            } else {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                if (logBytes == 0) {
+                    writeHeader(channel);
+                    channel.force(true);
+                    logBytes = LogSegment.HEADER_SIZE;
+                    snapshotBytes = logBytes;
+                }
+                channel.position(logBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log " + file, e);
+        }
+
+        flusher = new Thread(this::runFlusher, "task-wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public TaskEntity saveTask(TaskEntity taskEntity) {
+        if (taskEntity == null) {
+            throw new IllegalArgumentException("Task entity cannot be null");
+        }
+
+        if (taskEntity.getId() == null) {
+            throw new IllegalArgumentException("Task entity ID cannot be null");
+        }
+
+        PendingSave save = new PendingSave(taskEntity, LogSegment.encode(taskEntity, 0), null);
+        enqueue(List.of(save));
+        return await(save, taskEntity);
+    }
+
+    @Override
+    public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+        TaskBatches.validate(taskEntities);
+
+        // Buffered together, so the saves land in the same flush unless the batch is full
+        SaveGroup group = new SaveGroup();
+        List<PendingSave> saves = new ArrayList<>(taskEntities.size());
+        for (TaskEntity taskEntity : taskEntities) {
+            saves.add(new PendingSave(taskEntity, LogSegment.encode(taskEntity, 0), group));
+        }
+        enqueue(saves);
+
+        List<TaskEntity> saved = new ArrayList<>(saves.size());
+        for (int i = 0; i < saves.size(); i++) {
+            saved.add(await(saves.get(i), taskEntities.get(i)));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<TaskEntity> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<TaskEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<TaskEntity> findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+
+    @Override
+    public Stream<TaskEntity> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<TaskEntity> findByStatus(TaskStatusEntity status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public long countByStatus(TaskStatusEntity status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public List<TaskEntity> findByTitlePrefix(String prefix) {
+        return delegate.findByTitlePrefix(prefix);
+    }
+
+    @Override
+    public List<TaskEntity> searchByTitle(String query, int limit) {
+        return delegate.searchByTitle(query, limit);
+    }
+
+    /**
+     * Writes the buffered saves, stops the flusher and closes the log and, if it is closeable,
+     * the wrapped repository.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Cannot close write-ahead log {}: {}", file, e.getMessage());
+        }
+        logger.info("Closed write-ahead log {} after {} flushes", file, flushes);
+
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                logger.warn("Cannot close task repository: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Number of fsyncs of the log so far; lower than the number of saves when saves are batched
+     */
+    long getFlushCount() {
+        synchronized (lock) {
+            return flushes;
+        }
+    }
+
+    private void enqueue(List<PendingSave> saves) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log " + file + " is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log " + file + " failed", failure);
+            }
+            boolean wasEmpty = buffer.isEmpty();
+            buffer.addAll(saves);
+            if (wasEmpty || buffer.size() >= maxBatchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits for a save and gives the caller's entity its new version once it has been applied
+     */
+    private TaskEntity await(PendingSave save, TaskEntity taskEntity) {
+        try {
+            TaskEntity saved = save.future.join();
+            taskEntity.setVersion(saved.getVersion());
+            return saved;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UncheckedIOException("Cannot write task to write-ahead log " + file, (IOException) e.getCause());
+        }
+    }
+
+    /**
+     * Replays the log into the wrapped repository and sets logBytes to the end of its records,
+     * 0 if it has no header.
+     *
+     * @return whether the log holds records written before the header, which must be rewritten
+     *         before more are appended
+     */
+    private boolean replay() throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        int replayed = 0;
+        try (FileChannel log = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (log.size() > Integer.MAX_VALUE) {
+                throw new IOException("Write-ahead log is too large to replay: " + file);
+            }
+            int size = (int) log.size();
+            MappedByteBuffer records = log.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            short headerVersion = LogSegment.headerVersion(records, size);
+            boolean versioned = LogSegment.hasTaskVersions(headerVersion);
+            int position = headerVersion != 0 ? LogSegment.HEADER_SIZE : 0;
+            int length;
+            List<TaskEntity> chunk = new ArrayList<>();
+            Map<String, Long> chunkVersions = new HashMap<>();
+            while ((length = LogSegment.recordLength(records, position, size, true, versioned)) > 0) {
+                TaskEntity taskEntity = LogSegment.decode(records, position, versioned);
+                position += length;
+                replayed++;
+                if (prepareReplay(taskEntity, versioned, chunkVersions)) {
+                    chunk.add(taskEntity);
+                }
+                if (chunk.size() == maxBatchSize) {
+                    delegate.saveAll(chunk);
+                    chunk = new ArrayList<>();
+                    chunkVersions.clear();
+                }
+            }
+            delegate.saveAll(chunk);
+
+            if (position < size) {
+                logger.warn("Discarding {} bytes of a torn record at the end of write-ahead log {}", size - position, file);
+                log.truncate(position);
+                log.force(true);
+            }
+            logBytes = position;
+            snapshotBytes = position;
+            logger.info("Replayed {} records from write-ahead log {}", replayed, file);
+            return headerVersion == 0 && position > 0;
+        }
+    }
+
+    /**
+     * Sets a replayed task's version so that saving it brings the wrapped repository to the
+     * logged version.
+     *
+     * @return false if the wrapped repository already has the logged save, as a persistent
+     *         one does for saves applied before a restart
+     */
+    private boolean prepareReplay(TaskEntity taskEntity, boolean versioned, Map<String, Long> chunkVersions) {
+        long logged = taskEntity.getVersion();
+        Long current = currentVersion(taskEntity.getId(), chunkVersions);
+        boolean unconditional = !versioned || logged == 0;
+        if (!unconditional && current != null && current >= logged) {
+            return false;
+        }
+        // Records written before tasks had versions are replayed in log order, unconditionally
+        if (unconditional) {
+            taskEntity.setVersion(0);
+        } else {
+            taskEntity.setVersion(current != null ? current : logged - 1);
+        }
+        chunkVersions.put(taskEntity.getId(), TaskVersions.next(taskEntity, current != null, current != null ? current : 0));
+        return true;
+    }
+
+    /**
+     * The version of a task as of the saves before the current one, or null if it has none.
+     */
+    private Long currentVersion(String id, Map<String, Long> batchVersions) {
+        Long version = batchVersions.get(id);
+        if (version == null) {
+            version = delegate.findById(id).map(TaskEntity::getVersion).orElse(null);
+        }
+        return version;
+    }
+
+    private void runFlusher() {
+        List<PendingSave> batch = null;
+        try {
+            while ((batch = nextBatch()) != null) {
+                batch = checkVersions(batch);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                long start = logBytes;
+                write(batch);
+                apply(batch, start);
+                batch = null;
+
+                if (logBytes >= checkpointBytes && logBytes >= 2 * snapshotBytes) {
+                    try {
+                        checkpoint();
+                    } catch (IOException e) {
+                        // The log is still complete, the next batch tries again
+                        logger.warn("Cannot checkpoint write-ahead log {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(batch, new InterruptedIOException("Write-ahead log flusher was interrupted"));
+        } catch (IOException e) {
+            logger.error("Cannot write to write-ahead log {}", file, e);
+            fail(batch, e);
+        } catch (RuntimeException | Error e) {
+            logger.error("Write-ahead log flusher for {} failed", file, e);
+            fail(batch, new IOException("Write-ahead log flusher failed", e));
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting saves and fails the batch in progress and every buffered save.
+     */
+    private void fail(List<PendingSave> batch, IOException error) {
+        failure = error;
+        if (batch != null) {
+            failAll(batch, error);
+        }
+        synchronized (lock) {
+            failAll(buffer, error);
+            buffer = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Waits for buffered saves and takes up to maxBatchSize of them, or returns null once closed
+     * with nothing left to write.
+     */
+    private List<PendingSave> nextBatch() throws InterruptedException {
+        synchronized (lock) {
+            while (buffer.isEmpty()) {
+                if (closed) {
+                    return null;
+                }
+                lock.wait();
+            }
+
+            long deadline = System.nanoTime() + maxDelayNanos;
+            long remaining = maxDelayNanos;
+            while (buffer.size() < maxBatchSize && remaining > 0 && !closed) {
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+
+            List<PendingSave> batch;
+            if (buffer.size() <= maxBatchSize) {
+                batch = buffer;
+                buffer = new ArrayList<>();
+            } else {
+                batch = new ArrayList<>(buffer.subList(0, maxBatchSize));
+                buffer = new ArrayList<>(buffer.subList(maxBatchSize, buffer.size()));
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * Fails the saves with a version conflict and the saves after them in the same saveAll call,
+     * and sets the version in the records of the others.
+     *
+     * @return the saves to write
+     */
+    private List<PendingSave> checkVersions(List<PendingSave> batch) {
+        List<PendingSave> accepted = new ArrayList<>(batch.size());
+        Map<String, Long> batchVersions = new HashMap<>();
+        for (PendingSave save : batch) {
+            if (save.group != null && save.group.conflict != null) {
+                save.future.completeExceptionally(save.group.conflict);
+                continue;
+            }
+            String id = save.entity.getId();
+            Long current;
+            try {
+                current = currentVersion(id, batchVersions);
+                save.version = TaskVersions.next(save.entity, current != null, current != null ? current : 0);
+            } catch (RuntimeException e) {
+                save.future.completeExceptionally(e);
+                if (save.group != null) {
+                    save.group.conflict = e;
+                }
+                continue;
+            }
+            LogSegment.setVersion(save.record, save.version);
+            batchVersions.put(id, save.version);
+            accepted.add(save);
+        }
+        return accepted;
+    }
+
+    private void write(List<PendingSave> batch) throws IOException {
+        ByteBuffer[] records = new ByteBuffer[batch.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = batch.get(i).record;
+        }
+        long written = 0;
+        while (records[records.length - 1].hasRemaining()) {
+            written += channel.write(records);
+        }
+        channel.force(false);
+        logBytes += written;
+        synchronized (lock) {
+            flushes++;
+        }
+    }
+
+    /**
+     * Applies a written batch to the wrapped repository with one saveAll call. If that fails,
+     * the batch is truncated off the log again, from start, so it is not replayed on restart;
+     * saves the wrapped repository applied before failing are written again and succeed.
+     */
+    private void apply(List<PendingSave> batch, long start) throws IOException {
+        List<TaskEntity> entities = new ArrayList<>(batch.size());
+        for (PendingSave save : batch) {
+            // Already checked, so the wrapped repository's own check passes
+            save.entity.setVersion(save.version - 1);
+            entities.add(save.entity);
+        }
+        try {
+            delegate.saveAll(entities);
+        } catch (RuntimeException e) {
+            logger.warn("Task repository rejected a written batch, removing it from write-ahead log {}: {}",
+                file, e.getMessage());
+            channel.truncate(start);
+            channel.force(false);
+            logBytes = start;
+
+            List<PendingSave> applied = new ArrayList<>();
+            for (PendingSave save : batch) {
+                Long current = delegate.findById(save.entity.getId()).map(TaskEntity::getVersion).orElse(null);
+                if (current != null && current >= save.version) {
+                    save.record.rewind();
+                    applied.add(save);
+                } else {
+                    save.future.completeExceptionally(e);
+                }
+            }
+            if (!applied.isEmpty()) {
+                write(applied);
+                complete(applied);
+            }
+            return;
+        }
+        complete(batch);
+    }
+
+    private static void complete(List<PendingSave> saves) {
+        for (PendingSave save : saves) {
+            save.entity.setVersion(save.version);
+            save.future.complete(save.entity);
+        }
+    }
+
+    /**
+     * Replaces the log with one record per task of the wrapped repository; called by the
+     * flusher between batches, or before it starts, when the repository holds exactly what the
+     * log does.
+     */
+    private void checkpoint() throws IOException {
+        Path snapshot = file.resolveSibling(file.getFileName() + ".checkpoint");
+        long bytes = 0;
+        FileChannel out = FileChannel.open(snapshot, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try (Stream<TaskEntity> tasks = delegate.streamAll()) {
+            bytes += writeHeader(out);
+            Iterator<TaskEntity> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                TaskEntity taskEntity = iterator.next();
+                ByteBuffer record = LogSegment.encode(taskEntity, taskEntity.getVersion());
+                while (record.hasRemaining()) {
+                    bytes += out.write(record);
+                }
+            }
+            out.force(true);
+            // The snapshot's channel stays open through the rename and becomes the log's, so
+            // the current log stays usable until the snapshot has replaced it
+            Files.move(snapshot, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+        syncDirectory();
+
+        FileChannel previous = channel;
+        channel = out;
+        if (previous != null) {
+            try {
+                previous.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close replaced write-ahead log {}: {}", file, e.getMessage());
+            }
+        }
+        logger.info("Checkpointed write-ahead log {}: {} bytes down to {}", file, logBytes, bytes);
+        logBytes = bytes;
+        snapshotBytes = bytes;
+    }
+
+    private static int writeHeader(FileChannel out) throws IOException {
+        ByteBuffer header = LogSegment.header(0);
+        while (header.hasRemaining()) {
+            out.write(header);
+        }
+        return LogSegment.HEADER_SIZE;
+    }
+
+    private void syncDirectory() {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the rename is still atomic
+            logger.debug("Cannot sync directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void failAll(List<PendingSave> saves, IOException error) {
+        for (PendingSave save : saves) {
+            save.future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * A save waiting for its batch to be written
+     */
+    private static final class PendingSave {
+        // A copy of the caller's entity as logged; the caller's own gets its version in await
+        private final TaskEntity entity;
+        private final ByteBuffer record;
+        // The saveAll call the save belongs to, or null for saveTask
+        private final SaveGroup group;
+        private final CompletableFuture<TaskEntity> future = new CompletableFuture<>();
+        // The version the save gives the task, set by the flusher
+        private long version;
+
+        PendingSave(TaskEntity entity, ByteBuffer record, SaveGroup group) {
+            this.entity = new TaskEntity(entity.getId(), entity.getTitle(), entity.getStatus());
+            this.entity.setVersion(entity.getVersion());
+            this.record = record;
+            this.group = group;
+        }
+    }
+
+    /**
+     * The saves of one saveAll call; only used by the flusher
+     */
+    private static final class SaveGroup {
+        // The first conflict, which also fails every later save of the call
+        private RuntimeException conflict;
+    }
+}
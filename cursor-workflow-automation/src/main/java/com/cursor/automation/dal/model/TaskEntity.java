@@ -7,6 +7,7 @@ public class TaskEntity {
     private String id;
     private String title;
     private TaskStatusEntity status;
+    private long version;
 
     public TaskEntity() {
     }
@@ -47,12 +48,25 @@ public class TaskEntity {
         this.status = status;
     }
 
+    /**
+     * Number of times this task has been saved, as of when it was read; 0 if never saved.
+     * A save with a non-zero version only succeeds if the task is still at that version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "TaskEntity{" +
                 "id='" + id + '\'' +
                 ", title='" + title + '\'' +
                 ", status=" + status +
+                ", version=" + version +
                 '}';
     }
 } 
\ No newline at end of file
@@ -32,6 +32,8 @@ public class TaskDTOMapper {
             serviceModel.setStatus(TaskStatusMapper.toServiceStatus(dto.getStatus()));
         }
         
+        serviceModel.setVersion(dto.getVersion());
+        
         return serviceModel;
     }
     
@@ -56,6 +58,8 @@ public class TaskDTOMapper {
             dto.setStatus(TaskStatusMapper.toDTOStatus(serviceModel.getStatus()));
         }
         
+        dto.setVersion(serviceModel.getVersion());
+        
         return dto;
     }
     
@@ -32,6 +32,8 @@ public class TaskEntityMapper {
             entity.setStatus(TaskStatusMapper.toEntityStatus(serviceModel.getStatus()));
         }
         
+        entity.setVersion(serviceModel.getVersion());
+        
         return entity;
     }
     
@@ -56,6 +58,8 @@ public class TaskEntityMapper {
             serviceModel.setStatus(TaskStatusMapper.toServiceStatus(entity.getStatus()));
         }
         
+        serviceModel.setVersion(entity.getVersion());
+        
         return serviceModel;
     }
     
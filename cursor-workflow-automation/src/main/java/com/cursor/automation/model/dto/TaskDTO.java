@@ -7,6 +7,7 @@ public class TaskDTO {
     private String id;
     private String title;
     private TaskStatusDTO status;
+    private long version;
 
     public TaskDTO() {
     }
@@ -47,12 +48,21 @@ public class TaskDTO {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "TaskDTO{" +
                 "id='" + id + '\'' +
                 ", title='" + title + '\'' +
                 ", status=" + status +
+                ", version=" + version +
                 '}';
     }
 } 
\ No newline at end of file
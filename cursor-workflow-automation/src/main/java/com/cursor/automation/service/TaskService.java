@@ -1,10 +1,15 @@
 package com.cursor.automation.service;
 
 import com.cursor.automation.model.dto.TaskDTO;
+import com.cursor.automation.service.model.CycleTimeStats;
+import com.cursor.automation.service.model.TaskBatchResult;
 import com.cursor.automation.service.model.TaskServiceModel;
+import com.cursor.automation.service.model.TaskStatusService;
+import com.cursor.automation.service.model.TaskTransitionHistory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service interface for task management business logic.
@@ -13,12 +18,25 @@ public interface TaskService {
     
     /**
      * Creates a new task from the provided task DTO.
+     * A DTO with a non-zero version replaces the task only if it is still at that version,
+     * as read; otherwise the repository's version conflict exception is thrown.
      * 
      * @param taskDTO the task DTO containing task information
      * @return the created task service model
      */
     TaskServiceModel createTask(TaskDTO taskDTO);
     
+    /**
+     * Creates several tasks with a single repository write. Each DTO is validated as by
+     * {@link #createTask(TaskDTO)}; invalid ones are reported in the result and skipped,
+     * and the valid ones are created together. A task whose save fails its version check
+     * is reported the same way, and the tasks after it are still created.
+     * 
+     * @param taskDTOs the task DTOs to create
+     * @return the created tasks and, by index in taskDTOs, the errors of the rejected ones
+     */
+    TaskBatchResult createTasks(List<TaskDTO> taskDTOs);
+    
     /**
      * Retrieves a task by its ID.
      * 
@@ -33,4 +51,62 @@ public interface TaskService {
      * @return a list of all task service models
      */
     List<TaskServiceModel> getAllTasks();
-} 
\ No newline at end of file
+    
+    /**
+     * Retrieves one page of tasks in ID order.
+     * 
+     * @param cursor the ID of the last task of the previous page, or null for the first page
+     * @param limit the maximum number of tasks in the page
+     * @return the task service models of the page; fewer than limit on the last page
+     */
+    List<TaskServiceModel> getTasksPage(String cursor, int limit);
+    
+    /**
+     * Streams all tasks, mapping each one as it is consumed, in no particular order.
+     * 
+     * @return a stream of all task service models
+     */
+    Stream<TaskServiceModel> streamAllTasks();
+    
+    /**
+     * Searches tasks by the words of their titles; see {@link com.cursor.automation.dal.TaskRepository#searchByTitle}.
+     * 
+     * @param query the words to search for
+     * @param limit the maximum number of tasks to return
+     * @return the matching task service models, most relevant first
+     */
+    List<TaskServiceModel> searchTasks(String query, int limit);
+    
+    /**
+     * Moves a task from one status to another, if the transition graph allows it and the task
+     * is still in fromStatus. The move is a versioned save of the task as read, retried if
+     * another save got in between, so concurrent workers need no locks; of several workers
+     * making the same move, exactly one succeeds. Successful moves are added to the task's
+     * transition history.
+     * 
+     * @param id the task ID
+     * @param fromStatus the status the task is expected to be in
+     * @param toStatus the status to move it to
+     * @return the moved task, or empty if the task was not in fromStatus
+     * @throws IllegalArgumentException if the transition is not allowed or the task does not exist
+     */
+    Optional<TaskServiceModel> transition(String id, TaskStatusService fromStatus, TaskStatusService toStatus);
+    
+    /**
+     * The transitions made through {@link #transition} for a task since this service started.
+     * 
+     * @param id the task ID
+     * @return the task's transition history, empty if it has none
+     */
+    TaskTransitionHistory getTransitionHistory(String id);
+    
+    /**
+     * Cycle times of the tasks whose history goes from startStatus to endStatus and that are
+     * still in endStatus, as by {@link TaskTransitionHistory#getCycleTime}.
+     * 
+     * @param startStatus the status whose first entry starts a task's cycle, e.g. IN_PROGRESS
+     * @param endStatus the status whose last entry ends it, e.g. DONE
+     * @return the cycle time statistics
+     */
+    CycleTimeStats getCycleTimeStats(TaskStatusService startStatus, TaskStatusService endStatus);
+}
@@ -1,17 +1,29 @@
 package com.cursor.automation.service;
 
 import com.cursor.automation.dal.TaskRepository;
+import com.cursor.automation.dal.TaskVersionConflictException;
 import com.cursor.automation.dal.model.TaskEntity;
 import com.cursor.automation.factory.TaskFactory;
 import com.cursor.automation.mapper.TaskDTOMapper;
 import com.cursor.automation.mapper.TaskEntityMapper;
+import com.cursor.automation.mapper.TaskStatusMapper;
 import com.cursor.automation.model.dto.TaskDTO;
+import com.cursor.automation.service.model.CycleTimeStats;
+import com.cursor.automation.service.model.TaskBatchResult;
 import com.cursor.automation.service.model.TaskServiceModel;
+import com.cursor.automation.service.model.TaskStatusService;
+import com.cursor.automation.service.model.TaskTransitionHistory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TaskService interface.
@@ -20,9 +32,25 @@ public class TaskServiceImpl implements TaskService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
     private final TaskRepository taskRepository;
+    private final TransitionGraph transitionGraph;
+    private final LongSupplier clock;
+    private final TaskTransitionLog transitionLog = new TaskTransitionLog();
     
     public TaskServiceImpl(TaskRepository taskRepository) {
+        this(taskRepository, TransitionGraph.standard());
+    }
+    
+    public TaskServiceImpl(TaskRepository taskRepository, TransitionGraph transitionGraph) {
+        this(taskRepository, transitionGraph, System::currentTimeMillis);
+    }
+    
+    TaskServiceImpl(TaskRepository taskRepository, TransitionGraph transitionGraph, LongSupplier clock) {
+        if (transitionGraph == null) {
+            throw new IllegalArgumentException("Transition graph cannot be null");
+        }
         this.taskRepository = taskRepository;
+        this.transitionGraph = transitionGraph;
+        this.clock = clock;
     }
     
     @Override
@@ -57,6 +85,76 @@ public class TaskServiceImpl implements TaskService {
         return TaskEntityMapper.toServiceModel(savedEntity);
     }
     
+    @Override
+    public TaskBatchResult createTasks(List<TaskDTO> taskDTOs) {
+        if (taskDTOs == null) {
+            throw new IllegalArgumentException("Task DTO list cannot be null");
+        }
+        logger.info("Creating {} tasks", taskDTOs.size());
+        
+        // Validate and convert each DTO, collecting errors instead of failing the batch
+        Map<Integer, String> errors = new TreeMap<>();
+        List<TaskEntity> taskEntities = new ArrayList<>(taskDTOs.size());
+        List<Integer> positions = new ArrayList<>(taskDTOs.size());
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null) {
+                errors.put(i, "Task DTO cannot be null");
+                continue;
+            }
+            
+            String title = taskDTO.getTitle();
+            if (title == null || title.trim().isEmpty()) {
+                errors.put(i, "Task title cannot be empty");
+                continue;
+            }
+            
+            TaskServiceModel taskServiceModel = TaskDTOMapper.toServiceModel(taskDTO);
+            if (taskServiceModel.getId() == null || taskServiceModel.getId().trim().isEmpty()) {
+                taskServiceModel = TaskFactory.createServiceModel(taskServiceModel.getTitle());
+            }
+            taskEntities.add(TaskEntityMapper.toEntity(taskServiceModel));
+            positions.add(i);
+        }
+        
+        // Save the valid tasks with one repository call and convert them back. A version conflict
+        // stops saveAll after the tasks before it, so it is reported and the rest saved again.
+        List<TaskServiceModel> createdTasks = new ArrayList<>(taskEntities.size());
+        int start = 0;
+        while (start < taskEntities.size()) {
+            List<TaskEntity> remaining = taskEntities.subList(start, taskEntities.size());
+            long[] versions = remaining.stream().mapToLong(TaskEntity::getVersion).toArray();
+            try {
+                createdTasks.addAll(TaskEntityMapper.toServiceModelList(taskRepository.saveAll(remaining)));
+                break;
+            } catch (TaskVersionConflictException e) {
+                int conflict = findConflict(remaining, versions, e);
+                createdTasks.addAll(TaskEntityMapper.toServiceModelList(remaining.subList(0, conflict)));
+                errors.put(positions.get(start + conflict), e.getMessage());
+                start += conflict + 1;
+            }
+        }
+        
+        if (!errors.isEmpty()) {
+            logger.warn("Rejected {} of {} tasks: {}", errors.size(), taskDTOs.size(), errors);
+        }
+        return new TaskBatchResult(createdTasks, errors);
+    }
+    
+    /**
+     * Position of the save that failed a saveAll call. Every saved task gets a new version, so it
+     * is the first task with the conflicting ID whose version did not change.
+     */
+    private static int findConflict(List<TaskEntity> taskEntities, long[] versions, TaskVersionConflictException e) {
+        for (int i = 0; i < taskEntities.size(); i++) {
+            TaskEntity taskEntity = taskEntities.get(i);
+            if (taskEntity.getId().equals(e.getTaskId()) && taskEntity.getVersion() == versions[i]) {
+                return i;
+            }
+        }
+        throw e;
+    }
+    
     @Override
     public Optional<TaskServiceModel> getTaskById(String id) {
         logger.info("Getting task by ID: {}", id);
@@ -78,4 +176,79 @@ public class TaskServiceImpl implements TaskService {
         // Convert to service models and return
         return TaskEntityMapper.toServiceModelList(taskEntities);
     }
-} 
\ No newline at end of file
+    
+    @Override
+    public List<TaskServiceModel> getTasksPage(String cursor, int limit) {
+        logger.info("Getting page of tasks after: {}, limit: {}", cursor, limit);
+        
+        // Map the page directly, it is the only copy
+        return taskRepository.findPage(cursor, limit).stream()
+            .map(TaskEntityMapper::toServiceModel)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Stream<TaskServiceModel> streamAllTasks() {
+        logger.info("Streaming all tasks");
+        
+        // Each entity is converted only when the caller consumes it
+        return taskRepository.streamAll().map(TaskEntityMapper::toServiceModel);
+    }
+    
+    @Override
+    public List<TaskServiceModel> searchTasks(String query, int limit) {
+        logger.info("Searching tasks for: {}, limit: {}", query, limit);
+        
+        // Convert the ranked matches, keeping their order
+        return TaskEntityMapper.toServiceModelList(taskRepository.searchByTitle(query, limit));
+    }
+    
+    @Override
+    public Optional<TaskServiceModel> transition(String id, TaskStatusService fromStatus, TaskStatusService toStatus) {
+        logger.debug("Moving task {} from {} to {}", id, fromStatus, toStatus);
+        if (id == null) {
+            throw new IllegalArgumentException("Task ID cannot be null");
+        }
+        if (fromStatus == null || toStatus == null) {
+            throw new IllegalArgumentException("Transition statuses cannot be null");
+        }
+        if (!transitionGraph.isAllowed(fromStatus, toStatus)) {
+            throw new IllegalArgumentException("Transition from " + fromStatus + " to " + toStatus + " is not allowed");
+        }
+        
+        // Optimistic: save a copy against the version read, and read again if another save got in first
+        while (true) {
+            TaskEntity current = taskRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + id));
+            if (TaskStatusMapper.toServiceStatus(current.getStatus()) != fromStatus) {
+                return Optional.empty();
+            }
+            
+            TaskEntity moved = new TaskEntity(current.getId(), current.getTitle(), TaskStatusMapper.toEntityStatus(toStatus));
+            moved.setVersion(current.getVersion());
+            TaskEntity saved;
+            try {
+                saved = taskRepository.saveTask(moved);
+            } catch (TaskVersionConflictException e) {
+                logger.debug("Task {} was saved concurrently, retrying transition", id);
+                continue;
+            }
+            
+            transitionLog.record(id, saved.getVersion(), clock.getAsLong(), fromStatus, toStatus);
+            return Optional.of(TaskEntityMapper.toServiceModel(saved));
+        }
+    }
+    
+    @Override
+    public TaskTransitionHistory getTransitionHistory(String id) {
+        return transitionLog.get(id);
+    }
+    
+    @Override
+    public CycleTimeStats getCycleTimeStats(TaskStatusService startStatus, TaskStatusService endStatus) {
+        if (startStatus == null || endStatus == null) {
+            throw new IllegalArgumentException("Cycle time statuses cannot be null");
+        }
+        return transitionLog.cycleTimeStats(startStatus, endStatus);
+    }
+}
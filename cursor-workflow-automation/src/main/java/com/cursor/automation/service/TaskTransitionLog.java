@@ -0,0 +1,63 @@
+package com.cursor.automation.service;
+
+import com.cursor.automation.service.model.CycleTimeStats;
+import com.cursor.automation.service.model.TaskStatusService;
+import com.cursor.automation.service.model.TaskTransitionHistory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The transition histories of all tasks, kept in memory. Each task's history is replaced
+ * with compare-and-set, so workers recording transitions never block one another.
+ */
+class TaskTransitionLog {
+
+    private final Map<String, AtomicReference<TaskTransitionHistory>> histories = new ConcurrentHashMap<>();
+
+    void record(String taskId, long version, long timestamp, TaskStatusService from, TaskStatusService to) {
+        AtomicReference<TaskTransitionHistory> history = histories.get(taskId);
+        if (history == null) {
+            history = histories.computeIfAbsent(taskId, id -> new AtomicReference<>(TaskTransitionHistory.EMPTY));
+        }
+        history.updateAndGet(current -> current.withTransition(version, timestamp, from, to));
+    }
+
+    TaskTransitionHistory get(String taskId) {
+        AtomicReference<TaskTransitionHistory> history = histories.get(taskId);
+        return history != null ? history.get() : TaskTransitionHistory.EMPTY;
+    }
+
+    CycleTimeStats cycleTimeStats(TaskStatusService start, TaskStatusService end) {
+        long[] cycleTimes = new long[64];
+        int count = 0;
+        for (AtomicReference<TaskTransitionHistory> history : histories.values()) {
+            long cycleTime = history.get().getCycleTime(start, end);
+            if (cycleTime >= 0) {
+                if (count == cycleTimes.length) {
+                    cycleTimes = Arrays.copyOf(cycleTimes, count * 2);
+                }
+                cycleTimes[count++] = cycleTime;
+            }
+        }
+        if (count == 0) {
+            return new CycleTimeStats(0, 0, 0, 0, 0, 0);
+        }
+
+        Arrays.sort(cycleTimes, 0, count);
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += cycleTimes[i];
+        }
+        return new CycleTimeStats(count, cycleTimes[0], percentile(cycleTimes, count, 50),
+                percentile(cycleTimes, count, 90), cycleTimes[count - 1], (double) sum / count);
+    }
+
+    // Nearest-rank percentile of the first count sorted values
+    private static long percentile(long[] sorted, int count, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * count);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,76 @@
+package com.cursor.automation.service;
+
+import com.cursor.automation.service.model.TaskStatusService;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The status transitions a task may go through. Immutable, so one graph can be shared by
+ * any number of workers.
+ */
+public final class TransitionGraph {
+
+    // Bit i of allowed[from.ordinal()] is set if from may move to the status with ordinal i
+    private final int[] allowed;
+
+    private TransitionGraph(int[] allowed) {
+        this.allowed = allowed;
+    }
+
+    /**
+     * The default workflow: TODO, IN_PROGRESS, IN_REVIEW, DONE, with tasks blocked and
+     * unblocked from TODO or IN_PROGRESS, sent back from review, and reopened once done.
+     */
+    public static TransitionGraph standard() {
+        return of(Map.of(
+                TaskStatusService.TODO, EnumSet.of(TaskStatusService.IN_PROGRESS, TaskStatusService.BLOCKED),
+                TaskStatusService.IN_PROGRESS, EnumSet.of(TaskStatusService.TODO, TaskStatusService.BLOCKED,
+                        TaskStatusService.IN_REVIEW),
+                TaskStatusService.BLOCKED, EnumSet.of(TaskStatusService.TODO, TaskStatusService.IN_PROGRESS),
+                TaskStatusService.IN_REVIEW, EnumSet.of(TaskStatusService.IN_PROGRESS, TaskStatusService.DONE),
+                TaskStatusService.DONE, EnumSet.of(TaskStatusService.IN_PROGRESS)));
+    }
+
+    /**
+     * A graph allowing exactly the given transitions.
+     *
+     * @param transitions the statuses each status may move to; statuses missing from the map have none
+     */
+    public static TransitionGraph of(Map<TaskStatusService, ? extends Set<TaskStatusService>> transitions) {
+        if (transitions == null) {
+            throw new IllegalArgumentException("Transitions cannot be null");
+        }
+        int[] allowed = new int[TaskStatusService.values().length];
+        for (Map.Entry<TaskStatusService, ? extends Set<TaskStatusService>> entry : transitions.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Transitions cannot contain null statuses");
+            }
+            for (TaskStatusService to : entry.getValue()) {
+                if (to == null || to == entry.getKey()) {
+                    throw new IllegalArgumentException("Invalid transition from " + entry.getKey() + " to " + to);
+                }
+                allowed[entry.getKey().ordinal()] |= 1 << to.ordinal();
+            }
+        }
+        return new TransitionGraph(allowed);
+    }
+
+    public boolean isAllowed(TaskStatusService from, TaskStatusService to) {
+        return (allowed[from.ordinal()] & (1 << to.ordinal())) != 0;
+    }
+
+    /**
+     * The statuses a task in the given status may move to.
+     */
+    public Set<TaskStatusService> next(TaskStatusService from) {
+        Set<TaskStatusService> next = EnumSet.noneOf(TaskStatusService.class);
+        for (TaskStatusService to : TaskStatusService.values()) {
+            if (isAllowed(from, to)) {
+                next.add(to);
+            }
+        }
+        return next;
+    }
+}
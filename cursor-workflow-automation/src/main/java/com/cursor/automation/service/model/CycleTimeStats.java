@@ -0,0 +1,65 @@
+package com.cursor.automation.service.model;
+
+/**
+ * Cycle times of the tasks that went from one status to another, in milliseconds.
+ * All values are 0 when no task has.
+ */
+public class CycleTimeStats {
+    private final long count;
+    private final long min;
+    private final long median;
+    private final long p90;
+    private final long max;
+    private final double mean;
+
+    public CycleTimeStats(long count, long min, long median, long p90, long max, double mean) {
+        this.count = count;
+        this.min = min;
+        this.median = median;
+        this.p90 = p90;
+        this.max = max;
+        this.mean = mean;
+    }
+
+    /**
+     * Number of tasks measured
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMedian() {
+        return median;
+    }
+
+    /**
+     * The cycle time 90% of the measured tasks were within
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public String toString() {
+        return "CycleTimeStats{" +
+                "count=" + count +
+                ", min=" + min +
+                ", median=" + median +
+                ", p90=" + p90 +
+                ", max=" + max +
+                ", mean=" + String.format("%.1f", mean) +
+                '}';
+    }
+}
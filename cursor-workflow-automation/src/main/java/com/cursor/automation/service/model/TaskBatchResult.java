@@ -0,0 +1,39 @@
+package com.cursor.automation.service.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of creating a batch of tasks: the created tasks and, by position in the
+ * input list, the error of each task that was rejected.
+ */
+public class TaskBatchResult {
+    private final List<TaskServiceModel> createdTasks;
+    private final Map<Integer, String> errors;
+
+    public TaskBatchResult(List<TaskServiceModel> createdTasks, Map<Integer, String> errors) {
+        this.createdTasks = Collections.unmodifiableList(createdTasks);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    public List<TaskServiceModel> getCreatedTasks() {
+        return createdTasks;
+    }
+
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskBatchResult{" +
+                "created=" + createdTasks.size() +
+                ", errors=" + errors +
+                '}';
+    }
+}
@@ -7,6 +7,7 @@ public class TaskServiceModel {
     private String id;
     private String title;
     private TaskStatusService status;
+    private long version;
 
     public TaskServiceModel() {
     }
@@ -47,12 +48,21 @@ public class TaskServiceModel {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "TaskServiceModel{" +
                 "id='" + id + '\'' +
                 ", title='" + title + '\'' +
                 ", status=" + status +
+                ", version=" + version +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.cursor.automation.service.model;
+
+import java.util.Arrays;
+
+/**
+ * The status transitions of one task, oldest first. Immutable; each transition is stored as
+ * primitives (the task version it produced, its time in epoch milliseconds and the ordinals
+ * of its statuses) in parallel arrays.
+ */
+public final class TaskTransitionHistory {
+
+    public static final TaskTransitionHistory EMPTY =
+            new TaskTransitionHistory(new long[0], new long[0], new byte[0], new byte[0]);
+
+    private static final TaskStatusService[] STATUSES = TaskStatusService.values();
+
+    private final long[] versions;
+    private final long[] timestamps;
+    private final byte[] fromStatuses;
+    private final byte[] toStatuses;
+
+    private TaskTransitionHistory(long[] versions, long[] timestamps, byte[] fromStatuses, byte[] toStatuses) {
+        this.versions = versions;
+        this.timestamps = timestamps;
+        this.fromStatuses = fromStatuses;
+        this.toStatuses = toStatuses;
+    }
+
+    /**
+     * A copy of this history with one more transition, placed by task version. Transitions
+     * recorded out of order, by workers that saved one after the other but recorded in the
+     * opposite order, therefore still end up in the order they were saved in.
+     *
+     * @param version the task version the transition's save produced
+     * @param timestamp when the transition was made, in epoch milliseconds
+     */
+    public TaskTransitionHistory withTransition(long version, long timestamp, TaskStatusService from,
+                                                TaskStatusService to) {
+        int size = versions.length;
+        int position = size;
+        while (position > 0 && versions[position - 1] > version) {
+            position--;
+        }
+
+        long[] newVersions = insert(versions, position, version);
+        long[] newTimestamps = insert(timestamps, position, timestamp);
+        byte[] newFromStatuses = insert(fromStatuses, position, (byte) from.ordinal());
+        byte[] newToStatuses = insert(toStatuses, position, (byte) to.ordinal());
+        return new TaskTransitionHistory(newVersions, newTimestamps, newFromStatuses, newToStatuses);
+    }
+
+    public int size() {
+        return versions.length;
+    }
+
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    public TaskStatusService getFromStatus(int index) {
+        return STATUSES[fromStatuses[index]];
+    }
+
+    public TaskStatusService getToStatus(int index) {
+        return STATUSES[toStatuses[index]];
+    }
+
+    /**
+     * Total time spent in a status, over the stays that have ended.
+     *
+     * @return the time in milliseconds
+     */
+    public long getTimeInStatus(TaskStatusService status) {
+        long total = 0;
+        for (int i = 0; i + 1 < size(); i++) {
+            if (toStatuses[i] == status.ordinal()) {
+                total += timestamps[i + 1] - timestamps[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Time from the first move into the start status to the last move into the end status,
+     * for a task that is (as far as its transitions show) still in the end status.
+     *
+     * @return the time in milliseconds, or -1 if the task has not gone from start to end
+     */
+    public long getCycleTime(TaskStatusService start, TaskStatusService end) {
+        int last = size() - 1;
+        if (last < 0 || toStatuses[last] != end.ordinal()) {
+            return -1;
+        }
+        for (int i = 0; i < last; i++) {
+            if (toStatuses[i] == start.ordinal()) {
+                return timestamps[last] - timestamps[i];
+            }
+        }
+        return -1;
+    }
+
+    private static long[] insert(long[] values, int position, long value) {
+        long[] result = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        result[position] = value;
+        return result;
+    }
+
+    private static byte[] insert(byte[] values, int position, byte value) {
+        byte[] result = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        result[position] = value;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("TaskTransitionHistory{");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(getFromStatus(i)).append("->").append(getToStatus(i)).append('@').append(timestamps[i]);
+        }
+        return result.append('}').toString();
+    }
+}
@@ -0,0 +1,163 @@
+package com.cursor.automation.transfer;
+
+import com.cursor.automation.model.dto.TaskDTO;
+
+/**
+ * Parser for one JSONL task record: a flat JSON object whose id, title and status fields
+ * are strings or null. Other fields are skipped if their values are strings, numbers,
+ * booleans or null.
+ */
+final class JsonRecordParser {
+
+    private final String text;
+    private int position;
+
+    JsonRecordParser(String text) {
+        this.text = text;
+    }
+
+    TaskDTO parse() {
+        String id = null;
+        String title = null;
+        String status = null;
+
+        expect('{');
+        skipWhitespace();
+        if (peek() != '}') {
+            do {
+                skipWhitespace();
+                String name = readString();
+                expect(':');
+                skipWhitespace();
+                String value = readValue();
+                switch (name) {
+                    case "id":
+                        id = value;
+                        break;
+                    case "title":
+                        title = value;
+                        break;
+                    case "status":
+                        status = value;
+                        break;
+                    default:
+                        break;
+                }
+                skipWhitespace();
+            } while (consume(','));
+        }
+        expect('}');
+        skipWhitespace();
+        if (position < text.length()) {
+            throw error("Unexpected content after object");
+        }
+        return TaskFileFormat.toTask(id, title, status);
+    }
+
+    private String readValue() {
+        char c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        // Literals and numbers run up to the next delimiter
+        int start = position;
+        while (position < text.length() && text.charAt(position) != ',' && text.charAt(position) != '}'
+                && !Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("Expected a value");
+        }
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position >= text.length()) {
+                throw error("Unterminated string");
+            }
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                throw error("Unterminated string");
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    value.append(escaped);
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("Bad unicode escape");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Bad unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("Bad escape \\" + escaped);
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of record");
+        }
+        return text.charAt(position);
+    }
+
+    private boolean consume(char expected) {
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        skipWhitespace();
+        if (!consume(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at column " + (position + 1));
+    }
+}
@@ -0,0 +1,77 @@
+package com.cursor.automation.transfer;
+
+import com.cursor.automation.mapper.TaskDTOMapper;
+import com.cursor.automation.service.TaskService;
+import com.cursor.automation.service.model.TaskServiceModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams all tasks of a TaskService to a JSONL or CSV file.
+ *
+ * Tasks are read with {@link TaskService#streamAllTasks()} and written as they are
+ * consumed, so memory use does not grow with the number of tasks.
+ */
+public class TaskExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExporter.class);
+
+    // Checking the file position is a system call, so progress is only checked this often
+    private static final int PROGRESS_CHECK_RECORDS = 1024;
+
+    private final TaskService taskService;
+
+    public TaskExporter(TaskService taskService) {
+        if (taskService == null) {
+            throw new IllegalArgumentException("Task service cannot be null");
+        }
+        this.taskService = taskService;
+    }
+
+    /**
+     * Writes every task to the file, replacing its contents.
+     *
+     * @param file the file to write
+     * @param format the format to write
+     * @return the totals of the export
+     * @throws IOException if the file cannot be written
+     */
+    public TransferStats exportTo(Path file, TaskFileFormat format) throws IOException {
+        logger.info("Exporting tasks to {} as {}", file, format);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel,
+                     StandardCharsets.UTF_8.newEncoder(), TaskImporter.BUFFER_SIZE), TaskImporter.BUFFER_SIZE);
+             Stream<TaskServiceModel> tasks = taskService.streamAllTasks()) {
+            TransferProgress progress = new TransferProgress(logger, "Exported", 0);
+            if (format.header() != null) {
+                writer.write(format.header());
+                writer.write('\n');
+            }
+
+            long records = 0;
+            Iterator<TaskServiceModel> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.write(format.format(TaskDTOMapper.toDTO(iterator.next())));
+                writer.write('\n');
+                if (++records % PROGRESS_CHECK_RECORDS == 0) {
+                    progress.update(records, channel.position());
+                }
+            }
+
+            writer.flush();
+            return progress.finish(records, 0, channel.position());
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.cursor.automation.transfer;
+
+import com.cursor.automation.model.dto.TaskDTO;
+import com.cursor.automation.model.dto.TaskStatusDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats for importing and exporting tasks, one task per record.
+ *
+ * JSONL files hold one flat JSON object per line with the fields id, title and status.
+ * CSV files start with an {@code id,title,status} header; fields containing commas, quotes
+ * or line breaks are quoted, so a record may span several lines.
+ */
+public enum TaskFileFormat {
+
+    JSONL {
+        @Override
+        String header() {
+            return null;
+        }
+
+        @Override
+        String format(TaskDTO task) {
+            StringBuilder line = new StringBuilder(64);
+            line.append("{\"id\":");
+            appendJsonString(line, task.getId());
+            line.append(",\"title\":");
+            appendJsonString(line, task.getTitle());
+            line.append(",\"status\":");
+            appendJsonString(line, task.getStatus() != null ? task.getStatus().name() : null);
+            return line.append('}').toString();
+        }
+
+        @Override
+        TaskDTO parse(String record) {
+            return new JsonRecordParser(record).parse();
+        }
+    },
+
+    CSV {
+        @Override
+        String header() {
+            return "id,title,status";
+        }
+
+        @Override
+        String format(TaskDTO task) {
+            StringBuilder line = new StringBuilder(64);
+            appendCsvField(line, task.getId());
+            line.append(',');
+            appendCsvField(line, task.getTitle());
+            line.append(',');
+            appendCsvField(line, task.getStatus() != null ? task.getStatus().name() : null);
+            return line.toString();
+        }
+
+        @Override
+        String readRecord(BufferedReader reader) throws IOException {
+            // Marked so that a line ending inside a quoted field can be read again with its line break
+            reader.mark(MAX_RECORD_LENGTH + 2);
+            String line = reader.readLine();
+            if (line == null || !hasOddQuotes(line)) {
+                return line;
+            }
+            if (line.length() > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("Quoted field not terminated within "
+                        + MAX_RECORD_LENGTH + " characters");
+            }
+            reader.reset();
+            return readQuotedRecord(reader);
+        }
+
+        /**
+         * Reads a record with a quoted field spanning lines character by character, so line breaks
+         * inside quotes are kept as written. If the field never ends, reading goes on from the line
+         * after the record's first one, so a stray quote costs one record and not the rest of the file.
+         */
+        private String readQuotedRecord(BufferedReader reader) throws IOException {
+            StringBuilder record = new StringBuilder();
+            boolean quoted = false;
+            boolean marked = false;
+            int c;
+            while ((c = reader.read()) >= 0) {
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == '\n' || c == '\r') {
+                    if (!quoted) {
+                        skipLineFeedAfter(reader, c);
+                        return record.toString();
+                    }
+                    record.append((char) c);
+                    if (!marked) {
+                        if (skipLineFeedAfter(reader, c)) {
+                            record.append('\n');
+                        }
+                        reader.mark(2 * MAX_RECORD_LENGTH);
+                        marked = true;
+                    }
+                    continue;
+                }
+                if (record.length() >= MAX_RECORD_LENGTH) {
+                    reset(reader, marked);
+                    throw new IllegalArgumentException("Quoted field not terminated within "
+                            + MAX_RECORD_LENGTH + " characters");
+                }
+                record.append((char) c);
+            }
+            if (quoted) {
+                reset(reader, marked);
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            return record.toString();
+        }
+
+        /**
+         * Consumes the line feed of a CRLF line break
+         *
+         * @return whether there was one
+         */
+        private boolean skipLineFeedAfter(BufferedReader reader, int c) throws IOException {
+            if (c != '\r') {
+                return false;
+            }
+            reader.mark(1);
+            if (reader.read() == '\n') {
+                return true;
+            }
+            reader.reset();
+            return false;
+        }
+
+        /**
+         * Goes back to the line after the record's first one, if reading got past it
+         */
+        private void reset(BufferedReader reader, boolean marked) throws IOException {
+            if (marked) {
+                reader.reset();
+            }
+        }
+
+        @Override
+        TaskDTO parse(String record) {
+            String[] fields = new String[3];
+            int field = 0;
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            for (int i = 0; i < record.length(); i++) {
+                char c = record.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',') {
+                    if (field == 2) {
+                        throw new IllegalArgumentException("Expected 3 fields");
+                    }
+                    fields[field++] = toField(value, wasQuoted);
+                    value.setLength(0);
+                    wasQuoted = false;
+                } else {
+                    value.append(c);
+                }
+            }
+            if (field != 2) {
+                throw new IllegalArgumentException("Expected 3 fields");
+            }
+            fields[2] = toField(value, wasQuoted);
+            return toTask(fields[0], fields[1], fields[2]);
+        }
+    };
+
+    /**
+     * Longest record read, in characters; a CSV record spanning more lines than fit is rejected
+     */
+    static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    /**
+     * Picks the format from the file extension: .csv for CSV, anything else for JSONL.
+     */
+    public static TaskFileFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".csv") ? CSV : JSONL;
+    }
+
+    /**
+     * Line written before the first record, or null if there is none
+     */
+    abstract String header();
+
+    abstract String format(TaskDTO task);
+
+    /**
+     * Parses one record.
+     *
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    abstract TaskDTO parse(String record);
+
+    /**
+     * Reads the next record, or returns null at the end of the input.
+     *
+     * @throws IllegalArgumentException if the record is malformed; the next call reads on
+     *                                  after its first line
+     */
+    String readRecord(BufferedReader reader) throws IOException {
+        return reader.readLine();
+    }
+
+    static TaskDTO toTask(String id, String title, String status) {
+        TaskStatusDTO taskStatus = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                taskStatus = TaskStatusDTO.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown status: " + status);
+            }
+        }
+        return new TaskDTO(id != null && !id.isEmpty() ? id : null, title, taskStatus);
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private static void appendCsvField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        // Empty strings are quoted so they read back as empty rather than missing
+        if (value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            out.append('"').append(value.replace("\"", "\"\"")).append('"');
+        } else {
+            out.append(value);
+        }
+    }
+
+    private static String toField(StringBuilder value, boolean wasQuoted) {
+        return value.length() > 0 || wasQuoted ? value.toString() : null;
+    }
+
+    /**
+     * Whether a line has an odd number of quotes, so it opens or closes a quoted field that spans lines
+     */
+    private static boolean hasOddQuotes(String line) {
+        boolean odd = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+}
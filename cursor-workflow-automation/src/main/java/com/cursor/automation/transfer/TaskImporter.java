@@ -0,0 +1,133 @@
+package com.cursor.automation.transfer;
+
+import com.cursor.automation.model.dto.TaskDTO;
+import com.cursor.automation.service.TaskService;
+import com.cursor.automation.service.model.TaskBatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams tasks from a JSONL or CSV file into a TaskService.
+ *
+ * Records are parsed one at a time and created in batches through
+ * {@link TaskService#createTasks(List)}, so memory use depends on the batch size and not on
+ * the file size. Records that cannot be parsed or fail validation are logged with their
+ * record number and skipped.
+ */
+public class TaskImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImporter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TaskService taskService;
+    private final int batchSize;
+
+    public TaskImporter(TaskService taskService) {
+        this(taskService, DEFAULT_BATCH_SIZE);
+    }
+
+    public TaskImporter(TaskService taskService, int batchSize) {
+        if (taskService == null) {
+            throw new IllegalArgumentException("Task service cannot be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.taskService = taskService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every record of the file.
+     *
+     * @param file the file to read
+     * @param format the format of the file
+     * @return the totals of the import
+     * @throws IOException if the file cannot be read or is not valid UTF-8
+     */
+    public TransferStats importFrom(Path file, TaskFileFormat format) throws IOException {
+        logger.info("Importing tasks from {} as {}", file, format);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(
+                     Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE), BUFFER_SIZE)) {
+            TransferProgress progress = new TransferProgress(logger, "Imported", channel.size());
+            List<TaskDTO> batch = new ArrayList<>(batchSize);
+            long[] recordNumbers = new long[batchSize];
+            long records = 0;
+            long rejected = 0;
+
+            boolean first = true;
+            while (true) {
+                String record;
+                try {
+                    record = format.readRecord(reader);
+                } catch (IllegalArgumentException e) {
+                    records++;
+                    logger.warn("Skipping record {} of {}: {}", records, file, e.getMessage());
+                    rejected++;
+                    first = false;
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (first) {
+                    first = false;
+                    if (record.equals(format.header())) {
+                        continue;
+                    }
+                }
+                if (record.isBlank()) {
+                    continue;
+                }
+                records++;
+                try {
+                    batch.add(format.parse(record));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping record {} of {}: {}", records, file, e.getMessage());
+                    rejected++;
+                    continue;
+                }
+                recordNumbers[batch.size() - 1] = records;
+
+                if (batch.size() == batchSize) {
+                    rejected += createBatch(batch, recordNumbers, file);
+                    progress.update(records, channel.position());
+                }
+            }
+            rejected += createBatch(batch, recordNumbers, file);
+            return progress.finish(records, rejected, channel.size());
+        }
+    }
+
+    /**
+     * Creates and clears the batch.
+     *
+     * @return the number of rejected tasks
+     */
+    private int createBatch(List<TaskDTO> batch, long[] recordNumbers, Path file) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        TaskBatchResult result = taskService.createTasks(batch);
+        for (Map.Entry<Integer, String> error : result.getErrors().entrySet()) {
+            logger.warn("Skipping record {} of {}: {}", recordNumbers[error.getKey()], file, error.getValue());
+        }
+        batch.clear();
+        return result.getErrors().size();
+    }
+}
@@ -0,0 +1,49 @@
+package com.cursor.automation.transfer;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the progress of a transfer at most once per interval.
+ */
+final class TransferProgress {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger logger;
+    private final String action;
+    private final long totalBytes;
+    private final long startNanos = System.nanoTime();
+    private long nextReportNanos = startNanos + REPORT_INTERVAL_NANOS;
+
+    /**
+     * @param totalBytes the expected size of the transfer, or 0 if unknown
+     */
+    TransferProgress(Logger logger, String action, long totalBytes) {
+        this.logger = logger;
+        this.action = action;
+        this.totalBytes = totalBytes;
+    }
+
+    void update(long records, long bytes) {
+        long now = System.nanoTime();
+        if (now < nextReportNanos) {
+            return;
+        }
+        nextReportNanos = now + REPORT_INTERVAL_NANOS;
+        double recordsPerSecond = records * 1e9 / (now - startNanos);
+        if (totalBytes > 0) {
+            logger.info("{} {} tasks ({}%), {} tasks/s", action, records,
+                    Math.min(100, bytes * 100 / totalBytes), Math.round(recordsPerSecond));
+        } else {
+            logger.info("{} {} tasks, {} tasks/s", action, records, Math.round(recordsPerSecond));
+        }
+    }
+
+    TransferStats finish(long records, long rejected, long bytes) {
+        TransferStats stats = new TransferStats(records, rejected, bytes, System.nanoTime() - startNanos);
+        logger.info("{} {}", action, stats);
+        return stats;
+    }
+}
@@ -0,0 +1,57 @@
+package com.cursor.automation.transfer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals of one import or export run.
+ */
+public class TransferStats {
+    private final long records;
+    private final long rejected;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    public TransferStats(long records, long rejected, long bytes, long elapsedNanos) {
+        this.records = records;
+        this.rejected = rejected;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Records read (import) or written (export), including rejected ones
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Records that could not be parsed or failed validation
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos > 0 ? records * 1e9 / elapsedNanos : 0;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos > 0 ? bytes * 1e9 / elapsedNanos / (1024 * 1024) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records (%d rejected), %.1f MB in %d ms: %.0f records/s, %.1f MB/s",
+                records, rejected, bytes / (1024.0 * 1024), getElapsedMillis(),
+                getRecordsPerSecond(), getMegabytesPerSecond());
+    }
+}
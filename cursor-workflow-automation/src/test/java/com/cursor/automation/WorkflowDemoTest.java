@@ -17,8 +17,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -140,7 +140,7 @@ public class WorkflowDemoTest {
                 new TaskServiceModel("3", "Task 3", TaskStatusService.DONE)
         );
         
-        when(mockTaskService.getAllTasks()).thenReturn(tasks);
+        when(mockTaskService.streamAllTasks()).thenReturn(tasks.stream());
         
         // Act
         workflowDemo.runDemo();
@@ -162,7 +162,7 @@ public class WorkflowDemoTest {
         String input = "2\n3\n"; // View tasks -> Exit
         System.setIn(new ByteArrayInputStream(input.getBytes()));
         
-        when(mockTaskService.getAllTasks()).thenReturn(Collections.emptyList());
+        when(mockTaskService.streamAllTasks()).thenReturn(Stream.empty());
         
         // Act
         workflowDemo.runDemo();
@@ -187,7 +187,7 @@ public class WorkflowDemoTest {
                 new TaskServiceModel("5", "Task 5", TaskStatusService.DONE)
         );
         
-        when(mockTaskService.getAllTasks()).thenReturn(tasks);
+        when(mockTaskService.streamAllTasks()).thenReturn(tasks.stream());
         
         // Act
         workflowDemo.runDemo();
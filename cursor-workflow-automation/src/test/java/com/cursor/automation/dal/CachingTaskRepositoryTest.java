@@ -0,0 +1,133 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for CachingTaskRepository.
+ */
+public class CachingTaskRepositoryTest {
+
+    private TaskRepository delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new InMemoryTaskRepository());
+    }
+
+    @Test
+    public void testFindById_SecondLookupIsServedFromCache() {
+        // Given
+        delegate.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        CachingTaskRepository repository = new CachingTaskRepository(delegate, 100);
+
+        // When
+        TaskEntity first = repository.findById("1").orElseThrow();
+        first.setTitle("Changed without saving");
+        TaskEntity second = repository.findById("1").orElseThrow();
+
+        // Then
+        assertEquals("Write spec", second.getTitle());
+        verify(delegate, times(1)).findById("1");
+        CacheStats stats = repository.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    public void testFindById_MissingTaskIsCachedUntilSaved() {
+        // Given
+        CachingTaskRepository repository = new CachingTaskRepository(delegate, 100);
+
+        // When
+        assertFalse(repository.findById("1").isPresent());
+        assertFalse(repository.findById("1").isPresent());
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+
+        // Then
+        assertEquals("Write spec", repository.findById("1").orElseThrow().getTitle());
+        verify(delegate, times(1)).findById("1");
+        assertEquals(1, repository.getStats().getNegativeHits());
+    }
+
+    @Test
+    public void testSaveTask_WritesThroughAndReplacesCachedEntry() {
+        // Given
+        CachingTaskRepository repository = new CachingTaskRepository(delegate, 100);
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+
+        // When
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE));
+
+        // Then
+        assertEquals(TaskStatusEntity.DONE, repository.findById("1").orElseThrow().getStatus());
+        verify(delegate, never()).findById("1");
+        assertEquals(TaskStatusEntity.DONE, delegate.findById("1").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testSaveAll_DropsReplacedEntries() {
+        // Given
+        CachingTaskRepository repository = new CachingTaskRepository(delegate, 100);
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+
+        // When
+        repository.saveAll(List.of(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE),
+                new TaskEntity("2", "Review spec", TaskStatusEntity.TODO)));
+
+        // Then
+        assertEquals(0, repository.getStats().getSize());
+        assertEquals(TaskStatusEntity.DONE, repository.findById("1").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testEviction_RemovesLeastRecentlyUsedEntry() {
+        // Given
+        for (int i = 1; i <= 4; i++) {
+            delegate.saveTask(new TaskEntity(String.valueOf(i), "Task " + i, TaskStatusEntity.TODO));
+        }
+        CachingTaskRepository repository = new CachingTaskRepository(delegate, 3);
+        repository.findById("1");
+        repository.findById("2");
+        repository.findById("3");
+
+        // When - 1 is used again, so 2 is the least recently used when 4 is loaded
+        repository.findById("1");
+        repository.findById("4");
+        repository.findById("1");
+        repository.findById("2");
+
+        // Then
+        verify(delegate, times(1)).findById("1");
+        verify(delegate, times(2)).findById("2");
+        assertEquals(2, repository.getStats().getEvictions());
+        assertEquals(3, repository.getStats().getSize());
+    }
+
+    @Test
+    public void testWithMaxBytes_BoundsEstimatedSize() {
+        // Given
+        CachingTaskRepository repository = CachingTaskRepository.withMaxBytes(delegate, 4096);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            repository.saveTask(new TaskEntity("task-" + i, "A title of about forty characters long", TaskStatusEntity.TODO));
+        }
+
+        // Then
+        CacheStats stats = repository.getStats();
+        assertTrue(stats.getWeight() <= 4096);
+        assertTrue(stats.getSize() > 0 && stats.getSize() < 100);
+        assertEquals(100 - stats.getSize(), stats.getEvictions());
+        assertEquals(Optional.of("task-99"), repository.findById("task-99").map(TaskEntity::getId));
+    }
+}
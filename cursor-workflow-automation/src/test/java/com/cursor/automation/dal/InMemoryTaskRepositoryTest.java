@@ -0,0 +1,318 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for InMemoryTaskRepository.
+ */
+public class InMemoryTaskRepositoryTest {
+    
+    private InMemoryTaskRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+    }
+    
+    @Test
+    public void testFindByStatus_ReturnsOnlyTasksWithThatStatus() {
+        // Given
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.IN_PROGRESS));
+        repository.saveTask(new TaskEntity("3", "Ship", TaskStatusEntity.IN_PROGRESS));
+        
+        // When
+        List<TaskEntity> inProgress = repository.findByStatus(TaskStatusEntity.IN_PROGRESS);
+        
+        // Then
+        assertEquals(List.of("2", "3"), ids(inProgress).stream().sorted().collect(Collectors.toList()));
+        assertEquals(2, repository.countByStatus(TaskStatusEntity.IN_PROGRESS));
+        assertEquals(1, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.DONE));
+        assertTrue(repository.findByStatus(TaskStatusEntity.DONE).isEmpty());
+    }
+    
+    @Test
+    public void testSaveTask_StatusChange_MovesTaskBetweenStatuses() {
+        // Given
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        
+        // When
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE));
+        
+        // Then
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals(List.of("1"), ids(repository.findByStatus(TaskStatusEntity.DONE)));
+    }
+    
+    @Test
+    public void testSaveTask_SameInstanceChangedInPlace_ReindexesOnSave() {
+        // Given
+        TaskEntity entity = new TaskEntity("1", "Write spec", TaskStatusEntity.TODO);
+        repository.saveTask(entity);
+        
+        // When
+        entity.setStatus(TaskStatusEntity.BLOCKED);
+        entity.setTitle("Rewrite spec");
+        
+        // Then - not saved yet, so still indexed as before
+        assertEquals(1, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.BLOCKED));
+        
+        // When
+        repository.saveTask(entity);
+        
+        // Then
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals(List.of("1"), ids(repository.findByStatus(TaskStatusEntity.BLOCKED)));
+        assertTrue(repository.findByTitlePrefix("Write").isEmpty());
+        assertEquals(List.of("1"), ids(repository.findByTitlePrefix("Rewrite")));
+    }
+    
+    @Test
+    public void testSaveTask_StoresAndReturnsCopies() {
+        // Given
+        TaskEntity entity = new TaskEntity("1", "Write spec", TaskStatusEntity.TODO);
+        
+        // When
+        TaskEntity saved = repository.saveTask(entity);
+        entity.setTitle("Changed without saving");
+        saved.setTitle("Changed without saving");
+        repository.findById("1").orElseThrow().setTitle("Changed without saving");
+        
+        // Then
+        assertEquals(1, entity.getVersion());
+        assertNotSame(entity, saved);
+        assertEquals(1, saved.getVersion());
+        assertEquals("Write spec", repository.findById("1").orElseThrow().getTitle());
+        assertEquals("Write spec", repository.findAll().get(0).getTitle());
+    }
+    
+    @Test
+    public void testFindByTitlePrefix_ReturnsMatchesOrderedByTitle() {
+        // Given
+        repository.saveTask(new TaskEntity("1", "Release notes", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Refactor parser", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("3", "Release build", TaskStatusEntity.DONE));
+        repository.saveTask(new TaskEntity("4", "Review", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("5", "Release build", TaskStatusEntity.TODO));
+        
+        // When
+        List<TaskEntity> result = repository.findByTitlePrefix("Release");
+        
+        // Then
+        assertEquals(List.of("3", "5", "1"), ids(result));
+        assertEquals(5, repository.findByTitlePrefix("").size());
+        assertTrue(repository.findByTitlePrefix("release").isEmpty());
+    }
+    
+    @Test
+    public void testFindByTitlePrefix_NullPrefix_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> repository.findByTitlePrefix(null));
+    }
+    
+    @Test
+    public void testFindPage_WalksAllTasksInIdOrder() {
+        // Given
+        for (int i = 9; i >= 0; i--) {
+            repository.saveTask(new TaskEntity("task-" + i, "Task " + i, TaskStatusEntity.TODO));
+        }
+        
+        // When
+        List<String> seen = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        List<TaskEntity> page;
+        do {
+            page = repository.findPage(cursor, 4);
+            seen.addAll(ids(page));
+            pages++;
+            cursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getId();
+        } while (page.size() == 4);
+        
+        // Then
+        assertEquals(3, pages);
+        assertEquals(List.of("task-0", "task-1", "task-2", "task-3", "task-4",
+                "task-5", "task-6", "task-7", "task-8", "task-9"), seen);
+        assertTrue(repository.findPage("task-9", 4).isEmpty());
+    }
+    
+    @Test
+    public void testFindPage_NonPositiveLimit_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0));
+    }
+    
+    @Test
+    public void testStreamAll_ReturnsEachTaskOnce() {
+        // Given
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.DONE));
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE));
+        
+        // When
+        List<String> streamed = repository.streamAll().map(TaskEntity::getId).sorted().collect(Collectors.toList());
+        
+        // Then
+        assertEquals(List.of("1", "2"), streamed);
+    }
+    
+    @Test
+    public void testSaveAll_IndexesEveryTaskAndLaterDuplicateWins() {
+        // When
+        repository.saveAll(List.of(
+                new TaskEntity("1", "Write spec", TaskStatusEntity.TODO),
+                new TaskEntity("2", "Review spec", TaskStatusEntity.IN_PROGRESS),
+                new TaskEntity("1", "Write spec", TaskStatusEntity.DONE)));
+        
+        // Then
+        assertEquals(2, repository.findAll().size());
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals(List.of("1"), ids(repository.findByStatus(TaskStatusEntity.DONE)));
+        assertEquals(List.of("1", "2"), ids(repository.findPage(null, 10)));
+    }
+    
+    @Test
+    public void testSaveAll_InvalidEntity_SavesNothing() {
+        // Given
+        List<TaskEntity> batch = new ArrayList<>();
+        batch.add(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        batch.add(new TaskEntity(null, "No ID", TaskStatusEntity.TODO));
+        
+        // When
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> repository.saveAll(batch));
+        
+        // Then
+        assertTrue(exception.getMessage().contains("index 1"));
+        assertTrue(repository.findAll().isEmpty());
+    }
+    
+    @Test
+    public void testSearchByTitle_FollowsRetitlesButNotStatusChanges() {
+        // Given
+        repository.saveTask(new TaskEntity("1", "Fix login bug", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Write login docs", TaskStatusEntity.TODO));
+        
+        // When
+        repository.saveTask(new TaskEntity("1", "Fix login bug", TaskStatusEntity.DONE));
+        repository.saveTask(new TaskEntity("2", "Write signup docs", TaskStatusEntity.TODO));
+        
+        // Then
+        List<TaskEntity> found = repository.searchByTitle("LOGIN", 10);
+        assertEquals(List.of("1"), ids(found));
+        assertEquals(TaskStatusEntity.DONE, found.get(0).getStatus());
+        assertEquals(List.of("2"), ids(repository.searchByTitle("docs sign", 10)));
+        assertThrows(IllegalArgumentException.class, () -> repository.searchByTitle("docs", 0));
+        assertThrows(IllegalArgumentException.class, () -> repository.searchByTitle(null, 10));
+    }
+    
+    @Test
+    public void testConcurrentStatusUpdates_IndexesMatchFinalState() throws InterruptedException {
+        // Given
+        int taskCount = 200;
+        for (int i = 0; i < taskCount; i++) {
+            repository.saveTask(new TaskEntity("task-" + i, "Task " + i, TaskStatusEntity.TODO));
+        }
+        TaskStatusEntity[] statuses = TaskStatusEntity.values();
+        
+        // When - several threads move every task through random statuses
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    int task = (i * 31 + seed * 7) % taskCount;
+                    TaskStatusEntity status = statuses[(i + seed) % statuses.length];
+                    repository.saveTask(new TaskEntity("task-" + task, "Task " + task, status));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Then
+        long total = 0;
+        for (TaskStatusEntity status : statuses) {
+            List<TaskEntity> tasks = repository.findByStatus(status);
+            assertEquals(tasks.size(), repository.countByStatus(status));
+            tasks.forEach(task -> assertEquals(status, task.getStatus()));
+            total += tasks.size();
+        }
+        assertEquals(taskCount, total);
+    }
+    
+    @Test
+    public void testSaveTask_StaleVersion_ThrowsConflictAndKeepsStoredTask() {
+        // Given
+        TaskEntity created = repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        TaskEntity first = versioned(new TaskEntity("1", "Write spec", TaskStatusEntity.IN_PROGRESS), 1);
+        TaskEntity second = versioned(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE), 1);
+        
+        // When
+        repository.saveTask(first);
+        TaskVersionConflictException conflict =
+                assertThrows(TaskVersionConflictException.class, () -> repository.saveTask(second));
+        
+        // Then
+        assertEquals(1, created.getVersion());
+        assertEquals(2, first.getVersion());
+        assertEquals(1, conflict.getExpectedVersion());
+        assertEquals(2, conflict.getActualVersion());
+        assertEquals(TaskStatusEntity.IN_PROGRESS, repository.findById("1").orElseThrow().getStatus());
+        assertEquals(1, repository.countByStatus(TaskStatusEntity.IN_PROGRESS));
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.DONE));
+    }
+    
+    @Test
+    public void testConcurrentVersionedUpdates_NoUpdateIsLost() throws InterruptedException {
+        // Given
+        repository.saveTask(new TaskEntity("counter", "0", TaskStatusEntity.TODO));
+        
+        // When - each thread increments the title by reading, copying and saving until no conflict
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    while (true) {
+                        TaskEntity read = repository.findById("counter").orElseThrow();
+                        String next = String.valueOf(Integer.parseInt(read.getTitle()) + 1);
+                        try {
+                            repository.saveTask(versioned(new TaskEntity("counter", next, TaskStatusEntity.TODO), read.getVersion()));
+                            break;
+                        } catch (TaskVersionConflictException e) {
+                            // Saved by another thread in between; read again
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Then
+        TaskEntity counter = repository.findById("counter").orElseThrow();
+        assertEquals("2000", counter.getTitle());
+        assertEquals(2001, counter.getVersion());
+    }
+    
+    private static List<String> ids(List<TaskEntity> tasks) {
+        return tasks.stream().map(TaskEntity::getId).collect(Collectors.toList());
+    }
+    
+    private static TaskEntity versioned(TaskEntity taskEntity, long version) {
+        taskEntity.setVersion(version);
+        return taskEntity;
+    }
+}
@@ -0,0 +1,415 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import com.cursor.automation.service.TaskService;
+import com.cursor.automation.service.TaskServiceImpl;
+import com.cursor.automation.service.model.TaskServiceModel;
+import com.cursor.automation.service.model.TaskStatusService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LogStructuredTaskRepository.
+ */
+public class LogStructuredTaskRepositoryTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private LogStructuredTaskRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    public void testSaveTask_ThenFindById_ReturnsStoredCopy() {
+        // Given
+        repository = open();
+        TaskEntity entity = new TaskEntity("1", "Write spec", TaskStatusEntity.TODO);
+
+        // When
+        repository.saveTask(entity);
+        entity.setTitle("Changed without saving");
+        TaskEntity found = repository.findById("1").orElseThrow();
+
+        // Then
+        assertNotSame(entity, found);
+        assertEquals("Write spec", found.getTitle());
+        assertEquals(TaskStatusEntity.TODO, found.getStatus());
+        assertFalse(repository.findById("2").isPresent());
+    }
+
+    @Test
+    public void testReopen_RecoversLatestVersionOfEachTask() {
+        // Given
+        repository = open();
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.IN_PROGRESS));
+        repository.saveTask(new TaskEntity("1", "Write spec v2", TaskStatusEntity.DONE));
+        repository.saveTask(new TaskEntity("3", null, null));
+        repository.close();
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(3, repository.findAll().size());
+        assertEquals("Write spec v2", repository.findById("1").orElseThrow().getTitle());
+        assertNull(repository.findById("3").orElseThrow().getTitle());
+        assertEquals(1, repository.countByStatus(TaskStatusEntity.DONE));
+        assertEquals(0, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals(List.of("2"), ids(repository.findByStatus(TaskStatusEntity.IN_PROGRESS)));
+        assertEquals(List.of("1"), ids(repository.findByTitlePrefix("Write")));
+        assertEquals(List.of("1", "2", "3"), ids(repository.findPage(null, 10)));
+    }
+
+    @Test
+    public void testSaveTask_ManyTasks_RollsSegments() throws IOException {
+        // Given
+        repository = open();
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            repository.saveTask(new TaskEntity(String.format("task-%03d", i), "Task " + i, TaskStatusEntity.TODO));
+        }
+
+        // Then
+        assertTrue(segmentFiles().size() > 1);
+        assertEquals(500, repository.streamAll().count());
+        assertEquals(List.of("task-100", "task-101"), ids(repository.findPage("task-099", 2)));
+
+        repository.close();
+        repository = open();
+        assertEquals(500, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals("Task 499", repository.findById("task-499").orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testCompact_RemovesSupersededSegmentsAndKeepsLatestData() throws IOException {
+        // Given - the same few tasks saved over and over fill several segments
+        repository = open();
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 5; i++) {
+                TaskStatusEntity status = TaskStatusEntity.values()[round % TaskStatusEntity.values().length];
+                repository.saveTask(new TaskEntity("task-" + i, "Task " + i + " round " + round, status));
+            }
+        }
+        int segmentsBefore = segmentFiles().size();
+
+        // When
+        int deleted = repository.compact();
+
+        // Then
+        assertTrue(deleted > 0);
+        assertEquals(segmentsBefore - deleted, segmentFiles().size());
+        assertEquals("Task 3 round 99", repository.findById("task-3").orElseThrow().getTitle());
+
+        repository.close();
+        repository = open();
+        assertEquals(5, repository.findAll().size());
+        assertEquals("Task 3 round 99", repository.findById("task-3").orElseThrow().getTitle());
+        assertEquals(5, repository.countByStatus(TaskStatusEntity.values()[99 % TaskStatusEntity.values().length]));
+    }
+
+    @Test
+    public void testReopen_TornLastRecord_IsDiscarded() throws IOException {
+        // Given
+        repository = open();
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO));
+        repository.close();
+        repository = null;
+
+        // When - corrupt the title of the last record, as a write cut short by a crash would
+        Path segment = segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long secondRecord = LogSegment.HEADER_SIZE + LogSegment.RECORD_OVERHEAD + "1".length() + "Write spec".length();
+            file.seek(secondRecord + LogSegment.RECORD_OVERHEAD + "2".length());
+            file.write(new byte[] {0, 0, 0});
+        }
+        repository = open();
+
+        // Then
+        assertTrue(repository.findById("1").isPresent());
+        assertFalse(repository.findById("2").isPresent());
+        repository.saveTask(new TaskEntity("3", "Ship", TaskStatusEntity.DONE));
+        repository.close();
+        repository = open();
+        assertEquals(List.of("1", "3"), ids(repository.findPage(null, 10)));
+    }
+
+    @Test
+    public void testReopen_UnfinishedNewestSegment_IsDiscarded() throws IOException {
+        // Given
+        repository = open();
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.close();
+        repository = null;
+
+        // When - a crash while creating the next segment, before or after it was sized
+        Path first = segmentFiles().get(0);
+        Path empty = first.resolveSibling(first.getFileName().toString().replace("001.log", "002.log"));
+        Files.createFile(empty);
+        repository = open();
+        repository.close();
+        Path unwritten = first.resolveSibling(first.getFileName().toString().replace("001.log", "003.log"));
+        try (RandomAccessFile file = new RandomAccessFile(unwritten.toFile(), "rw")) {
+            file.setLength(SEGMENT_SIZE);
+            file.writeInt(0x544C4F47);
+        }
+        repository = open();
+
+        // Then
+        assertEquals(List.of(first), segmentFiles());
+        assertEquals("Write spec", repository.findById("1").orElseThrow().getTitle());
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO));
+        repository.close();
+        repository = open();
+        assertEquals(List.of("1", "2"), ids(repository.findPage(null, 10)));
+    }
+
+    @Test
+    public void testReopen_SegmentWithoutTaskVersions_IsReadAndNotAppendedTo() throws IOException {
+        // Given - a segment of the first header version, whose records end after the title
+        writeUnversionedSegment(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO),
+                new TaskEntity("2", "Review spec", TaskStatusEntity.DONE));
+
+        // When
+        repository = open();
+        repository.saveTask(new TaskEntity("3", "Ship", TaskStatusEntity.TODO));
+        repository.close();
+        repository = open();
+
+        // Then
+        assertEquals(2, segmentFiles().size());
+        assertEquals(List.of("1", "2", "3"), ids(repository.findPage(null, 10)));
+        TaskEntity task = repository.findById("2").orElseThrow();
+        assertEquals("Review spec", task.getTitle());
+        assertEquals(TaskStatusEntity.DONE, task.getStatus());
+        assertEquals(1, task.getVersion());
+        assertEquals(1, repository.findById("3").orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testTransition_TaskFromSegmentWithoutTaskVersions_OnlyOneConcurrentTransitionWins()
+            throws IOException, InterruptedException {
+        // Given - both transitions read the task before either saves it
+        writeUnversionedSegment(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        CountDownLatch bothRead = new CountDownLatch(2);
+        repository = new LogStructuredTaskRepository(directory, SEGMENT_SIZE, 0.5, 0) {
+            @Override
+            public Optional<TaskEntity> findById(String id) {
+                Optional<TaskEntity> found = super.findById(id);
+                bothRead.countDown();
+                try {
+                    bothRead.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return found;
+            }
+        };
+        TaskService service = new TaskServiceImpl(repository);
+        List<Optional<TaskServiceModel>> results = Collections.synchronizedList(new ArrayList<>());
+        Thread[] workers = new Thread[2];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(() ->
+                    results.add(service.transition("1", TaskStatusService.TODO, TaskStatusService.IN_PROGRESS)));
+            workers[i].start();
+        }
+
+        // When
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Then
+        assertEquals(1, results.stream().filter(Optional::isPresent).count());
+        assertEquals(2, repository.findById("1").orElseThrow().getVersion());
+        assertEquals(1, service.getTransitionHistory("1").size());
+    }
+
+    @Test
+    public void testSaveTask_AfterClose_ThrowsException() {
+        // Given
+        repository = open();
+        repository.close();
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO)));
+    }
+
+    @Test
+    public void testConcurrentSaves_AllDurableAfterReopen() throws InterruptedException {
+        // Given
+        repository = open();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int writer = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    repository.saveTask(new TaskEntity(writer + "-" + i, "Task " + i, TaskStatusEntity.TODO));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        repository.close();
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(400, repository.countByStatus(TaskStatusEntity.TODO));
+    }
+
+    @Test
+    public void testSaveAll_AllTasksRecoveredAfterReopen() {
+        // Given
+        repository = open();
+        List<TaskEntity> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(new TaskEntity(String.format("task-%03d", i), "Task " + i, TaskStatusEntity.TODO));
+        }
+
+        // When - a batch larger than a segment rolls over in the middle
+        repository.saveAll(batch);
+        repository.close();
+        repository = open();
+
+        // Then
+        assertEquals(200, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals("Task 199", repository.findById("task-199").orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testSaveAll_InvalidEntity_AppendsNothing() {
+        // Given
+        repository = open();
+        List<TaskEntity> batch = new ArrayList<>();
+        batch.add(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        batch.add(null);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(batch));
+        repository.close();
+        repository = open();
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    public void testSaveTask_VersionsCheckedAndRecoveredAfterReopen() {
+        // Given
+        repository = open();
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        TaskEntity update = new TaskEntity("1", "Write spec", TaskStatusEntity.DONE);
+        update.setVersion(1);
+        repository.saveTask(update);
+        repository.close();
+
+        // When
+        repository = open();
+        TaskEntity stale = new TaskEntity("1", "Write spec", TaskStatusEntity.TODO);
+        stale.setVersion(1);
+
+        // Then
+        assertEquals(2, repository.findById("1").orElseThrow().getVersion());
+        assertThrows(TaskVersionConflictException.class, () -> repository.saveTask(stale));
+        stale.setVersion(2);
+        repository.saveTask(stale);
+        assertEquals(3, stale.getVersion());
+        assertEquals(3, repository.findById("1").orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testSearchByTitle_BuiltFromLogAndKeptUpToDate() {
+        // Given
+        repository = open();
+        repository.saveTask(new TaskEntity("1", "Fix login bug", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Write login docs", TaskStatusEntity.TODO));
+        repository.close();
+        repository = open();
+
+        // When
+        List<TaskEntity> before = repository.searchByTitle("login", 10);
+        repository.saveTask(new TaskEntity("2", "Write signup docs", TaskStatusEntity.DONE));
+
+        // Then
+        assertEquals(List.of("1", "2"), ids(before));
+        assertEquals(List.of("1"), ids(repository.searchByTitle("login", 10)));
+        assertEquals(TaskStatusEntity.DONE, repository.searchByTitle("signup", 10).get(0).getStatus());
+    }
+
+    private LogStructuredTaskRepository open() {
+        return new LogStructuredTaskRepository(directory, SEGMENT_SIZE, 0.5, 0);
+    }
+
+    /**
+     * Writes the tasks to a segment of the first header version, whose records end after the title
+     */
+    private void writeUnversionedSegment(TaskEntity... tasks) throws IOException {
+        Path legacy = directory.resolve("segment-00000000000000000001.log");
+        try (RandomAccessFile file = new RandomAccessFile(legacy.toFile(), "rw")) {
+            file.setLength(SEGMENT_SIZE);
+            file.writeInt(0x544C4F47);
+            file.writeShort(1);
+            file.writeShort(0);
+            file.writeLong(1);
+            for (TaskEntity task : tasks) {
+                file.write(unversionedRecord(task));
+            }
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * A record as written before tasks had versions: the current encoding without its
+     * trailing version.
+     */
+    static byte[] unversionedRecord(TaskEntity taskEntity) {
+        ByteBuffer record = LogSegment.encode(taskEntity, 0);
+        int length = record.remaining() - 8;
+        record.putInt(0, length - 4);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, length - 8);
+        record.putInt(4, (int) crc.getValue());
+        return Arrays.copyOf(record.array(), length);
+    }
+
+    private static List<String> ids(List<TaskEntity> tasks) {
+        return tasks.stream().map(TaskEntity::getId).sorted().collect(Collectors.toList());
+    }
+}
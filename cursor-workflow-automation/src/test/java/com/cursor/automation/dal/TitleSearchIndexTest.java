@@ -0,0 +1,119 @@
+package com.cursor.automation.dal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TitleSearchIndex.
+ */
+public class TitleSearchIndexTest {
+
+    @Test
+    public void testTokenize_LowercasesAndSplitsOnPunctuation() {
+        assertArrayEquals(new String[] {"fix", "login", "bug", "v2"},
+                TitleSearchIndex.tokenize("Fix LOGIN-bug (v2), fix"));
+    }
+
+    @Test
+    public void testSearch_RequiresEveryWordAndCompletesTheLast() {
+        // Given
+        TitleSearchIndex index = new TitleSearchIndex();
+        index.put("1", "Fix login bug");
+        index.put("2", "Fix logout bug");
+        index.put("3", "Write login docs");
+
+        // When & Then
+        assertEquals(List.of("1"), index.search("fix LOGIN", 10));
+        assertEquals(List.of("1", "2"), sorted(index.search("fix log", 10)));
+        assertEquals(List.of("1", "3"), sorted(index.search("login", 10)));
+        assertTrue(index.search("deploy", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearch_RanksRareWordsAndShortTitlesFirst() {
+        // Given
+        TitleSearchIndex index = new TitleSearchIndex();
+        index.put("long", "Release notes for the payment service and checkout flow");
+        index.put("short", "Payment outage");
+        for (int i = 0; i < 20; i++) {
+            index.put("other-" + i, "Service task " + i);
+        }
+
+        // When & Then
+        assertEquals(List.of("short", "long"), index.search("payment", 10));
+        assertEquals(List.of("long"), index.search("payment service", 1));
+        assertEquals(2, index.search("serv", 2).size());
+    }
+
+    @Test
+    public void testPut_Retitle_MovesTaskToNewWords() {
+        // Given
+        TitleSearchIndex index = new TitleSearchIndex();
+        index.put("1", "Draft plan");
+
+        // When
+        index.put("1", "Final plan");
+
+        // Then
+        assertTrue(index.search("draft", 10).isEmpty());
+        assertEquals(List.of("1"), index.search("final plan", 10));
+        index.put("1", null);
+        assertTrue(index.search("plan", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearch_LongPostingListsAfterManyRetitles_StayCorrect() {
+        // Given - enough tasks for skip entries, and enough retitles to rewrite posting lists
+        TitleSearchIndex index = new TitleSearchIndex();
+        for (int i = 0; i < 5000; i++) {
+            index.put("task-" + i, "common word " + (i % 7 == 0 ? "seventh" : "plain"));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            index.put("task-" + i, "common renamed " + (i % 7 == 0 ? "seventh" : "plain"));
+        }
+
+        // When
+        List<String> seventh = index.search("common seventh", 10000);
+        List<String> renamedSeventh = index.search("renamed seventh common", 10000);
+
+        // Then
+        assertEquals((5000 + 6) / 7, seventh.size());
+        assertEquals((5000 + 13) / 14, renamedSeventh.size());
+        assertEquals(2500, index.search("word", 10000).size());
+        assertEquals(5000, index.search("common", 10000).size());
+    }
+
+    @Test
+    public void testPut_ManyRetitles_ReusesDocumentSlots() {
+        // Given
+        TitleSearchIndex index = new TitleSearchIndex();
+        for (int i = 0; i < 100; i++) {
+            index.put("task-" + i, "Draft " + i);
+        }
+
+        // When - every task retitled many times over
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 100; i++) {
+                index.put("task-" + i, "Round " + round + " task " + i);
+            }
+        }
+
+        // Then
+        assertEquals(1024, index.capacity());
+        assertEquals(List.of("task-99"), index.search("round 199 task 99", 10));
+        assertTrue(index.search("draft", 10).isEmpty());
+        assertEquals(100, index.search("round 199", 1000).size());
+        assertTrue(index.search("round 198", 1000).isEmpty());
+    }
+
+    private static List<String> sorted(List<String> ids) {
+        List<String> copy = new ArrayList<>(ids);
+        copy.sort(null);
+        return copy;
+    }
+}
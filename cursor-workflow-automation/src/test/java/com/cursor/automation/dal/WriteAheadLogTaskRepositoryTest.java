@@ -0,0 +1,381 @@
+package com.cursor.automation.dal;
+
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for WriteAheadLogTaskRepository.
+ */
+public class WriteAheadLogTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private WriteAheadLogTaskRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    public void testSaveTask_IsVisibleInWrappedRepositoryWhenItReturns() {
+        // Given
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // When
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+
+        // Then
+        assertTrue(delegate.findById("1").isPresent());
+        assertEquals(1, repository.countByStatus(TaskStatusEntity.TODO));
+        assertEquals("Write spec", repository.findById("1").orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testReopen_ReplaysLogIntoNewRepository() {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE));
+        repository.close();
+
+        // When
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // Then
+        assertEquals(2, delegate.findAll().size());
+        assertEquals(TaskStatusEntity.DONE, delegate.findById("1").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testConcurrentSaves_AreWrittenInBatches() throws InterruptedException {
+        // Given - saves wait up to 5 ms for others to join their batch
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile(), 64, 5000,
+                WriteAheadLogTaskRepository.DEFAULT_CHECKPOINT_BYTES);
+        int threadCount = 8;
+        int savesPerThread = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int writer = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < savesPerThread; i++) {
+                    repository.saveTask(new TaskEntity(writer + "-" + i, "Task " + i, TaskStatusEntity.TODO));
+                }
+            });
+            threads[t].start();
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(threadCount * savesPerThread, repository.countByStatus(TaskStatusEntity.TODO));
+        assertTrue(repository.getFlushCount() < threadCount * savesPerThread);
+    }
+
+    @Test
+    public void testSaveAll_WrittenWithOneFlushAndReplayed() {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        List<TaskEntity> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new TaskEntity("task-" + i, "Task " + i, TaskStatusEntity.TODO));
+        }
+
+        // When
+        repository.saveAll(batch);
+
+        // Then
+        assertEquals(1, repository.getFlushCount());
+        assertEquals(100, repository.countByStatus(TaskStatusEntity.TODO));
+        repository.close();
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+        assertEquals(100, delegate.findAll().size());
+    }
+
+    @Test
+    public void testReopen_TornLastRecord_IsCutOff() throws IOException {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO));
+        repository.close();
+        long fullSize = Files.size(walFile());
+
+        // When - drop the last bytes, as a write cut short by a crash would
+        try (RandomAccessFile file = new RandomAccessFile(walFile().toFile(), "rw")) {
+            file.setLength(fullSize - 3);
+        }
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+        repository.saveTask(new TaskEntity("3", "Ship", TaskStatusEntity.DONE));
+        repository.close();
+
+        // Then
+        delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+        assertTrue(delegate.findById("1").isPresent());
+        assertFalse(delegate.findById("2").isPresent());
+        assertTrue(delegate.findById("3").isPresent());
+    }
+
+    @Test
+    public void testReopen_LogWithoutHeader_IsReplayedAndRewritten() throws IOException {
+        // Given - a log written before it had a header, with records without task versions
+        try (OutputStream out = Files.newOutputStream(walFile())) {
+            out.write(LogStructuredTaskRepositoryTest.unversionedRecord(
+                    new TaskEntity("1", "Write spec", TaskStatusEntity.TODO)));
+            out.write(LogStructuredTaskRepositoryTest.unversionedRecord(
+                    new TaskEntity("1", "Write spec", TaskStatusEntity.DONE)));
+        }
+
+        // When
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO));
+        repository.close();
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // Then
+        assertEquals(TaskStatusEntity.DONE, delegate.findById("1").orElseThrow().getStatus());
+        assertEquals(1, delegate.findById("2").orElseThrow().getVersion());
+        assertEquals(2, delegate.findAll().size());
+    }
+
+    @Test
+    public void testCheckpoint_ShrinksLogAndKeepsLatestState() throws IOException {
+        // Given - a tiny checkpoint size so that repeated saves of the same tasks trigger it
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile(), 16, 0, 1024);
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 3; i++) {
+                repository.saveTask(new TaskEntity("task-" + i, "Task " + i + " round " + round, TaskStatusEntity.TODO));
+            }
+        }
+        repository.close();
+
+        // Then
+        assertTrue(Files.size(walFile()) < 4096);
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+        assertEquals(3, delegate.findAll().size());
+        assertEquals("Task 2 round 199", delegate.findById("task-2").orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testSaveTask_StaleVersion_FailsWithoutBeingLogged() {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        TaskEntity update = new TaskEntity("1", "Write spec", TaskStatusEntity.DONE);
+        update.setVersion(1);
+        TaskEntity stale = new TaskEntity("1", "Write spec", TaskStatusEntity.IN_PROGRESS);
+        stale.setVersion(1);
+
+        // When
+        repository.saveAll(List.of(update));
+        assertThrows(TaskVersionConflictException.class, () -> repository.saveTask(stale));
+        repository.close();
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // Then
+        TaskEntity replayed = delegate.findById("1").orElseThrow();
+        assertEquals(TaskStatusEntity.DONE, replayed.getStatus());
+        assertEquals(2, replayed.getVersion());
+    }
+
+    @Test
+    public void testSaveAll_VersionConflict_LaterSavesAreNotWritten() {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO));
+        TaskEntity stale = new TaskEntity("2", "Review spec", TaskStatusEntity.DONE);
+        stale.setVersion(5);
+
+        // When
+        assertThrows(TaskVersionConflictException.class, () -> repository.saveAll(List.of(
+                new TaskEntity("1", "Write spec", TaskStatusEntity.TODO),
+                stale,
+                new TaskEntity("3", "Ship", TaskStatusEntity.TODO))));
+        repository.close();
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // Then
+        assertTrue(delegate.findById("1").isPresent());
+        assertEquals(TaskStatusEntity.TODO, delegate.findById("2").orElseThrow().getStatus());
+        assertFalse(delegate.findById("3").isPresent());
+    }
+
+    @Test
+    public void testSaveTask_RejectedByWrappedRepository_IsRemovedFromLog() {
+        // Given
+        InMemoryTaskRepository rejecting = new InMemoryTaskRepository() {
+            @Override
+            public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+                if (taskEntities.stream().anyMatch(task -> "2".equals(task.getId()))) {
+                    throw new IllegalStateException("Storage is read-only");
+                }
+                return super.saveAll(taskEntities);
+            }
+        };
+        repository = new WriteAheadLogTaskRepository(rejecting, walFile());
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+
+        // When
+        assertThrows(IllegalStateException.class,
+                () -> repository.saveTask(new TaskEntity("2", "Review spec", TaskStatusEntity.TODO)));
+        repository.saveTask(new TaskEntity("3", "Ship", TaskStatusEntity.TODO));
+        repository.close();
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // Then
+        assertTrue(delegate.findById("1").isPresent());
+        assertFalse(delegate.findById("2").isPresent());
+        assertTrue(delegate.findById("3").isPresent());
+    }
+
+    @Test
+    public void testSaveAll_PartlyAppliedByWrappedRepository_KeepsAppliedSavesInLog() {
+        // Given
+        InMemoryTaskRepository failingMidway = new InMemoryTaskRepository() {
+            @Override
+            public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+                List<TaskEntity> saved = new ArrayList<>();
+                for (TaskEntity taskEntity : taskEntities) {
+                    if ("2".equals(taskEntity.getId())) {
+                        throw new IllegalStateException("Storage is full");
+                    }
+                    saved.add(saveTask(taskEntity));
+                }
+                return saved;
+            }
+        };
+        repository = new WriteAheadLogTaskRepository(failingMidway, walFile());
+        TaskEntity first = new TaskEntity("1", "Write spec", TaskStatusEntity.TODO);
+        TaskEntity second = new TaskEntity("2", "Review spec", TaskStatusEntity.TODO);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> repository.saveAll(List.of(first, second)));
+        repository.close();
+        InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+        repository = new WriteAheadLogTaskRepository(delegate, walFile());
+
+        // Then
+        assertEquals(1, first.getVersion());
+        assertEquals(0, second.getVersion());
+        assertTrue(delegate.findById("1").isPresent());
+        assertFalse(delegate.findById("2").isPresent());
+    }
+
+    @Test
+    public void testSaveTask_CallerEntityOnlyGetsVersionOnceSaved() {
+        // Given
+        InMemoryTaskRepository rejecting = new InMemoryTaskRepository() {
+            @Override
+            public List<TaskEntity> saveAll(List<TaskEntity> taskEntities) {
+                if (taskEntities.stream().anyMatch(task -> task.getStatus() == TaskStatusEntity.DONE)) {
+                    throw new IllegalStateException("Storage is read-only");
+                }
+                return super.saveAll(taskEntities);
+            }
+        };
+        repository = new WriteAheadLogTaskRepository(rejecting, walFile());
+        TaskEntity created = new TaskEntity("1", "Write spec", TaskStatusEntity.TODO);
+        TaskEntity rejected = new TaskEntity("1", "Write spec", TaskStatusEntity.DONE);
+
+        // When
+        TaskEntity saved = repository.saveTask(created);
+        assertThrows(IllegalStateException.class, () -> repository.saveTask(rejected));
+        created.setTitle("Changed after saving");
+
+        // Then
+        assertEquals(1, created.getVersion());
+        assertEquals(0, rejected.getVersion());
+        assertNotSame(created, saved);
+        assertEquals("Write spec", repository.findById("1").orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testSaveTask_AfterFlusherInterrupted_FailsInsteadOfWaiting() throws InterruptedException {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("task-wal-flusher") && thread.isAlive())
+                .findFirst().orElseThrow();
+
+        // When
+        flusher.interrupt();
+        flusher.join(5000);
+
+        // Then
+        assertFalse(flusher.isAlive());
+        assertThrows(UncheckedIOException.class,
+                () -> repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO)));
+    }
+
+    @Test
+    public void testReopen_OverPersistentRepository_SkipsSavesItAlreadyHas() {
+        // Given
+        Path data = directory.resolve("data");
+        repository = new WriteAheadLogTaskRepository(new LogStructuredTaskRepository(data), walFile());
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO));
+        repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.DONE));
+        repository.close();
+
+        // When
+        repository = new WriteAheadLogTaskRepository(new LogStructuredTaskRepository(data), walFile());
+
+        // Then
+        TaskEntity task = repository.findById("1").orElseThrow();
+        assertEquals(TaskStatusEntity.DONE, task.getStatus());
+        assertEquals(2, task.getVersion());
+    }
+
+    @Test
+    public void testSaveTask_AfterClose_ThrowsException() {
+        // Given
+        repository = new WriteAheadLogTaskRepository(new InMemoryTaskRepository(), walFile());
+        repository.close();
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> repository.saveTask(new TaskEntity("1", "Write spec", TaskStatusEntity.TODO)));
+    }
+
+    private Path walFile() {
+        return directory.resolve("tasks.wal");
+    }
+}
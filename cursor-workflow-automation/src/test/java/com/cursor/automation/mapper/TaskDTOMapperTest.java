@@ -46,6 +46,19 @@ public class TaskDTOMapperTest {
         assertEquals(TaskStatusDTO.IN_PROGRESS, dto.getStatus());
     }
     
+    @Test
+    void toServiceModelAndBack_KeepsVersion() {
+        // Arrange
+        TaskDTO dto = new TaskDTO("123", "Test Task", TaskStatusDTO.TODO);
+        dto.setVersion(7);
+        
+        // Act
+        TaskDTO roundTrip = TaskDTOMapper.toDTO(TaskDTOMapper.toServiceModel(dto));
+        
+        // Assert
+        assertEquals(7, roundTrip.getVersion());
+    }
+    
     @Test
     void toDTOList_ValidServiceModelList_ReturnsDTOList() {
         // Arrange
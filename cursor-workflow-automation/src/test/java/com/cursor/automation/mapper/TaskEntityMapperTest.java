@@ -58,6 +58,21 @@ public class TaskEntityMapperTest {
         assertEquals(TaskStatusService.TODO, serviceModel.getStatus());
     }
     
+    @Test
+    public void testToServiceModelAndBack_KeepsVersion() {
+        // Given
+        TaskEntity entity = new TaskEntity("test-id", "Test Task", TaskStatusEntity.TODO);
+        entity.setVersion(3);
+        
+        // When
+        TaskServiceModel serviceModel = TaskEntityMapper.toServiceModel(entity);
+        TaskEntity roundTrip = TaskEntityMapper.toEntity(serviceModel);
+        
+        // Then
+        assertEquals(3, serviceModel.getVersion());
+        assertEquals(3, roundTrip.getVersion());
+    }
+    
     @Test
     public void testToServiceModel_NullEntity_ReturnsNull() {
         // Given
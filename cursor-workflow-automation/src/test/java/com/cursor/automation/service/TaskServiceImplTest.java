@@ -1,13 +1,17 @@
 package com.cursor.automation.service;
 
+import com.cursor.automation.dal.InMemoryTaskRepository;
 import com.cursor.automation.dal.TaskRepository;
 import com.cursor.automation.dal.model.TaskEntity;
 import com.cursor.automation.dal.model.TaskStatusEntity;
 import com.cursor.automation.model.dto.TaskDTO;
 import com.cursor.automation.model.dto.TaskStatusDTO;
 import com.cursor.automation.mapper.TaskStatusMapper;
+import com.cursor.automation.service.model.CycleTimeStats;
+import com.cursor.automation.service.model.TaskBatchResult;
 import com.cursor.automation.service.model.TaskServiceModel;
 import com.cursor.automation.service.model.TaskStatusService;
+import com.cursor.automation.service.model.TaskTransitionHistory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -15,9 +19,14 @@ import org.mockito.ArgumentCaptor;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -123,6 +132,204 @@ public class TaskServiceImplTest {
         verify(taskRepository).findAll();
     }
     
+    @Test
+    void getTasksPage_ShouldMapRepositoryPage() {
+        // Arrange
+        when(taskRepository.findPage("1", 2)).thenReturn(Arrays.asList(
+                new TaskEntity("2", "Task 2", TaskStatusEntity.TODO),
+                new TaskEntity("3", "Task 3", TaskStatusEntity.DONE)
+        ));
+
+        // Act
+        List<TaskServiceModel> page = taskService.getTasksPage("1", 2);
+
+        // Assert
+        assertEquals(2, page.size());
+        assertEquals("2", page.get(0).getId());
+        assertEquals(TaskStatusService.DONE, page.get(1).getStatus());
+        verify(taskRepository).findPage("1", 2);
+        verify(taskRepository, never()).findAll();
+    }
+    
+    @Test
+    void streamAllTasks_ShouldMapLazilyWithoutListingAll() {
+        // Arrange
+        when(taskRepository.streamAll()).thenReturn(Stream.of(
+                new TaskEntity("1", "Task 1", TaskStatusEntity.TODO),
+                new TaskEntity("2", "Task 2", TaskStatusEntity.IN_PROGRESS)
+        ));
+
+        // Act
+        Stream<TaskServiceModel> results = taskService.streamAllTasks();
+
+        // Assert
+        assertEquals(Arrays.asList("1", "2"), results.map(TaskServiceModel::getId).collect(Collectors.toList()));
+        verify(taskRepository).streamAll();
+        verify(taskRepository, never()).findAll();
+    }
+    
+    @Test
+    void createTasks_ShouldSaveValidTasksInOneCallAndReportInvalidOnes() {
+        // Arrange
+        TaskDTO first = new TaskDTO();
+        first.setTitle("Write spec");
+        TaskDTO blank = new TaskDTO();
+        blank.setTitle("  ");
+        TaskDTO withId = new TaskDTO("42", "Review spec");
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TaskBatchResult result = taskService.createTasks(Arrays.asList(first, blank, null, withId));
+
+        // Assert
+        assertEquals(2, result.getCreatedTasks().size());
+        assertNotNull(result.getCreatedTasks().get(0).getId());
+        assertEquals("42", result.getCreatedTasks().get(1).getId());
+        assertEquals(Arrays.asList(1, 2), List.copyOf(result.getErrors().keySet()));
+        assertTrue(result.getErrors().get(1).contains("title"));
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository, never()).saveTask(any(TaskEntity.class));
+    }
+    
+    @Test
+    void createTasks_WithNoValidTasks_ShouldNotCallRepository() {
+        // Act
+        TaskBatchResult result = taskService.createTasks(Arrays.asList(null, new TaskDTO()));
+
+        // Assert
+        assertTrue(result.getCreatedTasks().isEmpty());
+        assertEquals(2, result.getErrors().size());
+        verifyNoInteractions(taskRepository);
+    }
+    
+    @Test
+    void createTasks_WithVersionConflict_ShouldReportItAndCreateTheOthers() {
+        // Arrange
+        TaskService service = new TaskServiceImpl(new InMemoryTaskRepository());
+        service.createTask(new TaskDTO("42", "Review spec"));
+        TaskDTO stale = new TaskDTO("42", "Review spec", TaskStatusDTO.DONE);
+        stale.setVersion(5);
+
+        // Act
+        TaskBatchResult result = service.createTasks(Arrays.asList(
+                new TaskDTO("1", "Write spec"), null, stale, new TaskDTO("3", "Ship")));
+
+        // Assert
+        assertEquals(Arrays.asList("1", "3"),
+                result.getCreatedTasks().stream().map(TaskServiceModel::getId).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(1, 2), List.copyOf(result.getErrors().keySet()));
+        assertTrue(result.getErrors().get(2).contains("version"));
+        assertEquals(3, service.getAllTasks().size());
+        assertEquals(TaskStatusService.TODO, service.getTaskById("42").orElseThrow().getStatus());
+    }
+
+    @Test
+    void createTask_WithVersion_ShouldPassItToRepositoryAndReturnNewVersion() {
+        // Arrange
+        TaskDTO taskDTO = new TaskDTO("42", "Review spec", TaskStatusDTO.DONE);
+        taskDTO.setVersion(3);
+        when(taskRepository.saveTask(any(TaskEntity.class))).thenAnswer(invocation -> {
+            TaskEntity entity = invocation.getArgument(0);
+            entity.setVersion(entity.getVersion() + 1);
+            return entity;
+        });
+
+        // Act
+        TaskServiceModel result = taskService.createTask(taskDTO);
+
+        // Assert
+        ArgumentCaptor<TaskEntity> saved = ArgumentCaptor.forClass(TaskEntity.class);
+        verify(taskRepository).saveTask(saved.capture());
+        assertEquals(4, saved.getValue().getVersion());
+        assertEquals(4, result.getVersion());
+    }
+    
+    @Test
+    void searchTasks_ShouldKeepRepositoryRanking() {
+        // Arrange
+        when(taskRepository.searchByTitle("login", 5)).thenReturn(Arrays.asList(
+                new TaskEntity("9", "Login", TaskStatusEntity.TODO),
+                new TaskEntity("1", "Fix login bug", TaskStatusEntity.DONE)
+        ));
+
+        // Act
+        List<TaskServiceModel> results = taskService.searchTasks("login", 5);
+
+        // Assert
+        assertEquals(Arrays.asList("9", "1"), results.stream().map(TaskServiceModel::getId).collect(Collectors.toList()));
+        verify(taskRepository).searchByTitle("login", 5);
+        verify(taskRepository, never()).findAll();
+    }
+    
+    @Test
+    void transition_NotAllowedByGraph_ShouldThrowWithoutReading() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.transition("1", TaskStatusService.TODO, TaskStatusService.DONE));
+        verifyNoInteractions(taskRepository);
+    }
+    
+    @Test
+    void transition_TaskInOtherStatus_ShouldReturnEmptyAndRecordNothing() {
+        // Arrange
+        TaskService service = new TaskServiceImpl(new InMemoryTaskRepository());
+        service.createTask(new TaskDTO("1", "Write spec", TaskStatusDTO.TODO));
+        
+        // Act
+        Optional<TaskServiceModel> started = service.transition("1", TaskStatusService.TODO, TaskStatusService.IN_PROGRESS);
+        Optional<TaskServiceModel> startedAgain = service.transition("1", TaskStatusService.TODO, TaskStatusService.IN_PROGRESS);
+        
+        // Assert
+        assertEquals(TaskStatusService.IN_PROGRESS, started.orElseThrow().getStatus());
+        assertFalse(startedAgain.isPresent());
+        assertEquals(1, service.getTransitionHistory("1").size());
+    }
+    
+    @Test
+    void transition_ConcurrentWorkers_ShouldMoveEachTaskOnceAndRecordCycleTimes() throws InterruptedException {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        TaskService service = new TaskServiceImpl(new InMemoryTaskRepository(), TransitionGraph.standard(), clock::incrementAndGet);
+        int taskCount = 100;
+        for (int i = 0; i < taskCount; i++) {
+            service.createTask(new TaskDTO("task-" + i, "Task " + i, TaskStatusDTO.TODO));
+        }
+        
+        // Act - every worker tries every step of every task; each step must be won by one worker
+        AtomicInteger moves = new AtomicInteger();
+        TaskStatusService[] pipeline = {TaskStatusService.TODO, TaskStatusService.IN_PROGRESS,
+                TaskStatusService.IN_REVIEW, TaskStatusService.DONE};
+        Thread[] workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = new Thread(() -> {
+                for (int step = 0; step + 1 < pipeline.length; step++) {
+                    for (int i = 0; i < taskCount; i++) {
+                        if (service.transition("task-" + i, pipeline[step], pipeline[step + 1]).isPresent()) {
+                            moves.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        // Assert
+        assertEquals(3 * taskCount, moves.get());
+        for (int i = 0; i < taskCount; i++) {
+            TaskTransitionHistory history = service.getTransitionHistory("task-" + i);
+            assertEquals(3, history.size());
+            assertEquals(TaskStatusService.IN_PROGRESS, history.getToStatus(0));
+            assertEquals(TaskStatusService.DONE, history.getToStatus(2));
+            assertEquals(TaskStatusService.DONE, service.getTaskById("task-" + i).orElseThrow().getStatus());
+        }
+        CycleTimeStats stats = service.getCycleTimeStats(TaskStatusService.IN_PROGRESS, TaskStatusService.DONE);
+        assertEquals(taskCount, stats.getCount());
+        assertTrue(stats.getMin() > 0 && stats.getMin() <= stats.getMedian() && stats.getMedian() <= stats.getMax());
+    }
+    
     @Test
     void getTaskById_WithExistingId_ShouldReturnTask() {
         // Arrange
@@ -0,0 +1,49 @@
+package com.cursor.automation.service.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TaskTransitionHistory.
+ */
+public class TaskTransitionHistoryTest {
+
+    @Test
+    public void testWithTransition_RecordedOutOfOrder_IsPlacedByVersion() {
+        // Given
+        TaskTransitionHistory history = TaskTransitionHistory.EMPTY
+                .withTransition(2, 100, TaskStatusService.TODO, TaskStatusService.IN_PROGRESS)
+                .withTransition(4, 300, TaskStatusService.IN_REVIEW, TaskStatusService.DONE);
+
+        // When
+        TaskTransitionHistory late = history.withTransition(3, 250, TaskStatusService.IN_PROGRESS, TaskStatusService.IN_REVIEW);
+
+        // Then
+        assertEquals(2, history.size());
+        assertEquals(3, late.size());
+        assertEquals(TaskStatusService.IN_REVIEW, late.getToStatus(1));
+        assertEquals(250, late.getTimestamp(1));
+        assertEquals(TaskStatusService.DONE, late.getToStatus(2));
+    }
+
+    @Test
+    public void testMetrics_TimeInStatusAndCycleTime() {
+        // Given - started, sent back from review, reviewed again and done
+        TaskTransitionHistory history = TaskTransitionHistory.EMPTY
+                .withTransition(2, 1000, TaskStatusService.TODO, TaskStatusService.IN_PROGRESS)
+                .withTransition(3, 1500, TaskStatusService.IN_PROGRESS, TaskStatusService.IN_REVIEW)
+                .withTransition(4, 1600, TaskStatusService.IN_REVIEW, TaskStatusService.IN_PROGRESS)
+                .withTransition(5, 2000, TaskStatusService.IN_PROGRESS, TaskStatusService.IN_REVIEW)
+                .withTransition(6, 2100, TaskStatusService.IN_REVIEW, TaskStatusService.DONE);
+
+        // When & Then
+        assertEquals(900, history.getTimeInStatus(TaskStatusService.IN_PROGRESS));
+        assertEquals(200, history.getTimeInStatus(TaskStatusService.IN_REVIEW));
+        assertEquals(0, history.getTimeInStatus(TaskStatusService.DONE));
+        assertEquals(1100, history.getCycleTime(TaskStatusService.IN_PROGRESS, TaskStatusService.DONE));
+        assertEquals(-1, history.getCycleTime(TaskStatusService.BLOCKED, TaskStatusService.DONE));
+        assertEquals(-1, history.withTransition(7, 2500, TaskStatusService.DONE, TaskStatusService.IN_PROGRESS)
+                .getCycleTime(TaskStatusService.IN_PROGRESS, TaskStatusService.DONE));
+    }
+}
@@ -0,0 +1,107 @@
+package com.cursor.automation.transfer;
+
+import com.cursor.automation.model.dto.TaskDTO;
+import com.cursor.automation.model.dto.TaskStatusDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TaskFileFormat.
+ */
+public class TaskFileFormatTest {
+
+    @Test
+    public void testJsonl_FormatThenParse_KeepsEscapedCharacters() {
+        // Given
+        TaskDTO task = new TaskDTO("1", "Say \"hi\"\n\tthen \\ leave", TaskStatusDTO.IN_REVIEW);
+
+        // When
+        String line = TaskFileFormat.JSONL.format(task);
+        TaskDTO parsed = TaskFileFormat.JSONL.parse(line);
+
+        // Then
+        assertEquals(-1, line.indexOf('\n'));
+        assertEquals("1", parsed.getId());
+        assertEquals(task.getTitle(), parsed.getTitle());
+        assertEquals(TaskStatusDTO.IN_REVIEW, parsed.getStatus());
+    }
+
+    @Test
+    public void testJsonl_Parse_IgnoresUnknownFieldsAndAcceptsNulls() {
+        // When
+        TaskDTO parsed = TaskFileFormat.JSONL.parse(
+                " { \"owner\" : \"sam\", \"title\":\"Caf\\u00e9\", \"id\": null, \"priority\": 3, \"status\":\"done\" } ");
+
+        // Then
+        assertNull(parsed.getId());
+        assertEquals("Café", parsed.getTitle());
+        assertEquals(TaskStatusDTO.DONE, parsed.getStatus());
+    }
+
+    @Test
+    public void testJsonl_MalformedRecord_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> TaskFileFormat.JSONL.parse("{\"id\":\"1\""));
+        assertThrows(IllegalArgumentException.class, () -> TaskFileFormat.JSONL.parse("{\"status\":\"LATER\"}"));
+    }
+
+    @Test
+    public void testCsv_QuotedFieldAcrossLines_IsReadAsOneRecord() throws IOException {
+        // Given
+        TaskDTO task = new TaskDTO("1", "Plan, then \"ship\"\nsoon", TaskStatusDTO.TODO);
+        String text = TaskFileFormat.CSV.format(task) + "\n2,Next,DONE\n";
+        BufferedReader reader = new BufferedReader(new StringReader(text));
+
+        // When
+        TaskDTO first = TaskFileFormat.CSV.parse(TaskFileFormat.CSV.readRecord(reader));
+        TaskDTO second = TaskFileFormat.CSV.parse(TaskFileFormat.CSV.readRecord(reader));
+
+        // Then
+        assertEquals(task.getTitle(), first.getTitle());
+        assertEquals("Next", second.getTitle());
+        assertEquals(TaskStatusDTO.DONE, second.getStatus());
+        assertNull(TaskFileFormat.CSV.readRecord(reader));
+    }
+
+    @Test
+    public void testCsv_CarriageReturnsInQuotedField_AreKept() throws IOException {
+        // Given
+        TaskDTO task = new TaskDTO("1", "Windows\r\nline, old Mac\rline", TaskStatusDTO.TODO);
+        String text = TaskFileFormat.CSV.format(task) + "\r\n2,\"Next\r\nstep\",DONE\r\n3,Last,DONE";
+        BufferedReader reader = new BufferedReader(new StringReader(text));
+
+        // When
+        TaskDTO first = TaskFileFormat.CSV.parse(TaskFileFormat.CSV.readRecord(reader));
+        TaskDTO second = TaskFileFormat.CSV.parse(TaskFileFormat.CSV.readRecord(reader));
+        TaskDTO third = TaskFileFormat.CSV.parse(TaskFileFormat.CSV.readRecord(reader));
+
+        // Then
+        assertEquals(task.getTitle(), first.getTitle());
+        assertEquals("Next\r\nstep", second.getTitle());
+        assertEquals("Last", third.getTitle());
+        assertNull(TaskFileFormat.CSV.readRecord(reader));
+    }
+
+    @Test
+    public void testCsv_EmptyIdAndStatus_AreMissing() {
+        // When
+        TaskDTO parsed = TaskFileFormat.CSV.parse(",Write spec,");
+
+        // Then
+        assertNull(parsed.getId());
+        assertEquals("Write spec", parsed.getTitle());
+        assertNull(parsed.getStatus());
+        assertThrows(IllegalArgumentException.class, () -> TaskFileFormat.CSV.parse("1,Write spec"));
+    }
+
+    @Test
+    public void testForFile_UsesExtension() {
+        assertEquals(TaskFileFormat.CSV, TaskFileFormat.forFile(Paths.get("dump/tasks.CSV")));
+        assertEquals(TaskFileFormat.JSONL, TaskFileFormat.forFile(Paths.get("dump/tasks.jsonl")));
+    }
+}
@@ -0,0 +1,99 @@
+package com.cursor.automation.transfer;
+
+import com.cursor.automation.dal.InMemoryTaskRepository;
+import com.cursor.automation.dal.TaskRepository;
+import com.cursor.automation.dal.model.TaskEntity;
+import com.cursor.automation.dal.model.TaskStatusEntity;
+import com.cursor.automation.service.TaskServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for TaskImporter and TaskExporter.
+ */
+public class TaskImporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testExportThenImport_RoundTripsAllTasks() throws IOException {
+        for (TaskFileFormat format : TaskFileFormat.values()) {
+            // Given
+            TaskRepository source = new InMemoryTaskRepository();
+            for (int i = 0; i < 2500; i++) {
+                source.saveTask(new TaskEntity("task-" + i, "Task, number \"" + i + "\"", TaskStatusEntity.BLOCKED));
+            }
+            Path file = directory.resolve("tasks." + format.name().toLowerCase());
+
+            // When
+            TransferStats exported = new TaskExporter(new TaskServiceImpl(source)).exportTo(file, format);
+            TaskRepository target = new InMemoryTaskRepository();
+            TransferStats imported = new TaskImporter(new TaskServiceImpl(target), 1000).importFrom(file, format);
+
+            // Then
+            assertEquals(2500, exported.getRecords());
+            assertEquals(Files.size(file), exported.getBytes());
+            assertEquals(2500, imported.getRecords());
+            assertEquals(0, imported.getRejected());
+            assertEquals(2500, target.countByStatus(TaskStatusEntity.BLOCKED));
+            assertEquals("Task, number \"7\"", target.findById("task-7").orElseThrow().getTitle());
+        }
+    }
+
+    @Test
+    public void testImport_CreatesInBatchesAndSkipsBadRecords() throws IOException {
+        // Given
+        Path file = directory.resolve("tasks.jsonl");
+        Files.write(file, List.of(
+                "{\"id\":\"1\",\"title\":\"Write spec\",\"status\":\"TODO\"}",
+                "not json",
+                "",
+                "{\"id\":\"2\",\"title\":\" \",\"status\":\"TODO\"}",
+                "{\"id\":\"3\",\"title\":\"Ship\",\"status\":\"DONE\"}"), StandardCharsets.UTF_8);
+        TaskRepository repository = spy(new InMemoryTaskRepository());
+
+        // When
+        TransferStats stats = new TaskImporter(new TaskServiceImpl(repository), 2).importFrom(file, TaskFileFormat.JSONL);
+
+        // Then
+        assertEquals(4, stats.getRecords());
+        assertEquals(2, stats.getRejected());
+        assertEquals(2, repository.findAll().size());
+        verify(repository, times(2)).saveAll(anyList());
+        verify(repository, never()).saveTask(any());
+    }
+
+    @Test
+    public void testImport_UnterminatedCsvQuote_SkipsOnlyThatRecord() throws IOException {
+        // Given
+        Path file = directory.resolve("tasks.csv");
+        Files.write(file, List.of(
+                "id,title,status",
+                "1,Write spec,TODO",
+                "2,\"Review spec,TODO",
+                "3,Ship,DONE",
+                "4,Release notes,DONE"), StandardCharsets.UTF_8);
+        TaskRepository repository = new InMemoryTaskRepository();
+
+        // When
+        TransferStats stats = new TaskImporter(new TaskServiceImpl(repository)).importFrom(file, TaskFileFormat.CSV);
+
+        // Then
+        assertEquals(4, stats.getRecords());
+        assertEquals(1, stats.getRejected());
+        assertFalse(repository.findById("2").isPresent());
+        assertEquals("Ship", repository.findById("3").orElseThrow().getTitle());
+        assertEquals("Release notes", repository.findById("4").orElseThrow().getTitle());
+    }
+}
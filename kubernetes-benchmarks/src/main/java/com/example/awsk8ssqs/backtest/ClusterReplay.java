@@ -0,0 +1,277 @@
+package com.example.awsk8ssqs.backtest;
+
+import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import com.example.awsk8ssqs.model.remediation.ActionType;
+import com.example.awsk8ssqs.model.remediation.CooldownDecision;
+import com.example.awsk8ssqs.model.remediation.RemediationAction;
+import com.example.awsk8ssqs.service.CooldownManager;
+import com.example.awsk8ssqs.service.MetricsAnalyzer;
+import com.example.awsk8ssqs.service.RemediationPlanner;
+import com.example.awsk8ssqs.service.RemediationStrategy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Replays the recorded metrics of one cluster through the controller's decision logic.
+ *
+ * Planning, cooldown checks and delayed retries use the controller's own components, with a
+ * private {@link CooldownManager} on a {@link SimulatedClock}. Executing an action only changes
+ * the in-memory cluster the way a successful action would: scaling sets the node count (and
+ * the SCALING phase for actionDuration), a new cluster is counted but not simulated. As in the
+ * controller, only high-priority actions start a time cooldown, and an action delayed by its
+ * cooldown runs when it expires if it is still needed.
+ */
+final class ClusterReplay {
+
+    enum Policy {
+        ALARM,      // RemediationPlanner on the message's alarm, as the controller does
+        STRATEGY    // RemediationStrategy on the message's metrics and the cluster's thresholds
+    }
+
+    static final String DELAYED = "DELAYED";
+
+    private final OpenSearchCluster cluster;
+    private final String clusterName;
+    private final Policy policy;
+    private final Duration actionDuration;
+    private final MetricsAnalyzer metricsAnalyzer;
+    private final RemediationPlanner remediationPlanner;
+    private final RemediationStrategy remediationStrategy;
+
+    private final SimulatedClock clock = new SimulatedClock();
+    private final CooldownManager cooldownManager = new CooldownManager(clock);
+    private final PriorityQueue<DelayedAction> delayedActions = new PriorityQueue<>(
+        Comparator.comparing((DelayedAction delayed) -> delayed.due).thenComparingLong(delayed -> delayed.sequence));
+    private final Result result;
+
+    private LocalDateTime scalingUntil;
+    private long delayedSequence;
+
+    ClusterReplay(OpenSearchCluster cluster, Policy policy, Duration actionDuration, MetricsAnalyzer metricsAnalyzer,
+                  RemediationPlanner remediationPlanner, RemediationStrategy remediationStrategy) {
+        this.cluster = cluster;
+        this.clusterName = cluster.getMetadata().getName();
+        this.policy = policy;
+        this.actionDuration = actionDuration;
+        this.metricsAnalyzer = metricsAnalyzer;
+        this.remediationPlanner = remediationPlanner;
+        this.remediationStrategy = remediationStrategy;
+        this.result = new Result(clusterName);
+    }
+
+    /**
+     * @param messages this cluster's messages in replay order, all with a timestamp
+     */
+    Result run(List<CloudWatchMetrics> messages) {
+        if (!messages.isEmpty()) {
+            result.nodeCurve.add(new NodeCount(messages.get(0).getTimestamp(), cluster.getSpec().getNodeCount()));
+        }
+
+        for (CloudWatchMetrics message : messages) {
+            LocalDateTime time = message.getTimestamp();
+            runDelayedActions(time);
+            advanceTo(time);
+            result.messages++;
+            result.lastTimestamp = time;
+
+            String alarmSeverity = metricsAnalyzer.getAlarmSeverity(message);
+            for (RemediationAction action : plan(message)) {
+                handle(action, alarmSeverity, time);
+            }
+        }
+
+        // Delayed actions still pending would have run after the last message
+        runDelayedActions(LocalDateTime.MAX);
+        return result;
+    }
+
+    private List<RemediationAction> plan(CloudWatchMetrics message) {
+        if (policy == Policy.STRATEGY) {
+            return message.getMetrics() != null ? remediationStrategy.buildStrategy(cluster, message) : List.of();
+        }
+
+        if (message.getAlarms() == null || message.getAlarms().isEmpty() || message.getAlarms().get(0).getName() == null) {
+            result.withoutAlarm++;
+            return List.of();
+        }
+        var alarm = message.getAlarms().get(0);
+        RemediationAction action = remediationPlanner.plan(cluster, alarm.getName(), alarm.getState());
+        return action != null ? List.of(action) : List.of();
+    }
+
+    private void handle(RemediationAction action, String alarmSeverity, LocalDateTime time) {
+        CooldownDecision decision = cooldownManager.evaluate(clusterName, action.getRuleName(), cluster, alarmSeverity);
+        switch (decision) {
+            case EXECUTE:
+            case BYPASS_TIME_COOLDOWN:
+                execute(action, time, decision.name());
+                break;
+            case BLOCKED_BY_STATE:
+                result.blockedByState++;
+                break;
+            case DELAY:
+            default:
+                // The controller schedules the retry with whole-second precision
+                Duration remaining = cooldownManager.getRemainingCooldown(clusterName, action.getRuleName());
+                delayedActions.add(new DelayedAction(time.plusSeconds(remaining.toSeconds()), delayedSequence++, action));
+                result.delayed++;
+        }
+    }
+
+    private void runDelayedActions(LocalDateTime until) {
+        while (!delayedActions.isEmpty() && !delayedActions.peek().due.isAfter(until)) {
+            DelayedAction delayed = delayedActions.poll();
+            advanceTo(delayed.due);
+            if (remediationPlanner.isStillNeeded(cluster, delayed.action)) {
+                execute(delayed.action, delayed.due, DELAYED);
+            } else {
+                result.delayedSkipped++;
+            }
+        }
+    }
+
+    private void advanceTo(LocalDateTime time) {
+        clock.set(time);
+        if (scalingUntil != null && !time.isBefore(scalingUntil)) {
+            cluster.getStatus().setPhase(ClusterPhase.READY);
+            scalingUntil = null;
+        }
+    }
+
+    private void execute(RemediationAction action, LocalDateTime time, String decision) {
+        int before = cluster.getSpec().getNodeCount();
+        int after = before;
+        Integer target = action.getTargetNodes();
+
+        switch (action.getType()) {
+            case SCALE_OUT:
+                after = Math.max(before, Math.min(target != null ? target : before + 1, cluster.getMaxNodes()));
+                break;
+            case SCALE_IN:
+                after = Math.min(before, Math.max(target != null ? target : before - 1, cluster.getMinNodes()));
+                break;
+            case EMERGENCY_SCALE:
+                after = target != null ? target : before;
+                break;
+            case CREATE_NEW_CLUSTER:
+                result.clustersCreated++;
+                break;
+            default:
+                // Optimizations and alerts do not change the cluster
+        }
+
+        if (after != before) {
+            cluster.getSpec().setNodeCount(after);
+            cluster.getStatus().setNodeCount(after);
+            if (!actionDuration.isZero()) {
+                cluster.getStatus().setPhase(ClusterPhase.SCALING);
+                scalingUntil = time.plus(actionDuration);
+            }
+            result.nodeCurve.add(new NodeCount(time, after));
+        }
+
+        // Only actions the controller waits for record their cooldown
+        if (action.isHighPriority()) {
+            cooldownManager.recordAction(clusterName, action.getRuleName());
+        }
+
+        result.actions.add(new ReplayedAction(time, clusterName, action.getType(), action.getRuleName(),
+            action.getPriority() != null ? action.getPriority().name() : null, decision, before, after,
+            action.getReason()));
+    }
+
+    /**
+     * What one cluster's replay produced
+     */
+    static final class Result {
+        final String clusterName;
+        final List<ReplayedAction> actions = new ArrayList<>();
+        final List<NodeCount> nodeCurve = new ArrayList<>();
+        long messages;
+        long withoutAlarm;
+        long blockedByState;
+        long delayed;
+        long delayedSkipped;
+        long clustersCreated;
+        LocalDateTime lastTimestamp;
+
+        Result(String clusterName) {
+            this.clusterName = clusterName;
+        }
+
+        /**
+         * Area under the node-count curve up to the later of the last message and the last action
+         */
+        double nodeHours() {
+            double nodeHours = 0;
+            for (int i = 0; i < nodeCurve.size(); i++) {
+                NodeCount point = nodeCurve.get(i);
+                LocalDateTime end = i + 1 < nodeCurve.size() ? nodeCurve.get(i + 1).timestamp : lastTimestamp;
+                if (end != null && end.isAfter(point.timestamp)) {
+                    nodeHours += point.nodes * Duration.between(point.timestamp, end).toSeconds() / 3600.0;
+                }
+            }
+            return nodeHours;
+        }
+    }
+
+    /**
+     * An action the controller would have taken; serialized as one JSON line
+     */
+    static final class ReplayedAction {
+        public final LocalDateTime timestamp;
+        public final String clusterName;
+        public final ActionType type;
+        public final String ruleName;
+        public final String priority;
+        public final String decision;
+        public final int nodesBefore;
+        public final int nodesAfter;
+        public final String reason;
+
+        ReplayedAction(LocalDateTime timestamp, String clusterName, ActionType type, String ruleName, String priority,
+                       String decision, int nodesBefore, int nodesAfter, String reason) {
+            this.timestamp = timestamp;
+            this.clusterName = clusterName;
+            this.type = type;
+            this.ruleName = ruleName;
+            this.priority = priority;
+            this.decision = decision;
+            this.nodesBefore = nodesBefore;
+            this.nodesAfter = nodesAfter;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * Node count from this time on
+     */
+    static final class NodeCount {
+        final LocalDateTime timestamp;
+        final int nodes;
+
+        NodeCount(LocalDateTime timestamp, int nodes) {
+            this.timestamp = timestamp;
+            this.nodes = nodes;
+        }
+    }
+
+    private static final class DelayedAction {
+        private final LocalDateTime due;
+        private final long sequence;
+        private final RemediationAction action;
+
+        DelayedAction(LocalDateTime due, long sequence, RemediationAction action) {
+            this.due = due;
+            this.sequence = sequence;
+            this.action = action;
+        }
+    }
+}
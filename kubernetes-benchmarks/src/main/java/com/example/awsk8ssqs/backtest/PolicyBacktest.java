@@ -0,0 +1,298 @@
+package com.example.awsk8ssqs.backtest;
+
+import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.remediation.ActionType;
+import com.example.awsk8ssqs.service.KubernetesClusterService;
+import com.example.awsk8ssqs.service.MetricsAnalyzer;
+import com.example.awsk8ssqs.service.RemediationPlanner;
+import com.example.awsk8ssqs.service.RemediationStrategy;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Replays recorded CloudWatch metrics through the remediation policy, without touching AWS or
+ * Kubernetes, to see what the controller would have done.
+ *
+ * The input is JSON lines of the metrics messages the controller consumes. Each cluster starts
+ * from the default cluster definition (with the threshold and node overrides given here) and is
+ * replayed on its own {@link SimulatedClock} by a {@link ClusterReplay}, so a run is
+ * deterministic and a day of metrics takes milliseconds; clusters are replayed in parallel.
+ * Messages of a cluster are replayed in timestamp order, ties in file order.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.awsk8ssqs.backtest.PolicyBacktest \
+ *     --input=metrics.jsonl --policy=strategy --cpu-high=75 --max-nodes=12
+ * </pre>
+ *
+ * Writes every action as a JSON line to --actions and the node count curve of every cluster as
+ * cluster,timestamp,nodes rows to --nodes, and prints a summary.
+ */
+public final class PolicyBacktest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("input", "");
+        DEFAULTS.put("actions", "backtest-actions.jsonl");
+        DEFAULTS.put("nodes", "backtest-nodes.csv");
+        DEFAULTS.put("policy", "alarm");                // alarm: as the controller; strategy: RemediationStrategy
+        DEFAULTS.put("action-duration-seconds", "0");   // time a scaling keeps the cluster in SCALING
+        DEFAULTS.put("parallelism", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        // Overrides of the default cluster definition, empty keeps the default
+        DEFAULTS.put("initial-nodes", "");
+        DEFAULTS.put("min-nodes", "");
+        DEFAULTS.put("max-nodes", "");
+        DEFAULTS.put("cpu-high", "");
+        DEFAULTS.put("cpu-low", "");
+        DEFAULTS.put("memory-high", "");
+        DEFAULTS.put("memory-low", "");
+        DEFAULTS.put("disk-high", "");
+        DEFAULTS.put("latency-high", "");
+        DEFAULTS.put("query-rate-high", "");
+    }
+
+    private PolicyBacktest() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        Map<String, String> options = parseOptions(args);
+        if (options.get("input").isEmpty()) {
+            usage();
+        }
+        ClusterReplay.Policy policy = ClusterReplay.Policy.valueOf(options.get("policy").toUpperCase());
+        Duration actionDuration = Duration.ofSeconds(Long.parseLong(options.get("action-duration-seconds")));
+
+        ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        long start = System.nanoTime();
+        AtomicLong invalid = new AtomicLong();
+        Map<String, List<CloudWatchMetrics>> byCluster =
+            readMessages(objectMapper, Path.of(options.get("input")), invalid);
+        long parsed = System.nanoTime();
+
+        // The planning methods used keep no per-cluster state, so one instance serves all replays
+        MetricsAnalyzer metricsAnalyzer = new MetricsAnalyzer();
+        RemediationPlanner remediationPlanner = new RemediationPlanner(metricsAnalyzer);
+        RemediationStrategy remediationStrategy = new RemediationStrategy();
+
+        ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(options.get("parallelism")));
+        List<ClusterReplay.Result> results;
+        try {
+            results = pool.submit(() -> byCluster.entrySet().parallelStream()
+                .map(entry -> new ClusterReplay(clusterDefinition(entry.getKey(), options), policy, actionDuration,
+                    metricsAnalyzer, remediationPlanner, remediationStrategy).run(entry.getValue()))
+                .collect(Collectors.toList())).get();
+        } finally {
+            pool.shutdown();
+        }
+        long replayed = System.nanoTime();
+
+        writeActions(objectMapper, Path.of(options.get("actions")), results);
+        writeNodeCurves(Path.of(options.get("nodes")), results);
+
+        report(System.out, options, results, invalid.get(), parsed - start, replayed - parsed);
+    }
+
+    /**
+     * Messages by cluster, sorted by cluster name, each cluster's in replay order
+     */
+    private static Map<String, List<CloudWatchMetrics>> readMessages(ObjectMapper objectMapper, Path input,
+                                                                     AtomicLong invalid) throws IOException {
+        List<String> lines = Files.readAllLines(input);
+        ObjectReader reader = objectMapper.readerFor(CloudWatchMetrics.class);
+
+        // Parsing dominates the run; it is independent per line
+        CloudWatchMetrics[] messages = new CloudWatchMetrics[lines.size()];
+        IntStream.range(0, lines.size()).parallel().forEach(i -> {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                return;
+            }
+            try {
+                CloudWatchMetrics message = reader.readValue(line);
+                if (message.getClusterName() != null && message.getTimestamp() != null) {
+                    messages[i] = message;
+                    return;
+                }
+            } catch (IOException e) {
+                // Counted below
+            }
+            invalid.incrementAndGet();
+        });
+
+        Map<String, List<CloudWatchMetrics>> byCluster = new TreeMap<>();
+        for (CloudWatchMetrics message : messages) {
+            if (message != null) {
+                byCluster.computeIfAbsent(message.getClusterName(), name -> new ArrayList<>()).add(message);
+            }
+        }
+        // Stable, so messages with the same timestamp keep their file order
+        byCluster.values().forEach(list -> list.sort(Comparator.comparing(CloudWatchMetrics::getTimestamp)));
+        return byCluster;
+    }
+
+    private static OpenSearchCluster clusterDefinition(String clusterName, Map<String, String> options) {
+        OpenSearchCluster cluster = KubernetesClusterService.defaultClusterDefinition(clusterName);
+        OpenSearchCluster.ClusterThresholds thresholds = cluster.getSpec().getThresholds();
+        OpenSearchCluster.AutoScalingConfig autoScaling = cluster.getSpec().getAutoScaling();
+
+        if (!options.get("initial-nodes").isEmpty()) {
+            int nodes = Integer.parseInt(options.get("initial-nodes"));
+            cluster.getSpec().setNodeCount(nodes);
+            cluster.getStatus().setNodeCount(nodes);
+        }
+        if (!options.get("min-nodes").isEmpty()) {
+            autoScaling.setMinNodes(Integer.parseInt(options.get("min-nodes")));
+        }
+        if (!options.get("max-nodes").isEmpty()) {
+            autoScaling.setMaxNodes(Integer.parseInt(options.get("max-nodes")));
+        }
+        if (!options.get("cpu-high").isEmpty()) {
+            thresholds.setCpuHigh(Double.parseDouble(options.get("cpu-high")));
+        }
+        if (!options.get("cpu-low").isEmpty()) {
+            thresholds.setCpuLow(Double.parseDouble(options.get("cpu-low")));
+        }
+        if (!options.get("memory-high").isEmpty()) {
+            thresholds.setMemoryHigh(Double.parseDouble(options.get("memory-high")));
+        }
+        if (!options.get("memory-low").isEmpty()) {
+            thresholds.setMemoryLow(Double.parseDouble(options.get("memory-low")));
+        }
+        if (!options.get("disk-high").isEmpty()) {
+            thresholds.setDiskHigh(Double.parseDouble(options.get("disk-high")));
+        }
+        if (!options.get("latency-high").isEmpty()) {
+            thresholds.setLatencyHigh(Double.parseDouble(options.get("latency-high")));
+        }
+        if (!options.get("query-rate-high").isEmpty()) {
+            thresholds.setQueryRateHigh(Double.parseDouble(options.get("query-rate-high")));
+        }
+        return cluster;
+    }
+
+    private static void writeActions(ObjectMapper objectMapper, Path path, List<ClusterReplay.Result> results)
+            throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClusterReplay.ReplayedAction.class);
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            for (ClusterReplay.Result result : results) {
+                for (ClusterReplay.ReplayedAction action : result.actions) {
+                    out.write(writer.writeValueAsString(action));
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    private static void writeNodeCurves(Path path, List<ClusterReplay.Result> results) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write("cluster,timestamp,nodes");
+            out.newLine();
+            for (ClusterReplay.Result result : results) {
+                for (ClusterReplay.NodeCount point : result.nodeCurve) {
+                    out.write(result.clusterName + "," + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(point.timestamp) + ","
+                        + point.nodes);
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    private static void report(PrintStream out, Map<String, String> options, List<ClusterReplay.Result> results,
+                               long invalid, long parseNanos, long replayNanos) {
+        long messages = 0;
+        long withoutAlarm = 0;
+        long blockedByState = 0;
+        long delayed = 0;
+        long delayedSkipped = 0;
+        long clustersCreated = 0;
+        long actions = 0;
+        double nodeHours = 0;
+        int maxNodes = 0;
+        Map<ActionType, Long> byType = new EnumMap<>(ActionType.class);
+        Map<String, Long> byDecision = new TreeMap<>();
+
+        for (ClusterReplay.Result result : results) {
+            messages += result.messages;
+            withoutAlarm += result.withoutAlarm;
+            blockedByState += result.blockedByState;
+            delayed += result.delayed;
+            delayedSkipped += result.delayedSkipped;
+            clustersCreated += result.clustersCreated;
+            actions += result.actions.size();
+            nodeHours += result.nodeHours();
+            for (ClusterReplay.NodeCount point : result.nodeCurve) {
+                maxNodes = Math.max(maxNodes, point.nodes);
+            }
+            for (ClusterReplay.ReplayedAction action : result.actions) {
+                byType.merge(action.type, 1L, Long::sum);
+                byDecision.merge(action.decision, 1L, Long::sum);
+            }
+        }
+
+        out.println("Policy backtest");
+        out.printf("  input              %s (%s policy)%n", options.get("input"), options.get("policy"));
+        out.printf("  clusters           %d%n", results.size());
+        out.printf("  messages           %d (%d invalid, %d without alarm)%n", messages, invalid, withoutAlarm);
+        out.printf("  parse              %d ms%n", TimeUnit.NANOSECONDS.toMillis(parseNanos));
+        out.printf("  replay             %d ms%n", TimeUnit.NANOSECONDS.toMillis(replayNanos));
+        out.printf("  actions            %d -> %s%n", actions, options.get("actions"));
+        byType.forEach((type, count) -> out.printf("    %-24s %d%n", type, count));
+        out.println("  by decision");
+        byDecision.forEach((decision, count) -> out.printf("    %-24s %d%n", decision, count));
+        out.printf("  blocked by state   %d%n", blockedByState);
+        out.printf("  delayed            %d (%d no longer needed)%n", delayed, delayedSkipped);
+        out.printf("  clusters created   %d%n", clustersCreated);
+        out.printf("  node-hours         %.1f (max %d nodes) -> %s%n", nodeHours, maxNodes, options.get("nodes"));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (name == null || !DEFAULTS.containsKey(name)) {
+                usage();
+            }
+            options.put(name, arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static void usage() {
+        System.err.println("Usage: PolicyBacktest --input=metrics.jsonl [--option=value ...], options and defaults:");
+        DEFAULTS.forEach((option, value) -> System.err.printf("  --%s=%s%n", option, value));
+        System.exit(2);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.awsk8ssqs.backtest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock that only moves when the replay sets it, in UTC like the recorded timestamps.
+ * Not thread-safe: each cluster replay owns one.
+ */
+final class SimulatedClock extends Clock {
+
+    private Instant instant = Instant.EPOCH;
+
+    void set(LocalDateTime time) {
+        instant = time.toInstant(ZoneOffset.UTC);
+    }
+
+    LocalDateTime now() {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException("Simulated clock is always UTC");
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Realistic inputs shared by the benchmarks and the load test: an SQS metrics message as
+ * CloudWatch sends it and an OpenSearchCluster as stored in the Kubernetes API.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String CLUSTER_NAME = "production-es-cluster";
+
+    public static final String METRICS_MESSAGE = """
+        {
+          "messageType": "cloudwatch-metrics",
+          "clusterName": "production-es-cluster",
+          "timestamp": "2024-01-15T10:30:00",
+          "metrics": {
+            "cpu": {"average": 85.5, "maximum": 92.1, "minimum": 61.0, "period": "5m", "unit": "Percent", "datapoints": 5},
+            "memory": {"average": 78.3, "maximum": 89.7, "minimum": 70.2, "period": "5m", "unit": "Percent", "datapoints": 5},
+            "disk": {"average": 64.0, "maximum": 64.4, "period": "5m", "unit": "Percent", "datapoints": 5},
+            "searchLatency": {"average": 145.2, "p50": 120.0, "p95": 287.5, "p99": 410.3, "maximum": 530.0, "period": "5m"},
+            "indexingLatency": {"average": 22.1, "p50": 18.0, "p95": 48.2, "p99": 77.9, "period": "5m"},
+            "queryRate": {"average": 120, "maximum": 180, "period": "5m", "unit": "Count/Second"},
+            "errorRate": {"average": 0.2, "period": "5m", "unit": "Percent"}
+          },
+          "alarms": [{
+            "name": "HighCPUUtilization",
+            "state": "ALARM",
+            "reason": "Threshold Crossed: 1 datapoint [85.5] was greater than the threshold (80.0).",
+            "threshold": 80,
+            "value": 85.5,
+            "comparisonOperator": "GreaterThanThreshold"
+          }],
+          "additionalContext": {
+            "region": "us-east-1",
+            "accountId": "000000000000",
+            "dimensions": {"DomainName": "production-es-cluster", "ClientId": "000000000000"}
+          }
+        }
+        """;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Configured like the Spring Boot application's mapper
+     */
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    public static CloudWatchMetrics metrics(ObjectMapper objectMapper) {
+        return metrics(objectMapper, 85.5, 78.3, 287.5);
+    }
+
+    /**
+     * The fixture message with CPU, memory and p95 search latency replaced
+     */
+    public static CloudWatchMetrics metrics(ObjectMapper objectMapper, double cpu, double memory, double latencyP95) {
+        try {
+            CloudWatchMetrics metrics = objectMapper.readValue(METRICS_MESSAGE, CloudWatchMetrics.class);
+            metrics.getMetrics().getCpu().setAverage(cpu);
+            metrics.getMetrics().getMemory().setAverage(memory);
+            metrics.getMetrics().getSearchLatency().setP95(latencyP95);
+            return metrics;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static OpenSearchCluster cluster(String clusterName) {
+        return OpenSearchCluster.builder()
+            .apiVersion("opensearch.aws.com/v1")
+            .kind("OpenSearchCluster")
+            .metadata(OpenSearchCluster.ObjectMeta.builder()
+                .name(clusterName)
+                .namespace("default")
+                .creationTimestamp(LocalDateTime.of(2024, 1, 15, 10, 0))
+                .build())
+            .spec(OpenSearchCluster.ClusterSpec.builder()
+                .clusterName(clusterName)
+                .nodeCount(3)
+                .version("OpenSearch_2.11")
+                .instanceType("m6g.large.search")
+                .thresholds(OpenSearchCluster.ClusterThresholds.builder()
+                    .cpuHigh(80.0)
+                    .cpuLow(30.0)
+                    .memoryHigh(85.0)
+                    .memoryLow(40.0)
+                    .diskHigh(90.0)
+                    .latencyHigh(200.0)
+                    .queryRateHigh(100.0)
+                    .build())
+                .autoScaling(OpenSearchCluster.AutoScalingConfig.builder()
+                    .enabled(true)
+                    .minNodes(2)
+                    .maxNodes(10)
+                    .cooldownPeriod("10m")
+                    .build())
+                .remediationRules(List.of(
+                    OpenSearchCluster.RemediationRule.builder()
+                        .name("high-cpu-memory")
+                        .condition("cpu > 80 AND memory > 75")
+                        .action("scale_out")
+                        .priority("high")
+                        .build(),
+                    OpenSearchCluster.RemediationRule.builder()
+                        .name("critical-latency")
+                        .condition("latency_p95 > 500")
+                        .action("create_new_cluster")
+                        .priority("critical")
+                        .build()))
+                .build())
+            .status(OpenSearchCluster.ClusterStatus.builder()
+                .phase(ClusterPhase.READY)
+                .nodeCount(3)
+                .endpoint(clusterName + ".us-east-1.es.localhost.localstack.cloud")
+                .currentMetrics(OpenSearchCluster.CurrentMetrics.builder()
+                    .cpu(85.5)
+                    .memory(78.3)
+                    .disk(64.0)
+                    .latency(287.5)
+                    .queryRate(120.0)
+                    .lastUpdated(LocalDateTime.of(2024, 1, 15, 10, 30))
+                    .build())
+                .lastAction(OpenSearchCluster.LastAction.builder()
+                    .type("SCALE_OUT")
+                    .reason("CloudWatch alarm: HighCPUUtilization")
+                    .timestamp(LocalDateTime.of(2024, 1, 15, 10, 20))
+                    .success(true)
+                    .build())
+                .lastUpdated(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.service.OpenSearchClusterConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON round trips the Kubernetes cluster service does through {@link OpenSearchClusterConverter}
+ * between the OpenSearchCluster model and the raw objects of the Kubernetes API, once per get,
+ * patch and status update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ClusterConversionBenchmark {
+
+    private ObjectMapper objectMapper;
+    private OpenSearchCluster cluster;
+    private Map<String, Object> kubernetesObject;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        cluster = BenchmarkFixtures.cluster(BenchmarkFixtures.CLUSTER_NAME);
+        kubernetesObject = OpenSearchClusterConverter.toKubernetesObject(objectMapper, cluster);
+    }
+
+    @Benchmark
+    public Map<String, Object> toKubernetesObject() {
+        return OpenSearchClusterConverter.toKubernetesObject(objectMapper, cluster);
+    }
+
+    @Benchmark
+    public OpenSearchCluster fromKubernetesObject() {
+        return OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, kubernetesObject);
+    }
+
+    /**
+     * What updateClusterStatus pays per call: read back the current object, then convert it for the patch
+     */
+    @Benchmark
+    public Map<String, Object> statusUpdateRoundTrip() {
+        OpenSearchCluster current = OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, kubernetesObject);
+        current.setStatus(cluster.getStatus());
+        return OpenSearchClusterConverter.toKubernetesObject(objectMapper, current);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.service.CooldownManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooldown checks on a fleet where every cluster has acted recently, for a rule that is
+ * still cooling down and one that has never run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CooldownManagerBenchmark {
+
+    private static final String[] RULES = {
+        "scale_out", "scale_in", "emergency_scale", "create_new_cluster", "optimize_cluster", "alert"
+    };
+
+    @Param({"10", "1000"})
+    public int clusters;
+
+    private CooldownManager cooldownManager;
+    private OpenSearchCluster cluster;
+    private String clusterName;
+
+    @Setup
+    public void setUp() {
+        cooldownManager = new CooldownManager();
+        for (int i = 0; i < clusters; i++) {
+            for (String rule : RULES) {
+                if (!"alert".equals(rule)) {
+                    cooldownManager.recordAction("cluster-" + i, rule);
+                }
+            }
+        }
+        clusterName = "cluster-" + (clusters / 2);
+        cluster = BenchmarkFixtures.cluster(clusterName);
+    }
+
+    @Benchmark
+    public boolean blockedByCooldown() {
+        return cooldownManager.canExecuteActionWithState(clusterName, "scale_out", cluster);
+    }
+
+    @Benchmark
+    public boolean allowed() {
+        return cooldownManager.canExecuteActionWithState(clusterName, "alert", cluster);
+    }
+}
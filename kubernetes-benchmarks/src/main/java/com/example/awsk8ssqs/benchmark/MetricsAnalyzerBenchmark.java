@@ -0,0 +1,77 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.service.MetricsAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsAnalyzer with a per-cluster history of realistic size: two hours of samples
+ * at one per 10 minutes, per minute and per 10 seconds.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@State(Scope.Thread)
+public class MetricsAnalyzerBenchmark {
+
+    private static final int STORES_PER_ITERATION = 100;
+
+    @Param({"12", "120", "720"})
+    public int historySize;
+
+    private MetricsAnalyzer analyzer;
+    private CloudWatchMetrics metrics;
+
+    @Setup(Level.Trial)
+    public void createMetrics() {
+        metrics = BenchmarkFixtures.metrics(BenchmarkFixtures.objectMapper());
+    }
+
+    /**
+     * History is keyed by LocalDateTime.now(), so it is rebuilt before every iteration
+     * to keep its size at historySize while storeMetrics keeps adding to it.
+     */
+    @Setup(Level.Iteration)
+    public void fillHistory() {
+        analyzer = new MetricsAnalyzer();
+        while (analyzer.getHistorySize() < historySize) {
+            analyzer.storeMetrics(BenchmarkFixtures.CLUSTER_NAME, metrics);
+        }
+    }
+
+    /**
+     * One iteration stores a burst of samples; the history grows by at most that many entries
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    @OperationsPerInvocation(STORES_PER_ITERATION)
+    public void storeMetrics() {
+        for (int i = 0; i < STORES_PER_ITERATION; i++) {
+            analyzer.storeMetrics(BenchmarkFixtures.CLUSTER_NAME, metrics);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Map<String, Double> getMetricsComparison() {
+        return analyzer.getMetricsComparison(BenchmarkFixtures.CLUSTER_NAME, metrics);
+    }
+}
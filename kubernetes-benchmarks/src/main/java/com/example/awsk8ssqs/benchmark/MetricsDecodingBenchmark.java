@@ -0,0 +1,53 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.model.metrics.MetricsSample;
+import com.example.awsk8ssqs.service.CloudWatchMetricsDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one CloudWatch metrics message: full databind into {@link CloudWatchMetrics}
+ * (the original path) against the streaming {@link CloudWatchMetricsDecoder} now used by the controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MetricsDecodingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CloudWatchMetricsDecoder decoder;
+    private MetricsSample sample;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        decoder = new CloudWatchMetricsDecoder(objectMapper);
+        sample = new MetricsSample();
+    }
+
+    @Benchmark
+    public CloudWatchMetrics databind() throws IOException {
+        return objectMapper.readValue(BenchmarkFixtures.METRICS_MESSAGE, CloudWatchMetrics.class);
+    }
+
+    @Benchmark
+    public MetricsSample streamingDecoder() throws IOException {
+        return decoder.decode(BenchmarkFixtures.METRICS_MESSAGE, sample);
+    }
+}
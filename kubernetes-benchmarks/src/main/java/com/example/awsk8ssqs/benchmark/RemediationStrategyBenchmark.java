@@ -0,0 +1,71 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.remediation.RemediationAction;
+import com.example.awsk8ssqs.service.RemediationStrategy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health analysis and plan building for a cluster in each health band
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RemediationStrategyBenchmark {
+
+    @Param({"healthy", "warning", "critical"})
+    public String health;
+
+    private RemediationStrategy strategy;
+    private OpenSearchCluster cluster;
+    private CloudWatchMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        strategy = new RemediationStrategy();
+        cluster = BenchmarkFixtures.cluster(BenchmarkFixtures.CLUSTER_NAME);
+
+        switch (health) {
+            case "healthy":
+                metrics = BenchmarkFixtures.metrics(objectMapper, 45.0, 50.0, 80.0);
+                break;
+            case "warning":
+                metrics = BenchmarkFixtures.metrics(objectMapper, 85.5, 78.3, 287.5);
+                break;
+            case "critical":
+                metrics = BenchmarkFixtures.metrics(objectMapper, 97.0, 95.0, 900.0);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown health band: " + health);
+        }
+    }
+
+    @Benchmark
+    public RemediationStrategy.ClusterHealth analyzeOverallHealth() {
+        return strategy.analyzeOverallHealth(metrics, cluster);
+    }
+
+    @Benchmark
+    public List<RemediationAction> buildStrategy() {
+        return strategy.buildStrategy(cluster, metrics);
+    }
+}
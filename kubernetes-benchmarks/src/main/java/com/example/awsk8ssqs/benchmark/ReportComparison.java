@@ -0,0 +1,113 @@
+package com.example.awsk8ssqs.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compares two JMH JSON reports (e.g. the previous release against this one) and flags
+ * benchmarks whose time or allocation rate per operation got worse by more than a threshold.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.awsk8ssqs.benchmark.ReportComparison \
+ *     baseline.json target/jmh-1.0.0.json [thresholdPercent]
+ * </pre>
+ *
+ * Exits with status 1 if any benchmark regressed, so it can gate a release build.
+ */
+public final class ReportComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private ReportComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Result> baseline = read(objectMapper, Path.of(args[0]));
+        Map<String, Result> current = read(objectMapper, Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %8s %12s %12s %8s%n",
+            "benchmark", "baseline", "current", "change", "base B/op", "cur B/op", "change");
+
+        for (String key : new TreeSet<>(current.keySet())) {
+            Result now = current.get(key);
+            Result before = baseline.get(key);
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %8s%n", key, "-", now.score, "new");
+                continue;
+            }
+
+            double scoreChange = percentChange(before.score, now.score);
+            double allocationChange = percentChange(before.bytesPerOp, now.bytesPerOp);
+            boolean regressed = scoreChange > threshold || allocationChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf("%-90s %14.3f %14.3f %7.1f%% %12.1f %12.1f %7.1f%%%s%n",
+                key, before.score, now.score, scoreChange, before.bytesPerOp, now.bytesPerOp, allocationChange,
+                regressed ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%n%d regression(s) above %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * Results keyed by benchmark name, parameters and unit
+     */
+    private static Map<String, Result> read(ObjectMapper objectMapper, Path report) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(report.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode primary = run.path("primaryMetric");
+            key.append(" [").append(primary.path("scoreUnit").asText()).append(']');
+
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            results.put(key.toString(), new Result(
+                primary.path("score").asDouble(),
+                allocation.isMissingNode() ? Double.NaN : allocation.path("score").asDouble()));
+        }
+        return results;
+    }
+
+    /**
+     * Positive means worse: all primary metrics here are time per operation
+     */
+    private static double percentChange(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        return (after - before) / before * 100;
+    }
+
+    private static final class Result {
+        private final double score;
+        private final double bytesPerOp;
+
+        Result(double score, double bytesPerOp) {
+            this.score = score;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+}
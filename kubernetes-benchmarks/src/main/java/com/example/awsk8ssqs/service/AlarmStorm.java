@@ -0,0 +1,100 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.benchmark.BenchmarkFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic CloudWatch alarm storms across a fleet of clusters.
+ *
+ * Messages come in waves: each wave puts a random stormFraction of the clusters into alarm at
+ * once, one message per cluster, the way a traffic spike or a bad deploy trips alarms on many
+ * domains together. Alarms are drawn from a fixed mix covering every remediation path of the
+ * controller. The sequence is fully determined by the seed.
+ */
+final class AlarmStorm {
+
+    // The alarm name decides action and severity in the controller
+    private static final String[] ALARM_NAMES = {
+        "HighCPUUtilization",       // SCALE_OUT
+        "HighJVMMemoryPressure",    // SCALE_OUT
+        "CriticalCPUUtilization",   // EMERGENCY_SCALE
+        "HighSearchLatency",        // SCALE_OUT
+        "CriticalSearchLatency",    // CREATE_NEW_CLUSTER
+        "LowDiskSpaceWarning",      // ALERT_CRITICAL
+    };
+    private static final int[] ALARM_WEIGHTS = {30, 20, 10, 20, 5, 15};
+
+    private final ObjectMapper objectMapper;
+    private final ObjectNode template;
+    private final List<String> clusterNames;
+    private final int waveSize;
+    private final Random random;
+    private final int totalWeight;
+
+    private final List<String> wave = new ArrayList<>();
+    private int wavePosition;
+
+    AlarmStorm(ObjectMapper objectMapper, List<String> clusterNames, double stormFraction, long seed) {
+        this.objectMapper = objectMapper;
+        this.clusterNames = new ArrayList<>(clusterNames);
+        this.waveSize = Math.max(1, (int) Math.ceil(clusterNames.size() * stormFraction));
+        this.random = new Random(seed);
+
+        int weights = 0;
+        for (int weight : ALARM_WEIGHTS) {
+            weights += weight;
+        }
+        this.totalWeight = weights;
+
+        try {
+            this.template = (ObjectNode) objectMapper.readTree(BenchmarkFixtures.METRICS_MESSAGE);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Body of the next metrics message
+     */
+    String next() {
+        if (wavePosition == wave.size()) {
+            Collections.shuffle(clusterNames, random);
+            wave.clear();
+            wave.addAll(clusterNames.subList(0, waveSize));
+            wavePosition = 0;
+        }
+        String clusterName = wave.get(wavePosition++);
+
+        ObjectNode message = template.deepCopy();
+        message.put("clusterName", clusterName);
+        ObjectNode alarm = (ObjectNode) message.path("alarms").get(0);
+        alarm.put("name", nextAlarmName());
+        alarm.put("state", "ALARM");
+        ((ObjectNode) message.path("additionalContext").path("dimensions")).put("DomainName", clusterName);
+
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String nextAlarmName() {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < ALARM_NAMES.length; i++) {
+            pick -= ALARM_WEIGHTS[i];
+            if (pick < 0) {
+                return ALARM_NAMES[i];
+            }
+        }
+        return ALARM_NAMES[0];
+    }
+}
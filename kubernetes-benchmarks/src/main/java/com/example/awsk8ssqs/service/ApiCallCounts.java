@@ -0,0 +1,28 @@
+package com.example.awsk8ssqs.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls made to a stand-in control plane, by operation
+ */
+final class ApiCallCounts {
+
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    void increment(String operation) {
+        calls.computeIfAbsent(operation, key -> new LongAdder()).increment();
+    }
+
+    long total() {
+        return calls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((operation, count) -> snapshot.put(operation, count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the opensearchclusters resource of the Kubernetes API server.
+ *
+ * Objects are held as the maps that would be sent over the wire and go through the service's
+ * model conversions ({@link OpenSearchClusterConverter}) on every read and write, so serialization cost is the same as against
+ * a real API server. Each request sleeps for latency plus a uniform random jitter and is counted
+ * under the operation name the real service records (get, create, patch, patch-status, list, delete).
+ */
+final class InMemoryKubernetesClusterService extends KubernetesClusterService {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Map<String, Object>> objects = new ConcurrentHashMap<>();
+    private final ApiCallCounts calls = new ApiCallCounts();
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    InMemoryKubernetesClusterService(ObjectMapper objectMapper, long latencyMicros, long jitterMicros) {
+        super(null, null, objectMapper, null);
+        this.objectMapper = objectMapper;
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        this.jitterNanos = TimeUnit.MICROSECONDS.toNanos(jitterMicros);
+    }
+
+    /**
+     * Store a cluster without counting a call, as if it had been applied before the test
+     */
+    void seed(OpenSearchCluster cluster) {
+        objects.put(key(cluster.getMetadata().getNamespace(), cluster.getMetadata().getName()),
+            OpenSearchClusterConverter.toKubernetesObject(objectMapper, cluster));
+    }
+
+    ApiCallCounts getCalls() {
+        return calls;
+    }
+
+    int size() {
+        return objects.size();
+    }
+
+    @Override
+    public OpenSearchCluster getClusterByName(String clusterName, String namespace) {
+        call("get");
+        Map<String, Object> object = objects.get(key(namespace, clusterName));
+        return object != null ? OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, object) : null;
+    }
+
+    @Override
+    public OpenSearchCluster createOrUpdateCluster(OpenSearchCluster cluster, String namespace) {
+        String clusterName = cluster.getMetadata().getName();
+        Map<String, Object> object = OpenSearchClusterConverter.toKubernetesObject(objectMapper, cluster);
+
+        OpenSearchCluster existing = getClusterByName(clusterName, namespace);
+        call(existing != null ? "patch" : "create");
+        objects.put(key(namespace, clusterName), object);
+        return OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, object);
+    }
+
+    @Override
+    public List<OpenSearchCluster> listClusters(String namespace) {
+        call("list");
+        String prefix = namespace + "/";
+        List<OpenSearchCluster> clusters = new ArrayList<>();
+        objects.forEach((key, object) -> {
+            if (key.startsWith(prefix)) {
+                clusters.add(OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, object));
+            }
+        });
+        return clusters;
+    }
+
+    @Override
+    public boolean deleteCluster(String clusterName, String namespace) {
+        call("delete");
+        objects.remove(key(namespace, clusterName));
+        return true;
+    }
+
+    @Override
+    public OpenSearchCluster updateClusterStatus(OpenSearchCluster cluster, String namespace) {
+        String clusterName = cluster.getMetadata().getName();
+        OpenSearchCluster current = getClusterByName(clusterName, namespace);
+        if (current == null) {
+            return null;
+        }
+
+        current.setStatus(cluster.getStatus());
+        Map<String, Object> object = OpenSearchClusterConverter.toKubernetesObject(objectMapper, current);
+        call("patch-status");
+        objects.put(key(namespace, clusterName), object);
+        return OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, object);
+    }
+
+    private void call(String operation) {
+        calls.increment(operation);
+
+        long sleepNanos = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+        if (sleepNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String key(String namespace, String clusterName) {
+        return (namespace != null ? namespace : "default") + "/" + clusterName;
+    }
+}
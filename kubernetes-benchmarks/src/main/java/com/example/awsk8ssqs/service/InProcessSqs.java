@@ -0,0 +1,272 @@
+package com.example.awsk8ssqs.service;
+
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.awspring.cloud.sqs.listener.acknowledgement.Acknowledgement;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for SQS and the listener container in front of it.
+ *
+ * Consumer threads take visible messages and call the listener the way the container calls an
+ * {@code @SqsListener} method in MANUAL acknowledgement mode: with the receive count, the
+ * dead-letter replay count, the sent timestamp, a {@link Visibility} and an {@link Acknowledgement}. A message that the listener
+ * returns without acknowledging becomes visible again after its last visibility timeout, scaled
+ * by visibilityTimeScale so that retry backoff does not stall a load test. Messages never time
+ * out while the listener is still running.
+ *
+ * As an {@link SqsClient} it only supports getQueueUrl and sendMessage, which is what the
+ * dead-letter router uses; queues are created on first use.
+ */
+final class InProcessSqs implements SqsClient {
+
+    private static final String URL_PREFIX = "inprocess://";
+
+    /**
+     * The listener method, e.g. OpenSearchClusterController::processCloudWatchMetrics
+     */
+    @FunctionalInterface
+    interface Listener {
+        void onMessage(String body, String messageId, String receiveCount, String replayCount,
+                       String sentTimestamp, Visibility visibility, Acknowledgement acknowledgement);
+    }
+
+    private final Map<String, Queue> queues = new ConcurrentHashMap<>();
+    private final double visibilityTimeScale;
+
+    /**
+     * @param visibilityTimeScale wall-clock seconds per visibility timeout second (1.0 behaves like SQS)
+     */
+    InProcessSqs(double visibilityTimeScale) {
+        this.visibilityTimeScale = visibilityTimeScale;
+    }
+
+    void send(String queueName, String body) {
+        queue(queueName).add(new Message(body, null));
+    }
+
+    /**
+     * Start daemon consumer threads calling the listener, like the container's max concurrent messages
+     */
+    void startConsumers(String queueName, int consumers, Listener listener) {
+        Queue queue = queue(queueName);
+        for (int i = 0; i < consumers; i++) {
+            Thread thread = new Thread(() -> consume(queue, listener), queueName + "-consumer-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Wait until every message sent to the queue has been acknowledged
+     *
+     * @return false if the timeout expired first
+     */
+    boolean awaitDrained(String queueName, long timeout, TimeUnit unit) throws InterruptedException {
+        Queue queue = queue(queueName);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (queue.acknowledged.get() < queue.sent.get()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    QueueStats stats(String queueName) {
+        Queue queue = queue(queueName);
+        return new QueueStats(queue.sent.get(), queue.received.get(), queue.acknowledged.get(),
+            queue.redelivered.get(), queue.latencies.sorted());
+    }
+
+    @Override
+    public GetQueueUrlResponse getQueueUrl(GetQueueUrlRequest request) {
+        queue(request.queueName());
+        return GetQueueUrlResponse.builder().queueUrl(URL_PREFIX + request.queueName()).build();
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        String queueName = request.queueUrl().startsWith(URL_PREFIX)
+            ? request.queueUrl().substring(URL_PREFIX.length()) : request.queueUrl();
+        MessageAttributeValue replayCount = request.hasMessageAttributes()
+            ? request.messageAttributes().get(DeadLetterRouter.ATTR_REPLAY_COUNT) : null;
+        Message message = new Message(request.messageBody(), replayCount != null ? replayCount.stringValue() : null);
+        queue(queueName).add(message);
+        return SendMessageResponse.builder().messageId(message.id).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private Queue queue(String queueName) {
+        return queues.computeIfAbsent(queueName, name -> new Queue());
+    }
+
+    private void consume(Queue queue, Listener listener) {
+        while (!Thread.currentThread().isInterrupted()) {
+            Message message;
+            try {
+                message = queue.visible.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            int receiveCount = message.receiveCount.incrementAndGet();
+            if (receiveCount > 1) {
+                queue.redelivered.incrementAndGet();
+            }
+            queue.received.incrementAndGet();
+
+            Visibility visibility = seconds -> {
+                message.visibilityTimeoutSeconds = seconds;
+                return CompletableFuture.completedFuture(null);
+            };
+            Acknowledgement acknowledgement = new Acknowledgement() {
+                @Override
+                public void acknowledge() {
+                    if (message.deleted.compareAndSet(false, true)) {
+                        queue.latencies.add(System.nanoTime() - message.sentNanos);
+                        queue.acknowledged.incrementAndGet();
+                    }
+                }
+
+                @Override
+                public CompletableFuture<Void> acknowledgeAsync() {
+                    acknowledge();
+                    return CompletableFuture.completedFuture(null);
+                }
+            };
+
+            try {
+                listener.onMessage(message.body, message.id, Integer.toString(receiveCount), message.replayCount,
+                    Long.toString(message.sentMillis), visibility, acknowledgement);
+            } catch (RuntimeException e) {
+                // The container logs listener exceptions and leaves the message for redelivery
+            }
+
+            if (!message.deleted.get()) {
+                long delayNanos = (long) (TimeUnit.SECONDS.toNanos(message.visibilityTimeoutSeconds) * visibilityTimeScale);
+                message.visibleAtNanos = System.nanoTime() + delayNanos;
+                queue.visible.add(message);
+            }
+        }
+    }
+
+    /**
+     * Counters of one queue; latencies (nanoseconds from first send to acknowledgement) are sorted
+     */
+    static final class QueueStats {
+        final long sent;
+        final long received;
+        final long acknowledged;
+        final long redelivered;
+        final long[] latencies;
+
+        QueueStats(long sent, long received, long acknowledged, long redelivered, long[] latencies) {
+            this.sent = sent;
+            this.received = received;
+            this.acknowledged = acknowledged;
+            this.redelivered = redelivered;
+            this.latencies = latencies;
+        }
+
+        /**
+         * Nearest-rank percentile of the end-to-end latency in nanoseconds, 0 if nothing was acknowledged
+         */
+        long latencyPercentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * latencies.length);
+            return latencies[Math.min(Math.max(rank, 1), latencies.length) - 1];
+        }
+    }
+
+    private static final class Queue {
+        private final DelayQueue<Message> visible = new DelayQueue<>();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong acknowledged = new AtomicLong();
+        private final AtomicLong redelivered = new AtomicLong();
+        private final LatencyLog latencies = new LatencyLog();
+
+        void add(Message message) {
+            sent.incrementAndGet();
+            visible.add(message);
+        }
+    }
+
+    private static final class Message implements Delayed {
+        private final String id = UUID.randomUUID().toString();
+        private final String body;
+        // The replay count attribute the message was sent with, or null
+        private final String replayCount;
+        private final long sentNanos = System.nanoTime();
+        private final long sentMillis = System.currentTimeMillis();
+        private final AtomicInteger receiveCount = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean();
+        private volatile int visibilityTimeoutSeconds = 30;
+        private volatile long visibleAtNanos = sentNanos;
+
+        Message(String body, String replayCount) {
+            this.body = body;
+            this.replayCount = replayCount;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(visibleAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(visibleAtNanos, ((Message) other).visibleAtNanos);
+        }
+    }
+
+    /**
+     * Append-only log of latencies
+     */
+    private static final class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
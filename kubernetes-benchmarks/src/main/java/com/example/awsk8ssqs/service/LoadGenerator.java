@@ -0,0 +1,252 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.benchmark.BenchmarkFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import software.amazon.awssdk.services.opensearch.OpenSearchClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the metrics-to-remediation pipeline without LocalStack or a cluster.
+ *
+ * The controller and the services behind it are wired by Spring as in the application, with the
+ * application's defaults, but SQS, the OpenSearch API and the Kubernetes API are replaced by the
+ * in-process stand-ins {@link InProcessSqs}, {@link StubOpenSearchClient} and
+ * {@link InMemoryKubernetesClusterService}. An {@link AlarmStorm} is replayed into the metrics
+ * queue and the report gives throughput, end-to-end latency (send to acknowledgement, retries
+ * included) and the control-plane calls it took.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.awsk8ssqs.service.LoadGenerator \
+ *     --clusters=200 --messages=20000 --consumers=10 --opensearch-latency-ms=50
+ * </pre>
+ *
+ * With --min-throughput or --max-p99-ms it exits with status 1 when the run misses them, so it
+ * can gate a build.
+ */
+public final class LoadGenerator {
+
+    private static final String METRICS_QUEUE = "cluster-metrics";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("clusters", "50");
+        DEFAULTS.put("messages", "10000");
+        DEFAULTS.put("rate", "0");                      // messages/s offered, 0 sends all at once
+        DEFAULTS.put("storm-fraction", "0.2");          // share of clusters alarming in each wave
+        DEFAULTS.put("consumers", "10");                // listener threads (container max concurrent messages)
+        DEFAULTS.put("max-in-flight", "50");
+        DEFAULTS.put("opensearch-latency-ms", "40");
+        DEFAULTS.put("opensearch-jitter-ms", "20");
+        DEFAULTS.put("opensearch-max-rps", "0");        // account rate limit, 0 for none
+        DEFAULTS.put("kubernetes-latency-us", "2000");
+        DEFAULTS.put("kubernetes-jitter-us", "1000");
+        DEFAULTS.put("visibility-time-scale", "0.001"); // a 10s retry backoff takes 10ms
+        DEFAULTS.put("timeout-seconds", "600");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("min-throughput", "0");
+        DEFAULTS.put("max-p99-ms", "0");
+    }
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parseOptions(args);
+        int clusters = Integer.parseInt(options.get("clusters"));
+        int messages = Integer.parseInt(options.get("messages"));
+        double rate = Double.parseDouble(options.get("rate"));
+        int consumers = Integer.parseInt(options.get("consumers"));
+
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        InProcessSqs sqs = new InProcessSqs(Double.parseDouble(options.get("visibility-time-scale")));
+        StubOpenSearchClient openSearch = new StubOpenSearchClient(
+            Long.parseLong(options.get("opensearch-latency-ms")),
+            Long.parseLong(options.get("opensearch-jitter-ms")),
+            Double.parseDouble(options.get("opensearch-max-rps")));
+        InMemoryKubernetesClusterService kubernetes = new InMemoryKubernetesClusterService(objectMapper,
+            Long.parseLong(options.get("kubernetes-latency-us")),
+            Long.parseLong(options.get("kubernetes-jitter-us")));
+
+        List<String> clusterNames = new ArrayList<>();
+        for (int i = 0; i < clusters; i++) {
+            String clusterName = String.format("load-test-cluster-%04d", i);
+            clusterNames.add(clusterName);
+            kubernetes.seed(BenchmarkFixtures.cluster(clusterName));
+            openSearch.seed(clusterName, 3);
+        }
+
+        // AlertService prints every critical alert to stdout; keep the report readable
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        int exitCode;
+        try (AnnotationConfigApplicationContext context = createContext(objectMapper, sqs, openSearch, kubernetes,
+                Integer.parseInt(options.get("max-in-flight")))) {
+            OpenSearchClusterController controller = context.getBean(OpenSearchClusterController.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            String deadLetterQueue = context.getBean(DeadLetterRouter.class).getDeadLetterQueue();
+
+            console.printf("Replaying %d alarm messages across %d clusters into %d consumers%n",
+                messages, clusters, consumers);
+            sqs.startConsumers(METRICS_QUEUE, consumers, controller::processCloudWatchMetrics);
+
+            AlarmStorm storm = new AlarmStorm(objectMapper, clusterNames,
+                Double.parseDouble(options.get("storm-fraction")), Long.parseLong(options.get("seed")));
+            long start = System.nanoTime();
+            long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+            for (int i = 0; i < messages; i++) {
+                if (intervalNanos > 0) {
+                    long wait = start + i * intervalNanos - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+                sqs.send(METRICS_QUEUE, storm.next());
+            }
+
+            boolean drained = sqs.awaitDrained(METRICS_QUEUE,
+                Long.parseLong(options.get("timeout-seconds")), TimeUnit.SECONDS);
+            long elapsedNanos = System.nanoTime() - start;
+
+            exitCode = report(console, options, sqs, deadLetterQueue, openSearch, kubernetes, meterRegistry, elapsedNanos);
+            if (!drained) {
+                console.println("Timed out before every message was acknowledged");
+                exitCode = 1;
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static AnnotationConfigApplicationContext createContext(ObjectMapper objectMapper, SqsClient sqs,
+                                                                    OpenSearchClient openSearch,
+                                                                    KubernetesClusterService kubernetes,
+                                                                    int maxInFlight) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("aws.sqs.metrics-queue", METRICS_QUEUE);
+        properties.put("sqs.in-flight.max-messages", maxInFlight);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("load-test", properties));
+
+        context.registerBean(ObjectMapper.class, () -> objectMapper);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(SqsClient.class, () -> sqs);
+        context.registerBean(OpenSearchClient.class, () -> openSearch);
+        context.registerBean(KubernetesClusterService.class, () -> kubernetes);
+        context.register(CloudWatchMetricsDecoder.class, OpenSearchService.class, RemediationStrategy.class, RemediationPlanner.class,
+            AlertHistory.class, AlertService.class, MetricsAnalyzer.class, CooldownManager.class,
+            ClusterStatusEventBus.class, DeadLetterRouter.class, InFlightMessageTracker.class,
+            RemediationMetrics.class, NamespaceWorkers.class, OpenSearchClusterController.class);
+
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Print the report and check the gates
+     *
+     * @return the exit code
+     */
+    private static int report(PrintStream out, Map<String, String> options, InProcessSqs sqs, String deadLetterQueue,
+                              StubOpenSearchClient openSearch, InMemoryKubernetesClusterService kubernetes,
+                              MeterRegistry meterRegistry, long elapsedNanos) {
+        InProcessSqs.QueueStats queue = sqs.stats(METRICS_QUEUE);
+        InProcessSqs.QueueStats deadLetters = sqs.stats(deadLetterQueue);
+        double seconds = elapsedNanos / 1e9;
+        double throughput = queue.acknowledged / seconds;
+        double p99Millis = queue.latencyPercentile(99) / 1e6;
+
+        out.println();
+        out.printf("%-28s %10.2f s%n", "elapsed", seconds);
+        out.printf("%-28s %10.1f msgs/s%n", "throughput", throughput);
+        out.printf("%-28s %10.1f ms%n", "end-to-end latency p50", queue.latencyPercentile(50) / 1e6);
+        out.printf("%-28s %10.1f ms%n", "end-to-end latency p90", queue.latencyPercentile(90) / 1e6);
+        out.printf("%-28s %10.1f ms%n", "end-to-end latency p99", p99Millis);
+        out.printf("%-28s %10.1f ms%n", "end-to-end latency max", queue.latencyPercentile(100) / 1e6);
+        out.printf("%-28s %10d (%d redelivered)%n", "receives", queue.received, queue.redelivered);
+        out.printf("%-28s %10d%n", "dead-lettered", deadLetters.sent);
+
+        out.println();
+        printCalls(out, "OpenSearch API calls", openSearch.getCalls(), openSearch.getThrottled());
+        printCalls(out, "Kubernetes API calls", kubernetes.getCalls(), null);
+
+        out.println();
+        out.println("Mean time per pipeline stage");
+        for (String stage : List.of(RemediationMetrics.STAGE_DECODE, RemediationMetrics.STAGE_CRD_LOOKUP,
+                RemediationMetrics.STAGE_DECIDE, RemediationMetrics.STAGE_STATUS_WRITE)) {
+            out.printf("  %-26s %10.3f ms%n", stage,
+                meanMillis(meterRegistry.find("remediation.pipeline.stage").tag("stage", stage).timers()));
+        }
+        out.printf("  %-26s %10.3f ms%n", "action",
+            meanMillis(meterRegistry.find("remediation.action.duration").timers()));
+
+        double minThroughput = Double.parseDouble(options.get("min-throughput"));
+        double maxP99Millis = Double.parseDouble(options.get("max-p99-ms"));
+        int exitCode = 0;
+        if (minThroughput > 0 && throughput < minThroughput) {
+            out.printf("%nFAILED: throughput %.1f msgs/s below %.1f%n", throughput, minThroughput);
+            exitCode = 1;
+        }
+        if (maxP99Millis > 0 && p99Millis > maxP99Millis) {
+            out.printf("%nFAILED: p99 latency %.1f ms above %.1f ms%n", p99Millis, maxP99Millis);
+            exitCode = 1;
+        }
+        return exitCode;
+    }
+
+    /**
+     * @param throttled throttled calls by operation, null if the API does not throttle
+     */
+    private static void printCalls(PrintStream out, String title, ApiCallCounts calls, ApiCallCounts throttled) {
+        if (throttled == null) {
+            out.printf("%s (%d)%n", title, calls.total());
+            calls.snapshot().forEach((operation, count) -> out.printf("  %-26s %10d%n", operation, count));
+            return;
+        }
+
+        out.printf("%s (%d, %d throttled)%n", title, calls.total(), throttled.total());
+        Map<String, Long> throttledByOperation = throttled.snapshot();
+        calls.snapshot().forEach((operation, count) -> out.printf("  %-26s %10d %10d throttled%n",
+            operation, count, throttledByOperation.getOrDefault(operation, 0L)));
+    }
+
+    private static double meanMillis(Iterable<Timer> timers) {
+        long count = 0;
+        double totalMillis = 0;
+        for (Timer timer : timers) {
+            count += timer.count();
+            totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        return count > 0 ? totalMillis / count : 0;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (name == null || !DEFAULTS.containsKey(name)) {
+                System.err.println("Usage: LoadGenerator [--option=value ...], options and defaults:");
+                DEFAULTS.forEach((option, value) -> System.err.printf("  --%s=%s%n", option, value));
+                System.exit(2);
+            }
+            options.put(name, arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
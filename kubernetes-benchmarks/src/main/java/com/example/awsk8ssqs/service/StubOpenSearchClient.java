@@ -0,0 +1,195 @@
+package com.example.awsk8ssqs.service;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.opensearch.OpenSearchClient;
+import software.amazon.awssdk.services.opensearch.model.ClusterConfig;
+import software.amazon.awssdk.services.opensearch.model.ClusterConfigStatus;
+import software.amazon.awssdk.services.opensearch.model.CreateDomainRequest;
+import software.amazon.awssdk.services.opensearch.model.CreateDomainResponse;
+import software.amazon.awssdk.services.opensearch.model.DeleteDomainRequest;
+import software.amazon.awssdk.services.opensearch.model.DeleteDomainResponse;
+import software.amazon.awssdk.services.opensearch.model.DescribeDomainRequest;
+import software.amazon.awssdk.services.opensearch.model.DescribeDomainResponse;
+import software.amazon.awssdk.services.opensearch.model.DomainConfig;
+import software.amazon.awssdk.services.opensearch.model.DomainStatus;
+import software.amazon.awssdk.services.opensearch.model.OpenSearchException;
+import software.amazon.awssdk.services.opensearch.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.opensearch.model.UpdateDomainConfigRequest;
+import software.amazon.awssdk.services.opensearch.model.UpdateDomainConfigResponse;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the OpenSearch control-plane API with configurable latency and throttling.
+ *
+ * Every call sleeps for latency plus a uniform random jitter, like a blocking SDK call. Calls
+ * beyond maxRequestsPerSecond (a token bucket with one second of burst) fail with a 429
+ * ThrottlingException the way the service does. Domains live in a map keyed by name; only the
+ * operations the controller uses are implemented.
+ */
+final class StubOpenSearchClient implements OpenSearchClient {
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double maxRequestsPerSecond;
+    private final Map<String, DomainStatus> domains = new ConcurrentHashMap<>();
+    private final ApiCallCounts calls = new ApiCallCounts();
+    private final ApiCallCounts throttled = new ApiCallCounts();
+
+    // Token bucket, guarded by "this"
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    /**
+     * @param maxRequestsPerSecond account-wide request rate limit, 0 for none
+     */
+    StubOpenSearchClient(long latencyMillis, long jitterMillis, double maxRequestsPerSecond) {
+        this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        this.jitterNanos = TimeUnit.MILLISECONDS.toNanos(jitterMillis);
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.tokens = maxRequestsPerSecond;
+    }
+
+    /**
+     * Register an existing domain without counting a call
+     */
+    void seed(String domainName, int instanceCount) {
+        domains.put(domainName, domainStatus(domainName, instanceCount));
+    }
+
+    /**
+     * Calls by operation, throttled ones included
+     */
+    ApiCallCounts getCalls() {
+        return calls;
+    }
+
+    ApiCallCounts getThrottled() {
+        return throttled;
+    }
+
+    @Override
+    public CreateDomainResponse createDomain(CreateDomainRequest request) {
+        call("CreateDomain");
+        Integer instanceCount = request.clusterConfig() != null ? request.clusterConfig().instanceCount() : null;
+        DomainStatus status = domainStatus(request.domainName(), instanceCount != null ? instanceCount : 1);
+        domains.put(request.domainName(), status);
+        return CreateDomainResponse.builder().domainStatus(status).build();
+    }
+
+    @Override
+    public UpdateDomainConfigResponse updateDomainConfig(UpdateDomainConfigRequest request) {
+        call("UpdateDomainConfig");
+        DomainStatus current = domains.get(request.domainName());
+        if (current == null) {
+            throw notFound(request.domainName());
+        }
+
+        ClusterConfig clusterConfig = current.clusterConfig();
+        if (request.clusterConfig() != null && request.clusterConfig().instanceCount() != null) {
+            clusterConfig = clusterConfig.toBuilder().instanceCount(request.clusterConfig().instanceCount()).build();
+            domains.put(request.domainName(), current.toBuilder().clusterConfig(clusterConfig).build());
+        }
+
+        return UpdateDomainConfigResponse.builder()
+            .domainConfig(DomainConfig.builder()
+                .clusterConfig(ClusterConfigStatus.builder().options(clusterConfig).build())
+                .build())
+            .build();
+    }
+
+    @Override
+    public DescribeDomainResponse describeDomain(DescribeDomainRequest request) {
+        call("DescribeDomain");
+        DomainStatus status = domains.get(request.domainName());
+        if (status == null) {
+            throw notFound(request.domainName());
+        }
+        return DescribeDomainResponse.builder().domainStatus(status).build();
+    }
+
+    @Override
+    public DeleteDomainResponse deleteDomain(DeleteDomainRequest request) {
+        call("DeleteDomain");
+        DomainStatus status = domains.remove(request.domainName());
+        if (status == null) {
+            throw notFound(request.domainName());
+        }
+        return DeleteDomainResponse.builder().domainStatus(status.toBuilder().deleted(true).build()).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void call(String operation) {
+        calls.increment(operation);
+
+        long sleepNanos = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+        if (sleepNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (!tryAcquire()) {
+            throttled.increment(operation);
+            throw OpenSearchException.builder()
+                .statusCode(429)
+                .message("Rate exceeded")
+                .awsErrorDetails(AwsErrorDetails.builder()
+                    .errorCode("ThrottlingException")
+                    .errorMessage("Rate exceeded")
+                    .serviceName(SERVICE_NAME)
+                    .build())
+                .build();
+        }
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (maxRequestsPerSecond <= 0) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        tokens = Math.min(maxRequestsPerSecond,
+            tokens + (now - lastRefillNanos) * maxRequestsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    private static ResourceNotFoundException notFound(String domainName) {
+        return ResourceNotFoundException.builder()
+            .statusCode(409)
+            .message("Domain not found: " + domainName)
+            .build();
+    }
+
+    private static DomainStatus domainStatus(String domainName, int instanceCount) {
+        return DomainStatus.builder()
+            .domainName(domainName)
+            .domainId("000000000000/" + domainName)
+            .arn("arn:aws:es:us-east-1:000000000000:domain/" + domainName)
+            .created(true)
+            .deleted(false)
+            .processing(false)
+            .endpoint(domainName + ".us-east-1.es.localhost.localstack.cloud")
+            .clusterConfig(ClusterConfig.builder().instanceCount(instanceCount).build())
+            .build();
+    }
+}
@@ -8,7 +8,7 @@
 # Location: Mounted to /etc/localstack/init/ready.d/ in LocalStack container
 #
 # What it creates:
-# - SQS queues for cluster management (cluster-requests, cluster-deletions, cluster-requests-dlq)
+# - SQS queues for cluster management (cluster-requests, cluster-deletions, cluster-requests-dlq, cluster-dlq)
 # - IAM role with OpenSearch and SQS permissions
 #
 # Note: This script runs inside the LocalStack container, not on your host machine
@@ -27,6 +27,7 @@ awslocal sqs create-queue --queue-name cluster-requests --attributes VisibilityT
 awslocal sqs create-queue --queue-name cluster-deletions --attributes VisibilityTimeoutSeconds=300,MessageRetentionPeriod=1209600
 awslocal sqs create-queue --queue-name cluster-requests-dlq --attributes VisibilityTimeoutSeconds=300,MessageRetentionPeriod=1209600
 awslocal sqs create-queue --queue-name cluster-metrics --attributes VisibilityTimeoutSeconds=300,MessageRetentionPeriod=1209600
+awslocal sqs create-queue --queue-name cluster-dlq --attributes VisibilityTimeoutSeconds=300,MessageRetentionPeriod=1209600
 
 # Create basic IAM role for the application
 awslocal iam create-role --role-name OpenSearchClusterManager --assume-role-policy-document '{
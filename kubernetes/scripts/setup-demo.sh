@@ -98,6 +98,7 @@ kind load docker-image opensearch-sqs-demo:latest --name opensearch-sqs-demo
 # Deploy to Kubernetes
 echo "Deploying application to Kubernetes..."
 kubectl apply -f k8s/namespace.yaml
+kubectl apply -f k8s/rbac.yaml
 kubectl apply -f k8s/deployment.yaml
 
 # Wait for deployment to be ready
@@ -0,0 +1,117 @@
+#!/bin/bash
+
+#
+# Controller Startup Benchmark
+#
+# Purpose: Measure how long a restarted controller leaves its queue unattended
+# When to run: After changing startup-relevant code or dependencies, before building the image
+# Prerequisites: JDK 17, LocalStack running with the demo queues (./scripts/setup-demo.sh),
+#                awslocal (pip install awscli-local), the jar built with AOT: mvn package -Paot
+#
+# What it does:
+# 1. Unpacks the jar and trains a class-data-sharing archive, as the Dockerfile does
+# 2. For each startup mode, queues one CloudWatch metrics message and starts the controller
+# 3. Reads "Started ... in" and "First metrics message processed ... ms after JVM start" from the log
+# 4. Prints the median over the runs of each mode
+#
+# Modes:
+#   jar      java -jar, classpath scanning and reflection-based configuration
+#   aot      unpacked jar with -Dspring.aot.enabled=true
+#   aot-cds  aot plus the class-data-sharing archive (what the container runs)
+#
+# Usage: ./scripts/startup-benchmark.sh [runs per mode, default 5]
+#
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PROFILES=${SPRING_PROFILES_ACTIVE:-local}
+MAIN_CLASS=com.example.awsk8ssqs.AwsKubernetesSqsDemoApplication
+METRICS_QUEUE_URL=http://localhost:4566/000000000000/cluster-metrics
+WORK_DIR=target/startup-benchmark
+
+JAR=$(ls target/aws-kubernetes-sqs-demo-*.jar 2>/dev/null | head -1)
+if [ -z "$JAR" ]; then
+    echo "Error: no application jar in target/. Build it with: mvn package -DskipTests -Paot"
+    exit 1
+fi
+if ! jar tf "$JAR" | grep -q "__ApplicationContextInitializer"; then
+    echo "Error: $JAR has no AOT-generated classes. Build it with: mvn package -DskipTests -Paot"
+    exit 1
+fi
+if ! command -v awslocal &> /dev/null; then
+    echo "Error: awslocal is not installed. Please install awscli-local:"
+    echo "pip install awscli-local"
+    exit 1
+fi
+
+METRICS_MESSAGE='{
+  "messageType": "cloudwatch-metrics",
+  "clusterName": "startup-benchmark-cluster",
+  "timestamp": "2024-01-15T10:30:00Z",
+  "metrics": {
+    "cpu": {"average": 85.5, "maximum": 92.1, "period": "5m"},
+    "memory": {"average": 78.3, "maximum": 89.7, "period": "5m"}
+  },
+  "alarms": [{"name": "HighCPUUtilization", "state": "ALARM", "threshold": 80, "value": 85.5}]
+}'
+
+# Unpack and train the archive like the Dockerfile, with paths under the work directory
+echo "Preparing unpacked application and class-data-sharing archive..."
+rm -rf "$WORK_DIR" && mkdir -p "$WORK_DIR/exploded"
+(cd "$WORK_DIR/exploded" && jar -xf "../../../$JAR")
+CLASSPATH_ARGS="$WORK_DIR/classpath.args"
+echo "-cp $WORK_DIR/exploded/BOOT-INF/classes:$(sed -n "s|^- \"BOOT-INF/lib/\(.*\)\"$|$WORK_DIR/exploded/BOOT-INF/lib/\1|p" \
+    "$WORK_DIR/exploded/BOOT-INF/classpath.idx" | paste -sd: -)" > "$CLASSPATH_ARGS"
+SPRING_PROFILES_ACTIVE=$PROFILES java -XX:ArchiveClassesAtExit="$WORK_DIR/app.jsa" -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh @"$CLASSPATH_ARGS" $MAIN_CLASS > "$WORK_DIR/training.log" 2>&1
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { if (NR == 0) print "-"; else print values[int((NR + 1) / 2)] }'
+}
+
+run_once() {
+    local mode=$1 run=$2
+    local log="$WORK_DIR/$mode-$run.log"
+
+    awslocal sqs send-message --queue-url "$METRICS_QUEUE_URL" --message-body "$METRICS_MESSAGE" > /dev/null
+
+    case $mode in
+        jar)     set -- -jar "$JAR" ;;
+        aot)     set -- -Dspring.aot.enabled=true @"$CLASSPATH_ARGS" $MAIN_CLASS ;;
+        aot-cds) set -- -XX:SharedArchiveFile="$WORK_DIR/app.jsa" -Dspring.aot.enabled=true @"$CLASSPATH_ARGS" $MAIN_CLASS ;;
+    esac
+    SPRING_PROFILES_ACTIVE=$PROFILES java "$@" > "$log" 2>&1 &
+    local pid=$!
+
+    for _ in $(seq 1 600); do
+        if grep -q "First metrics message processed" "$log" || ! kill -0 $pid 2> /dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+    kill $pid 2> /dev/null || true
+    wait $pid 2> /dev/null || true
+
+    local started first
+    started=$(sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' "$log" | head -1)
+    first=$(sed -n 's/.*First metrics message processed \([0-9]*\) ms after JVM start.*/\1/p' "$log" | head -1)
+    if [ -z "$first" ]; then
+        echo "  $mode run $run: no message processed within 60s, see $log" >&2
+        return
+    fi
+    echo "$started $first"
+}
+
+printf "%-8s %16s %24s\n" "mode" "context started" "first message processed"
+for mode in jar aot aot-cds; do
+    results="$WORK_DIR/$mode.results"
+    : > "$results"
+    for run in $(seq 1 "$RUNS"); do
+        run_once $mode "$run" >> "$results"
+    done
+    printf "%-8s %14s s %21s ms\n" $mode \
+        "$(awk '{ print $1 }' "$results" | median)" "$(awk '{ print $2 }' "$results" | median)"
+done
@@ -3,6 +3,7 @@ package com.example.awsk8ssqs.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
@@ -15,6 +16,9 @@ import java.net.URI;
 
 /**
  * AWS configuration for both local development (LocalStack) and production environments.
+ *
+ * The clients are created on first use rather than at startup: most metrics messages need
+ * neither, so a restarted controller starts consuming its queue without waiting for them.
  */
 @Configuration
 public class AwsConfig {
@@ -35,6 +39,7 @@ public class AwsConfig {
      * SQS Client for local development with LocalStack.
      */
     @Bean
+    @Lazy
     @Profile("local")
     public SqsClient localSqsClient() {
         return SqsClient.builder()
@@ -48,6 +53,7 @@ public class AwsConfig {
      * SQS Client for production environment.
      */
     @Bean
+    @Lazy
     @Profile("!local")
     public SqsClient prodSqsClient() {
         return SqsClient.builder()
@@ -59,6 +65,7 @@ public class AwsConfig {
      * OpenSearch Client for local development with LocalStack.
      */
     @Bean
+    @Lazy
     @Profile("local")
     public OpenSearchClient localOpenSearchClient() {
         return OpenSearchClient.builder()
@@ -72,6 +79,7 @@ public class AwsConfig {
      * OpenSearch Client for production environment.
      */
     @Bean
+    @Lazy
     @Profile("!local")
     public OpenSearchClient prodOpenSearchClient() {
         return OpenSearchClient.builder()
@@ -4,7 +4,8 @@ import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.apis.CustomObjectsApi;
 import io.kubernetes.client.util.Config;
 import io.kubernetes.client.util.generic.GenericKubernetesApi;
-import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesListObject;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -50,13 +51,13 @@ public class KubernetesConfig {
 
     /**
      * Generic Kubernetes API for OpenSearchCluster custom resources
-     * This provides type-safe access to our custom resources
+     * Resources are handled as dynamic (raw JSON) objects and converted to our model by the service
      */
     @Bean
-    public GenericKubernetesApi<Object, Object> openSearchClusterApi(ApiClient apiClient) {
+    public GenericKubernetesApi<DynamicKubernetesObject, DynamicKubernetesListObject> openSearchClusterApi(ApiClient apiClient) {
         return new GenericKubernetesApi<>(
-            Object.class,  // We'll use Object and cast to our types
-            Object.class,  // For list operations
+            DynamicKubernetesObject.class,
+            DynamicKubernetesListObject.class,
             "opensearch.aws.com",    // API group
             "v1",                    // API version  
             "opensearchclusters",    // Resource plural name
@@ -0,0 +1,69 @@
+package com.example.awsk8ssqs.controller;
+
+import com.example.awsk8ssqs.model.alert.AlertPage;
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import com.example.awsk8ssqs.service.AlertHistory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * REST controller exposing the in-memory alert history.
+ * Clients stream new alerts by passing the returned nextCursor back as "since".
+ */
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+@Slf4j
+public class AlertController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final AlertHistory alertHistory;
+
+    /**
+     * Lists alerts newer than the given cursor, optionally filtered by cluster and level.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> listAlerts(
+            @RequestParam(required = false) String cluster,
+            @RequestParam(required = false) AlertLevel level,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        try {
+            if (since < 0) {
+                throw new IllegalArgumentException("since must not be negative");
+            }
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+            AlertPage page = alertHistory.query(cluster, level, since, pageSize);
+
+            Map<String, Object> response = Map.of(
+                "alerts", page.getAlerts(),
+                "nextCursor", page.getNextCursor(),
+                "hasMore", page.isHasMore(),
+                "truncated", page.isTruncated(),
+                "latestSequence", alertHistory.getLatestSequence(),
+                "timestamp", LocalDateTime.now()
+            );
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Error listing alerts: {}", e.getMessage(), e);
+
+            Map<String, Object> errorResponse = Map.of(
+                "status", "error",
+                "message", "Failed to list alerts",
+                "error", e.getMessage()
+            );
+
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.awsk8ssqs.controller;
 
 import com.example.awsk8ssqs.model.ClusterRequest;
+import com.example.awsk8ssqs.model.bulk.BatchOperation;
+import com.example.awsk8ssqs.model.bulk.BulkClusterRequest;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import com.example.awsk8ssqs.model.fleet.FleetPage;
+import com.example.awsk8ssqs.model.operation.OperationRecord;
+import com.example.awsk8ssqs.service.BulkProvisioningService;
 import com.example.awsk8ssqs.service.ClusterProvisioningService;
+import com.example.awsk8ssqs.service.FleetSnapshotService;
+import com.example.awsk8ssqs.service.OperationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,7 +33,12 @@ import java.util.UUID;
 @Slf4j
 public class ClusterController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ClusterProvisioningService clusterProvisioningService;
+    private final BulkProvisioningService bulkProvisioningService;
+    private final FleetSnapshotService fleetSnapshotService;
+    private final OperationRegistry operationRegistry;
 
     /**
      * Creates a cluster directly via REST API (for testing).
@@ -68,18 +84,73 @@ public class ClusterController {
         }
     }
 
+    /**
+     * Creates many clusters in one call. The batch is validated up front and provisioned
+     * with bounded concurrency; poll the returned batch ID for per-item progress.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> createClusters(@RequestBody BulkClusterRequest request) {
+        int size = request.getRequests() != null ? request.getRequests().size() : 0;
+        log.info("Received bulk cluster creation request via REST API: {} clusters", size);
+        
+        try {
+            BatchOperation batch = bulkProvisioningService.submit(request);
+            
+            Map<String, Object> response = Map.of(
+                "status", "accepted",
+                "message", "Bulk provisioning request accepted",
+                "batchId", batch.getBatchId(),
+                "total", batch.getTotal(),
+                "counts", batch.getCounts(),
+                "items", batch.getItems()
+            );
+            
+            return ResponseEntity.accepted().body(response);
+            
+        } catch (Exception e) {
+            log.error("Error processing bulk cluster creation request: {}", e.getMessage(), e);
+            
+            Map<String, Object> errorResponse = Map.of(
+                "status", "error",
+                "message", "Failed to process bulk cluster creation request",
+                "error", e.getMessage()
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Gets the progress of a bulk provisioning batch.
+     */
+    @GetMapping("/bulk/{batchId}")
+    public ResponseEntity<BatchOperation> getBatch(@PathVariable String batchId) {
+        BatchOperation batch = bulkProvisioningService.getBatch(batchId);
+        return batch != null ? ResponseEntity.ok(batch) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Gets the provisioning or deletion operation a request ID was handled by.
+     */
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<OperationRecord> getOperation(@PathVariable String requestId) {
+        OperationRecord operation = operationRegistry.findByRequestId(requestId);
+        return operation != null ? ResponseEntity.ok(operation) : ResponseEntity.notFound().build();
+    }
+
     /**
      * Deletes a cluster via REST API.
      */
     @DeleteMapping("/{clusterName}")
     public ResponseEntity<Map<String, Object>> deleteCluster(
             @PathVariable String clusterName,
-            @RequestParam(defaultValue = "default") String namespace) {
+            @RequestParam(defaultValue = "default") String namespace,
+            @RequestParam(required = false) String requestId) {
         
         log.info("Received cluster deletion request via REST API: {} in namespace: {}", clusterName, namespace);
         
         try {
-            clusterProvisioningService.deleteCluster(clusterName, namespace);
+            clusterProvisioningService.deleteCluster(clusterName, namespace, requestId);
             
             Map<String, Object> response = Map.of(
                 "status", "accepted",
@@ -222,20 +293,34 @@ public class ClusterController {
     }
 
     /**
-     * Lists all OpenSearch clusters.
+     * Lists all OpenSearch clusters from the cached fleet snapshot.
+     * Supports cursor pagination, phase filtering and conditional requests via ETag.
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> listClusters() {
-        log.info("Listing all OpenSearch clusters");
+    public ResponseEntity<Map<String, Object>> listClusters(
+            @RequestParam(required = false) ClusterPhase phase,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        log.debug("Listing OpenSearch clusters (phase: {}, cursor: {}, limit: {})", phase, cursor, limit);
         
         try {
-            // This would need to be implemented in the service layer
-            Map<String, Object> response = Map.of(
-                "message", "List clusters endpoint - implementation needed",
-                "timestamp", LocalDateTime.now()
-            );
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            FleetPage page = fleetSnapshotService.getPage(phase, cursor, pageSize);
             
-            return ResponseEntity.ok(response);
+            if (page.getEtag().equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(page.getEtag()).build();
+            }
+            
+            // HashMap because nextCursor may be null
+            Map<String, Object> response = new HashMap<>();
+            response.put("clusters", page.getClusters());
+            response.put("count", page.getClusters().size());
+            response.put("totalMatching", page.getTotalMatching());
+            response.put("nextCursor", page.getNextCursor());
+            
+            return ResponseEntity.ok().eTag(page.getEtag()).body(response);
             
         } catch (Exception e) {
             log.error("Error listing clusters: {}", e.getMessage(), e);
@@ -249,4 +334,4 @@ public class ClusterController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.example.awsk8ssqs.controller;
+
+import com.example.awsk8ssqs.service.ClusterStatusEventBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams cluster status changes (phase, node count, current metrics, last action) as they
+ * are produced by the controller, instead of clients polling the status endpoint.
+ * All connections share one in-process event bus, so the cost does not grow with subscribers.
+ */
+@RestController
+@RequestMapping("/api/clusters/events")
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterEventController {
+
+    private final ClusterStatusEventBus statusEventBus;
+
+    @Value("${status-stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    /**
+     * Server-sent events stream. Each event carries the status sequence number as its id.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) String cluster) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        register(emitter, cluster, event -> emitter.send(SseEmitter.event()
+            .id(Long.toString(event.getSequence()))
+            .name("cluster-status")
+            .data(event, MediaType.APPLICATION_JSON)));
+
+        return emitter;
+    }
+
+    /**
+     * Newline-delimited JSON stream, one status event per line.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamEventsNdjson(@RequestParam(required = false) String cluster) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMs);
+
+        register(emitter, cluster, event -> {
+            emitter.send(event, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        });
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(emitter);
+    }
+
+    private void register(ResponseBodyEmitter emitter, String cluster, ClusterStatusEventBus.EventSink sink) {
+        ClusterStatusEventBus.Subscription subscription = statusEventBus.subscribe(cluster, sink);
+
+        emitter.onCompletion(() -> statusEventBus.unsubscribe(subscription));
+        emitter.onTimeout(() -> statusEventBus.unsubscribe(subscription));
+        emitter.onError(e -> statusEventBus.unsubscribe(subscription));
+
+        log.info("Status stream opened for {} ({} active)",
+            cluster != null ? cluster : "all clusters", statusEventBus.getSubscriberCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.awsk8ssqs.controller;
+
+import com.example.awsk8ssqs.model.dlq.ReplayJob;
+import com.example.awsk8ssqs.service.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller for re-driving quarantined messages out of the dead-letter queue.
+ */
+@RestController
+@Lazy
+@RequestMapping("/api/dlq")
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterController {
+
+    private final DeadLetterReplayService replayService;
+
+    /**
+     * Starts a rate-limited replay of dead-lettered messages back to their source queues.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> startReplay(
+            @RequestParam(required = false) String sourceQueue,
+            @RequestParam(defaultValue = "100") int maxMessages,
+            @RequestParam(defaultValue = "10") int ratePerSecond) {
+
+        log.info("Received DLQ replay request: source {}, max {}, {}/s", sourceQueue, maxMessages, ratePerSecond);
+
+        try {
+            ReplayJob job = replayService.start(sourceQueue, maxMessages, ratePerSecond);
+
+            Map<String, Object> response = Map.of(
+                "status", "accepted",
+                "message", "DLQ replay started",
+                "job", job
+            );
+
+            return ResponseEntity.accepted().body(response);
+
+        } catch (IllegalStateException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "status", "error",
+                "message", "A DLQ replay is already running",
+                "error", e.getMessage()
+            );
+
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+
+        } catch (Exception e) {
+            log.error("Error starting DLQ replay: {}", e.getMessage(), e);
+
+            Map<String, Object> errorResponse = Map.of(
+                "status", "error",
+                "message", "Failed to start DLQ replay",
+                "error", e.getMessage()
+            );
+
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Gets the progress of the current (or most recent) replay.
+     */
+    @GetMapping("/replay")
+    public ResponseEntity<ReplayJob> getReplay() {
+        ReplayJob job = replayService.getCurrentJob();
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Gets the progress of a replay by job ID.
+     */
+    @GetMapping("/replay/{jobId}")
+    public ResponseEntity<ReplayJob> getReplay(@PathVariable String jobId) {
+        ReplayJob job = replayService.getCurrentJob();
+        return job != null && job.getJobId().equals(jobId) ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Cancels the running replay after the message in hand.
+     */
+    @DeleteMapping("/replay")
+    public ResponseEntity<Map<String, Object>> cancelReplay() {
+        if (!replayService.cancel()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> response = Map.of(
+            "status", "cancelling",
+            "message", "DLQ replay cancellation requested"
+        );
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,27 @@
 package com.example.awsk8ssqs.controller;
 
 import com.example.awsk8ssqs.model.ClusterRequest;
+import com.example.awsk8ssqs.model.bulk.BatchItemState;
+import com.example.awsk8ssqs.model.bulk.BatchOperation;
+import com.example.awsk8ssqs.model.bulk.BulkClusterRequest;
+import com.example.awsk8ssqs.service.BulkProvisioningService;
 import com.example.awsk8ssqs.service.ClusterProvisioningService;
+import com.example.awsk8ssqs.service.ClusterRequestValidator;
+import com.example.awsk8ssqs.service.DeadLetterRouter;
+import com.example.awsk8ssqs.service.InFlightMessageTracker;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.awspring.cloud.sqs.listener.acknowledgement.Acknowledgement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Controller;
 
-import jakarta.validation.Valid;
-
 /**
  * Controller that handles SQS messages for cluster provisioning requests.
  */
@@ -21,107 +31,142 @@ import jakarta.validation.Valid;
 public class SqsMessageController {
 
     private final ClusterProvisioningService clusterProvisioningService;
+    private final BulkProvisioningService bulkProvisioningService;
+    private final ClusterRequestValidator clusterRequestValidator;
+    private final InFlightMessageTracker inFlightTracker;
     private final ObjectMapper objectMapper;
 
+    @Value("${aws.sqs.cluster-requests-queue:cluster-requests}")
+    private String clusterRequestsQueue;
+
+    @Value("${aws.sqs.cluster-deletion-queue:cluster-deletions}")
+    private String clusterDeletionQueue;
+
     /**
      * Handles cluster provisioning requests from SQS.
+     * A message with a "requests" array is treated as a bulk request (see {@link BulkClusterRequest}).
+     * The message is acknowledged only once provisioning completes; until then its visibility
+     * timeout is kept extended by the in-flight tracker.
      * 
      * @param message The SQS message payload
      * @param messageId The SQS message ID
      * @param receiptHandle The SQS receipt handle
      */
-    @SqsListener("${aws.sqs.cluster-requests-queue:cluster-requests}")
+    @SqsListener(value = "${aws.sqs.cluster-requests-queue:cluster-requests}", acknowledgementMode = "MANUAL")
     public void handleClusterRequest(
             @Payload String message,
             @Header("MessageId") String messageId,
-            @Header("ReceiptHandle") String receiptHandle) {
+            @Header("ReceiptHandle") String receiptHandle,
+            @Header(name = SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, required = false) String receiveCount,
+            @Header(name = DeadLetterRouter.ATTR_REPLAY_COUNT, required = false) String replayCount,
+            Visibility visibility,
+            Acknowledgement acknowledgement) {
         
         log.info("Received SQS message with ID: {} for cluster provisioning", messageId);
         
+        var inFlight = inFlightTracker.begin(clusterRequestsQueue, messageId, message, receiveCount, replayCount, visibility, acknowledgement);
+        if (inFlight == null) {
+            return;
+        }
+        
         try {
+            JsonNode payload = objectMapper.readTree(message);
+            if (payload.has("requests")) {
+                handleBulkClusterRequest(payload, messageId);
+                // Batch progress is tracked (and redeliveries collapsed) by batch ID, so ack on acceptance
+                inFlightTracker.complete(inFlight);
+                return;
+            }
+            
             // Parse the JSON message into ClusterRequest object
-            ClusterRequest clusterRequest = objectMapper.readValue(message, ClusterRequest.class);
+            ClusterRequest clusterRequest = objectMapper.treeToValue(payload, ClusterRequest.class);
             
             log.info("Processing cluster request: {}", clusterRequest);
             
+            // Redeliveries keep the message ID, so it doubles as idempotency key
+            if (clusterRequest.getRequestId() == null) {
+                clusterRequest.setRequestId(messageId);
+            }
+            
             // Validate the request
-            validateClusterRequest(clusterRequest);
+            clusterRequestValidator.validateOrThrow(clusterRequest);
+            clusterRequestValidator.applyDefaults(clusterRequest);
             
-            // Process the cluster provisioning request asynchronously
-            clusterProvisioningService.provisionCluster(clusterRequest);
+            // Process the cluster provisioning request asynchronously, acknowledging when it completes
+            inFlightTracker.completeWhen(inFlight, clusterProvisioningService.provisionCluster(clusterRequest));
             
             log.info("Successfully queued cluster provisioning for: {}", clusterRequest.getClusterName());
             
         } catch (Exception e) {
             log.error("Error processing SQS message {}: {}", messageId, e.getMessage(), e);
-            // In a production environment, you might want to send the message to a DLQ
-            throw new RuntimeException("Failed to process cluster request", e);
+            // Quarantines invalid requests, retries the rest with backoff
+            inFlightTracker.fail(inFlight, e);
         }
     }
 
+    /**
+     * Submits a bulk provisioning message. The SQS message ID is used as batch ID when none is
+     * given, so a redelivered message maps onto the batch that is already running.
+     */
+    private void handleBulkClusterRequest(JsonNode payload, String messageId) throws Exception {
+        BulkClusterRequest bulkRequest = objectMapper.treeToValue(payload, BulkClusterRequest.class);
+        if (bulkRequest.getBatchId() == null) {
+            bulkRequest.setBatchId(messageId);
+        }
+        if (bulkRequest.getRequestedBy() == null) {
+            bulkRequest.setRequestedBy("sqs");
+        }
+        
+        BatchOperation batch = bulkProvisioningService.submit(bulkRequest);
+        
+        log.info("Queued bulk provisioning batch {} with {} requests ({} rejected)",
+            batch.getBatchId(), batch.getTotal(), batch.getCounts().getOrDefault(BatchItemState.REJECTED, 0));
+    }
+
     /**
      * Handles cluster deletion requests from SQS.
      * 
      * @param message The SQS message payload
      * @param messageId The SQS message ID
      */
-    @SqsListener("${aws.sqs.cluster-deletion-queue:cluster-deletions}")
+    @SqsListener(value = "${aws.sqs.cluster-deletion-queue:cluster-deletions}", acknowledgementMode = "MANUAL")
     public void handleClusterDeletion(
             @Payload String message,
-            @Header("MessageId") String messageId) {
+            @Header("MessageId") String messageId,
+            @Header(name = SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, required = false) String receiveCount,
+            @Header(name = DeadLetterRouter.ATTR_REPLAY_COUNT, required = false) String replayCount,
+            Visibility visibility,
+            Acknowledgement acknowledgement) {
         
         log.info("Received SQS message with ID: {} for cluster deletion", messageId);
         
+        var inFlight = inFlightTracker.begin(clusterDeletionQueue, messageId, message, receiveCount, replayCount, visibility, acknowledgement);
+        if (inFlight == null) {
+            return;
+        }
+        
         try {
             // Parse the deletion request (could be just cluster name or full request)
             var deletionRequest = objectMapper.readTree(message);
+            if (!deletionRequest.hasNonNull("clusterName")) {
+                throw new IllegalArgumentException("Deletion request has no clusterName");
+            }
             String clusterName = deletionRequest.get("clusterName").asText();
             String namespace = deletionRequest.has("namespace") ? 
                 deletionRequest.get("namespace").asText() : "default";
+            String requestId = deletionRequest.has("requestId") ?
+                deletionRequest.get("requestId").asText() : messageId;
             
             log.info("Processing cluster deletion for: {} in namespace: {}", clusterName, namespace);
             
             // Process the cluster deletion request
-            clusterProvisioningService.deleteCluster(clusterName, namespace);
+            inFlightTracker.completeWhen(inFlight, clusterProvisioningService.deleteCluster(clusterName, namespace, requestId));
             
             log.info("Successfully queued cluster deletion for: {}", clusterName);
             
         } catch (Exception e) {
             log.error("Error processing deletion SQS message {}: {}", messageId, e.getMessage(), e);
-            throw new RuntimeException("Failed to process cluster deletion", e);
-        }
-    }
-
-    /**
-     * Basic validation of cluster request.
-     */
-    private void validateClusterRequest(@Valid ClusterRequest request) {
-        if (request.getClusterName() == null || request.getClusterName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Cluster name cannot be empty");
-        }
-        
-        if (request.getClusterType() == null || request.getClusterType().trim().isEmpty()) {
-            throw new IllegalArgumentException("Cluster type cannot be empty");
-        }
-        
-        if (request.getNodeCount() == null || request.getNodeCount() <= 0) {
-            throw new IllegalArgumentException("Node count must be positive");
-        }
-        
-        // Set defaults if not provided
-        if (request.getNamespace() == null || request.getNamespace().trim().isEmpty()) {
-            request.setNamespace("default");
-        }
-        
-        if (request.getVersion() == null || request.getVersion().trim().isEmpty()) {
-            // Set default version based on cluster type
-            switch (request.getClusterType().toLowerCase()) {
-                case "elasticsearch":
-                    request.setVersion("8.11.0");
-                    break;
-                default:
-                    request.setVersion("latest");
-            }
+            inFlightTracker.fail(inFlight, e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.example.awsk8ssqs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One CloudWatch alarm message processed by the controller, with the time spent in each stage.
+ *
+ * Stage durations are measured between calls to {@link #stageFinished(String)}, so the event's
+ * own duration minus the stages is time spent outside them (in-flight tracking, logging).
+ */
+@Name(AlarmProcessedEvent.NAME)
+@Label("Alarm Processed")
+@Category({"OpenSearch Controller", "Remediation"})
+@Description("CloudWatch alarm message processed by the remediation controller")
+@StackTrace(false)
+public class AlarmProcessedEvent extends Event {
+
+    public static final String NAME = "com.example.awsk8ssqs.AlarmProcessed";
+
+    @Label("Message ID")
+    public String messageId;
+
+    @Label("Cluster")
+    public String clusterName;
+
+    @Label("Alarm")
+    public String alarmName;
+
+    @Label("Alarm State")
+    public String alarmState;
+
+    @Label("Action")
+    public String actionType;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Failed Stage")
+    public String failedStage;
+
+    @Label("Decode")
+    @Timespan(Timespan.NANOSECONDS)
+    public long decodeDuration;
+
+    @Label("Namespace Queue")
+    @Timespan(Timespan.NANOSECONDS)
+    public long namespaceQueueDuration;
+
+    @Label("CRD Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    public long crdLookupDuration;
+
+    @Label("Decision")
+    @Timespan(Timespan.NANOSECONDS)
+    public long decideDuration;
+
+    @Label("Cooldown and Action")
+    @Timespan(Timespan.NANOSECONDS)
+    public long actionDuration;
+
+    @Label("Status Write")
+    @Timespan(Timespan.NANOSECONDS)
+    public long statusWriteDuration;
+
+    private transient long stageStartNanos;
+
+    // Handed out while the event type is disabled, so untraced messages allocate and time nothing
+    private static final AlarmProcessedEvent DISABLED = new AlarmProcessedEvent();
+
+    public static AlarmProcessedEvent start(String messageId) {
+        if (!DISABLED.isEnabled()) {
+            return DISABLED;
+        }
+        AlarmProcessedEvent event = new AlarmProcessedEvent();
+        event.messageId = messageId;
+        event.stageStartNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * The alarm the message was decoded into
+     */
+    public void alarmDecoded(String clusterName, String alarmName, String alarmState) {
+        if (this != DISABLED) {
+            this.clusterName = clusterName;
+            this.alarmName = alarmName;
+            this.alarmState = alarmState;
+        }
+    }
+
+    /**
+     * The remediation action decided for the alarm (null if none)
+     */
+    public void actionDecided(String actionType) {
+        if (this != DISABLED) {
+            this.actionType = actionType;
+        }
+    }
+
+    /**
+     * Attribute the time since the previous stage to the given one
+     */
+    public void stageFinished(String stage) {
+        if (this == DISABLED) {
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - stageStartNanos;
+        stageStartNanos = now;
+
+        switch (stage) {
+            case "decode":
+                decodeDuration = elapsed;
+                break;
+            case "namespace_queue":
+                namespaceQueueDuration = elapsed;
+                break;
+            case "crd_lookup":
+                crdLookupDuration = elapsed;
+                break;
+            case "decide":
+                decideDuration = elapsed;
+                break;
+            case "action":
+                actionDuration = elapsed;
+                break;
+            case "status_write":
+                statusWriteDuration = elapsed;
+                break;
+            default:
+                // Unknown stages only count towards the total
+        }
+    }
+
+    public void finish(String outcome, String failedStage) {
+        if (this == DISABLED) {
+            return;
+        }
+        this.outcome = outcome;
+        this.failedStage = failedStage;
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
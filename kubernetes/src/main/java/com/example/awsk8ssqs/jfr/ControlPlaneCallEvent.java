@@ -0,0 +1,77 @@
+package com.example.awsk8ssqs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to the OpenSearch service API or the Kubernetes API server
+ */
+@Name(ControlPlaneCallEvent.NAME)
+@Label("Control Plane Call")
+@Category({"OpenSearch Controller", "Control Plane"})
+@Description("Request to the OpenSearch service API or the Kubernetes API server")
+@StackTrace(false)
+public class ControlPlaneCallEvent extends Event {
+
+    public static final String NAME = "com.example.awsk8ssqs.ControlPlaneCall";
+
+    public static final String OPENSEARCH = "opensearch";
+    public static final String KUBERNETES = "kubernetes";
+
+    @Label("System")
+    public String system;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Cluster")
+    public String clusterName;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Error")
+    public String error;
+
+    // Handed out while the event type is disabled, so untraced calls allocate and format nothing
+    private static final ControlPlaneCallEvent DISABLED = new ControlPlaneCallEvent();
+
+    public static ControlPlaneCallEvent start(String system, String operation, String clusterName) {
+        if (!DISABLED.isEnabled()) {
+            return DISABLED;
+        }
+        ControlPlaneCallEvent event = new ControlPlaneCallEvent();
+        event.system = system;
+        event.operation = operation;
+        event.clusterName = clusterName;
+        event.begin();
+        return event;
+    }
+
+    public void succeeded(boolean success) {
+        if (this != DISABLED) {
+            this.success = success;
+        }
+    }
+
+    public void failed(Throwable error) {
+        if (this != DISABLED) {
+            this.success = false;
+            this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+    }
+
+    public void finish() {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
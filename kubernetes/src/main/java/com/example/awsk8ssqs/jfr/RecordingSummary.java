@@ -0,0 +1,157 @@
+package com.example.awsk8ssqs.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Command-line summary of a flight recording taken with the remediation profile.
+ *
+ * Prints one latency histogram per pipeline stage, remediation action type and control-plane
+ * operation found in the recording:
+ * <pre>
+ * java -cp aws-kubernetes-sqs-demo-1.0.0.jar com.example.awsk8ssqs.jfr.RecordingSummary recording.jfr
+ * </pre>
+ */
+public final class RecordingSummary {
+
+    // Histogram buckets: upper bounds in microseconds, roughly x2.5 apart
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000,
+        250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000, Long.MAX_VALUE
+    };
+    private static final int BAR_WIDTH = 40;
+
+    private static final String[] ALARM_STAGES = {
+        "decodeDuration", "namespaceQueueDuration", "crdLookupDuration", "decideDuration", "actionDuration", "statusWriteDuration"
+    };
+
+    private final Map<String, Series> series = new TreeMap<>();
+
+    private RecordingSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: RecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+
+        RecordingSummary summary = new RecordingSummary();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                summary.add(recording.readEvent());
+            }
+        }
+        summary.print(System.out);
+    }
+
+    private void add(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case AlarmProcessedEvent.NAME:
+                String outcome = event.getString("outcome");
+                record("alarm total (" + outcome + ")", event.getDuration());
+                for (String stage : ALARM_STAGES) {
+                    // Recordings from older versions lack the newer stages
+                    if (!event.hasField(stage)) {
+                        continue;
+                    }
+                    Duration duration = event.getDuration(stage);
+                    if (!duration.isZero()) {
+                        record("alarm stage " + stage.replace("Duration", ""), duration);
+                    }
+                }
+                break;
+            case RemediationActionEvent.NAME:
+                record("action " + event.getString("actionType")
+                    + (event.getBoolean("success") ? "" : " (failed)"), event.getDuration());
+                break;
+            case ControlPlaneCallEvent.NAME:
+                record(event.getString("system") + " " + event.getString("operation")
+                    + (event.getBoolean("success") ? "" : " (failed)"), event.getDuration());
+                break;
+            default:
+                // JDK events are left to JDK Mission Control
+        }
+    }
+
+    private void record(String key, Duration duration) {
+        series.computeIfAbsent(key, k -> new Series()).add(duration.toNanos());
+    }
+
+    private void print(PrintStream out) {
+        if (series.isEmpty()) {
+            out.println("No remediation events in recording");
+            return;
+        }
+
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            long[] sorted = s.sorted();
+            out.printf("%s%n  count=%d p50=%s p90=%s p99=%s max=%s%n", entry.getKey(), sorted.length,
+                format(percentile(sorted, 0.50)), format(percentile(sorted, 0.90)),
+                format(percentile(sorted, 0.99)), format(sorted[sorted.length - 1]));
+
+            long[] counts = s.bucketCounts();
+            long maxCount = Arrays.stream(counts).max().orElse(1);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                String bound = BUCKET_BOUNDS_MICROS[i] == Long.MAX_VALUE
+                    ? "inf" : format(BUCKET_BOUNDS_MICROS[i] * 1_000);
+                int bar = (int) Math.max(1, counts[i] * BAR_WIDTH / maxCount);
+                out.printf("  <= %-8s %8d %s%n", bound, counts[i], "#".repeat(bar));
+            }
+            out.println();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String format(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1fus", nanos / 1_000.0);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    private static final class Series {
+        private final List<Long> durations = new ArrayList<>();
+
+        void add(long nanos) {
+            durations.add(nanos);
+        }
+
+        long[] sorted() {
+            return durations.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        long[] bucketCounts() {
+            long[] counts = new long[BUCKET_BOUNDS_MICROS.length];
+            for (long nanos : durations) {
+                long micros = nanos / 1_000;
+                int bucket = 0;
+                while (micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                    bucket++;
+                }
+                counts[bucket]++;
+            }
+            return counts;
+        }
+    }
+}
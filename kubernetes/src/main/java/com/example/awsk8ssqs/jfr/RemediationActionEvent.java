@@ -0,0 +1,68 @@
+package com.example.awsk8ssqs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Execution of one remediation action (scaling, cluster creation, optimization, alert)
+ */
+@Name(RemediationActionEvent.NAME)
+@Label("Remediation Action")
+@Category({"OpenSearch Controller", "Remediation"})
+@Description("Remediation action executed against a cluster")
+@StackTrace(false)
+public class RemediationActionEvent extends Event {
+
+    public static final String NAME = "com.example.awsk8ssqs.RemediationAction";
+
+    @Label("Cluster")
+    public String clusterName;
+
+    @Label("Action")
+    public String actionType;
+
+    @Label("Rule")
+    public String ruleName;
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Target Nodes")
+    public int targetNodes;
+
+    @Label("Success")
+    public boolean success;
+
+    // Handed out while the event type is disabled, so untraced actions allocate nothing
+    private static final RemediationActionEvent DISABLED = new RemediationActionEvent();
+
+    public static RemediationActionEvent start(String clusterName, String actionType, String ruleName,
+                                               String priority, Integer targetNodes) {
+        if (!DISABLED.isEnabled()) {
+            return DISABLED;
+        }
+        RemediationActionEvent event = new RemediationActionEvent();
+        event.clusterName = clusterName;
+        event.actionType = actionType;
+        event.ruleName = ruleName;
+        event.priority = priority;
+        event.targetNodes = targetNodes != null ? targetNodes : 0;
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean success) {
+        if (this == DISABLED) {
+            return;
+        }
+        this.success = success;
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -103,6 +103,8 @@ public class OpenSearchCluster {
         private LastAction lastAction;
         private List<ClusterCondition> conditions;
         private LocalDateTime lastUpdated;
+        // Name, state and reason of the last alarm received for the cluster
+        private String lastAlarmInfo;
     }
     
     @Data
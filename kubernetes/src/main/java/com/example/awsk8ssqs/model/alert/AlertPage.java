@@ -0,0 +1,24 @@
+package com.example.awsk8ssqs.model.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of alert history. Pass {@code nextCursor} back as {@code since}
+ * to continue reading from where this page ended.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertPage {
+    private List<AlertRecord> alerts;
+    private long nextCursor;
+    private boolean hasMore;
+    // True when alerts newer than the requested cursor were already overwritten
+    private boolean truncated;
+}
@@ -0,0 +1,26 @@
+package com.example.awsk8ssqs.model.alert;
+
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Structured alert entry kept in the in-memory alert history.
+ * The message is stored raw - display formatting is left to the consumer.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRecord {
+    private long sequence;
+    private LocalDateTime timestamp;
+    private String clusterName;
+    private AlertLevel level;
+    private AlertType type;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.example.awsk8ssqs.model.alert;
+
+public enum AlertType {
+    GENERAL("General alert"),
+    SCALING("Cluster scaling event"),
+    CLUSTER_CREATION("New cluster created"),
+    OPTIMIZATION("Cluster optimization"),
+    THRESHOLD_BREACH("Metrics threshold breach"),
+    ACTION_FAILURE("Remediation action failure"),
+    ACTION_SUMMARY("Remediation summary"),
+    HEALTH("Cluster health"),
+    TEST("Alert system test");
+    
+    private final String description;
+    
+    AlertType(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.awsk8ssqs.model.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-request progress within a provisioning batch
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItem {
+    private int index;
+    private String clusterName;
+    private String requestId;
+    private BatchItemState state;
+    private String error;
+    private String result; // domain ARN once provisioned
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.awsk8ssqs.model.bulk;
+
+/**
+ * Progress of a single request within a provisioning batch
+ */
+public enum BatchItemState {
+    REJECTED,       // Failed validation, never submitted
+    QUEUED,         // Waiting for a free provisioning slot
+    PROVISIONING,   // Submitted to the provisioning service
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == REJECTED || this == SUCCEEDED || this == FAILED;
+    }
+}
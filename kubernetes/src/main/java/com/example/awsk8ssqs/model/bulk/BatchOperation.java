@@ -0,0 +1,27 @@
+package com.example.awsk8ssqs.model.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time view of a provisioning batch and the progress of each of its items
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+    private String batchId;
+    private String requestedBy;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt; // null while items are still queued or provisioning
+    private int total;
+    private Map<BatchItemState, Integer> counts;
+    private List<BatchItem> items;
+}
@@ -0,0 +1,29 @@
+package com.example.awsk8ssqs.model.bulk;
+
+import com.example.awsk8ssqs.model.ClusterRequest;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A batch of cluster provisioning requests, received over REST or as a single SQS message.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkClusterRequest {
+
+    @JsonProperty("batchId")
+    private String batchId; // optional, generated when absent
+
+    @JsonProperty("requestedBy")
+    private String requestedBy;
+
+    @JsonProperty("requests")
+    private List<ClusterRequest> requests;
+}
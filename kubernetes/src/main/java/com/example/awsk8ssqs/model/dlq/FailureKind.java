@@ -0,0 +1,9 @@
+package com.example.awsk8ssqs.model.dlq;
+
+/**
+ * Classification of a message processing failure
+ */
+public enum FailureKind {
+    POISON,     // Malformed or invalid message - retrying can never succeed, quarantine immediately
+    TRANSIENT   // Downstream or infrastructure error - retry with backoff
+}
@@ -0,0 +1,29 @@
+package com.example.awsk8ssqs.model.dlq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a dead-letter queue replay
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayJob {
+    private String jobId;
+    private String sourceQueue;   // only replay messages quarantined from this queue (null for all)
+    private int maxMessages;
+    private int ratePerSecond;
+    private ReplayState state;
+    private int replayed;
+    private int skipped;
+    private int failed;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
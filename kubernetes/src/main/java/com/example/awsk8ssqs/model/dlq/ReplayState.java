@@ -0,0 +1,11 @@
+package com.example.awsk8ssqs.model.dlq;
+
+/**
+ * Lifecycle of a dead-letter replay job
+ */
+public enum ReplayState {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,28 @@
+package com.example.awsk8ssqs.model.event;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change in the observable status of a cluster, as pushed to status stream subscribers.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterStatusEvent {
+    private long sequence;
+    private String clusterName;
+    private String namespace;
+    private ClusterPhase phase;
+    private Integer nodeCount;
+    private OpenSearchCluster.CurrentMetrics currentMetrics;
+    private OpenSearchCluster.LastAction lastAction;
+    private LocalDateTime timestamp;
+}
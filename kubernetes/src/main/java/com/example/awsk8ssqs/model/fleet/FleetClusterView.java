@@ -0,0 +1,30 @@
+package com.example.awsk8ssqs.model.fleet;
+
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Merged view of one cluster: the OpenSearchCluster custom resource (if any)
+ * combined with the status of the matching AWS OpenSearch domain (if any).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetClusterView {
+    private String name;
+    private String namespace;
+    private boolean managed; // true when backed by an OpenSearchCluster resource
+    private ClusterPhase phase;
+    private Integer desiredNodeCount;
+    private Integer nodeCount;
+    private String instanceType;
+    private String domainStatus;
+    private String endpoint;
+    private LocalDateTime lastUpdated;
+}
@@ -0,0 +1,22 @@
+package com.example.awsk8ssqs.model.fleet;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the fleet listing. nextCursor is null on the last page.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetPage {
+    private List<FleetClusterView> clusters;
+    private String nextCursor;
+    private int totalMatching;
+    private String etag;
+}
@@ -0,0 +1,20 @@
+package com.example.awsk8ssqs.model.fleet;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Immutable point-in-time view of the whole fleet, sorted by cluster name.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetSnapshot {
+    private List<FleetClusterView> clusters;
+    private String etag;
+}
@@ -0,0 +1,55 @@
+package com.example.awsk8ssqs.model.metrics;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat, reusable view of a CloudWatch metrics message holding only what the controller
+ * pipeline reads. Numeric fields are primitives and NaN when absent from the message.
+ *
+ * Instances are mutable and reused by the decoder; copy values out before handing
+ * anything to another thread.
+ */
+@Data
+@NoArgsConstructor
+public class MetricsSample {
+    private String messageType;
+    private String clusterName;
+
+    // Headline metrics (averages, search latency at p95)
+    private double cpu = Double.NaN;
+    private double memory = Double.NaN;
+    private double disk = Double.NaN;
+    private double latency = Double.NaN;
+    private double queryRate = Double.NaN;
+
+    // First alarm of the message - each SQS message carries one alarm state transition
+    private int alarmCount;
+    private String alarmName;
+    private String alarmState;
+    private String alarmReason;
+    private String alarmComparisonOperator;
+    private double alarmThreshold = Double.NaN;
+    private double alarmValue = Double.NaN;
+
+    public boolean hasAlarm() {
+        return alarmCount > 0 && alarmName != null;
+    }
+
+    public void reset() {
+        messageType = null;
+        clusterName = null;
+        cpu = Double.NaN;
+        memory = Double.NaN;
+        disk = Double.NaN;
+        latency = Double.NaN;
+        queryRate = Double.NaN;
+        alarmCount = 0;
+        alarmName = null;
+        alarmState = null;
+        alarmReason = null;
+        alarmComparisonOperator = null;
+        alarmThreshold = Double.NaN;
+        alarmValue = Double.NaN;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.awsk8ssqs.model.operation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * State of a provisioning or deletion operation, as exposed by the API and written to the journal.
+ * All request IDs that were collapsed onto the operation are listed.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationRecord {
+    private String operationId;
+    private OperationType type;
+    private String clusterName;
+    private Set<String> requestIds;
+    private OperationState state;
+    private String result;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,11 @@
+package com.example.awsk8ssqs.model.operation;
+
+/**
+ * Lifecycle of a tracked control-plane operation
+ */
+public enum OperationState {
+    IN_PROGRESS,
+    SUCCEEDED,
+    FAILED,
+    INTERRUPTED // Was in progress when the application stopped, outcome unknown
+}
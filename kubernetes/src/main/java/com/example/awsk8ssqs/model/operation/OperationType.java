@@ -0,0 +1,9 @@
+package com.example.awsk8ssqs.model.operation;
+
+/**
+ * Control-plane operations tracked by the operation registry
+ */
+public enum OperationType {
+    PROVISION,
+    DELETE
+}
@@ -0,0 +1,11 @@
+package com.example.awsk8ssqs.model.remediation;
+
+/**
+ * What to do with a planned action given its cooldown and the cluster's state
+ */
+public enum CooldownDecision {
+    EXECUTE,                // no cooldown or state conflict
+    BYPASS_TIME_COOLDOWN,   // in time cooldown, but critical alarms may bypass it
+    BLOCKED_BY_STATE,       // the cluster is in a phase that conflicts with the action
+    DELAY                   // in time cooldown; retry once it expires
+}
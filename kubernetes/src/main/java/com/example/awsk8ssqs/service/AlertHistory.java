@@ -0,0 +1,240 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.alert.AlertPage;
+import com.example.awsk8ssqs.model.alert.AlertRecord;
+import com.example.awsk8ssqs.model.alert.AlertType;
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free history of recent alerts.
+ *
+ * Alerts are written into a fixed-size ring buffer addressed by a global sequence number,
+ * so appending is a single atomic increment plus an array store and memory never grows
+ * beyond the configured capacity. Secondary per-cluster and per-level rings of sequence
+ * numbers let filtered queries skip the full scan.
+ *
+ * An alert is indexed before it is stored in the ring, and queries only read up to the
+ * published watermark: the newest sequence such that it and every sequence before it are
+ * stored. Concurrent appenders may finish out of order, so without the watermark a query
+ * could return a later alert and move its cursor past an earlier one still being written.
+ */
+@Service
+@Slf4j
+public class AlertHistory {
+
+    private final AtomicReferenceArray<AlertRecord> ring;
+    private final int mask;
+
+    // Sequences start at 1 so that a cursor of 0 means "from the oldest available alert"
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    // Newest sequence up to which every alert is indexed and stored
+    private final AtomicLong published = new AtomicLong();
+
+    private final Map<String, SequenceIndex> clusterIndex = new ConcurrentHashMap<>();
+    private final Map<AlertLevel, SequenceIndex> levelIndex = new EnumMap<>(AlertLevel.class);
+    private final int clusterIndexSize;
+
+    public AlertHistory(@Value("${alerts.history.capacity:4096}") int capacity,
+                        @Value("${alerts.history.per-cluster-capacity:256}") int perClusterCapacity) {
+        int size = roundUpToPowerOfTwo(capacity);
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.clusterIndexSize = roundUpToPowerOfTwo(Math.min(perClusterCapacity, size));
+
+        // Level index is populated once here and only read afterwards, so a plain EnumMap is safe
+        for (AlertLevel level : AlertLevel.values()) {
+            levelIndex.put(level, new SequenceIndex(size));
+        }
+
+        log.info("Alert history initialized with capacity {} ({} per cluster)", size, clusterIndexSize);
+    }
+
+    /**
+     * Append an alert to the history
+     */
+    public AlertRecord append(String clusterName, AlertLevel level, AlertType type, String message) {
+        long sequence = nextSequence.getAndIncrement();
+
+        AlertRecord record = AlertRecord.builder()
+            .sequence(sequence)
+            .timestamp(LocalDateTime.now())
+            .clusterName(clusterName)
+            .level(level)
+            .type(type)
+            .message(message)
+            .build();
+
+        levelIndex.get(level).add(sequence);
+        if (clusterName != null) {
+            clusterIndex.computeIfAbsent(clusterName, k -> new SequenceIndex(clusterIndexSize)).add(sequence);
+        }
+        ring.set((int) (sequence & mask), record);
+        advancePublished();
+
+        return record;
+    }
+
+    /**
+     * Move the watermark over every stored alert that directly follows it. Each appender
+     * runs this after storing, so whichever of several concurrent appenders finishes last
+     * moves the watermark over all of them.
+     */
+    private void advancePublished() {
+        while (true) {
+            long watermark = published.get();
+            AlertRecord next = ring.get((int) ((watermark + 1) & mask));
+            // A newer sequence in the slot means watermark + 1 was stored and already overwritten
+            if (next == null || next.getSequence() <= watermark) {
+                return;
+            }
+            published.compareAndSet(watermark, watermark + 1);
+        }
+    }
+
+    /**
+     * Read alerts newer than the given cursor, oldest first.
+     *
+     * @param clusterName only return alerts for this cluster (null for all)
+     * @param level       only return alerts at this level (null for all)
+     * @param since       sequence of the last alert already seen (0 to start from the oldest)
+     * @param limit       maximum number of alerts to return
+     */
+    public AlertPage query(String clusterName, AlertLevel level, long since, int limit) {
+        long head = published.get(); // newest sequence with all earlier ones stored
+        long oldestRetained = Math.max(1, head - ring.length() + 1);
+        long from = Math.max(since + 1, oldestRetained);
+
+        long[] candidates;
+        if (clusterName != null) {
+            SequenceIndex index = clusterIndex.get(clusterName);
+            candidates = index != null ? index.snapshotBetween(from - 1, head) : new long[0];
+        } else if (level != null) {
+            candidates = levelIndex.get(level).snapshotBetween(from - 1, head);
+        } else {
+            candidates = null; // plain range scan over the ring
+        }
+
+        List<AlertRecord> alerts = new ArrayList<>(Math.min(limit, 64));
+        long cursor = since;
+        boolean hasMore = false;
+
+        if (candidates == null) {
+            for (long sequence = from; sequence <= head; sequence++) {
+                if (alerts.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                AlertRecord record = read(sequence);
+                // Null only if overwritten since the watermark was read
+                if (record != null) {
+                    alerts.add(record);
+                }
+                cursor = sequence;
+            }
+        } else {
+            for (long sequence : candidates) {
+                AlertRecord record = read(sequence);
+                if (record == null || (level != null && record.getLevel() != level)) {
+                    continue;
+                }
+                if (alerts.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                alerts.add(record);
+                cursor = sequence;
+            }
+            if (!hasMore) {
+                // Every match up to the watermark has been returned
+                cursor = Math.max(cursor, head);
+            }
+        }
+
+        return AlertPage.builder()
+            .alerts(alerts)
+            .nextCursor(cursor)
+            .hasMore(hasMore)
+            .truncated(since + 1 < oldestRetained)
+            .build();
+    }
+
+    /**
+     * Sequence number of the most recent published alert (0 if none recorded yet)
+     */
+    public long getLatestSequence() {
+        return published.get();
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    /**
+     * Read a slot, returning null if it has since been overwritten or is not yet published
+     */
+    private AlertRecord read(long sequence) {
+        AlertRecord record = ring.get((int) (sequence & mask));
+        return record != null && record.getSequence() == sequence ? record : null;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        int highest = Integer.highestOneBit(value - 1) << 1;
+        return highest > 0 ? highest : 1 << 30;
+    }
+
+    /**
+     * Fixed-size ring of sequence numbers used as a secondary index
+     */
+    private static final class SequenceIndex {
+        private final AtomicLongArray slots;
+        private final int indexMask;
+        private final AtomicLong writes = new AtomicLong();
+
+        SequenceIndex(int size) {
+            this.slots = new AtomicLongArray(size);
+            this.indexMask = size - 1;
+        }
+
+        void add(long sequence) {
+            long position = writes.getAndIncrement();
+            slots.set((int) (position & indexMask), sequence);
+        }
+
+        /**
+         * Sorted sequences greater than after and at most upTo. Concurrent appenders may
+         * add slightly out of order, hence the sort.
+         */
+        long[] snapshotBetween(long after, long upTo) {
+            long end = writes.get();
+            long start = Math.max(0, end - slots.length());
+            long[] result = new long[(int) (end - start)];
+            int count = 0;
+            for (long position = start; position < end; position++) {
+                long sequence = slots.get((int) (position & indexMask));
+                if (sequence > after && sequence <= upTo) {
+                    result[count++] = sequence;
+                }
+            }
+            long[] matches = Arrays.copyOf(result, count);
+            Arrays.sort(matches);
+            return matches;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.example.awsk8ssqs.service;
 
-import com.example.awsk8ssqs.model.RemediationAction;
+import com.example.awsk8ssqs.model.alert.AlertType;
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import com.example.awsk8ssqs.model.remediation.RemediationAction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Map;
 
 @Service
@@ -14,37 +14,51 @@ import java.util.Map;
 @Slf4j
 public class AlertService {
     
+    private final AlertHistory alertHistory;
+    
     /**
      * Send an alert with specified level
      */
-    public void sendAlert(String message, RemediationAction.AlertLevel level) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        String formattedMessage = String.format("[%s] %s: %s", timestamp, level.getDescription(), message);
-        
+    public void sendAlert(String message, AlertLevel level) {
+        sendAlert(null, AlertType.GENERAL, message, level);
+    }
+    
+    /**
+     * Send an alert for a specific cluster so it can be queried from the alert history
+     */
+    public void sendAlert(String clusterName, String message, AlertLevel level) {
+        sendAlert(clusterName, AlertType.GENERAL, message, level);
+    }
+    
+    /**
+     * Send a typed alert for a specific cluster
+     */
+    public void sendAlert(String clusterName, AlertType type, String message, AlertLevel level) {
+        // No message formatting here: the log lines are parameterized and carry their own timestamps
         switch (level) {
             case CRITICAL:
-                sendCriticalAlert(formattedMessage);
+                sendCriticalAlert(level, message);
                 break;
             case ERROR:
-                sendErrorAlert(formattedMessage);
+                sendErrorAlert(level, message);
                 break;
             case WARNING:
-                sendWarningAlert(formattedMessage);
+                sendWarningAlert(level, message);
                 break;
             case INFO:
-                sendInfoAlert(formattedMessage);
+                sendInfoAlert(level, message);
                 break;
         }
         
         // Store alert in local history (in production, send to external systems)
-        storeAlert(formattedMessage, level);
+        storeAlert(clusterName, type, message, level);
     }
     
     /**
      * Send critical alert - highest priority
      */
-    private void sendCriticalAlert(String message) {
-        log.error("🚨 CRITICAL ALERT: {}", message);
+    private void sendCriticalAlert(AlertLevel level, String message) {
+        log.error("🚨 CRITICAL ALERT: {}: {}", level.getDescription(), message);
         
         // In production, this would:
         // - Send to PagerDuty/OpsGenie
@@ -55,48 +69,48 @@ public class AlertService {
         // For demo, just log prominently
         System.err.println("=".repeat(80));
         System.err.println("🚨 CRITICAL OPENSEARCH CLUSTER ALERT 🚨");
-        System.err.println(message);
+        System.err.println(level.getDescription() + ": " + message);
         System.err.println("=".repeat(80));
     }
     
     /**
      * Send error alert
      */
-    private void sendErrorAlert(String message) {
-        log.error("❌ ERROR ALERT: {}", message);
+    private void sendErrorAlert(AlertLevel level, String message) {
+        log.error("❌ ERROR ALERT: {}: {}", level.getDescription(), message);
         
         // In production:
         // - Send to Slack
         // - Email to team
         // - Post to monitoring dashboard
         
-        System.out.println("❌ OpenSearch Cluster Error: " + message);
+        System.out.println("❌ OpenSearch Cluster Error: " + level.getDescription() + ": " + message);
     }
     
     /**
      * Send warning alert
      */
-    private void sendWarningAlert(String message) {
-        log.warn("⚠️ WARNING ALERT: {}", message);
+    private void sendWarningAlert(AlertLevel level, String message) {
+        log.warn("⚠️ WARNING ALERT: {}: {}", level.getDescription(), message);
         
         // In production:
         // - Send to Slack
         // - Add to monitoring dashboard
         
-        System.out.println("⚠️ OpenSearch Cluster Warning: " + message);
+        System.out.println("⚠️ OpenSearch Cluster Warning: " + level.getDescription() + ": " + message);
     }
     
     /**
      * Send info alert
      */
-    private void sendInfoAlert(String message) {
-        log.info("ℹ️ INFO ALERT: {}", message);
+    private void sendInfoAlert(AlertLevel level, String message) {
+        log.info("ℹ️ INFO ALERT: {}: {}", level.getDescription(), message);
         
         // In production:
         // - Send to monitoring systems
         // - Log to audit trail
         
-        System.out.println("ℹ️ OpenSearch Cluster Info: " + message);
+        System.out.println("ℹ️ OpenSearch Cluster Info: " + level.getDescription() + ": " + message);
     }
     
     /**
@@ -108,8 +122,8 @@ public class AlertService {
             clusterName, oldNodeCount, newNodeCount, reason
         );
         
-        RemediationAction.AlertLevel level = determineScalingAlertLevel(oldNodeCount, newNodeCount);
-        sendAlert(message, level);
+        AlertLevel level = determineScalingAlertLevel(oldNodeCount, newNodeCount);
+        sendAlert(clusterName, AlertType.SCALING, message, level);
     }
     
     /**
@@ -121,7 +135,7 @@ public class AlertService {
             clusterName, reason
         );
         
-        sendAlert(message, RemediationAction.AlertLevel.WARNING);
+        sendAlert(clusterName, AlertType.CLUSTER_CREATION, message, AlertLevel.WARNING);
     }
     
     /**
@@ -133,7 +147,7 @@ public class AlertService {
             clusterName, String.join(", ", optimizations)
         );
         
-        sendAlert(message, RemediationAction.AlertLevel.INFO);
+        sendAlert(clusterName, AlertType.OPTIMIZATION, message, AlertLevel.INFO);
     }
     
     /**
@@ -145,8 +159,8 @@ public class AlertService {
             clusterName, metric, value, threshold
         );
         
-        RemediationAction.AlertLevel level = determineThresholdAlertLevel(value, threshold);
-        sendAlert(message, level);
+        AlertLevel level = determineThresholdAlertLevel(value, threshold);
+        sendAlert(clusterName, AlertType.THRESHOLD_BREACH, message, level);
     }
     
     /**
@@ -158,7 +172,7 @@ public class AlertService {
             actionType, clusterName, reason
         );
         
-        sendAlert(message, RemediationAction.AlertLevel.ERROR);
+        sendAlert(clusterName, AlertType.ACTION_FAILURE, message, AlertLevel.ERROR);
     }
     
     /**
@@ -170,59 +184,60 @@ public class AlertService {
             clusterName, healthStatus, details
         );
         
-        RemediationAction.AlertLevel level = healthStatus.equalsIgnoreCase("red") ? 
-            RemediationAction.AlertLevel.CRITICAL : 
+        AlertLevel level = healthStatus.equalsIgnoreCase("red") ? 
+            AlertLevel.CRITICAL : 
             healthStatus.equalsIgnoreCase("yellow") ? 
-                RemediationAction.AlertLevel.WARNING : 
-                RemediationAction.AlertLevel.INFO;
+                AlertLevel.WARNING : 
+                AlertLevel.INFO;
                 
-        sendAlert(message, level);
+        sendAlert(clusterName, AlertType.HEALTH, message, level);
     }
     
     /**
      * Store alert in history for auditing
      */
-    private void storeAlert(String message, RemediationAction.AlertLevel level) {
-        // In production, store in:
-        // - Database for audit trail
+    private void storeAlert(String clusterName, AlertType type, String message, AlertLevel level) {
+        // Keep a bounded in-memory audit trail, queryable via /api/alerts.
+        // In production, also ship to:
+        // - Database for long-term audit trail
         // - Time-series database for metrics
         // - External logging system (ELK, Splunk, etc.)
         
-        log.debug("Stored alert: [{}] {}", level, message);
+        alertHistory.append(clusterName, level, type, message);
     }
     
     /**
      * Determine appropriate alert level for scaling events
      */
-    private RemediationAction.AlertLevel determineScalingAlertLevel(int oldCount, int newCount) {
+    private AlertLevel determineScalingAlertLevel(int oldCount, int newCount) {
         int difference = Math.abs(newCount - oldCount);
         double percentageChange = (double) difference / oldCount * 100;
         
         if (percentageChange > 100) {
-            return RemediationAction.AlertLevel.CRITICAL; // Doubling or more
+            return AlertLevel.CRITICAL; // Doubling or more
         } else if (percentageChange > 50) {
-            return RemediationAction.AlertLevel.ERROR; // Major scaling
+            return AlertLevel.ERROR; // Major scaling
         } else if (percentageChange > 25) {
-            return RemediationAction.AlertLevel.WARNING; // Moderate scaling
+            return AlertLevel.WARNING; // Moderate scaling
         } else {
-            return RemediationAction.AlertLevel.INFO; // Minor scaling
+            return AlertLevel.INFO; // Minor scaling
         }
     }
     
     /**
      * Determine appropriate alert level for threshold breaches
      */
-    private RemediationAction.AlertLevel determineThresholdAlertLevel(double value, double threshold) {
+    private AlertLevel determineThresholdAlertLevel(double value, double threshold) {
         double overage = (value - threshold) / threshold * 100;
         
         if (overage > 50) {
-            return RemediationAction.AlertLevel.CRITICAL; // 50% over threshold
+            return AlertLevel.CRITICAL; // 50% over threshold
         } else if (overage > 25) {
-            return RemediationAction.AlertLevel.ERROR; // 25% over threshold
+            return AlertLevel.ERROR; // 25% over threshold
         } else if (overage > 10) {
-            return RemediationAction.AlertLevel.WARNING; // 10% over threshold
+            return AlertLevel.WARNING; // 10% over threshold
         } else {
-            return RemediationAction.AlertLevel.INFO; // Just over threshold
+            return AlertLevel.INFO; // Just over threshold
         }
     }
     
@@ -250,17 +265,17 @@ public class AlertService {
                 .orElse("none")
         );
         
-        RemediationAction.AlertLevel level = failedActions > 0 ? 
-            RemediationAction.AlertLevel.WARNING : 
-            RemediationAction.AlertLevel.INFO;
+        AlertLevel level = failedActions > 0 ? 
+            AlertLevel.WARNING : 
+            AlertLevel.INFO;
             
-        sendAlert(message, level);
+        sendAlert(clusterName, AlertType.ACTION_SUMMARY, message, level);
     }
     
     /**
      * Test method to verify alert system is working
      */
     public void sendTestAlert() {
-        sendAlert("OpenSearch Controller Alert System Test", RemediationAction.AlertLevel.INFO);
+        sendAlert(null, AlertType.TEST, "OpenSearch Controller Alert System Test", AlertLevel.INFO);
     }
 } 
\ No newline at end of file
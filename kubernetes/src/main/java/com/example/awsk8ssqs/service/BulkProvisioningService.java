@@ -0,0 +1,292 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.ClusterRequest;
+import com.example.awsk8ssqs.model.bulk.BatchItem;
+import com.example.awsk8ssqs.model.bulk.BatchItemState;
+import com.example.awsk8ssqs.model.bulk.BatchOperation;
+import com.example.awsk8ssqs.model.bulk.BulkClusterRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Provisions batches of clusters through {@link ClusterProvisioningService}.
+ *
+ * The whole batch is validated in one pass before anything is submitted. Valid items are
+ * queued and started as provisioning slots free up, so at most max-concurrency
+ * provisioning operations (and their status waiters) run at once across all batches.
+ * Progress of each item is tracked under the returned batch ID.
+ */
+@Service
+@Slf4j
+public class BulkProvisioningService {
+
+    private final ClusterProvisioningService clusterProvisioningService;
+    private final ClusterRequestValidator clusterRequestValidator;
+    private final int maxBatchSize;
+    private final int retainedBatches;
+
+    private final Semaphore provisioningSlots;
+    private final Queue<PendingItem> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, BatchTracker> batches = new ConcurrentHashMap<>();
+    private final Queue<String> batchOrder = new ConcurrentLinkedQueue<>();
+
+    public BulkProvisioningService(ClusterProvisioningService clusterProvisioningService,
+                                   ClusterRequestValidator clusterRequestValidator,
+                                   @Value("${bulk.provisioning.max-concurrency:10}") int maxConcurrency,
+                                   @Value("${bulk.provisioning.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${bulk.provisioning.retained-batches:100}") int retainedBatches) {
+        this.clusterProvisioningService = clusterProvisioningService;
+        this.clusterRequestValidator = clusterRequestValidator;
+        this.maxBatchSize = maxBatchSize;
+        this.retainedBatches = retainedBatches;
+        this.provisioningSlots = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    /**
+     * Validate and submit a batch. Invalid items are reported as REJECTED, the rest are queued.
+     * Resubmitting a known batch ID (e.g. SQS redelivery) returns the existing batch.
+     */
+    public BatchOperation submit(BulkClusterRequest bulkRequest) {
+        List<ClusterRequest> requests = bulkRequest.getRequests();
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one request");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds maximum of " + maxBatchSize);
+        }
+
+        String batchId = bulkRequest.getBatchId() != null ? bulkRequest.getBatchId() : UUID.randomUUID().toString();
+        String requestedBy = bulkRequest.getRequestedBy() != null ? bulkRequest.getRequestedBy() : "bulk-api";
+
+        BatchTracker existing = batches.get(batchId);
+        if (existing != null) {
+            log.info("Batch {} already submitted, returning current progress", batchId);
+            return existing.snapshot();
+        }
+
+        BatchTracker tracker = new BatchTracker(batchId, requestedBy, requests.size());
+        List<PendingItem> accepted = new ArrayList<>(requests.size());
+        Set<String> seenNames = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ClusterRequest request = requests.get(i);
+            List<String> errors = clusterRequestValidator.validate(request);
+            if (request != null && request.getClusterName() != null && !seenNames.add(request.getClusterName())) {
+                errors.add("Duplicate cluster name in batch: " + request.getClusterName());
+            }
+
+            BatchItem.BatchItemBuilder item = BatchItem.builder()
+                .index(i)
+                .clusterName(request != null ? request.getClusterName() : null);
+
+            if (!errors.isEmpty()) {
+                tracker.init(i, item
+                    .state(BatchItemState.REJECTED)
+                    .error(String.join("; ", errors))
+                    .completedAt(LocalDateTime.now())
+                    .build());
+                continue;
+            }
+
+            clusterRequestValidator.applyDefaults(request);
+            if (request.getRequestId() == null) {
+                request.setRequestId(batchId + "-" + i);
+            }
+            if (request.getRequestedAt() == null) {
+                request.setRequestedAt(LocalDateTime.now());
+            }
+            if (request.getRequestedBy() == null) {
+                request.setRequestedBy(requestedBy);
+            }
+
+            tracker.init(i, item
+                .requestId(request.getRequestId())
+                .state(BatchItemState.QUEUED)
+                .build());
+            accepted.add(new PendingItem(tracker, i, request));
+        }
+
+        if (batches.putIfAbsent(batchId, tracker) != null) {
+            return batches.get(batchId).snapshot();
+        }
+        batchOrder.add(batchId);
+        evictCompletedBatches();
+
+        log.info("Batch {} submitted by {}: {} accepted, {} rejected",
+            batchId, requestedBy, accepted.size(), requests.size() - accepted.size());
+
+        pending.addAll(accepted);
+        dispatch();
+
+        return tracker.snapshot();
+    }
+
+    /**
+     * Current progress of a batch, or null if unknown or evicted
+     */
+    public BatchOperation getBatch(String batchId) {
+        BatchTracker tracker = batches.get(batchId);
+        return tracker != null ? tracker.snapshot() : null;
+    }
+
+    /**
+     * Start queued items while provisioning slots are available
+     */
+    private void dispatch() {
+        while (!pending.isEmpty() && provisioningSlots.tryAcquire()) {
+            PendingItem item = pending.poll();
+            if (item == null) {
+                // Another thread took the last item
+                provisioningSlots.release();
+                continue;
+            }
+            start(item);
+        }
+    }
+
+    private void start(PendingItem item) {
+        item.tracker.update(item.index, current -> current.toBuilder()
+            .state(BatchItemState.PROVISIONING)
+            .startedAt(LocalDateTime.now())
+            .build());
+
+        CompletableFuture<String> future;
+        try {
+            future = clusterProvisioningService.provisionCluster(item.request);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((arn, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                log.warn("Batch {} item {} ({}) failed: {}",
+                    item.tracker.batchId, item.index, item.request.getClusterName(), cause.getMessage());
+                item.tracker.update(item.index, current -> current.toBuilder()
+                    .state(BatchItemState.FAILED)
+                    .error(cause.getMessage())
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            } else {
+                item.tracker.update(item.index, current -> current.toBuilder()
+                    .state(BatchItemState.SUCCEEDED)
+                    .result(arn)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            }
+
+            provisioningSlots.release();
+            dispatch();
+        });
+    }
+
+    /**
+     * Keep at most retained-batches batches, dropping the oldest finished ones first.
+     * Batches still in progress are never evicted.
+     */
+    private void evictCompletedBatches() {
+        while (batches.size() > retainedBatches) {
+            String oldest = batchOrder.peek();
+            if (oldest == null) {
+                return;
+            }
+            BatchTracker tracker = batches.get(oldest);
+            if (tracker != null && tracker.completedAt == null) {
+                return;
+            }
+            batchOrder.remove(oldest);
+            batches.remove(oldest);
+        }
+    }
+
+    private static final class PendingItem {
+        private final BatchTracker tracker;
+        private final int index;
+        private final ClusterRequest request;
+
+        PendingItem(BatchTracker tracker, int index, ClusterRequest request) {
+            this.tracker = tracker;
+            this.index = index;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Mutable progress of one batch. Items are replaced atomically so snapshots never see partial updates.
+     */
+    private static final class BatchTracker {
+        private final String batchId;
+        private final String requestedBy;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicReferenceArray<BatchItem> items;
+        private final AtomicInteger remaining;
+        private volatile LocalDateTime completedAt;
+
+        BatchTracker(String batchId, String requestedBy, int size) {
+            this.batchId = batchId;
+            this.requestedBy = requestedBy;
+            this.items = new AtomicReferenceArray<>(size);
+            this.remaining = new AtomicInteger(size);
+        }
+
+        void init(int index, BatchItem item) {
+            items.set(index, item);
+            if (item.getState().isTerminal()) {
+                markTerminal();
+            }
+        }
+
+        void update(int index, UnaryOperator<BatchItem> change) {
+            BatchItem previous = items.getAndUpdate(index, change);
+            if (!previous.getState().isTerminal() && items.get(index).getState().isTerminal()) {
+                markTerminal();
+            }
+        }
+
+        private void markTerminal() {
+            if (remaining.decrementAndGet() == 0) {
+                completedAt = LocalDateTime.now();
+                log.info("Batch {} completed", batchId);
+            }
+        }
+
+        BatchOperation snapshot() {
+            List<BatchItem> itemList = new ArrayList<>(items.length());
+            Map<BatchItemState, Integer> counts = new EnumMap<>(BatchItemState.class);
+            for (int i = 0; i < items.length(); i++) {
+                BatchItem item = items.get(i);
+                itemList.add(item);
+                counts.merge(item.getState(), 1, Integer::sum);
+            }
+
+            return BatchOperation.builder()
+                .batchId(batchId)
+                .requestedBy(requestedBy)
+                .submittedAt(submittedAt)
+                .completedAt(completedAt)
+                .total(itemList.size())
+                .counts(counts)
+                .items(itemList)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.metrics.MetricsSample;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Streaming decoder for CloudWatch metrics messages.
+ *
+ * Reads the message token by token into a {@link MetricsSample}, picking out only the fields
+ * the controller uses. Timestamps, additionalContext and unused metric details are skipped
+ * without being materialized, so decoding allocates little beyond the few strings kept.
+ */
+@Component
+public class CloudWatchMetricsDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    // One sample per listener thread, reused across messages
+    private final ThreadLocal<MetricsSample> samples = ThreadLocal.withInitial(MetricsSample::new);
+
+    public CloudWatchMetricsDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Decode into this thread's reusable sample. The result is overwritten by the next call on the same thread.
+     */
+    public MetricsSample decode(String message) throws IOException {
+        return decode(message, samples.get());
+    }
+
+    /**
+     * Decode into the given sample, resetting it first
+     */
+    public MetricsSample decode(String message, MetricsSample target) throws IOException {
+        target.reset();
+
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object for CloudWatch metrics message");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "messageType":
+                        target.setMessageType(readText(parser));
+                        break;
+                    case "clusterName":
+                        target.setClusterName(readText(parser));
+                        break;
+                    case "metrics":
+                        readMetrics(parser, target);
+                        break;
+                    case "alarms":
+                        readAlarms(parser, target);
+                        break;
+                    default:
+                        // timestamp, additionalContext and anything unknown
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        return target;
+    }
+
+    private void readMetrics(JsonParser parser, MetricsSample target) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "cpu":
+                    target.setCpu(readNumberField(parser, "average"));
+                    break;
+                case "memory":
+                    target.setMemory(readNumberField(parser, "average"));
+                    break;
+                case "disk":
+                    target.setDisk(readNumberField(parser, "average"));
+                    break;
+                case "searchLatency":
+                    target.setLatency(readNumberField(parser, "p95"));
+                    break;
+                case "queryRate":
+                    target.setQueryRate(readNumberField(parser, "average"));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readAlarms(JsonParser parser, MetricsSample target) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count++ > 0 || parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "name":
+                        target.setAlarmName(readText(parser));
+                        break;
+                    case "state":
+                        target.setAlarmState(readText(parser));
+                        break;
+                    case "reason":
+                        target.setAlarmReason(readText(parser));
+                        break;
+                    case "comparisonOperator":
+                        target.setAlarmComparisonOperator(readText(parser));
+                        break;
+                    case "threshold":
+                        target.setAlarmThreshold(readNumber(parser));
+                        break;
+                    case "value":
+                        target.setAlarmValue(readNumber(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        target.setAlarmCount(count);
+    }
+
+    /**
+     * Read one numeric field of the current object, skipping the rest of it
+     */
+    private static double readNumberField(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return Double.NaN;
+        }
+
+        double value = Double.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean wanted = name.equals(parser.currentName());
+            parser.nextToken();
+            if (wanted) {
+                value = readNumber(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private static double readNumber(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        parser.skipChildren();
+        return Double.NaN;
+    }
+
+    private static String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
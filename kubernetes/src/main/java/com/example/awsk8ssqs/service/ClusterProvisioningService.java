@@ -1,6 +1,7 @@
 package com.example.awsk8ssqs.service;
 
 import com.example.awsk8ssqs.model.ClusterRequest;
+import com.example.awsk8ssqs.model.operation.OperationType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -18,10 +19,14 @@ import java.util.concurrent.CompletableFuture;
 public class ClusterProvisioningService {
 
     private final OpenSearchService openSearchService;
+    private final OperationRegistry operationRegistry;
+    private final ClusterStatusEventBus statusEventBus;
 
     /**
      * Provisions a cluster based on the request using AWS OpenSearch SDK.
      * This method is async to avoid blocking SQS message processing.
+     * Duplicate requests (same requestId, or same cluster while provisioning is in flight)
+     * share the result of the first one instead of calling createDomain again.
      * 
      * @param request The cluster provisioning request
      * @return CompletableFuture for async processing
@@ -35,7 +40,8 @@ public class ClusterProvisioningService {
             switch (request.getClusterType().toLowerCase()) {
                 case "elasticsearch":
                 case "opensearch":
-                    return openSearchService.provisionCluster(request);
+                    return operationRegistry.execute(OperationType.PROVISION, request.getClusterName(),
+                        request.getRequestId(), () -> openSearchService.provisionCluster(request));
                 default:
                     return CompletableFuture.failedFuture(
                         new IllegalArgumentException("Unsupported cluster type: " + request.getClusterType() + 
@@ -57,10 +63,26 @@ public class ClusterProvisioningService {
      */
     @Async
     public CompletableFuture<Void> deleteCluster(String clusterName, String namespace) {
+        return deleteCluster(clusterName, namespace, null);
+    }
+
+    /**
+     * Deletes an OpenSearch cluster, collapsing duplicates of the same request or of a
+     * deletion already in flight for the cluster.
+     * 
+     * @param clusterName The name of the cluster to delete
+     * @param namespace The namespace where the cluster is located (used to clear its status stream state)
+     * @param requestId Idempotency key of the deletion request (may be null)
+     * @return CompletableFuture for async processing
+     */
+    @Async
+    public CompletableFuture<Void> deleteCluster(String clusterName, String namespace, String requestId) {
         log.info("Starting OpenSearch cluster deletion for: {}", clusterName);
         
         try {
-            return openSearchService.deleteCluster(clusterName);
+            return operationRegistry.execute(OperationType.DELETE, clusterName, requestId,
+                () -> openSearchService.deleteCluster(clusterName)
+                    .thenRun(() -> statusEventBus.clearCluster(namespace, clusterName)));
             
         } catch (Exception e) {
             log.error("Failed to delete cluster {}: {}", clusterName, e.getMessage(), e);
@@ -0,0 +1,77 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.ClusterRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validation and defaulting of cluster provisioning requests, shared by the
+ * single-request and bulk entry points.
+ */
+@Component
+public class ClusterRequestValidator {
+
+    private static final Set<String> SUPPORTED_CLUSTER_TYPES = Set.of("opensearch", "elasticsearch");
+
+    /**
+     * Collect every validation error for the request (empty if valid)
+     */
+    public List<String> validate(ClusterRequest request) {
+        List<String> errors = new ArrayList<>();
+
+        if (request == null) {
+            errors.add("Request cannot be null");
+            return errors;
+        }
+
+        if (request.getClusterName() == null || request.getClusterName().trim().isEmpty()) {
+            errors.add("Cluster name cannot be empty");
+        }
+
+        if (request.getClusterType() == null || request.getClusterType().trim().isEmpty()) {
+            errors.add("Cluster type cannot be empty");
+        } else if (!SUPPORTED_CLUSTER_TYPES.contains(request.getClusterType().toLowerCase())) {
+            errors.add("Unsupported cluster type: " + request.getClusterType() +
+                ". Supported types: opensearch, elasticsearch");
+        }
+
+        if (request.getNodeCount() == null || request.getNodeCount() <= 0) {
+            errors.add("Node count must be positive");
+        }
+
+        return errors;
+    }
+
+    /**
+     * Validate and throw with all problems found
+     */
+    public void validateOrThrow(ClusterRequest request) {
+        List<String> errors = validate(request);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+    }
+
+    /**
+     * Fill in namespace and version defaults
+     */
+    public void applyDefaults(ClusterRequest request) {
+        if (request.getNamespace() == null || request.getNamespace().trim().isEmpty()) {
+            request.setNamespace("default");
+        }
+        
+        if (request.getVersion() == null || request.getVersion().trim().isEmpty()) {
+            // Set default version based on cluster type
+            switch (request.getClusterType().toLowerCase()) {
+                case "elasticsearch":
+                    request.setVersion("8.11.0");
+                    break;
+                default:
+                    request.setVersion("latest");
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.event.ClusterStatusEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of cluster status changes.
+ *
+ * The controller publishes once per status update; each subscriber gets its own bounded
+ * buffer that drops the oldest event when full, so a slow client can never block the
+ * publisher or other subscribers. Only actual changes (phase, node count, current metrics,
+ * last action) are published; a metrics refresh with the same values is not a change.
+ *
+ * Clusters are keyed by namespace and name, so same-named clusters in different namespaces
+ * do not suppress each other's events. Publishing for one cluster is serialized, so its
+ * events reach every subscriber once and in order.
+ */
+@Service
+@Slf4j
+public class ClusterStatusEventBus {
+
+    /**
+     * Transport-specific delivery of an event to one subscriber (e.g. an SSE connection)
+     */
+    @FunctionalInterface
+    public interface EventSink {
+        void send(ClusterStatusEvent event) throws Exception;
+    }
+
+    private final Map<String, ClusterStatusEvent> latestByCluster = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+
+    public ClusterStatusEventBus(@Value("${status-stream.buffer-size:64}") int bufferSize,
+                                 @Value("${status-stream.dispatcher-threads:2}") int dispatcherThreads) {
+        this.bufferSize = bufferSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "status-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Publish the current status of a cluster if it differs from the last published one
+     */
+    public void publish(OpenSearchCluster cluster) {
+        if (cluster == null || cluster.getMetadata() == null || cluster.getStatus() == null) {
+            return;
+        }
+
+        var status = cluster.getStatus();
+        String clusterName = cluster.getMetadata().getName();
+        String namespace = cluster.getMetadata().getNamespace();
+
+        // Compare, publish and fan out under the entry's lock; offering never blocks
+        latestByCluster.compute(key(namespace, clusterName), (key, previous) -> {
+            if (previous != null
+                    && previous.getPhase() == status.getPhase()
+                    && Objects.equals(previous.getNodeCount(), status.getNodeCount())
+                    && sameMetrics(previous.getCurrentMetrics(), status.getCurrentMetrics())
+                    && Objects.equals(previous.getLastAction(), status.getLastAction())) {
+                return previous;
+            }
+
+            ClusterStatusEvent event = ClusterStatusEvent.builder()
+                .sequence(sequence.incrementAndGet())
+                .clusterName(clusterName)
+                .namespace(namespace)
+                .phase(status.getPhase())
+                .nodeCount(status.getNodeCount())
+                .currentMetrics(status.getCurrentMetrics())
+                .lastAction(status.getLastAction())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+            for (Subscription subscription : subscriptions) {
+                if (subscription.accepts(clusterName)) {
+                    subscription.offer(event);
+                }
+            }
+            return event;
+        });
+    }
+
+    /**
+     * Metric values compared without lastUpdated, which changes on every refresh
+     */
+    private static boolean sameMetrics(OpenSearchCluster.CurrentMetrics a, OpenSearchCluster.CurrentMetrics b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.getCpu(), b.getCpu())
+            && Objects.equals(a.getMemory(), b.getMemory())
+            && Objects.equals(a.getDisk(), b.getDisk())
+            && Objects.equals(a.getLatency(), b.getLatency())
+            && Objects.equals(a.getQueryRate(), b.getQueryRate());
+    }
+
+    private static String key(String namespace, String clusterName) {
+        return (namespace != null ? namespace : "") + "/" + clusterName;
+    }
+
+    /**
+     * Register a subscriber. It immediately receives the latest known state of every matching cluster.
+     * The subscription is registered before the replay so no change is missed; a replayed state that
+     * a live publish has already superseded is skipped by the subscription.
+     *
+     * @param clusterName only deliver events for this cluster (null for all clusters)
+     */
+    public Subscription subscribe(String clusterName, EventSink sink) {
+        Subscription subscription = new Subscription(clusterName, sink);
+        subscriptions.add(subscription);
+
+        latestByCluster.values().stream()
+            .filter(event -> subscription.accepts(event.getClusterName()))
+            .sorted((a, b) -> Long.compare(a.getSequence(), b.getSequence()))
+            .forEach(subscription::offer);
+
+        log.debug("Status stream subscriber added (cluster filter: {}), {} active", clusterName, subscriptions.size());
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            log.debug("Status stream subscriber removed, {} active ({} events dropped)",
+                subscriptions.size(), subscription.getDroppedCount());
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Forget a deleted cluster, so new subscribers are not sent its last state
+     *
+     * @param namespace the cluster's namespace, or null for every namespace
+     */
+    public void clearCluster(String namespace, String clusterName) {
+        // Events published without a namespace match any
+        latestByCluster.values().removeIf(event -> clusterName.equals(event.getClusterName())
+            && (namespace == null || event.getNamespace() == null || namespace.equals(event.getNamespace())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * One subscriber with its own drop-oldest buffer. At most one drain task runs per
+     * subscriber at a time, so events are delivered in order.
+     */
+    public final class Subscription {
+        private final String clusterFilter;
+        private final EventSink sink;
+        private final ArrayBlockingQueue<ClusterStatusEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        // Sequence of the last event offered per cluster key
+        private final Map<String, Long> lastSequenceByCluster = new ConcurrentHashMap<>();
+
+        private Subscription(String clusterFilter, EventSink sink) {
+            this.clusterFilter = clusterFilter;
+            this.sink = sink;
+        }
+
+        boolean accepts(String clusterName) {
+            return clusterFilter == null || clusterFilter.equals(clusterName);
+        }
+
+        /**
+         * Buffer an event unless a later one for the same cluster was already offered,
+         * which happens when the subscribe replay races a publish
+         */
+        void offer(ClusterStatusEvent event) {
+            AtomicBoolean offered = new AtomicBoolean();
+            lastSequenceByCluster.compute(key(event.getNamespace(), event.getClusterName()), (key, last) -> {
+                if (last != null && last >= event.getSequence()) {
+                    return last;
+                }
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                offered.set(true);
+                return event.getSequence();
+            });
+            if (offered.get()) {
+                scheduleDrain();
+            }
+        }
+
+        public long getDroppedCount() {
+            return dropped.get();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                ClusterStatusEvent event;
+                while ((event = buffer.poll()) != null) {
+                    sink.send(event);
+                }
+            } catch (Exception e) {
+                log.debug("Status stream subscriber disconnected: {}", e.getMessage());
+                unsubscribe(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            // An event may have arrived between the last poll and clearing the flag
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
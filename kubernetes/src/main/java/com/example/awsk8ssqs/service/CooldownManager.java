@@ -1,8 +1,11 @@
 package com.example.awsk8ssqs.service;
 
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.remediation.CooldownDecision;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -15,6 +18,9 @@ public class CooldownManager {
     // Map: clusterName -> ruleName -> lastExecutionTime
     private final Map<String, Map<String, LocalDateTime>> cooldownTracker = new ConcurrentHashMap<>();
     
+    // Source of "now" for cooldown checks; replays run on a simulated clock
+    private final Clock clock;
+    
     // Default cooldown periods for different action types
     private static final Map<String, Duration> DEFAULT_COOLDOWNS = Map.of(
         "scale_out", Duration.ofMinutes(10),
@@ -26,6 +32,14 @@ public class CooldownManager {
         "alert_critical", Duration.ofMinutes(2)
     );
     
+    public CooldownManager() {
+        this(Clock.systemDefaultZone());
+    }
+    
+    public CooldownManager(Clock clock) {
+        this.clock = clock;
+    }
+    
     /**
      * Check if an action can be executed based on cooldown period AND cluster state
      */
@@ -58,6 +72,24 @@ public class CooldownManager {
         return true;
     }
     
+    /**
+     * Decide how to handle a planned action: critical alarms bypass the time cooldown but never
+     * a conflicting cluster state, other time-blocked actions are delayed until it expires
+     */
+    public CooldownDecision evaluate(String clusterName, String ruleName, OpenSearchCluster cluster, String alarmSeverity) {
+        if (canExecuteActionWithState(clusterName, ruleName, cluster)) {
+            return CooldownDecision.EXECUTE;
+        }
+        if (isTimeCooldownExpired(clusterName, ruleName)) {
+            return CooldownDecision.BLOCKED_BY_STATE;
+        }
+        if ("CRITICAL".equals(alarmSeverity)) {
+            return isClusterReadyForAction(clusterName, ruleName, cluster)
+                ? CooldownDecision.BYPASS_TIME_COOLDOWN : CooldownDecision.BLOCKED_BY_STATE;
+        }
+        return CooldownDecision.DELAY;
+    }
+    
     /**
      * Check if time-based cooldown has expired
      */
@@ -75,7 +107,7 @@ public class CooldownManager {
         Duration cooldownPeriod = getCooldownPeriod(ruleName);
         LocalDateTime nextAllowedTime = lastExecution.plus(cooldownPeriod);
         
-        boolean canExecute = LocalDateTime.now().isAfter(nextAllowedTime);
+        boolean canExecute = LocalDateTime.now(clock).isAfter(nextAllowedTime);
         
         if (!canExecute) {
             log.debug("Action {} for cluster {} is in time cooldown until {}", 
@@ -145,11 +177,11 @@ public class CooldownManager {
      * Record that an action was executed
      */
     public void recordAction(String clusterName, String ruleName) {
+        LocalDateTime now = LocalDateTime.now(clock);
         cooldownTracker.computeIfAbsent(clusterName, k -> new ConcurrentHashMap<>())
-                     .put(ruleName, LocalDateTime.now());
+                     .put(ruleName, now);
         
-        log.debug("Recorded action {} for cluster {} at {}", 
-            ruleName, clusterName, LocalDateTime.now());
+        log.debug("Recorded action {} for cluster {} at {}", ruleName, clusterName, now);
     }
     
     /**
@@ -214,7 +246,7 @@ public class CooldownManager {
         
         Duration cooldownPeriod = getCooldownPeriod(ruleName);
         LocalDateTime nextAllowedTime = lastExecution.plus(cooldownPeriod);
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
         
         if (now.isAfter(nextAllowedTime)) {
             return Duration.ZERO;
@@ -258,7 +290,7 @@ public class CooldownManager {
             return false;
         }
         
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
         return clusterCooldowns.entrySet().stream()
             .anyMatch(entry -> {
                 String ruleName = entry.getKey();
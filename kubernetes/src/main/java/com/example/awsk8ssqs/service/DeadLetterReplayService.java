@@ -0,0 +1,260 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.dlq.ReplayJob;
+import com.example.awsk8ssqs.model.dlq.ReplayState;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Re-drives quarantined messages from the dead-letter queue back to the queue they came from.
+ *
+ * Messages are received in batches of up to ten and sent at no more than rate-per-second, so
+ * a replay never floods the listeners it feeds. One replay runs at a time; it stops when
+ * max-messages have been handled, the dead-letter queue is empty, or it is cancelled.
+ */
+@Service
+@Lazy
+@Slf4j
+public class DeadLetterReplayService {
+
+    private static final int RECEIVE_BATCH_SIZE = 10;
+
+    private final SqsClient sqsClient;
+    private final DeadLetterRouter deadLetterRouter;
+    private final int maxRatePerSecond;
+    private final int receiveWaitSeconds;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlq-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by "this"
+    private ReplayJob currentJob;
+    private volatile boolean cancelRequested;
+
+    public DeadLetterReplayService(SqsClient sqsClient,
+                                   DeadLetterRouter deadLetterRouter,
+                                   @Value("${sqs.dlq-replay.max-rate-per-second:50}") int maxRatePerSecond,
+                                   @Value("${sqs.dlq-replay.receive-wait-seconds:2}") int receiveWaitSeconds) {
+        this.sqsClient = sqsClient;
+        this.deadLetterRouter = deadLetterRouter;
+        this.maxRatePerSecond = maxRatePerSecond;
+        this.receiveWaitSeconds = receiveWaitSeconds;
+    }
+
+    /**
+     * Start a replay in the background
+     *
+     * @param sourceQueue only replay messages quarantined from this queue (null for all)
+     * @throws IllegalStateException if a replay is already running
+     */
+    public synchronized ReplayJob start(String sourceQueue, int maxMessages, int ratePerSecond) {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("maxMessages must be positive");
+        }
+        if (ratePerSecond < 1 || ratePerSecond > maxRatePerSecond) {
+            throw new IllegalArgumentException("ratePerSecond must be between 1 and " + maxRatePerSecond);
+        }
+        if (currentJob != null && currentJob.getState() == ReplayState.RUNNING) {
+            throw new IllegalStateException("Replay " + currentJob.getJobId() + " is already running");
+        }
+
+        currentJob = ReplayJob.builder()
+            .jobId(UUID.randomUUID().toString())
+            .sourceQueue(sourceQueue)
+            .maxMessages(maxMessages)
+            .ratePerSecond(ratePerSecond)
+            .state(ReplayState.RUNNING)
+            .startedAt(LocalDateTime.now())
+            .build();
+        cancelRequested = false;
+
+        String jobId = currentJob.getJobId();
+        log.info("Starting DLQ replay {} from {} (source {}, max {}, {}/s)",
+            jobId, deadLetterRouter.getDeadLetterQueue(), sourceQueue != null ? sourceQueue : "any",
+            maxMessages, ratePerSecond);
+        executor.execute(() -> run(jobId, sourceQueue, maxMessages, ratePerSecond));
+
+        return snapshot();
+    }
+
+    /**
+     * Progress of the most recent replay, or null if none has run
+     */
+    public synchronized ReplayJob getCurrentJob() {
+        return snapshot();
+    }
+
+    /**
+     * Ask the running replay to stop after the message in hand
+     *
+     * @return false if no replay is running
+     */
+    public synchronized boolean cancel() {
+        if (currentJob == null || currentJob.getState() != ReplayState.RUNNING) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelRequested = true;
+        executor.shutdownNow();
+    }
+
+    private void run(String jobId, String sourceQueue, int maxMessages, int ratePerSecond) {
+        String dlqUrl;
+        try {
+            dlqUrl = deadLetterRouter.getQueueUrl(deadLetterRouter.getDeadLetterQueue());
+        } catch (Exception e) {
+            finishJob(ReplayState.FAILED, e.getMessage());
+            return;
+        }
+
+        long sendIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long nextSendAt = System.nanoTime();
+        int handled = 0;
+
+        try {
+            while (handled < maxMessages && !cancelRequested) {
+                List<Message> messages = sqsClient.receiveMessage(ReceiveMessageRequest.builder()
+                    .queueUrl(dlqUrl)
+                    .maxNumberOfMessages(Math.min(RECEIVE_BATCH_SIZE, maxMessages - handled))
+                    .waitTimeSeconds(receiveWaitSeconds)
+                    .messageAttributeNames("All")
+                    .build()).messages();
+
+                if (messages.isEmpty()) {
+                    break;
+                }
+
+                for (Message message : messages) {
+                    if (handled >= maxMessages || cancelRequested) {
+                        release(dlqUrl, message);
+                        continue;
+                    }
+
+                    String origin = stringAttribute(message, DeadLetterRouter.ATTR_SOURCE_QUEUE);
+                    if (origin == null || (sourceQueue != null && !sourceQueue.equals(origin))) {
+                        // Left invisible until the DLQ visibility timeout so this run does not receive it again
+                        updateJob(job -> job.setSkipped(job.getSkipped() + 1));
+                        continue;
+                    }
+
+                    long wait = nextSendAt - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    nextSendAt = Math.max(nextSendAt, System.nanoTime() - sendIntervalNanos) + sendIntervalNanos;
+
+                    handled++;
+                    if (redrive(dlqUrl, origin, message)) {
+                        updateJob(job -> job.setReplayed(job.getReplayed() + 1));
+                    } else {
+                        updateJob(job -> job.setFailed(job.getFailed() + 1));
+                    }
+                }
+            }
+
+            finishJob(cancelRequested ? ReplayState.CANCELLED : ReplayState.COMPLETED, null);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finishJob(ReplayState.CANCELLED, null);
+        } catch (Exception e) {
+            log.error("DLQ replay {} failed: {}", jobId, e.getMessage(), e);
+            finishJob(ReplayState.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Send the message back to its source queue, then delete it from the dead-letter queue
+     */
+    private boolean redrive(String dlqUrl, String origin, Message message) {
+        try {
+            // Quarantine carries the count over from the previous replay, if there was one
+            String replayCount = stringAttribute(message, DeadLetterRouter.ATTR_REPLAY_COUNT);
+            int replays = replayCount != null ? Integer.parseInt(replayCount) + 1 : 1;
+
+            Map<String, MessageAttributeValue> attributes = new HashMap<>();
+            attributes.put(DeadLetterRouter.ATTR_REPLAY_COUNT, MessageAttributeValue.builder()
+                .dataType("Number").stringValue(Integer.toString(replays)).build());
+
+            sqsClient.sendMessage(SendMessageRequest.builder()
+                .queueUrl(deadLetterRouter.getQueueUrl(origin))
+                .messageBody(message.body())
+                .messageAttributes(attributes)
+                .build());
+            sqsClient.deleteMessage(DeleteMessageRequest.builder()
+                .queueUrl(dlqUrl)
+                .receiptHandle(message.receiptHandle())
+                .build());
+            return true;
+
+        } catch (Exception e) {
+            // Left in the dead-letter queue; it becomes visible again for the next replay
+            log.warn("Failed to replay DLQ message {} to {}: {}", message.messageId(), origin, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Make a message we are not replaying visible again right away
+     */
+    private void release(String dlqUrl, Message message) {
+        try {
+            sqsClient.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                .queueUrl(dlqUrl)
+                .receiptHandle(message.receiptHandle())
+                .visibilityTimeout(0)
+                .build());
+        } catch (Exception e) {
+            log.debug("Failed to release DLQ message {}: {}", message.messageId(), e.getMessage());
+        }
+    }
+
+    private static String stringAttribute(Message message, String name) {
+        MessageAttributeValue value = message.messageAttributes().get(name);
+        return value != null ? value.stringValue() : null;
+    }
+
+    private synchronized void updateJob(Consumer<ReplayJob> change) {
+        change.accept(currentJob);
+    }
+
+    private synchronized void finishJob(ReplayState state, String error) {
+        currentJob.setState(state);
+        currentJob.setError(error);
+        currentJob.setCompletedAt(LocalDateTime.now());
+        log.info("DLQ replay {} {}: {} replayed, {} skipped, {} failed", currentJob.getJobId(), state,
+            currentJob.getReplayed(), currentJob.getSkipped(), currentJob.getFailed());
+    }
+
+    private ReplayJob snapshot() {
+        return currentJob != null ? currentJob.toBuilder().build() : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.dlq.FailureKind;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classifies message processing failures and quarantines poison messages to the dead-letter queue.
+ *
+ * Quarantined messages keep their original body; where they came from and why they failed
+ * travel as message attributes so they can be inspected and replayed later.
+ */
+@Service
+@Slf4j
+public class DeadLetterRouter {
+
+    public static final String ATTR_SOURCE_QUEUE = "dlq-source-queue";
+    public static final String ATTR_FAILURE_KIND = "dlq-failure-kind";
+    public static final String ATTR_ERROR_TYPE = "dlq-error-type";
+    public static final String ATTR_ERROR_MESSAGE = "dlq-error-message";
+    public static final String ATTR_ORIGINAL_MESSAGE_ID = "dlq-original-message-id";
+    public static final String ATTR_RECEIVE_COUNT = "dlq-receive-count";
+    public static final String ATTR_QUARANTINED_AT = "dlq-quarantined-at";
+    // Set when a message is replayed from the dead-letter queue, carried through re-quarantine
+    public static final String ATTR_REPLAY_COUNT = "dlq-replay-count";
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+    private final SqsClient sqsClient;
+    private final MeterRegistry meterRegistry;
+    private final String deadLetterQueue;
+    private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+    public DeadLetterRouter(@Lazy SqsClient sqsClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${aws.sqs.dead-letter-queue:cluster-dlq}") String deadLetterQueue) {
+        this.sqsClient = sqsClient;
+        this.meterRegistry = meterRegistry;
+        this.deadLetterQueue = deadLetterQueue;
+    }
+
+    /**
+     * Parse and validation errors can never succeed on retry; everything else is treated as transient
+     */
+    public FailureKind classify(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException || cause instanceof IllegalArgumentException) {
+                return FailureKind.POISON;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return FailureKind.TRANSIENT;
+    }
+
+    /**
+     * Send the message to the dead-letter queue with its error metadata.
+     *
+     * @param replayCount how often the message was already replayed from the dead-letter queue (0 if never)
+     * @return true if the message was quarantined and the original may be acknowledged
+     */
+    public boolean quarantine(String sourceQueue, String messageId, String body, int receiveCount,
+                              int replayCount, FailureKind kind, Throwable error) {
+        Throwable cause = rootCause(error);
+        String errorMessage = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        if (errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+        }
+
+        try {
+            sqsClient.sendMessage(SendMessageRequest.builder()
+                .queueUrl(getQueueUrl(deadLetterQueue))
+                .messageBody(body == null || body.isEmpty() ? "<empty>" : body)
+                .messageAttributes(Map.of(
+                    ATTR_SOURCE_QUEUE, stringAttribute(sourceQueue),
+                    ATTR_FAILURE_KIND, stringAttribute(kind.name()),
+                    ATTR_ERROR_TYPE, stringAttribute(cause.getClass().getName()),
+                    ATTR_ERROR_MESSAGE, stringAttribute(errorMessage),
+                    ATTR_ORIGINAL_MESSAGE_ID, stringAttribute(messageId),
+                    ATTR_RECEIVE_COUNT, numberAttribute(receiveCount),
+                    ATTR_REPLAY_COUNT, numberAttribute(replayCount),
+                    ATTR_QUARANTINED_AT, stringAttribute(LocalDateTime.now().toString())))
+                .build());
+
+            meterRegistry.counter("sqs.dlq.quarantined", "queue", sourceQueue, "kind", kind.name()).increment();
+            log.warn("Quarantined {} message {} from {} to {} after {} receive(s) and {} replay(s): {}",
+                kind, messageId, sourceQueue, deadLetterQueue, receiveCount, replayCount, errorMessage);
+            return true;
+
+        } catch (Exception e) {
+            log.error("Failed to quarantine message {} from {} to {}: {}",
+                messageId, sourceQueue, deadLetterQueue, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    public String getDeadLetterQueue() {
+        return deadLetterQueue;
+    }
+
+    public String getQueueUrl(String queueName) {
+        return queueUrls.computeIfAbsent(queueName, name ->
+            sqsClient.getQueueUrl(GetQueueUrlRequest.builder().queueName(name).build()).queueUrl());
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        // SQS rejects empty attribute values
+        String safeValue = value == null || value.isEmpty() ? "unknown" : value;
+        return MessageAttributeValue.builder().dataType("String").stringValue(safeValue).build();
+    }
+
+    private static MessageAttributeValue numberAttribute(int value) {
+        return MessageAttributeValue.builder().dataType("Number").stringValue(Integer.toString(value)).build();
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
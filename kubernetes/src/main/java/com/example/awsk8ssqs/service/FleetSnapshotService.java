@@ -0,0 +1,198 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import com.example.awsk8ssqs.model.fleet.FleetClusterView;
+import com.example.awsk8ssqs.model.fleet.FleetPage;
+import com.example.awsk8ssqs.model.fleet.FleetSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.opensearch.model.DomainStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains a periodically refreshed snapshot of the fleet so that listing requests
+ * are served from memory and never reach the Kubernetes API server or AWS.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FleetSnapshotService {
+
+    private static final FleetSnapshot EMPTY_SNAPSHOT = FleetSnapshot.builder()
+        .clusters(List.of())
+        .etag("\"empty\"")
+        .build();
+
+    private final KubernetesClusterService kubernetesClusterService;
+    private final OpenSearchService openSearchService;
+    private final ObjectMapper objectMapper;
+
+    private volatile FleetSnapshot snapshot = EMPTY_SNAPSHOT;
+
+    /**
+     * Rebuild the snapshot from the Kubernetes API and AWS.
+     * On failure the previous snapshot keeps being served. The first refresh waits a little so
+     * it does not compete with the queue backlog after a restart; until then the empty snapshot
+     * is served.
+     */
+    @Scheduled(initialDelayString = "${fleet.snapshot.initial-delay-ms:10000}",
+               fixedDelayString = "${fleet.snapshot.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            List<OpenSearchCluster> resources = kubernetesClusterService.listClusters();
+            Map<String, DomainStatus> domains = openSearchService.describeAllClusters();
+
+            List<FleetClusterView> views = mergeViews(resources, domains);
+            String etag = computeEtag(views);
+            boolean changed = !etag.equals(snapshot.getEtag());
+
+            snapshot = FleetSnapshot.builder()
+                .clusters(List.copyOf(views))
+                .etag(etag)
+                .build();
+
+            if (changed) {
+                log.info("Fleet snapshot refreshed: {} clusters ({} managed, {} domains)",
+                    views.size(), resources.size(), domains.size());
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to refresh fleet snapshot, serving previous one: {}", e.getMessage(), e);
+        }
+    }
+
+    public FleetSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Return one page of the current snapshot.
+     *
+     * @param phase  only include clusters in this phase (null for all)
+     * @param cursor opaque cursor from a previous page (null for the first page)
+     * @param limit  maximum number of clusters to return
+     */
+    public FleetPage getPage(ClusterPhase phase, String cursor, int limit) {
+        FleetSnapshot current = snapshot;
+        List<FleetClusterView> clusters = current.getClusters();
+
+        int start = cursor != null ? firstIndexAfter(clusters, decodeCursor(cursor)) : 0;
+
+        List<FleetClusterView> page = new ArrayList<>(Math.min(limit, clusters.size()));
+        String nextCursor = null;
+        for (int i = start; i < clusters.size(); i++) {
+            FleetClusterView view = clusters.get(i);
+            if (phase != null && view.getPhase() != phase) {
+                continue;
+            }
+            if (page.size() == limit) {
+                nextCursor = encodeCursor(page.get(page.size() - 1).getName());
+                break;
+            }
+            page.add(view);
+        }
+
+        int totalMatching = phase == null ? clusters.size()
+            : (int) clusters.stream().filter(view -> view.getPhase() == phase).count();
+
+        return FleetPage.builder()
+            .clusters(page)
+            .nextCursor(nextCursor)
+            .totalMatching(totalMatching)
+            .etag(current.getEtag())
+            .build();
+    }
+
+    /**
+     * Merge custom resources and AWS domains by cluster (domain) name
+     */
+    private List<FleetClusterView> mergeViews(List<OpenSearchCluster> resources, Map<String, DomainStatus> domains) {
+        Map<String, FleetClusterView> merged = new HashMap<>();
+
+        for (OpenSearchCluster resource : resources) {
+            String name = resource.getSpec() != null && resource.getSpec().getClusterName() != null
+                ? resource.getSpec().getClusterName()
+                : resource.getMetadata().getName();
+
+            var spec = resource.getSpec();
+            var status = resource.getStatus();
+            DomainStatus domain = domains.get(name);
+
+            merged.put(name, FleetClusterView.builder()
+                .name(name)
+                .namespace(resource.getMetadata().getNamespace())
+                .managed(true)
+                .phase(status != null ? status.getPhase() : null)
+                .desiredNodeCount(spec != null ? spec.getNodeCount() : null)
+                .nodeCount(status != null ? status.getNodeCount() : null)
+                .instanceType(spec != null ? spec.getInstanceType() : null)
+                .domainStatus(domain != null ? openSearchService.toClusterStatus(domain) : "NOT_FOUND")
+                .endpoint(domain != null ? domain.endpoint() : status != null ? status.getEndpoint() : null)
+                .lastUpdated(status != null ? status.getLastUpdated() : null)
+                .build());
+        }
+
+        // Domains that exist in AWS but have no custom resource
+        domains.forEach((name, domain) -> merged.computeIfAbsent(name, k -> FleetClusterView.builder()
+            .name(name)
+            .managed(false)
+            .nodeCount(domain.clusterConfig() != null ? domain.clusterConfig().instanceCount() : null)
+            .instanceType(domain.clusterConfig() != null ? domain.clusterConfig().instanceTypeAsString() : null)
+            .domainStatus(openSearchService.toClusterStatus(domain))
+            .endpoint(domain.endpoint())
+            .build()));
+
+        List<FleetClusterView> views = new ArrayList<>(merged.values());
+        views.sort(Comparator.comparing(FleetClusterView::getName));
+        return views;
+    }
+
+    /**
+     * Content hash of the merged view, so unchanged fleets keep the same ETag across refreshes.
+     * The listing body must be derived from the views alone, or equal ETags could name different bodies.
+     */
+    private String computeEtag(List<FleetClusterView> views) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(objectMapper.writeValueAsBytes(views));
+        return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    private static int firstIndexAfter(List<FleetClusterView> clusters, String name) {
+        int low = 0;
+        int high = clusters.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (clusters.get(mid).getName().compareTo(name) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String encodeCursor(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
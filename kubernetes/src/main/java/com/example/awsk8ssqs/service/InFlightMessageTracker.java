@@ -0,0 +1,294 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.dlq.FailureKind;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.awspring.cloud.sqs.listener.acknowledgement.Acknowledgement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks every SQS message from receipt until its work has finished.
+ *
+ * Listeners run with manual acknowledgement: a message is acknowledged only once its work
+ * (including asynchronous provisioning) completes, and while it is in flight a heartbeat keeps
+ * extending its visibility timeout so it is not redelivered to another consumer.
+ *
+ * Failed work is classified by the {@link DeadLetterRouter}: poison messages (parse and
+ * validation errors) are quarantined to the dead-letter queue right away, transient failures
+ * are retried with exponential backoff (via the visibility timeout) until max-attempts
+ * receives, after which they are quarantined too.
+ *
+ * The number of in-flight messages per pod is capped. Messages received beyond the cap are
+ * handed back to the queue immediately.
+ */
+@Service
+@Slf4j
+public class InFlightMessageTracker {
+
+    private final Map<String, InFlightMessage> inFlight = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final MeterRegistry meterRegistry;
+    private final DeadLetterRouter deadLetterRouter;
+
+    private final int visibilityTimeoutSeconds;
+    private final long heartbeatIntervalNanos;
+    private final long maxAgeNanos;
+    private final int releaseDelaySeconds;
+    private final int maxAttempts;
+    private final int initialBackoffSeconds;
+    private final int maxBackoffSeconds;
+
+    private final Counter visibilityExtensions;
+
+    public InFlightMessageTracker(MeterRegistry meterRegistry,
+                                  DeadLetterRouter deadLetterRouter,
+                                  @Value("${sqs.in-flight.max-messages:50}") int maxInFlight,
+                                  @Value("${sqs.in-flight.visibility-timeout-seconds:60}") int visibilityTimeoutSeconds,
+                                  @Value("${sqs.in-flight.heartbeat-interval-ms:20000}") long heartbeatIntervalMs,
+                                  @Value("${sqs.in-flight.max-age-seconds:3600}") long maxAgeSeconds,
+                                  @Value("${sqs.in-flight.release-delay-seconds:10}") int releaseDelaySeconds,
+                                  @Value("${sqs.retry.max-attempts:5}") int maxAttempts,
+                                  @Value("${sqs.retry.initial-backoff-seconds:10}") int initialBackoffSeconds,
+                                  @Value("${sqs.retry.max-backoff-seconds:900}") int maxBackoffSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.deadLetterRouter = deadLetterRouter;
+        this.capacity = new Semaphore(maxInFlight);
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        this.releaseDelaySeconds = releaseDelaySeconds;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+
+        this.visibilityExtensions = Counter.builder("sqs.inflight.visibility.extensions")
+            .description("Visibility timeout extensions sent for in-flight messages")
+            .register(meterRegistry);
+        Gauge.builder("sqs.inflight.messages", inFlight, Map::size)
+            .description("Messages received but not yet acknowledged")
+            .register(meterRegistry);
+        Gauge.builder("sqs.inflight.oldest.age", this, tracker -> tracker.getOldestAge().toMillis() / 1000.0)
+            .description("Age of the oldest in-flight message")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+
+        if (TimeUnit.SECONDS.toNanos(visibilityTimeoutSeconds) <= 2 * heartbeatIntervalNanos) {
+            log.warn("SQS heartbeat interval {} ms is not well below the visibility timeout of {} s",
+                heartbeatIntervalMs, visibilityTimeoutSeconds);
+        }
+    }
+
+    /**
+     * Start tracking a received message.
+     *
+     * @param body         raw message body, kept for quarantine
+     * @param receiveCount approximate receive count reported by SQS (null counts as first receive)
+     * @param replayCount  dead-letter replay count attribute, kept for quarantine (null if never replayed)
+     * @return the in-flight handle, or null if the pod is at capacity (the message is handed back to the queue)
+     */
+    public InFlightMessage begin(String queue, String messageId, String body, String receiveCount,
+                                 String replayCount, Visibility visibility, Acknowledgement acknowledgement) {
+        if (!capacity.tryAcquire()) {
+            log.warn("In-flight limit reached, returning message {} to queue {}", messageId, queue);
+            meterRegistry.counter("sqs.inflight.rejected", "queue", queue).increment();
+            visibility.changeToAsync(releaseDelaySeconds);
+            return null;
+        }
+
+        InFlightMessage message = new InFlightMessage(queue, messageId, body, parseCount(receiveCount, 1),
+            parseCount(replayCount, 0), visibility, acknowledgement);
+        inFlight.put(messageId, message);
+
+        // The queue's own visibility timeout may be shorter than our heartbeat allows for
+        extend(message);
+        return message;
+    }
+
+    /**
+     * Acknowledge the message when the work succeeds, release it for retry when it fails
+     */
+    public <T> CompletableFuture<T> completeWhen(InFlightMessage message, CompletableFuture<T> work) {
+        return work.whenComplete((result, error) -> {
+            if (error == null) {
+                complete(message);
+            } else {
+                fail(message, error);
+            }
+        });
+    }
+
+    /**
+     * Work finished successfully: acknowledge (delete) the message
+     */
+    public void complete(InFlightMessage message) {
+        if (finish(message, "success")) {
+            acknowledge(message);
+        }
+    }
+
+    /**
+     * Work failed: quarantine poison and exhausted messages, otherwise release for a retry with backoff
+     */
+    public void fail(InFlightMessage message, Throwable error) {
+        FailureKind kind = deadLetterRouter.classify(error);
+        boolean exhausted = message.receiveCount >= maxAttempts;
+
+        if (!finish(message, kind == FailureKind.POISON ? "poison" : "failure")) {
+            return;
+        }
+
+        if ((kind == FailureKind.POISON || exhausted)
+                && deadLetterRouter.quarantine(message.queue, message.messageId, message.body,
+                    message.receiveCount, message.replayCount, kind, error)) {
+            acknowledge(message);
+            return;
+        }
+
+        int backoffSeconds = backoffSeconds(message.receiveCount);
+        log.warn("Processing of message {} from {} failed (attempt {}/{}), retrying in {}s: {}",
+            message.messageId, message.queue, message.receiveCount, maxAttempts, backoffSeconds, error.getMessage());
+        message.visibility.changeToAsync(backoffSeconds);
+    }
+
+    /**
+     * Work was not started: hand the message back to the queue without counting it as a failure
+     */
+    public void release(InFlightMessage message) {
+        if (finish(message, "released")) {
+            meterRegistry.counter("sqs.inflight.rejected", "queue", message.queue).increment();
+            message.visibility.changeToAsync(releaseDelaySeconds);
+        }
+    }
+
+    /**
+     * Extend visibility of messages whose last extension is older than the heartbeat interval
+     */
+    @Scheduled(fixedDelayString = "${sqs.in-flight.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+
+        for (InFlightMessage message : inFlight.values()) {
+            if (now - message.receivedAtNanos > maxAgeNanos) {
+                if (!message.expiredLogged) {
+                    message.expiredLogged = true;
+                    log.warn("Message {} from {} in flight for over {}, no longer extending visibility",
+                        message.messageId, message.queue, Duration.ofNanos(maxAgeNanos));
+                }
+                continue;
+            }
+            if (now - message.lastExtendedNanos >= heartbeatIntervalNanos - heartbeatIntervalNanos / 10) {
+                extend(message);
+            }
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public Duration getOldestAge() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (InFlightMessage message : inFlight.values()) {
+            oldest = Math.max(oldest, now - message.receivedAtNanos);
+        }
+        return Duration.ofNanos(oldest);
+    }
+
+    private void acknowledge(InFlightMessage message) {
+        message.acknowledgement.acknowledgeAsync().exceptionally(e -> {
+            log.error("Failed to acknowledge message {}: {}", message.messageId, e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Exponential backoff by receive count, capped at max-backoff-seconds
+     */
+    private int backoffSeconds(int receiveCount) {
+        int shift = Math.min(Math.max(receiveCount - 1, 0), 20);
+        long backoff = (long) initialBackoffSeconds << shift;
+        return (int) Math.min(backoff, maxBackoffSeconds);
+    }
+
+    private static int parseCount(String count, int defaultValue) {
+        try {
+            return count != null ? Integer.parseInt(count) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private void extend(InFlightMessage message) {
+        message.lastExtendedNanos = System.nanoTime();
+        message.visibility.changeToAsync(visibilityTimeoutSeconds).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Failed to extend visibility of message {}: {}", message.messageId, error.getMessage());
+            } else {
+                visibilityExtensions.increment();
+            }
+        });
+    }
+
+    private boolean finish(InFlightMessage message, String outcome) {
+        if (!message.finished.compareAndSet(false, true)) {
+            return false;
+        }
+        inFlight.remove(message.messageId, message);
+        capacity.release();
+
+        Timer.builder("sqs.inflight.duration")
+            .description("Time from receipt until the message's work finished")
+            .tag("queue", message.queue)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - message.receivedAtNanos, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    /**
+     * Handle for one received message
+     */
+    public static final class InFlightMessage {
+        private final String queue;
+        private final String messageId;
+        private final String body;
+        private final int receiveCount;
+        private final int replayCount;
+        private final Visibility visibility;
+        private final Acknowledgement acknowledgement;
+        private final long receivedAtNanos = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long lastExtendedNanos;
+        private volatile boolean expiredLogged;
+
+        private InFlightMessage(String queue, String messageId, String body, int receiveCount, int replayCount,
+                                Visibility visibility, Acknowledgement acknowledgement) {
+            this.queue = queue;
+            this.messageId = messageId;
+            this.body = body;
+            this.receiveCount = receiveCount;
+            this.replayCount = replayCount;
+            this.visibility = visibility;
+            this.acknowledgement = acknowledgement;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.example.awsk8ssqs.service;
 
+import com.example.awsk8ssqs.jfr.ControlPlaneCallEvent;
 import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kubernetes.client.custom.V1Patch;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CustomObjectsApi;
 import io.kubernetes.client.util.generic.GenericKubernetesApi;
 import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesListObject;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import io.kubernetes.client.util.generic.dynamic.Dynamics;
+import io.kubernetes.client.util.generic.options.CreateOptions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Service for managing OpenSearchCluster custom resources through the Kubernetes API
  * Provides production-grade persistent storage via etcd and Kubernetes API integration
+ *
+ * Lookups by name alone go through the {@link OpenSearchClusterIndex} once it is ready, so
+ * clusters are found in whichever watched namespace they live. Writes go to the namespace in
+ * the resource's metadata; the configured kubernetes.namespace is used for new clusters and
+ * as the fallback.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,28 +37,48 @@ import java.util.*;
 public class KubernetesClusterService {
     
     private final CustomObjectsApi customObjectsApi;
-    private final GenericKubernetesApi<Object, Object> openSearchClusterApi;
+    private final GenericKubernetesApi<DynamicKubernetesObject, DynamicKubernetesListObject> openSearchClusterApi;
     private final ObjectMapper objectMapper;
     
+    // Watch index across namespaces (null when there is none, e.g. in tests)
+    private final OpenSearchClusterIndex clusterIndex;
+    
     // Kubernetes API constants
-    private static final String API_GROUP = "opensearch.aws.com";
-    private static final String API_VERSION = "v1";
-    private static final String RESOURCE_PLURAL = "opensearchclusters";
+    static final String API_GROUP = "opensearch.aws.com";
+    static final String API_VERSION = "v1";
+    static final String RESOURCE_PLURAL = "opensearchclusters";
     private static final String DEFAULT_NAMESPACE = "default";
     
+    @Value("${kubernetes.namespace:default}")
+    private String defaultNamespace = DEFAULT_NAMESPACE;
+    
     /**
-     * Retrieve an OpenSearchCluster by name from Kubernetes API
+     * Retrieve an OpenSearchCluster by name, from the watch index in any watched namespace,
+     * or from the Kubernetes API in the default namespace until the index is ready
      * This is equivalent to: kubectl get opensearchcluster my-cluster
      */
     public OpenSearchCluster getClusterByName(String clusterName) {
-        return getClusterByName(clusterName, DEFAULT_NAMESPACE);
+        if (clusterIndex != null && clusterIndex.isReady()) {
+            return clusterIndex.get(clusterName);
+        }
+        return getClusterByName(clusterName, defaultNamespace);
+    }
+    
+    /**
+     * Namespace a cluster is processed in: where the watch found it, else the default namespace
+     */
+    public String namespaceOf(String clusterName) {
+        String namespace = clusterIndex != null ? clusterIndex.namespaceOf(clusterName) : null;
+        return namespace != null ? namespace : defaultNamespace;
     }
     
     public OpenSearchCluster getClusterByName(String clusterName, String namespace) {
         try {
             log.debug("Getting OpenSearchCluster: {} from namespace: {}", clusterName, namespace);
             
-            KubernetesApiResponse<Object> response = openSearchClusterApi.get(namespace, clusterName);
+            // Failures, including 404, are raised as ApiException
+            KubernetesApiResponse<DynamicKubernetesObject> response =
+                call("get", clusterName, () -> openSearchClusterApi.get(namespace, clusterName)).throwsApiException();
             
             if (response.isSuccess() && response.getObject() != null) {
                 // Convert the raw object to our OpenSearchCluster model
@@ -73,7 +107,7 @@ public class KubernetesClusterService {
      * This is equivalent to: kubectl apply -f cluster.yaml
      */
     public OpenSearchCluster createOrUpdateCluster(OpenSearchCluster cluster) {
-        return createOrUpdateCluster(cluster, DEFAULT_NAMESPACE);
+        return createOrUpdateCluster(cluster, namespaceOf(cluster));
     }
     
     public OpenSearchCluster createOrUpdateCluster(OpenSearchCluster cluster, String namespace) {
@@ -82,20 +116,22 @@ public class KubernetesClusterService {
             log.info("Creating/updating OpenSearchCluster: {} in namespace: {}", clusterName, namespace);
             
             // Convert our model to Kubernetes object
-            Map<String, Object> clusterObject = convertToKubernetesObject(cluster);
+            String clusterJson = objectMapper.writeValueAsString(convertToKubernetesObject(cluster));
             
             // Try to get existing cluster first
             OpenSearchCluster existing = getClusterByName(clusterName, namespace);
             
-            KubernetesApiResponse<Object> response;
+            KubernetesApiResponse<DynamicKubernetesObject> response;
             if (existing != null) {
                 // Update existing cluster
                 log.debug("Updating existing OpenSearchCluster: {}", clusterName);
-                response = openSearchClusterApi.patch(namespace, clusterName, clusterObject);
+                response = call("patch", clusterName, () -> openSearchClusterApi.patch(namespace, clusterName,
+                    V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH, new V1Patch(clusterJson))).throwsApiException();
             } else {
                 // Create new cluster
                 log.debug("Creating new OpenSearchCluster: {}", clusterName);
-                response = openSearchClusterApi.create(namespace, clusterObject);
+                response = call("create", clusterName, () -> openSearchClusterApi.create(namespace,
+                    Dynamics.newFromJson(clusterJson), new CreateOptions())).throwsApiException();
             }
             
             if (response.isSuccess()) {
@@ -118,18 +154,23 @@ public class KubernetesClusterService {
     }
     
     /**
-     * List all OpenSearchClusters in the default namespace
+     * List all OpenSearchClusters in the watched namespaces, or in the default namespace until
+     * the watch index is ready
      * This is equivalent to: kubectl get opensearchclusters
      */
     public List<OpenSearchCluster> listClusters() {
-        return listClusters(DEFAULT_NAMESPACE);
+        if (clusterIndex != null && clusterIndex.isReady()) {
+            return clusterIndex.list();
+        }
+        return listClusters(defaultNamespace);
     }
     
     public List<OpenSearchCluster> listClusters(String namespace) {
         try {
             log.debug("Listing OpenSearchClusters in namespace: {}", namespace);
             
-            KubernetesApiResponse<Object> response = openSearchClusterApi.list(namespace);
+            KubernetesApiResponse<DynamicKubernetesListObject> response =
+                call("list", null, () -> openSearchClusterApi.list(namespace)).throwsApiException();
             
             if (response.isSuccess() && response.getObject() != null) {
                 return convertToOpenSearchClusterList(response.getObject());
@@ -153,14 +194,15 @@ public class KubernetesClusterService {
      * This is equivalent to: kubectl delete opensearchcluster my-cluster
      */
     public boolean deleteCluster(String clusterName) {
-        return deleteCluster(clusterName, DEFAULT_NAMESPACE);
+        return deleteCluster(clusterName, namespaceOf(clusterName));
     }
     
     public boolean deleteCluster(String clusterName, String namespace) {
         try {
             log.info("Deleting OpenSearchCluster: {} from namespace: {}", clusterName, namespace);
             
-            KubernetesApiResponse<Object> response = openSearchClusterApi.delete(namespace, clusterName);
+            KubernetesApiResponse<DynamicKubernetesObject> response =
+                call("delete", clusterName, () -> openSearchClusterApi.delete(namespace, clusterName)).throwsApiException();
             
             if (response.isSuccess()) {
                 log.info("Successfully deleted OpenSearchCluster: {}", clusterName);
@@ -190,7 +232,7 @@ public class KubernetesClusterService {
      * This is used by controllers to update cluster status without changing spec
      */
     public OpenSearchCluster updateClusterStatus(OpenSearchCluster cluster) {
-        return updateClusterStatus(cluster, DEFAULT_NAMESPACE);
+        return updateClusterStatus(cluster, namespaceOf(cluster));
     }
     
     public OpenSearchCluster updateClusterStatus(OpenSearchCluster cluster, String namespace) {
@@ -209,9 +251,11 @@ public class KubernetesClusterService {
             current.setStatus(cluster.getStatus());
             
             // Convert and update
-            Map<String, Object> clusterObject = convertToKubernetesObject(current);
+            String clusterJson = objectMapper.writeValueAsString(convertToKubernetesObject(current));
             
-            KubernetesApiResponse<Object> response = openSearchClusterApi.patch(namespace, clusterName, clusterObject);
+            KubernetesApiResponse<DynamicKubernetesObject> response = call("patch-status", clusterName,
+                () -> openSearchClusterApi.patch(namespace, clusterName, V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+                    new V1Patch(clusterJson)));
             
             if (response.isSuccess()) {
                 return convertToOpenSearchCluster(response.getObject());
@@ -228,58 +272,59 @@ public class KubernetesClusterService {
     }
     
     /**
-     * Convert Kubernetes API object to our OpenSearchCluster model
+     * Namespace from the resource's metadata, else where the cluster name resolves
      */
-    @SuppressWarnings("unchecked")
-    private OpenSearchCluster convertToOpenSearchCluster(Object kubernetesObject) {
+    private String namespaceOf(OpenSearchCluster cluster) {
+        if (cluster.getMetadata() != null && cluster.getMetadata().getNamespace() != null) {
+            return cluster.getMetadata().getNamespace();
+        }
+        return namespaceOf(cluster.getMetadata() != null ? cluster.getMetadata().getName() : null);
+    }
+    
+    /**
+     * Run one Kubernetes API request, recorded as a JFR control-plane call event
+     */
+    private <R extends KubernetesApiResponse<?>> R call(String operation, String clusterName, Supplier<R> request) {
+        ControlPlaneCallEvent event = ControlPlaneCallEvent.start(ControlPlaneCallEvent.KUBERNETES, operation, clusterName);
         try {
-            // Convert to JSON and back to our model
-            String json = objectMapper.writeValueAsString(kubernetesObject);
-            return objectMapper.readValue(json, OpenSearchCluster.class);
-        } catch (Exception e) {
-            log.error("Error converting Kubernetes object to OpenSearchCluster", e);
-            throw new RuntimeException("Failed to convert Kubernetes object", e);
+            R response = request.get();
+            event.succeeded(response.isSuccess());
+            return response;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
         }
     }
     
+    /**
+     * Convert Kubernetes API object to our OpenSearchCluster model
+     */
+    private OpenSearchCluster convertToOpenSearchCluster(Object kubernetesObject) {
+        return OpenSearchClusterConverter.toOpenSearchCluster(objectMapper, kubernetesObject);
+    }
+    
     /**
      * Convert our OpenSearchCluster model to Kubernetes API object
      */
-    @SuppressWarnings("unchecked")
     private Map<String, Object> convertToKubernetesObject(OpenSearchCluster cluster) {
-        try {
-            // Ensure Kubernetes metadata is set
-            if (cluster.getApiVersion() == null) {
-                cluster.setApiVersion(API_GROUP + "/" + API_VERSION);
-            }
-            if (cluster.getKind() == null) {
-                cluster.setKind("OpenSearchCluster");
-            }
-            
-            // Convert to Map for Kubernetes API
-            String json = objectMapper.writeValueAsString(cluster);
-            return objectMapper.readValue(json, Map.class);
-        } catch (Exception e) {
-            log.error("Error converting OpenSearchCluster to Kubernetes object", e);
-            throw new RuntimeException("Failed to convert to Kubernetes object", e);
-        }
+        return OpenSearchClusterConverter.toKubernetesObject(objectMapper, cluster);
     }
     
     /**
      * Convert Kubernetes list response to our OpenSearchCluster list
      */
-    @SuppressWarnings("unchecked")
-    private List<OpenSearchCluster> convertToOpenSearchClusterList(Object listObject) {
+    private List<OpenSearchCluster> convertToOpenSearchClusterList(DynamicKubernetesListObject listObject) {
         try {
-            Map<String, Object> listMap = (Map<String, Object>) listObject;
-            List<Object> items = (List<Object>) listMap.get("items");
+            List<DynamicKubernetesObject> items = listObject.getItems();
             
             if (items == null) {
                 return Collections.emptyList();
             }
             
             List<OpenSearchCluster> clusters = new ArrayList<>();
-            for (Object item : items) {
+            for (DynamicKubernetesObject item : items) {
                 clusters.add(convertToOpenSearchCluster(item));
             }
             
@@ -296,8 +341,16 @@ public class KubernetesClusterService {
      */
     public OpenSearchCluster createDefaultClusterDefinition(String clusterName) {
         log.info("Creating default OpenSearchCluster definition: {}", clusterName);
-        
-        var cluster = OpenSearchCluster.builder()
+        OpenSearchCluster cluster = defaultClusterDefinition(clusterName);
+        cluster.getMetadata().setNamespace(defaultNamespace);
+        return createOrUpdateCluster(cluster, defaultNamespace);
+    }
+    
+    /**
+     * The definition assumed for a cluster that has none yet
+     */
+    public static OpenSearchCluster defaultClusterDefinition(String clusterName) {
+        return OpenSearchCluster.builder()
             .apiVersion(API_GROUP + "/" + API_VERSION)
             .kind("OpenSearchCluster")
             .metadata(OpenSearchCluster.ObjectMeta.builder()
@@ -327,11 +380,9 @@ public class KubernetesClusterService {
                     .build())
                 .build())
             .status(OpenSearchCluster.ClusterStatus.builder()
-                .phase(OpenSearchCluster.ClusterPhase.READY)
+                .phase(ClusterPhase.READY)
                 .nodeCount(3)
                 .build())
             .build();
-        
-        return createOrUpdateCluster(cluster);
     }
 } 
\ No newline at end of file
@@ -58,13 +58,19 @@ public class MetricsAnalyzer {
         
         // Get the primary alarm (should be only one per message)
         var alarm = metrics.getAlarms().get(0);
-        
-        if (!"ALARM".equals(alarm.getState())) {
+        return getAlarmSeverity(alarm.getName(), alarm.getState());
+    }
+    
+    /**
+     * Get alarm severity from the alarm name and state
+     */
+    public String getAlarmSeverity(String name, String state) {
+        if (!"ALARM".equals(state)) {
             return "OK"; // Alarm is not active
         }
         
         // Determine severity from alarm name
-        String alarmName = alarm.getName().toLowerCase();
+        String alarmName = name.toLowerCase();
         if (alarmName.contains("critical")) {
             return "CRITICAL";
         } else if (alarmName.contains("high") || alarmName.contains("error")) {
@@ -212,6 +218,17 @@ public class MetricsAnalyzer {
         return Map.copyOf(metricsHistory.getOrDefault(clusterName, Map.of()));
     }
     
+    /**
+     * Total number of stored metrics samples across all clusters
+     */
+    public int getHistorySize() {
+        int size = 0;
+        for (Map<LocalDateTime, CloudWatchMetrics> clusterHistory : metricsHistory.values()) {
+            size += clusterHistory.size();
+        }
+        return size;
+    }
+    
     /**
      * Clear all metrics history
      */
@@ -0,0 +1,101 @@
+package com.example.awsk8ssqs.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool per Kubernetes namespace for processing metrics messages.
+ *
+ * Each namespace gets its own threads and queue, created on first use, so a tenant namespace
+ * with an alarm storm can occupy at most threads + queue-capacity messages while the other
+ * namespaces keep their own workers. Work beyond that is refused and the caller hands the
+ * message back to SQS. With threads set to 0 (the default) there are no pools and messages
+ * are processed on the listener threads.
+ */
+@Component
+@Slf4j
+public class NamespaceWorkers {
+
+    private final MeterRegistry meterRegistry;
+    private final int threads;
+    private final int queueCapacity;
+    private final Map<String, ThreadPoolExecutor> pools = new ConcurrentHashMap<>();
+
+    public NamespaceWorkers(MeterRegistry meterRegistry,
+                            @Value("${namespace-workers.threads:0}") int threads,
+                            @Value("${namespace-workers.queue-capacity:16}") int queueCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public boolean isEnabled() {
+        return threads > 0;
+    }
+
+    /**
+     * Run the task on the namespace's workers.
+     *
+     * @return false if the namespace's workers and queue are full and the task was not accepted
+     */
+    public boolean submit(String namespace, Runnable task) {
+        try {
+            pools.computeIfAbsent(namespace, this::createPool).execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("namespace.workers.rejected", "namespace", namespace).increment();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.values().forEach(ThreadPoolExecutor::shutdown);
+        for (Map.Entry<String, ThreadPoolExecutor> entry : pools.entrySet()) {
+            try {
+                if (!entry.getValue().awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Workers of namespace {} still busy at shutdown", entry.getKey());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private ThreadPoolExecutor createPool(String namespace) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "ns-" + namespace + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // Namespaces that go quiet do not keep their threads
+        pool.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("namespace.workers.active", pool, ThreadPoolExecutor::getActiveCount)
+            .description("Metrics messages being processed, by namespace")
+            .tag("namespace", namespace)
+            .register(meterRegistry);
+        Gauge.builder("namespace.workers.queued", pool, executor -> executor.getQueue().size())
+            .description("Metrics messages waiting for a worker, by namespace")
+            .tag("namespace", namespace)
+            .register(meterRegistry);
+
+        log.info("Started {} workers for namespace {}", threads, namespace);
+        return pool;
+    }
+}
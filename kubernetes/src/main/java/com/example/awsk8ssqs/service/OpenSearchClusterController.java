@@ -1,12 +1,23 @@
 package com.example.awsk8ssqs.service;
 
-import com.example.awsk8ssqs.model.CloudWatchMetrics;
+import com.example.awsk8ssqs.jfr.AlarmProcessedEvent;
+import com.example.awsk8ssqs.jfr.RemediationActionEvent;
 import com.example.awsk8ssqs.model.OpenSearchCluster;
-import com.example.awsk8ssqs.model.RemediationAction;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.awsk8ssqs.model.alert.AlertType;
+import com.example.awsk8ssqs.model.cluster.ClusterPhase;
+import com.example.awsk8ssqs.model.metrics.MetricsSample;
+import com.example.awsk8ssqs.model.remediation.ActionType;
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import com.example.awsk8ssqs.model.remediation.RemediationAction;
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.awspring.cloud.sqs.listener.acknowledgement.Acknowledgement;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
@@ -21,215 +32,234 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class OpenSearchClusterController {
     
-    private final ObjectMapper objectMapper;
+    private final CloudWatchMetricsDecoder metricsDecoder;
     private final OpenSearchService openSearchService;
     private final RemediationStrategy remediationStrategy;
+    private final RemediationPlanner remediationPlanner;
     private final AlertService alertService;
     private final MetricsAnalyzer metricsAnalyzer;
     private final CooldownManager cooldownManager;
     
     // Kubernetes API service for managing cluster definitions in etcd via API server
     private final KubernetesClusterService kubernetesClusterService;
+
+    // Fan-out of status changes to streaming subscribers
+    private final ClusterStatusEventBus statusEventBus;
+    
+    // Keeps the message invisible while long (high-priority) actions block this listener
+    private final InFlightMessageTracker inFlightTracker;
+    
+    // Per-stage timers and counters, see RemediationMetrics
+    private final RemediationMetrics remediationMetrics;
+    
+    // Optional per-namespace workers; without them messages are processed on the listener thread
+    private final NamespaceWorkers namespaceWorkers;
+    
+    @Value("${aws.sqs.metrics-queue}")
+    private String metricsQueue;
     
-    @SqsListener("${aws.sqs.metrics-queue}")
-    public void processCloudWatchMetrics(@Payload String message) {
+    @SqsListener(value = "${aws.sqs.metrics-queue}", acknowledgementMode = "MANUAL")
+    public void processCloudWatchMetrics(@Payload String message,
+                                         @Header("MessageId") String messageId,
+                                         @Header(name = SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, required = false) String receiveCount,
+                                         @Header(name = DeadLetterRouter.ATTR_REPLAY_COUNT, required = false) String replayCount,
+                                         @Header(name = SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP, required = false) String sentTimestamp,
+                                         Visibility visibility,
+                                         Acknowledgement acknowledgement) {
+        remediationMetrics.recordReceiveLag(metricsQueue, sentTimestamp);
+        
+        var inFlight = inFlightTracker.begin(metricsQueue, messageId, message, receiveCount, replayCount, visibility, acknowledgement);
+        if (inFlight == null) {
+            return;
+        }
+        
+        // The stage in progress is tagged on failure, so errors are attributed to where they happened
+        Timer.Sample stageTimer = remediationMetrics.startTimer();
+        AlarmProcessedEvent alarmEvent = AlarmProcessedEvent.start(messageId);
+        MetricsSample metrics;
+        String clusterName = null;
+        
+        try {
+            // The per-thread sample is only valid while this listener thread processes the message
+            metrics = namespaceWorkers.isEnabled()
+                ? metricsDecoder.decode(message, new MetricsSample())
+                : metricsDecoder.decode(message);
+            clusterName = metrics.getClusterName();
+            if (clusterName == null || !metrics.hasAlarm()) {
+                throw new IllegalArgumentException("CloudWatch metrics message has no cluster name or alarm");
+            }
+            log.info("Processing CloudWatch metrics for cluster: {}", clusterName);
+            remediationMetrics.stageFinished(stageTimer, RemediationMetrics.STAGE_DECODE, clusterName, null, RemediationMetrics.OUTCOME_SUCCESS);
+            alarmEvent.stageFinished(RemediationMetrics.STAGE_DECODE);
+            alarmEvent.alarmDecoded(clusterName, metrics.getAlarmName(), metrics.getAlarmState());
+        } catch (Exception e) {
+            log.error("Error processing CloudWatch metrics: {}", e.getMessage(), e);
+            remediationMetrics.stageFinished(stageTimer, RemediationMetrics.STAGE_DECODE, clusterName, null, RemediationMetrics.OUTCOME_ERROR);
+            alarmEvent.stageFinished(RemediationMetrics.STAGE_DECODE);
+            alarmEvent.finish(RemediationMetrics.OUTCOME_ERROR, RemediationMetrics.STAGE_DECODE);
+            inFlightTracker.fail(inFlight, e);
+            return;
+        }
+        
+        if (!namespaceWorkers.isEnabled()) {
+            processAlarm(inFlight, metrics, alarmEvent);
+            return;
+        }
+        
+        // Each namespace has its own bounded workers, so one tenant's alarm storm cannot hold up the others
+        String namespace = kubernetesClusterService.namespaceOf(clusterName);
+        if (!namespaceWorkers.submit(namespace, () -> processAlarm(inFlight, metrics, alarmEvent))) {
+            log.warn("Workers of namespace {} are busy, returning message {} for cluster {} to the queue",
+                namespace, messageId, clusterName);
+            alarmEvent.finish(RemediationMetrics.OUTCOME_ERROR, "namespace_queue");
+            inFlightTracker.release(inFlight);
+        }
+    }
+    
+    /**
+     * Look up the cluster, decide and run its remediation and write its status, on the listener
+     * thread or on a worker of the cluster's namespace
+     */
+    private void processAlarm(InFlightMessageTracker.InFlightMessage inFlight, MetricsSample metrics,
+                              AlarmProcessedEvent alarmEvent) {
+        if (namespaceWorkers.isEnabled()) {
+            alarmEvent.stageFinished("namespace_queue");
+        }
+        Timer.Sample stageTimer = remediationMetrics.startTimer();
+        String stage = RemediationMetrics.STAGE_CRD_LOOKUP;
+        String clusterName = metrics.getClusterName();
+        ActionType actionType = null;
+        
         try {
-            CloudWatchMetrics metrics = objectMapper.readValue(message, CloudWatchMetrics.class);
-            log.info("Processing CloudWatch metrics for cluster: {}", metrics.getClusterName());
-            
             // Get the cluster definition from Kubernetes API
-            OpenSearchCluster cluster = kubernetesClusterService.getClusterByName(metrics.getClusterName());
+            OpenSearchCluster cluster = kubernetesClusterService.getClusterByName(clusterName);
             if (cluster == null) {
-                log.warn("No OpenSearchCluster found for: {}. Creating default cluster definition.", 
-                    metrics.getClusterName());
-                cluster = kubernetesClusterService.createDefaultClusterDefinition(metrics.getClusterName());
+                log.warn("No OpenSearchCluster found for: {}. Creating default cluster definition.", clusterName);
+                cluster = kubernetesClusterService.createDefaultClusterDefinition(clusterName);
             }
             
             // Update cluster metrics
             updateClusterMetrics(cluster, metrics);
+            stageTimer = remediationMetrics.stageFinished(stageTimer, stage, clusterName, null, RemediationMetrics.OUTCOME_SUCCESS);
+            alarmEvent.stageFinished(stage);
             
             // Analyze single alarm and determine remediation action
-            RemediationAction action = analyzeAndPlanRemediation(cluster, metrics);
+            stage = RemediationMetrics.STAGE_DECIDE;
+            RemediationAction action = remediationPlanner.plan(cluster, metrics.getAlarmName(), metrics.getAlarmState());
+            actionType = action != null ? action.getType() : null;
+            stageTimer = remediationMetrics.stageFinished(stageTimer, stage, clusterName, actionType, RemediationMetrics.OUTCOME_SUCCESS);
+            alarmEvent.stageFinished(stage);
+            alarmEvent.actionDecided(actionType != null ? actionType.name() : null);
             
-            // Execute action with intelligent cooldown handling
+            // Execute action with intelligent cooldown handling (also timed as remediation.action.duration)
+            stage = RemediationMetrics.STAGE_ACTION;
             if (action != null) {
                 handleActionWithCooldown(cluster, action, metrics);
             }
+            stageTimer = remediationMetrics.stageFinished(stageTimer, stage, clusterName, actionType, RemediationMetrics.OUTCOME_SUCCESS);
+            alarmEvent.stageFinished(stage);
             
             // Update cluster status in Kubernetes API
+            stage = RemediationMetrics.STAGE_STATUS_WRITE;
             updateClusterStatus(cluster, metrics, action);
+            remediationMetrics.stageFinished(stageTimer, stage, clusterName, actionType, RemediationMetrics.OUTCOME_SUCCESS);
+            alarmEvent.stageFinished(stage);
+            
+            inFlightTracker.complete(inFlight);
+            alarmEvent.finish(RemediationMetrics.OUTCOME_SUCCESS, null);
+            remediationMetrics.messageProcessed();
             
         } catch (Exception e) {
             log.error("Error processing CloudWatch metrics: {}", e.getMessage(), e);
+            remediationMetrics.stageFinished(stageTimer, stage, clusterName, actionType, RemediationMetrics.OUTCOME_ERROR);
+            alarmEvent.stageFinished(stage);
+            alarmEvent.finish(RemediationMetrics.OUTCOME_ERROR, stage);
+            // Malformed messages go to the dead-letter queue, transient failures are retried with backoff
+            inFlightTracker.fail(inFlight, e);
         }
     }
     
-    private RemediationAction analyzeAndPlanRemediation(OpenSearchCluster cluster, CloudWatchMetrics metrics) {
-        if (cluster.getSpec() == null) {
-            log.warn("No cluster spec configured for: {}", cluster.getMetadata().getName());
-            return null;
-        }
-        
-        // Get the single alarm from this message
-        var alarm = metrics.getAlarms().get(0);
-        String alarmName = alarm.getName().toLowerCase();
-        String alarmSeverity = metricsAnalyzer.getAlarmSeverity(metrics);
-        
-        // Determine single action based on alarm type and severity
-        if (alarmName.contains("cpu") || alarmName.contains("memory")) {
-            if (!cluster.canScale()) {
-                return null; // Cannot take action
-            }
-            
-            // For critical alarms, use emergency scaling (double nodes)
-            if ("CRITICAL".equals(alarmSeverity)) {
-                return RemediationAction.builder()
-                    .type(RemediationAction.ActionType.EMERGENCY_SCALE)
-                    .priority(RemediationAction.Priority.IMMEDIATE)
-                    .reason("Critical " + (alarmName.contains("cpu") ? "CPU" : "Memory") + " alarm: " + alarm.getName())
-                    .targetNodes(Math.min(cluster.getSpec().getNodeCount() * 2, cluster.getMaxNodes()))
-                    .ruleName("emergency-scale")
-                    .build();
-            } else {
-                return RemediationAction.builder()
-                    .type(RemediationAction.ActionType.SCALE_OUT)
-                    .priority(RemediationAction.Priority.HIGH)
-                    .reason("CloudWatch alarm: " + alarm.getName())
-                    .targetNodes(cluster.getSpec().getNodeCount() + 1)
-                    .ruleName(alarmName.contains("cpu") ? "cpu-alarm-scale-out" : "memory-alarm-scale-out")
-                    .build();
-            }
-            
-        } else if (alarmName.contains("latency")) {
-            if ("CRITICAL".equals(alarmSeverity)) {
-                return RemediationAction.builder()
-                    .type(RemediationAction.ActionType.CREATE_NEW_CLUSTER)
-                    .priority(RemediationAction.Priority.CRITICAL)
-                    .reason("Critical latency alarm: " + alarm.getName())
-                    .ruleName("critical-latency-alarm-new-cluster")
-                    .build();
-            } else if (cluster.canScale()) {
-                return RemediationAction.builder()
-                    .type(RemediationAction.ActionType.SCALE_OUT)
-                    .priority(RemediationAction.Priority.HIGH)
-                    .reason("Latency alarm: " + alarm.getName())
-                    .targetNodes(cluster.getSpec().getNodeCount() + 1)
-                    .ruleName("latency-alarm-scale-out")
-                    .build();
-            } else {
-                return RemediationAction.builder()
-                    .type(RemediationAction.ActionType.OPTIMIZE_CLUSTER)
-                    .priority(RemediationAction.Priority.MEDIUM)
-                    .reason("Latency alarm but cannot scale: " + alarm.getName())
-                    .optimizations(List.of("refresh_interval", "merge_policy", "index_settings"))
-                    .ruleName("latency-alarm-optimization")
-                    .build();
-            }
-            
-        } else if (alarmName.contains("disk")) {
-            return RemediationAction.builder()
-                .type(RemediationAction.ActionType.ALERT_CRITICAL)
-                .priority(RemediationAction.Priority.CRITICAL)
-                .reason("Disk space alarm: " + alarm.getName())
-                .alertLevel(RemediationAction.AlertLevel.CRITICAL)
-                .ruleName("disk-space-alert")
-                .build();
-        }
-        
-        // Unknown alarm type
-        log.warn("Unknown alarm type for cluster {}: {}", cluster.getMetadata().getName(), alarm.getName());
-        return null;
-    }
-    
-    private void handleActionWithCooldown(OpenSearchCluster cluster, RemediationAction action, CloudWatchMetrics metrics) {
+    private void handleActionWithCooldown(OpenSearchCluster cluster, RemediationAction action, MetricsSample metrics) {
         String clusterName = cluster.getMetadata().getName();
         String ruleName = action.getRuleName();
+        String alarmSeverity = metricsAnalyzer.getAlarmSeverity(metrics.getAlarmName(), metrics.getAlarmState());
         
-        // Use state-aware cooldown checking
-        if (cooldownManager.canExecuteActionWithState(clusterName, ruleName, cluster)) {
-            // Normal execution - no cooldown or state conflicts
-            executeRemediationAction(cluster, action, metrics);
-        } else {
-            // Action blocked - determine if it's time cooldown or state conflict
-            boolean timeBlocked = !cooldownManager.isTimeCooldownExpired(clusterName, ruleName);
-            String alarmSeverity = metricsAnalyzer.getAlarmSeverity(metrics);
-            
-            if (!timeBlocked) {
-                // Blocked by cluster state (e.g., already scaling)
-                log.info("Action {} blocked for cluster {} - cluster in incompatible state ({}). Alarm severity: {}", 
-                    action.getType(), clusterName, cluster.getStatus().getPhase(), alarmSeverity);
-                
-                // For state conflicts, we generally don't retry unless critical
-                if ("CRITICAL".equals(alarmSeverity)) {
-                    log.warn("CRITICAL alarm {} - monitoring cluster state for completion", action.getReason());
-                    // Could schedule a state-check retry here in future enhancement
-                }
+        // State-aware cooldown checking
+        switch (cooldownManager.evaluate(clusterName, ruleName, cluster, alarmSeverity)) {
+            case EXECUTE:
+                // Normal execution - no cooldown or state conflicts
+                executeRemediationAction(cluster, action);
+                break;
                 
-            } else if ("CRITICAL".equals(alarmSeverity)) {
+            case BYPASS_TIME_COOLDOWN:
                 // Critical alarms bypass time cooldown but still respect state
-                if (cooldownManager.isClusterReadyForAction(clusterName, ruleName, cluster)) {
-                    log.warn("CRITICAL alarm {} for cluster {} - bypassing time cooldown due to severity", 
-                        action.getReason(), clusterName);
-                    executeRemediationAction(cluster, action, metrics);
-                } else {
+                log.warn("CRITICAL alarm {} for cluster {} - bypassing time cooldown due to severity", 
+                    action.getReason(), clusterName);
+                executeRemediationAction(cluster, action);
+                break;
+                
+            case BLOCKED_BY_STATE:
+                // Blocked by cluster state (e.g., already scaling); state conflicts are not retried
+                if ("CRITICAL".equals(alarmSeverity)) {
                     log.warn("CRITICAL alarm {} blocked by cluster state {} - cannot bypass", 
                         action.getReason(), cluster.getStatus().getPhase());
+                } else {
+                    log.info("Action {} blocked for cluster {} - cluster in incompatible state ({}). Alarm severity: {}", 
+                        action.getType(), clusterName, cluster.getStatus().getPhase(), alarmSeverity);
                 }
+                remediationMetrics.cooldownBlocked(clusterName, action.getType(), RemediationMetrics.BLOCK_CLUSTER_STATE);
+                break;
                 
-            } else {
+            case DELAY:
+            default:
                 // Schedule delayed retry for non-critical time-based cooldowns
                 Duration remainingCooldown = cooldownManager.getRemainingCooldown(clusterName, ruleName);
                 log.info("Action {} blocked by time cooldown for cluster {}. Scheduling retry in {}", 
                     action.getType(), clusterName, remainingCooldown);
+                remediationMetrics.cooldownBlocked(clusterName, action.getType(), RemediationMetrics.BLOCK_TIME_COOLDOWN);
                 
-                scheduleDelayedAction(cluster, action, metrics, remainingCooldown);
-            }
+                scheduleDelayedAction(cluster, action, remainingCooldown);
         }
     }
     
-    private void scheduleDelayedAction(OpenSearchCluster cluster, RemediationAction action, 
-                                     CloudWatchMetrics metrics, Duration delay) {
+    private void scheduleDelayedAction(OpenSearchCluster cluster, RemediationAction action, Duration delay) {
         // Schedule action to execute after cooldown expires
+        remediationMetrics.delayedActionScheduled();
         CompletableFuture.delayedExecutor(delay.toSeconds(), java.util.concurrent.TimeUnit.SECONDS)
             .execute(() -> {
                 try {
                     // Re-check if action is still needed (alarm might have cleared)
-                    if (isAlarmStillActive(cluster, action)) {
+                    if (remediationPlanner.isStillNeeded(cluster, action)) {
                         log.info("Executing delayed action {} for cluster {} after cooldown", 
                             action.getType(), cluster.getMetadata().getName());
-                        executeRemediationAction(cluster, action, metrics);
+                        executeRemediationAction(cluster, action);
                     } else {
                         log.info("Skipping delayed action {} for cluster {} - alarm cleared", 
                             action.getType(), cluster.getMetadata().getName());
                     }
                 } catch (Exception e) {
                     log.error("Failed to execute delayed action: {}", e.getMessage(), e);
+                } finally {
+                    remediationMetrics.delayedActionDone();
                 }
             });
     }
     
-    private boolean isAlarmStillActive(OpenSearchCluster cluster, RemediationAction action) {
-        // Check if we should still execute this action
-        // In a real implementation, you might query CloudWatch or check cluster metrics
-        // For now, assume the action is still needed if cluster can be improved
-        
-        if (action.getType() == RemediationAction.ActionType.SCALE_OUT) {
-            return cluster.canScale() && cluster.getSpec().getNodeCount() < cluster.getMaxNodes();
-        } else if (action.getType() == RemediationAction.ActionType.CREATE_NEW_CLUSTER) {
-            return true; // Critical latency issues usually need new clusters
-        } else if (action.getType() == RemediationAction.ActionType.ALERT_CRITICAL) {
-            return true; // Always send alerts
-        }
-        
-        return true; // Default to executing the action
-    }
-    
-    private void executeRemediationAction(OpenSearchCluster cluster, RemediationAction action, CloudWatchMetrics metrics) {
+    private void executeRemediationAction(OpenSearchCluster cluster, RemediationAction action) {
         try {
             log.info("Executing remediation action: {} for cluster: {}", 
                 action.getType(), cluster.getMetadata().getName());
             
-            CompletableFuture<Boolean> future = executeAction(cluster, action, metrics);
+            Timer.Sample actionTimer = remediationMetrics.startTimer();
+            CompletableFuture<Boolean> future = executeAction(cluster, action);
+
+            // Scaling and creation change phase and node count as soon as the action finishes
+            future.whenComplete((success, error) -> {
+                String outcome = error != null ? RemediationMetrics.OUTCOME_ERROR
+                    : Boolean.TRUE.equals(success) ? RemediationMetrics.OUTCOME_SUCCESS : RemediationMetrics.OUTCOME_FAILURE;
+                remediationMetrics.actionFinished(actionTimer, cluster.getMetadata().getName(), action.getType(), outcome);
+                statusEventBus.publish(cluster);
+            });
             
             // For critical actions, wait for completion
             if (action.isHighPriority()) {
@@ -251,41 +281,54 @@ public class OpenSearchClusterController {
         }
     }
     
-    private CompletableFuture<Boolean> executeAction(OpenSearchCluster cluster, RemediationAction action, CloudWatchMetrics metrics) {
+    private CompletableFuture<Boolean> executeAction(OpenSearchCluster cluster, RemediationAction action) {
         return CompletableFuture.supplyAsync(() -> {
+            RemediationActionEvent event = RemediationActionEvent.start(cluster.getMetadata().getName(),
+                action.getType().name(), action.getRuleName(),
+                action.getPriority() != null ? action.getPriority().name() : null, action.getTargetNodes());
+            boolean success = false;
             try {
-                switch (action.getType()) {
-                    case SCALE_OUT:
-                        return scaleOutCluster(cluster, action.getTargetNodes());
-                        
-                    case SCALE_IN:
-                        return scaleInCluster(cluster, action.getTargetNodes());
-                        
-                    case CREATE_NEW_CLUSTER:
-                        return createNewCluster(cluster, action);
-                        
-                    case OPTIMIZE_CLUSTER:
-                        return optimizeCluster(cluster, action.getOptimizations());
-                        
-                    case ALERT:
-                    case ALERT_CRITICAL:
-                        return sendAlert(cluster, action, metrics);
-                        
-                    case EMERGENCY_SCALE:
-                        return emergencyScale(cluster, action.getTargetNodes());
-                        
-                    default:
-                        log.warn("Unknown action type: {}", action.getType());
-                        return false;
-                }
-            } catch (Exception e) {
-                log.error("Error executing action: {}", action.getType(), e);
-                return false;
+                success = executeActionType(cluster, action);
+                return success;
+            } finally {
+                event.finish(success);
             }
         });
     }
     
-    private boolean scaleOutCluster(OpenSearchCluster cluster, int targetNodes) {
+    private boolean executeActionType(OpenSearchCluster cluster, RemediationAction action) {
+        try {
+            switch (action.getType()) {
+                case SCALE_OUT:
+                    return scaleOutCluster(cluster, action.getTargetNodes());
+                    
+                case SCALE_IN:
+                    return scaleInCluster(cluster, action.getTargetNodes());
+                    
+                case CREATE_NEW_CLUSTER:
+                    return createNewCluster(cluster, action);
+                    
+                case OPTIMIZE_CLUSTER:
+                    return optimizeCluster(cluster, action.getOptimizations());
+                    
+                case ALERT:
+                case ALERT_CRITICAL:
+                    return sendAlert(cluster, action);
+                    
+                case EMERGENCY_SCALE:
+                    return emergencyScale(cluster, action.getTargetNodes());
+                    
+                default:
+                    log.warn("Unknown action type: {}", action.getType());
+                    return false;
+            }
+        } catch (Exception e) {
+            log.error("Error executing action: {}", action.getType(), e);
+            return false;
+        }
+    }
+    
+    private boolean scaleOutCluster(OpenSearchCluster cluster, Integer targetNodes) {
         int currentNodes = cluster.getSpec().getNodeCount();
         int newNodeCount = Math.min(targetNodes != null ? targetNodes : currentNodes + 1, cluster.getMaxNodes());
         
@@ -300,27 +343,27 @@ public class OpenSearchClusterController {
         try {
             // Update cluster spec
             cluster.getSpec().setNodeCount(newNodeCount);
-            cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.SCALING);
+            cluster.getStatus().setPhase(ClusterPhase.SCALING);
             
             // Scale the actual OpenSearch cluster in LocalStack
             boolean success = openSearchService.scaleCluster(cluster.getSpec().getClusterName(), newNodeCount);
             
             if (success) {
                 cluster.getStatus().setNodeCount(newNodeCount);
-                cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.READY);
+                cluster.getStatus().setPhase(ClusterPhase.READY);
             } else {
-                cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.ERROR);
+                cluster.getStatus().setPhase(ClusterPhase.ERROR);
             }
             
             return success;
         } catch (Exception e) {
             log.error("Failed to scale out cluster: {}", cluster.getMetadata().getName(), e);
-            cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.ERROR);
+            cluster.getStatus().setPhase(ClusterPhase.ERROR);
             return false;
         }
     }
     
-    private boolean scaleInCluster(OpenSearchCluster cluster, int targetNodes) {
+    private boolean scaleInCluster(OpenSearchCluster cluster, Integer targetNodes) {
         int currentNodes = cluster.getSpec().getNodeCount();
         int newNodeCount = Math.max(targetNodes != null ? targetNodes : currentNodes - 1, cluster.getMinNodes());
         
@@ -334,21 +377,21 @@ public class OpenSearchClusterController {
         
         try {
             cluster.getSpec().setNodeCount(newNodeCount);
-            cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.SCALING);
+            cluster.getStatus().setPhase(ClusterPhase.SCALING);
             
             boolean success = openSearchService.scaleCluster(cluster.getSpec().getClusterName(), newNodeCount);
             
             if (success) {
                 cluster.getStatus().setNodeCount(newNodeCount);
-                cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.READY);
+                cluster.getStatus().setPhase(ClusterPhase.READY);
             } else {
-                cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.ERROR);
+                cluster.getStatus().setPhase(ClusterPhase.ERROR);
             }
             
             return success;
         } catch (Exception e) {
             log.error("Failed to scale in cluster: {}", cluster.getMetadata().getName(), e);
-            cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.ERROR);
+            cluster.getStatus().setPhase(ClusterPhase.ERROR);
             return false;
         }
     }
@@ -375,7 +418,7 @@ public class OpenSearchClusterController {
                         .build())
                     .spec(newClusterSpec)
                     .status(OpenSearchCluster.ClusterStatus.builder()
-                        .phase(OpenSearchCluster.ClusterPhase.CREATING)
+                        .phase(ClusterPhase.CREATING)
                         .build())
                     .build();
                 
@@ -384,8 +427,10 @@ public class OpenSearchClusterController {
                 
                 // Send alert about new cluster creation
                 alertService.sendAlert(
+                    cluster.getMetadata().getName(),
+                    AlertType.CLUSTER_CREATION,
                     String.format("Created new OpenSearch cluster: %s due to %s", newClusterName, action.getReason()),
-                    RemediationAction.AlertLevel.WARNING
+                    AlertLevel.WARNING
                 );
             }
             
@@ -407,11 +452,11 @@ public class OpenSearchClusterController {
         }
     }
     
-    private boolean sendAlert(OpenSearchCluster cluster, RemediationAction action, CloudWatchMetrics metrics) {
+    private boolean sendAlert(OpenSearchCluster cluster, RemediationAction action) {
         String message = String.format("OpenSearch Cluster Alert: %s - %s", 
             cluster.getMetadata().getName(), action.getReason());
         
-        alertService.sendAlert(message, action.getAlertLevel());
+        alertService.sendAlert(cluster.getMetadata().getName(), message, action.getAlertLevel());
         return true;
     }
     
@@ -421,19 +466,21 @@ public class OpenSearchClusterController {
         // Emergency scaling bypasses normal validation
         try {
             cluster.getSpec().setNodeCount(targetNodes);
-            cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.SCALING);
+            cluster.getStatus().setPhase(ClusterPhase.SCALING);
             
             boolean success = openSearchService.scaleCluster(cluster.getSpec().getClusterName(), targetNodes);
             
             if (success) {
                 cluster.getStatus().setNodeCount(targetNodes);
-                cluster.getStatus().setPhase(OpenSearchCluster.ClusterPhase.READY);
+                cluster.getStatus().setPhase(ClusterPhase.READY);
                 
                 // Send critical alert
                 alertService.sendAlert(
+                    cluster.getMetadata().getName(),
+                    AlertType.SCALING,
                     String.format("EMERGENCY: Scaled cluster %s to %d nodes", 
                         cluster.getMetadata().getName(), targetNodes),
-                    RemediationAction.AlertLevel.CRITICAL
+                    AlertLevel.CRITICAL
                 );
             }
             
@@ -444,11 +491,10 @@ public class OpenSearchClusterController {
         }
     }
     
-    private void updateClusterMetrics(OpenSearchCluster cluster, CloudWatchMetrics metrics) {
+    private void updateClusterMetrics(OpenSearchCluster cluster, MetricsSample metrics) {
         // Store alarm information instead of assuming multiple metrics
-        var alarm = metrics.getAlarms().get(0);
         String lastAlarmInfo = String.format("%s: %s (%s)", 
-            alarm.getName(), alarm.getState(), alarm.getReason());
+            metrics.getAlarmName(), metrics.getAlarmState(), metrics.getAlarmReason());
         
         if (cluster.getStatus() == null) {
             cluster.setStatus(OpenSearchCluster.ClusterStatus.builder().build());
@@ -459,7 +505,7 @@ public class OpenSearchClusterController {
         cluster.getStatus().setLastUpdated(LocalDateTime.now());
     }
     
-    private void updateClusterStatus(OpenSearchCluster cluster, CloudWatchMetrics metrics, RemediationAction action) {
+    private void updateClusterStatus(OpenSearchCluster cluster, MetricsSample metrics, RemediationAction action) {
         if (action != null && action.isExecuted()) {
             var lastAction = OpenSearchCluster.LastAction.builder()
                 .type(action.getType().name())
@@ -474,6 +520,7 @@ public class OpenSearchClusterController {
         
         // Update cluster status in Kubernetes API (etcd via API server)
         kubernetesClusterService.updateClusterStatus(cluster);
+        statusEventBus.publish(cluster);
     }
     
 
@@ -0,0 +1,61 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Conversions between the OpenSearchCluster model and the raw objects of the Kubernetes API.
+ *
+ * Both directions are a JSON round trip through the application's ObjectMapper; a
+ * DynamicKubernetesObject from the API client is read from its raw JSON. They are used by
+ * {@link KubernetesClusterService} and, without an API server, by its stand-ins and benchmarks.
+ */
+@Slf4j
+public final class OpenSearchClusterConverter {
+
+    private OpenSearchClusterConverter() {
+    }
+
+    /**
+     * Convert Kubernetes API object to our OpenSearchCluster model
+     */
+    public static OpenSearchCluster toOpenSearchCluster(ObjectMapper objectMapper, Object kubernetesObject) {
+        try {
+            // Convert to JSON and back to our model
+            String json = kubernetesObject instanceof DynamicKubernetesObject
+                ? ((DynamicKubernetesObject) kubernetesObject).getRaw().toString()
+                : objectMapper.writeValueAsString(kubernetesObject);
+            return objectMapper.readValue(json, OpenSearchCluster.class);
+        } catch (Exception e) {
+            log.error("Error converting Kubernetes object to OpenSearchCluster", e);
+            throw new RuntimeException("Failed to convert Kubernetes object", e);
+        }
+    }
+
+    /**
+     * Convert our OpenSearchCluster model to Kubernetes API object, filling in apiVersion and kind
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> toKubernetesObject(ObjectMapper objectMapper, OpenSearchCluster cluster) {
+        try {
+            // Ensure Kubernetes metadata is set
+            if (cluster.getApiVersion() == null) {
+                cluster.setApiVersion(KubernetesClusterService.API_GROUP + "/" + KubernetesClusterService.API_VERSION);
+            }
+            if (cluster.getKind() == null) {
+                cluster.setKind("OpenSearchCluster");
+            }
+
+            // Convert to Map for Kubernetes API
+            String json = objectMapper.writeValueAsString(cluster);
+            return objectMapper.readValue(json, Map.class);
+        } catch (Exception e) {
+            log.error("Error converting OpenSearchCluster to Kubernetes object", e);
+            throw new RuntimeException("Failed to convert to Kubernetes object", e);
+        }
+    }
+}
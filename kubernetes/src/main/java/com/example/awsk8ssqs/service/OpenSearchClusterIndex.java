@@ -0,0 +1,222 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesListObject;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of OpenSearchCluster resources by cluster name, kept current by one
+ * cluster-scoped watch.
+ *
+ * Metrics messages name a cluster but not its namespace, so the controller resolves the
+ * namespace here instead of assuming one. An informer lists and watches opensearchclusters in
+ * all namespaces (relisting after a dropped watch and every resync period); resources outside
+ * kubernetes.watch.namespaces are ignored, an empty list means all namespaces. Each resource is
+ * kept as its JSON, and every lookup returns a fresh copy that the caller may modify.
+ *
+ * The index is eventually consistent: a write shows up once its watch event arrives. Until the
+ * first list has completed, {@link #isReady()} is false and callers fall back to the API.
+ */
+@Service
+@Slf4j
+public class OpenSearchClusterIndex implements SmartLifecycle {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Set<String> namespaces;
+    private final SharedInformerFactory informerFactory;
+    private final SharedIndexInformer<DynamicKubernetesObject> informer;
+
+    // clusterName -> namespace -> resource JSON; the inner maps are replaced, never modified
+    private final Map<String, NavigableMap<String, String>> clusters = new ConcurrentHashMap<>();
+    private final Set<String> ambiguousLogged = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    public OpenSearchClusterIndex(ApiClient apiClient,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${kubernetes.watch.enabled:true}") boolean enabled,
+                                  @Value("${kubernetes.watch.namespaces:}") String namespaces,
+                                  @Value("${kubernetes.watch.resync-period-ms:600000}") long resyncPeriodMs) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.namespaces = Arrays.stream(namespaces.split(","))
+            .map(String::trim)
+            .filter(namespace -> !namespace.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+
+        GenericKubernetesApi<DynamicKubernetesObject, DynamicKubernetesListObject> api = new GenericKubernetesApi<>(
+            DynamicKubernetesObject.class, DynamicKubernetesListObject.class,
+            KubernetesClusterService.API_GROUP, KubernetesClusterService.API_VERSION,
+            KubernetesClusterService.RESOURCE_PLURAL, apiClient);
+        this.informerFactory = new SharedInformerFactory(apiClient);
+        this.informer = informerFactory.sharedIndexInformerFor(api, DynamicKubernetesObject.class, resyncPeriodMs);
+        this.informer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(DynamicKubernetesObject resource) {
+                put(resource);
+            }
+
+            @Override
+            public void onUpdate(DynamicKubernetesObject previous, DynamicKubernetesObject resource) {
+                put(resource);
+            }
+
+            @Override
+            public void onDelete(DynamicKubernetesObject resource, boolean finalStateUnknown) {
+                remove(resource);
+            }
+        });
+
+        Gauge.builder("kubernetes.cluster.index.size", clusters, Map::size)
+            .description("Cluster names in the OpenSearchCluster watch index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Whether lookups reflect the watched namespaces; false while disabled or before the first list
+     */
+    public boolean isReady() {
+        return running && informer.hasSynced();
+    }
+
+    /**
+     * The cluster with this name in any watched namespace, as a copy, or null if there is none.
+     * A name used in several namespaces resolves to the first namespace in alphabetical order.
+     */
+    public OpenSearchCluster get(String clusterName) {
+        Map.Entry<String, String> entry = resolve(clusterName);
+        return entry != null ? parse(entry.getValue()) : null;
+    }
+
+    /**
+     * Namespace of the cluster with this name, or null if it is not indexed
+     */
+    public String namespaceOf(String clusterName) {
+        Map.Entry<String, String> entry = resolve(clusterName);
+        return entry != null ? entry.getKey() : null;
+    }
+
+    /**
+     * Copies of all indexed clusters, in every watched namespace
+     */
+    public List<OpenSearchCluster> list() {
+        List<OpenSearchCluster> result = new ArrayList<>(clusters.size());
+        for (NavigableMap<String, String> byNamespace : clusters.values()) {
+            for (String json : byNamespace.values()) {
+                OpenSearchCluster cluster = parse(json);
+                if (cluster != null) {
+                    result.add(cluster);
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return clusters.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("OpenSearchCluster watch disabled, looking clusters up through the API");
+            return;
+        }
+        log.info("Watching OpenSearchClusters in {}", namespaces.isEmpty() ? "all namespaces" : namespaces);
+        informerFactory.startAllRegisteredInformers();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            running = false;
+            informerFactory.stopAllRegisteredInformers();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private Map.Entry<String, String> resolve(String clusterName) {
+        NavigableMap<String, String> byNamespace = clusterName != null ? clusters.get(clusterName) : null;
+        if (byNamespace == null || byNamespace.isEmpty()) {
+            return null;
+        }
+        if (byNamespace.size() > 1 && ambiguousLogged.add(clusterName)) {
+            log.warn("OpenSearchCluster {} exists in namespaces {}, using {}",
+                clusterName, byNamespace.keySet(), byNamespace.firstKey());
+        }
+        return byNamespace.firstEntry();
+    }
+
+    private void put(DynamicKubernetesObject resource) {
+        String namespace = resource.getMetadata().getNamespace();
+        String clusterName = resource.getMetadata().getName();
+        if (!isWatched(namespace) || clusterName == null) {
+            return;
+        }
+
+        String json = resource.getRaw().toString();
+        clusters.compute(clusterName, (name, byNamespace) -> {
+            NavigableMap<String, String> updated = byNamespace != null ? new TreeMap<>(byNamespace) : new TreeMap<>();
+            updated.put(namespace, json);
+            return Collections.unmodifiableNavigableMap(updated);
+        });
+    }
+
+    private void remove(DynamicKubernetesObject resource) {
+        String namespace = resource.getMetadata().getNamespace();
+        String clusterName = resource.getMetadata().getName();
+        if (!isWatched(namespace) || clusterName == null) {
+            return;
+        }
+
+        clusters.computeIfPresent(clusterName, (name, byNamespace) -> {
+            NavigableMap<String, String> updated = new TreeMap<>(byNamespace);
+            updated.remove(namespace);
+            return updated.isEmpty() ? null : Collections.unmodifiableNavigableMap(updated);
+        });
+        ambiguousLogged.remove(clusterName);
+    }
+
+    private boolean isWatched(String namespace) {
+        return namespace != null && (namespaces.isEmpty() || namespaces.contains(namespace));
+    }
+
+    private OpenSearchCluster parse(String json) {
+        try {
+            return objectMapper.readValue(json, OpenSearchCluster.class);
+        } catch (IOException e) {
+            log.error("Cannot read indexed OpenSearchCluster: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.awsk8ssqs.service;
 
+import com.example.awsk8ssqs.jfr.ControlPlaneCallEvent;
 import com.example.awsk8ssqs.model.ClusterRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.opensearch.OpenSearchClient;
 import software.amazon.awssdk.services.opensearch.model.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Service for managing AWS OpenSearch clusters using the AWS SDK.
@@ -20,6 +24,11 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class OpenSearchService {
 
+    // DescribeDomains accepts at most 5 domain names per request
+    private static final int DESCRIBE_DOMAINS_BATCH_SIZE = 5;
+
+    // Resolved on first call, see AwsConfig
+    @Lazy
     private final OpenSearchClient openSearchClient;
 
     /**
@@ -32,7 +41,7 @@ public class OpenSearchService {
                 
                 // Create the OpenSearch domain (cluster)
                 CreateDomainRequest createRequest = buildCreateDomainRequest(request);
-                CreateDomainResponse response = openSearchClient.createDomain(createRequest);
+                CreateDomainResponse response = call("CreateDomain", createRequest.domainName(), () -> openSearchClient.createDomain(createRequest));
                 
                 log.info("OpenSearch cluster creation initiated: {}", response.domainStatus().domainName());
                 log.info("Cluster ARN: {}", response.domainStatus().arn());
@@ -63,7 +72,7 @@ public class OpenSearchService {
                         .domainName(clusterName)
                         .build();
                 
-                DeleteDomainResponse response = openSearchClient.deleteDomain(deleteRequest);
+                DeleteDomainResponse response = call("DeleteDomain", clusterName, () -> openSearchClient.deleteDomain(deleteRequest));
                 log.info("OpenSearch cluster deletion initiated: {}", response.domainStatus().domainName());
                 
                 // Wait for deletion to complete
@@ -87,21 +96,13 @@ public class OpenSearchService {
                     .domainName(clusterName)
                     .build();
             
-            DescribeDomainResponse response = openSearchClient.describeDomain(request);
+            DescribeDomainResponse response = call("DescribeDomain", clusterName, () -> openSearchClient.describeDomain(request));
             DomainStatus status = response.domainStatus();
             
             log.info("Cluster {} status: processing={}, created={}, deleted={}", 
                     clusterName, status.processing(), status.created(), status.deleted());
             
-            if (status.deleted()) {
-                return "DELETED";
-            } else if (status.processing()) {
-                return "PROCESSING";
-            } else if (status.created()) {
-                return "ACTIVE";
-            } else {
-                return "UNKNOWN";
-            }
+            return toClusterStatus(status);
             
         } catch (ResourceNotFoundException e) {
             return "NOT_FOUND";
@@ -120,7 +121,7 @@ public class OpenSearchService {
                     .domainName(clusterName)
                     .build();
             
-            DescribeDomainResponse response = openSearchClient.describeDomain(request);
+            DescribeDomainResponse response = call("DescribeDomain", clusterName, () -> openSearchClient.describeDomain(request));
             return response.domainStatus().endpoint();
             
         } catch (Exception e) {
@@ -134,14 +135,8 @@ public class OpenSearchService {
      */
     public Map<String, String> listClusters() {
         try {
-            ListDomainNamesRequest request = ListDomainNamesRequest.builder().build();
-            ListDomainNamesResponse response = openSearchClient.listDomainNames(request);
-            
             Map<String, String> clusters = new HashMap<>();
-            response.domainNames().forEach(domain -> {
-                String status = getClusterStatus(domain.domainName());
-                clusters.put(domain.domainName(), status);
-            });
+            describeAllClusters().forEach((name, status) -> clusters.put(name, toClusterStatus(status)));
             
             return clusters;
             
@@ -151,6 +146,60 @@ public class OpenSearchService {
         }
     }
 
+    /**
+     * Describes all OpenSearch domains in batches, keyed by domain name.
+     * Uses DescribeDomains (up to 5 domains per call) instead of one DescribeDomain per domain.
+     */
+    public Map<String, DomainStatus> describeAllClusters() {
+        ListDomainNamesResponse names = call("ListDomainNames", null,
+                () -> openSearchClient.listDomainNames(ListDomainNamesRequest.builder().build()));
+        List<String> domainNames = names.domainNames().stream()
+                .map(DomainInfo::domainName)
+                .toList();
+        
+        Map<String, DomainStatus> statuses = new HashMap<>();
+        for (int i = 0; i < domainNames.size(); i += DESCRIBE_DOMAINS_BATCH_SIZE) {
+            List<String> batch = domainNames.subList(i, Math.min(i + DESCRIBE_DOMAINS_BATCH_SIZE, domainNames.size()));
+            DescribeDomainsResponse response = call("DescribeDomains", null, () -> openSearchClient.describeDomains(
+                    DescribeDomainsRequest.builder().domainNames(batch).build()));
+            response.domainStatusList().forEach(status -> statuses.put(status.domainName(), status));
+        }
+        
+        return statuses;
+    }
+
+    /**
+     * Maps an AWS domain status to the simple status string used by the API.
+     */
+    public String toClusterStatus(DomainStatus status) {
+        if (Boolean.TRUE.equals(status.deleted())) {
+            return "DELETED";
+        } else if (Boolean.TRUE.equals(status.processing())) {
+            return "PROCESSING";
+        } else if (Boolean.TRUE.equals(status.created())) {
+            return "ACTIVE";
+        } else {
+            return "UNKNOWN";
+        }
+    }
+
+    /**
+     * Runs one OpenSearch API request, recorded as a JFR control-plane call event.
+     */
+    private <T> T call(String operation, String clusterName, Supplier<T> request) {
+        ControlPlaneCallEvent event = ControlPlaneCallEvent.start(ControlPlaneCallEvent.OPENSEARCH, operation, clusterName);
+        try {
+            T response = request.get();
+            event.succeeded(true);
+            return response;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
     /**
      * Builds the CreateDomainRequest from ClusterRequest.
      */
@@ -201,9 +250,10 @@ public class OpenSearchService {
         if (request.getResources() != null && request.getResources().getMemoryRequest() != null) {
             String memory = request.getResources().getMemoryRequest();
             if (memory.contains("4Gi") || memory.contains("4G")) {
-                return OpenSearchPartitionInstanceType.M6G_LARGE_SEARCH;
+                return OpenSearchPartitionInstanceType.M6_G_LARGE_SEARCH;
             } else if (memory.contains("2Gi") || memory.contains("2G")) {
-                return OpenSearchPartitionInstanceType.M6G_MEDIUM_SEARCH;
+                // There is no m6g.medium; t4g.medium is the Graviton instance of that size
+                return OpenSearchPartitionInstanceType.T4_G_MEDIUM_SEARCH;
             }
         }
         
@@ -285,8 +335,9 @@ public class OpenSearchService {
                     .build())
                 .build();
             
-            UpdateDomainConfigResponse response = openSearchClient.updateDomainConfig(updateRequest);
-            log.info("Cluster scaling initiated: {}", response.domainConfig().clusterConfig().instanceCount());
+            UpdateDomainConfigResponse response = call("UpdateDomainConfig", clusterName,
+                () -> openSearchClient.updateDomainConfig(updateRequest));
+            log.info("Cluster scaling initiated: {}", response.domainConfig().clusterConfig().options().instanceCount());
             return true;
             
         } catch (Exception e) {
@@ -309,8 +360,8 @@ public class OpenSearchService {
                     .instanceType(OpenSearchPartitionInstanceType.fromValue(spec.getInstanceType()))
                     .instanceCount(spec.getNodeCount())
                     .dedicatedMasterEnabled(spec.getNodeCount() >= 3)
-                    .masterInstanceType(spec.getNodeCount() >= 3 ? OpenSearchPartitionInstanceType.fromValue(spec.getInstanceType()) : null)
-                    .masterInstanceCount(spec.getNodeCount() >= 3 ? 3 : null)
+                    .dedicatedMasterType(spec.getNodeCount() >= 3 ? OpenSearchPartitionInstanceType.fromValue(spec.getInstanceType()) : null)
+                    .dedicatedMasterCount(spec.getNodeCount() >= 3 ? 3 : null)
                     .build())
                 .ebsOptions(EBSOptions.builder()
                     .ebsEnabled(true)
@@ -320,7 +371,7 @@ public class OpenSearchService {
                 .accessPolicies(createAccessPolicy(spec.getClusterName()))
                 .build();
             
-            CreateDomainResponse response = openSearchClient.createDomain(createRequest);
+            CreateDomainResponse response = call("CreateDomain", createRequest.domainName(), () -> openSearchClient.createDomain(createRequest));
             log.info("OpenSearch cluster creation initiated: {}", response.domainStatus().domainName());
             return true;
             
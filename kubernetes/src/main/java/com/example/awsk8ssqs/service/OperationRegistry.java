@@ -0,0 +1,324 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.operation.OperationRecord;
+import com.example.awsk8ssqs.model.operation.OperationState;
+import com.example.awsk8ssqs.model.operation.OperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Registry of provisioning and deletion operations, keyed by request ID and cluster name.
+ *
+ * Duplicate requests (SQS redelivery, retried REST calls) are collapsed onto the future of the
+ * operation already in flight, and successful operations are remembered for result-ttl so a
+ * late duplicate gets the cached result instead of another control-plane call. Failed
+ * operations are forgotten immediately so that a retry runs again.
+ *
+ * When a journal path is configured every state change is appended to it as a JSON line,
+ * and recently completed operations survive a restart. Operations still in progress at
+ * shutdown come back as INTERRUPTED: they can be looked up by request ID for result-ttl,
+ * but a retry runs again since their outcome is unknown.
+ */
+@Service
+@Slf4j
+public class OperationRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final Duration resultTtl;
+    private final Path journalPath;
+
+    // All state below is guarded by "this"; control-plane operations are rare enough that one lock is fine
+    private final Map<String, Operation> latestByCluster = new HashMap<>();
+    private final Map<String, Operation> byRequestId = new HashMap<>();
+    private BufferedWriter journalWriter;
+
+    public OperationRegistry(ObjectMapper objectMapper,
+                             @Value("${operations.registry.result-ttl-ms:600000}") long resultTtlMs,
+                             @Value("${operations.registry.journal-path:}") String journalPath) {
+        this.objectMapper = objectMapper;
+        this.resultTtl = Duration.ofMillis(resultTtlMs);
+        this.journalPath = journalPath == null || journalPath.isBlank() ? null : Path.of(journalPath);
+    }
+
+    /**
+     * Run the action unless an equivalent operation is already in flight or recently succeeded,
+     * in which case its future is returned instead.
+     *
+     * @param requestId client-supplied idempotency key (may be null)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(OperationType type, String clusterName, String requestId,
+                                            Supplier<CompletableFuture<T>> action) {
+        Operation operation;
+        boolean started = false;
+
+        synchronized (this) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(resultTtl);
+            operation = requestId != null ? byRequestId.get(requestId) : null;
+            if (operation != null && (operation.record.getType() != type || !operation.isReusable(cutoff))) {
+                operation = null;
+            }
+
+            if (operation == null) {
+                Operation latest = latestByCluster.get(clusterName);
+                if (latest != null && latest.record.getType() == type && latest.isReusable(cutoff)) {
+                    operation = latest;
+                }
+            }
+
+            if (operation != null) {
+                log.info("Collapsing {} request {} for cluster {} onto operation {} ({})",
+                    type, requestId, clusterName, operation.record.getOperationId(), operation.record.getState());
+                if (requestId != null && !operation.record.getRequestIds().contains(requestId)) {
+                    Set<String> requestIds = new LinkedHashSet<>(operation.record.getRequestIds());
+                    requestIds.add(requestId);
+                    operation.record = operation.record.toBuilder().requestIds(requestIds).build();
+                    byRequestId.put(requestId, operation);
+                    appendToJournal(operation.record);
+                }
+            } else {
+                operation = new Operation(OperationRecord.builder()
+                    .operationId(UUID.randomUUID().toString())
+                    .type(type)
+                    .clusterName(clusterName)
+                    .requestIds(requestId != null ? Set.of(requestId) : Set.of())
+                    .state(OperationState.IN_PROGRESS)
+                    .startedAt(LocalDateTime.now())
+                    .build());
+                latestByCluster.put(clusterName, operation);
+                if (requestId != null) {
+                    byRequestId.put(requestId, operation);
+                }
+                appendToJournal(operation.record);
+                started = true;
+            }
+        }
+
+        if (started) {
+            Operation owned = operation;
+            CompletableFuture<T> actionFuture;
+            try {
+                actionFuture = action.get();
+            } catch (Exception e) {
+                actionFuture = CompletableFuture.failedFuture(e);
+            }
+            actionFuture.whenComplete((result, error) -> complete(owned, result, error));
+        }
+
+        return (CompletableFuture<T>) operation.future;
+    }
+
+    /**
+     * Operation a request ID was collapsed onto, or null if unknown or expired
+     */
+    public synchronized OperationRecord findByRequestId(String requestId) {
+        Operation operation = byRequestId.get(requestId);
+        return operation != null ? operation.record : null;
+    }
+
+    /**
+     * Forget operations whose cached result has expired and compact the journal
+     */
+    @Scheduled(fixedDelayString = "${operations.registry.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(resultTtl);
+        boolean removed = latestByCluster.values().removeIf(operation -> operation.isExpired(cutoff));
+        removed |= byRequestId.values().removeIf(operation -> operation.isExpired(cutoff));
+
+        if (removed && journalWriter != null) {
+            rewriteJournal();
+        }
+    }
+
+    @PostConstruct
+    public synchronized void recover() {
+        if (journalPath == null) {
+            return;
+        }
+
+        try {
+            if (Files.exists(journalPath)) {
+                Map<String, OperationRecord> records = new LinkedHashMap<>();
+                for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        OperationRecord record = objectMapper.readValue(line, OperationRecord.class);
+                        records.put(record.getOperationId(), record);
+                    } catch (IOException e) {
+                        log.warn("Skipping malformed operation journal entry: {}", e.getMessage());
+                    }
+                }
+                restore(records.values());
+            } else if (journalPath.getParent() != null) {
+                Files.createDirectories(journalPath.getParent());
+            }
+
+            rewriteJournal();
+            log.info("Operation journal {} recovered: {} cached request IDs", journalPath, byRequestId.size());
+
+        } catch (IOException e) {
+            log.error("Failed to recover operation journal {}, continuing without it: {}", journalPath, e.getMessage(), e);
+            journalWriter = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (journalWriter != null) {
+            try {
+                journalWriter.close();
+            } catch (IOException e) {
+                log.warn("Failed to close operation journal: {}", e.getMessage());
+            }
+            journalWriter = null;
+        }
+    }
+
+    private void complete(Operation operation, Object result, Throwable error) {
+        synchronized (this) {
+            OperationRecord.OperationRecordBuilder completed = operation.record.toBuilder()
+                .completedAt(LocalDateTime.now());
+
+            if (error == null) {
+                completed.state(OperationState.SUCCEEDED).result(result != null ? result.toString() : null);
+            } else {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                completed.state(OperationState.FAILED).error(cause.getMessage());
+
+                // Failures are not cached, so a retry of the same request runs again
+                latestByCluster.remove(operation.record.getClusterName(), operation);
+                operation.record.getRequestIds().forEach(id -> byRequestId.remove(id, operation));
+            }
+
+            operation.record = completed.build();
+            appendToJournal(operation.record);
+        }
+
+        // Complete outside the lock so dependent callbacks never run while holding it
+        if (error == null) {
+            operation.future.complete(result);
+        } else {
+            operation.future.completeExceptionally(error);
+        }
+    }
+
+    private void restore(Iterable<OperationRecord> records) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(resultTtl);
+        List<OperationRecord> restored = new ArrayList<>();
+
+        for (OperationRecord record : records) {
+            if (record.getState() == OperationState.IN_PROGRESS) {
+                log.warn("{} of cluster {} was in progress at shutdown (requests {}), outcome unknown",
+                    record.getType(), record.getClusterName(), record.getRequestIds());
+                // Completed as of now, so it expires like any other result
+                restored.add(record.toBuilder().state(OperationState.INTERRUPTED).completedAt(now).build());
+            } else if ((record.getState() == OperationState.SUCCEEDED || record.getState() == OperationState.INTERRUPTED)
+                    && record.getCompletedAt() != null && record.getCompletedAt().isAfter(cutoff)) {
+                restored.add(record);
+            }
+        }
+
+        restored.sort(Comparator.comparing(OperationRecord::getStartedAt));
+        for (OperationRecord record : restored) {
+            Operation operation = new Operation(record);
+            if (record.getState() == OperationState.SUCCEEDED) {
+                operation.future.complete(record.getResult());
+            } else {
+                operation.future.completeExceptionally(new IllegalStateException(
+                    record.getType() + " of cluster " + record.getClusterName() + " was interrupted by a restart"));
+            }
+            latestByCluster.put(record.getClusterName(), operation);
+            record.getRequestIds().forEach(id -> byRequestId.put(id, operation));
+        }
+    }
+
+    private void appendToJournal(OperationRecord record) {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.write(objectMapper.writeValueAsString(record));
+            journalWriter.newLine();
+            journalWriter.flush();
+        } catch (IOException e) {
+            log.error("Failed to append to operation journal: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the journal with one line per operation still held in memory
+     */
+    private void rewriteJournal() {
+        Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        close();
+
+        try {
+            Set<Operation> live = new LinkedHashSet<>(latestByCluster.values());
+            live.addAll(byRequestId.values());
+
+            try (BufferedWriter writer = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+                for (Operation operation : live) {
+                    writer.write(objectMapper.writeValueAsString(operation.record));
+                    writer.newLine();
+                }
+            }
+            Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            journalWriter = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        } catch (IOException e) {
+            log.error("Failed to compact operation journal {}, journaling disabled: {}", journalPath, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One tracked operation; record is replaced (never mutated) under the registry lock
+     */
+    private static final class Operation {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile OperationRecord record;
+
+        Operation(OperationRecord record) {
+            this.record = record;
+        }
+
+        boolean isReusable(LocalDateTime cutoff) {
+            return record.getState() == OperationState.IN_PROGRESS
+                || (record.getState() == OperationState.SUCCEEDED && record.getCompletedAt().isAfter(cutoff));
+        }
+
+        boolean isExpired(LocalDateTime cutoff) {
+            return record.getCompletedAt() != null && record.getCompletedAt().isBefore(cutoff);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.remediation.ActionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters for the metrics-to-remediation pipeline in {@link OpenSearchClusterController}.
+ *
+ * Every stage of a metrics message (decode, CRD lookup, decision, action, status write) is timed under
+ * one timer tagged by stage, cluster, action and outcome, so a backed-up queue can be traced to
+ * the stage that is slow. Action execution, cooldown blocks and SQS receive lag have their own
+ * meters. All meters with the same name carry the same tag keys, as Prometheus requires.
+ * Time from JVM start to the first processed message measures startup as the queue sees it.
+ */
+@Component
+@Slf4j
+public class RemediationMetrics {
+
+    public static final String STAGE_DECODE = "decode";
+    public static final String STAGE_CRD_LOOKUP = "crd_lookup";
+    public static final String STAGE_DECIDE = "decide";
+    public static final String STAGE_ACTION = "action";
+    public static final String STAGE_STATUS_WRITE = "status_write";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String OUTCOME_ERROR = "error";
+
+    public static final String BLOCK_CLUSTER_STATE = "cluster_state";
+    public static final String BLOCK_TIME_COOLDOWN = "time_cooldown";
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger pendingDelayedActions = new AtomicInteger();
+    private final AtomicBoolean firstMessageProcessed = new AtomicBoolean();
+
+    public RemediationMetrics(MeterRegistry meterRegistry, MetricsAnalyzer metricsAnalyzer) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("remediation.delayed.actions.pending", pendingDelayedActions, AtomicInteger::get)
+            .description("Remediation actions waiting for their cooldown to expire")
+            .register(meterRegistry);
+        Gauge.builder("remediation.metrics.history.size", metricsAnalyzer, MetricsAnalyzer::getHistorySize)
+            .description("Metrics samples held by the analyzer for comparison")
+            .register(meterRegistry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Time from SQS send to receipt, from the message's SentTimestamp attribute (epoch millis)
+     */
+    public void recordReceiveLag(String queue, String sentTimestamp) {
+        if (sentTimestamp == null) {
+            return;
+        }
+        try {
+            long lagMillis = System.currentTimeMillis() - Long.parseLong(sentTimestamp);
+            Timer.builder("remediation.sqs.receive.lag")
+                .description("Time metrics messages waited in SQS before being received")
+                .tag("queue", queue)
+                .register(meterRegistry)
+                .record(Math.max(lagMillis, 0), TimeUnit.MILLISECONDS);
+        } catch (NumberFormatException ignored) {
+            // Not sent by SQS (e.g. a local test harness)
+        }
+    }
+
+    /**
+     * Record a finished pipeline stage and start timing the next one
+     */
+    public Timer.Sample stageFinished(Timer.Sample sample, String stage, String clusterName,
+                                      ActionType action, String outcome) {
+        sample.stop(Timer.builder("remediation.pipeline.stage")
+            .description("Time spent in each stage of processing a metrics message")
+            .tag("stage", stage)
+            .tag("cluster", tagValue(clusterName))
+            .tag("action", action != null ? action.name() : NONE)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+        return startTimer();
+    }
+
+    public void actionFinished(Timer.Sample sample, String clusterName, ActionType action, String outcome) {
+        sample.stop(Timer.builder("remediation.action.duration")
+            .description("Time from starting a remediation action until it finished")
+            .tag("cluster", tagValue(clusterName))
+            .tag("action", action != null ? action.name() : NONE)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+
+    public void cooldownBlocked(String clusterName, ActionType action, String reason) {
+        Counter.builder("remediation.cooldown.blocked")
+            .description("Remediation actions held back by cooldown, by reason")
+            .tag("cluster", tagValue(clusterName))
+            .tag("action", action != null ? action.name() : NONE)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Record a successfully processed metrics message; the first one after startup is reported
+     */
+    public void messageProcessed() {
+        if (firstMessageProcessed.get() || !firstMessageProcessed.compareAndSet(false, true)) {
+            return;
+        }
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("controller.startup.first.message", () -> uptimeMillis, TimeUnit.MILLISECONDS)
+            .description("Time from JVM start until the first metrics message was processed")
+            .register(meterRegistry);
+        log.info("First metrics message processed {} ms after JVM start", uptimeMillis);
+    }
+
+    public void delayedActionScheduled() {
+        pendingDelayedActions.incrementAndGet();
+    }
+
+    public void delayedActionDone() {
+        pendingDelayedActions.decrementAndGet();
+    }
+
+    private static String tagValue(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.awsk8ssqs.service;
+
+import com.example.awsk8ssqs.model.OpenSearchCluster;
+import com.example.awsk8ssqs.model.remediation.ActionType;
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import com.example.awsk8ssqs.model.remediation.Priority;
+import com.example.awsk8ssqs.model.remediation.RemediationAction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maps a single CloudWatch alarm to the remediation action the controller takes for it.
+ *
+ * Planning only reads the cluster, so the same decisions can be replayed offline against
+ * recorded alarms.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RemediationPlanner {
+
+    private final MetricsAnalyzer metricsAnalyzer;
+
+    /**
+     * Analyze a single alarm and determine the remediation action
+     *
+     * @return the action, or null if none applies
+     */
+    public RemediationAction plan(OpenSearchCluster cluster, String alarmName, String alarmState) {
+        if (cluster.getSpec() == null) {
+            log.warn("No cluster spec configured for: {}", cluster.getMetadata().getName());
+            return null;
+        }
+
+        String name = alarmName.toLowerCase();
+        String alarmSeverity = metricsAnalyzer.getAlarmSeverity(alarmName, alarmState);
+
+        // Determine single action based on alarm type and severity
+        if (name.contains("cpu") || name.contains("memory")) {
+            if (!cluster.canScale()) {
+                return null; // Cannot take action
+            }
+
+            // For critical alarms, use emergency scaling (double nodes)
+            if ("CRITICAL".equals(alarmSeverity)) {
+                return RemediationAction.builder()
+                    .type(ActionType.EMERGENCY_SCALE)
+                    .priority(Priority.IMMEDIATE)
+                    .reason("Critical " + (name.contains("cpu") ? "CPU" : "Memory") + " alarm: " + alarmName)
+                    .targetNodes(Math.min(cluster.getSpec().getNodeCount() * 2, cluster.getMaxNodes()))
+                    .ruleName("emergency-scale")
+                    .build();
+            } else {
+                return RemediationAction.builder()
+                    .type(ActionType.SCALE_OUT)
+                    .priority(Priority.HIGH)
+                    .reason("CloudWatch alarm: " + alarmName)
+                    .targetNodes(cluster.getSpec().getNodeCount() + 1)
+                    .ruleName(name.contains("cpu") ? "cpu-alarm-scale-out" : "memory-alarm-scale-out")
+                    .build();
+            }
+
+        } else if (name.contains("latency")) {
+            if ("CRITICAL".equals(alarmSeverity)) {
+                return RemediationAction.builder()
+                    .type(ActionType.CREATE_NEW_CLUSTER)
+                    .priority(Priority.CRITICAL)
+                    .reason("Critical latency alarm: " + alarmName)
+                    .ruleName("critical-latency-alarm-new-cluster")
+                    .build();
+            } else if (cluster.canScale()) {
+                return RemediationAction.builder()
+                    .type(ActionType.SCALE_OUT)
+                    .priority(Priority.HIGH)
+                    .reason("Latency alarm: " + alarmName)
+                    .targetNodes(cluster.getSpec().getNodeCount() + 1)
+                    .ruleName("latency-alarm-scale-out")
+                    .build();
+            } else {
+                return RemediationAction.builder()
+                    .type(ActionType.OPTIMIZE_CLUSTER)
+                    .priority(Priority.MEDIUM)
+                    .reason("Latency alarm but cannot scale: " + alarmName)
+                    .optimizations(List.of("refresh_interval", "merge_policy", "index_settings"))
+                    .ruleName("latency-alarm-optimization")
+                    .build();
+            }
+
+        } else if (name.contains("disk")) {
+            return RemediationAction.builder()
+                .type(ActionType.ALERT_CRITICAL)
+                .priority(Priority.CRITICAL)
+                .reason("Disk space alarm: " + alarmName)
+                .alertLevel(AlertLevel.CRITICAL)
+                .ruleName("disk-space-alert")
+                .build();
+        }
+
+        // Unknown alarm type
+        log.warn("Unknown alarm type for cluster {}: {}", cluster.getMetadata().getName(), alarmName);
+        return null;
+    }
+
+    /**
+     * Whether an action delayed by its cooldown should still run
+     */
+    public boolean isStillNeeded(OpenSearchCluster cluster, RemediationAction action) {
+        // In a real implementation, you might query CloudWatch or check cluster metrics
+        // For now, assume the action is still needed if cluster can be improved
+        if (action.getType() == ActionType.SCALE_OUT) {
+            return cluster.canScale() && cluster.getSpec().getNodeCount() < cluster.getMaxNodes();
+        } else if (action.getType() == ActionType.CREATE_NEW_CLUSTER) {
+            return true; // Critical latency issues usually need new clusters
+        } else if (action.getType() == ActionType.ALERT_CRITICAL) {
+            return true; // Always send alerts
+        }
+
+        return true; // Default to executing the action
+    }
+}
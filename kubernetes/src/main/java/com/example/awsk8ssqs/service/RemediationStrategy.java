@@ -2,7 +2,10 @@ package com.example.awsk8ssqs.service;
 
 import com.example.awsk8ssqs.model.CloudWatchMetrics;
 import com.example.awsk8ssqs.model.OpenSearchCluster;
-import com.example.awsk8ssqs.model.RemediationAction;
+import com.example.awsk8ssqs.model.remediation.ActionType;
+import com.example.awsk8ssqs.model.remediation.AlertLevel;
+import com.example.awsk8ssqs.model.remediation.Priority;
+import com.example.awsk8ssqs.model.remediation.RemediationAction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -135,8 +138,8 @@ public class RemediationStrategy {
         return Arrays.asList(
             // Immediate relief through scaling
             RemediationAction.builder()
-                .type(RemediationAction.ActionType.EMERGENCY_SCALE)
-                .priority(RemediationAction.Priority.IMMEDIATE)
+                .type(ActionType.EMERGENCY_SCALE)
+                .priority(Priority.IMMEDIATE)
                 .reason("Critical cluster health - emergency scaling")
                 .targetNodes(Math.min(cluster.getSpec().getNodeCount() * 2, cluster.getMaxNodes()))
                 .ruleName("emergency-scale")
@@ -144,18 +147,18 @@ public class RemediationStrategy {
                 
             // Create backup cluster for failover
             RemediationAction.builder()
-                .type(RemediationAction.ActionType.CREATE_NEW_CLUSTER)
-                .priority(RemediationAction.Priority.CRITICAL)
+                .type(ActionType.CREATE_NEW_CLUSTER)
+                .priority(Priority.CRITICAL)
                 .reason("Critical health - creating backup cluster")
                 .ruleName("critical-backup-cluster")
                 .build(),
                 
             // Immediate critical alert
             RemediationAction.builder()
-                .type(RemediationAction.ActionType.ALERT_CRITICAL)
-                .priority(RemediationAction.Priority.IMMEDIATE)
+                .type(ActionType.ALERT_CRITICAL)
+                .priority(Priority.IMMEDIATE)
                 .reason(String.format("Critical cluster health (score: %.1f)", health.getScore()))
-                .alertLevel(RemediationAction.AlertLevel.CRITICAL)
+                .alertLevel(AlertLevel.CRITICAL)
                 .ruleName("critical-alert")
                 .build()
         );
@@ -176,10 +179,10 @@ public class RemediationStrategy {
             
             // Alert for awareness
             RemediationAction.builder()
-                .type(RemediationAction.ActionType.ALERT)
-                .priority(RemediationAction.Priority.HIGH)
+                .type(ActionType.ALERT)
+                .priority(Priority.HIGH)
                 .reason(String.format("Cluster health degraded (score: %.1f)", health.getScore()))
-                .alertLevel(RemediationAction.AlertLevel.WARNING)
+                .alertLevel(AlertLevel.WARNING)
                 .ruleName("warning-alert")
                 .build()
         );
@@ -204,10 +207,10 @@ public class RemediationStrategy {
             
             // Info alert about optimization
             RemediationAction.builder()
-                .type(RemediationAction.ActionType.ALERT)
-                .priority(RemediationAction.Priority.LOW)
+                .type(ActionType.ALERT)
+                .priority(Priority.LOW)
                 .reason(String.format("Cluster optimization opportunity (score: %.1f)", health.getScore()))
-                .alertLevel(RemediationAction.AlertLevel.INFO)
+                .alertLevel(AlertLevel.INFO)
                 .ruleName("optimization-alert")
                 .build()
         );
@@ -249,8 +252,8 @@ public class RemediationStrategy {
         
         if (needsScaleOut) {
             return RemediationAction.builder()
-                .type(RemediationAction.ActionType.SCALE_OUT)
-                .priority(RemediationAction.Priority.HIGH)
+                .type(ActionType.SCALE_OUT)
+                .priority(Priority.HIGH)
                 .reason("Resource utilization exceeds thresholds")
                 .targetNodes(Math.min(targetNodes, cluster.getMaxNodes()))
                 .ruleName("threshold-scale-out")
@@ -294,8 +297,8 @@ public class RemediationStrategy {
         }
         
         return RemediationAction.builder()
-            .type(RemediationAction.ActionType.OPTIMIZE_CLUSTER)
-            .priority(RemediationAction.Priority.MEDIUM)
+            .type(ActionType.OPTIMIZE_CLUSTER)
+            .priority(Priority.MEDIUM)
             .reason("Performance optimization opportunity detected")
             .optimizations(optimizations)
             .ruleName("performance-optimization")
@@ -329,8 +332,8 @@ public class RemediationStrategy {
         
         if (approachingLimits && cluster.canScale()) {
             return RemediationAction.builder()
-                .type(RemediationAction.ActionType.PREEMPTIVE_SCALE)
-                .priority(RemediationAction.Priority.LOW)
+                .type(ActionType.PREEMPTIVE_SCALE)
+                .priority(Priority.LOW)
                 .reason("Metrics approaching thresholds - preemptive scaling")
                 .targetNodes(cluster.getSpec().getNodeCount() + 1)
                 .ruleName("preemptive-scale")